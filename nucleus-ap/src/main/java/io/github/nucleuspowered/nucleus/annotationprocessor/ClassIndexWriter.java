@@ -0,0 +1,310 @@
+package io.github.nucleuspowered.nucleus.annotationprocessor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nullable;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.JavaFileObject;
+
+/**
+ * Writes the classes found by the {@link StoreProcessor} out as Java source, as a subclass of
+ * {@code ClassIndex}, so that Nucleus can load its modules without looking classes up by name or
+ * reading command annotations reflectively.
+ *
+ * <p>This project cannot depend on the main Nucleus classes, so everything is referred to by its
+ * name.</p>
+ */
+class ClassIndexWriter {
+
+    private static final String PACKAGE = "io.github.nucleuspowered.nucleus.internal.qsml";
+    private static final String CLASS_NAME = "GeneratedClassIndex";
+
+    private static final String ABSTRACT_COMMAND = "io.github.nucleuspowered.nucleus.internal.command.AbstractCommand";
+    private static final String COMMAND_METADATA = "io.github.nucleuspowered.nucleus.internal.command.CommandMetadata";
+    private static final String COMMAND_SOURCE = "org.spongepowered.api.command.CommandSource";
+    private static final String ANNOTATIONS = "io.github.nucleuspowered.nucleus.internal.annotations.";
+    private static final String COMMAND_ANNOTATIONS = ANNOTATIONS + "command.";
+    private static final String COMMAND_TYPE = "command";
+
+    private final ProcessingEnvironment processingEnv;
+    private final Elements elements;
+    private final Types types;
+
+    ClassIndexWriter(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+        this.elements = processingEnv.getElementUtils();
+        this.types = processingEnv.getTypeUtils();
+    }
+
+    /**
+     * Writes the index.
+     *
+     * @param result The binary names of the classes in each module, keyed by module then type.
+     * @param classes The elements of the classes, keyed by binary name.
+     * @throws IOException If the source could not be written.
+     */
+    void write(Map<String, Map<String, List<String>>> result, Map<String, TypeElement> classes) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        sb.append("package ").append(PACKAGE).append(";\n\n")
+                .append("// Generated by ").append(StoreProcessor.class.getName()).append(". Do not edit.\n")
+                .append("public final class ").append(CLASS_NAME).append(" extends ClassIndex {\n\n")
+                .append("    public ").append(CLASS_NAME).append("() {\n");
+
+        // Sorted, so that the output is the same on each build.
+        Map<String, Map<String, List<String>>> modules = new TreeMap<>(result);
+        List<String> methods = new ArrayList<>();
+        int i = 0;
+        for (Map.Entry<String, Map<String, List<String>>> module : modules.entrySet()) {
+            TypeElement moduleElement = classes.get(module.getKey());
+            if (moduleElement == null) {
+                continue;
+            }
+
+            String method = "m" + i++;
+            sb.append("        module(").append(classLiteral(moduleElement)).append(", ").append(CLASS_NAME).append("::").append(method)
+                    .append(");\n");
+            methods.add(writeModule(method, new TreeMap<>(module.getValue()), classes));
+        }
+
+        sb.append("    }\n");
+        methods.forEach(x -> sb.append('\n').append(x));
+        sb.append("}\n");
+
+        JavaFileObject fo = this.processingEnv.getFiler().createSourceFile(PACKAGE + "." + CLASS_NAME);
+        try (Writer os = fo.openWriter()) {
+            os.write(sb.toString());
+            os.flush();
+        }
+    }
+
+    private String writeModule(String method, Map<String, List<String>> types, Map<String, TypeElement> classes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("    @SuppressWarnings(\"unchecked\")\n")
+                .append("    private static void ").append(method).append("(ClassIndex.ModuleClasses m) {\n");
+        for (Map.Entry<String, List<String>> type : types.entrySet()) {
+            List<TypeElement> elements = new ArrayList<>();
+            type.getValue().stream().sorted().map(classes::get).filter(x -> x != null).forEach(elements::add);
+            sb.append("        m.add(").append(literal(type.getKey()));
+            for (TypeElement element : elements) {
+                sb.append(",\n                ").append(classLiteral(element));
+            }
+
+            sb.append(");\n");
+
+            if (COMMAND_TYPE.equals(type.getKey())) {
+                for (TypeElement element : elements) {
+                    sb.append("        m.command(").append(commandMetadata(element)).append(");\n");
+                }
+            }
+        }
+
+        return sb.append("    }\n").toString();
+    }
+
+    private String commandMetadata(TypeElement command) {
+        StringBuilder sb = new StringBuilder(COMMAND_METADATA).append(".builder(")
+                .append(classLiteral(command)).append(", ").append(sourceType(command)).append(")");
+
+        // getAllAnnotationMirrors includes @Inherited annotations, as Class#getAnnotation does.
+        for (AnnotationMirror mirror : this.elements.getAllAnnotationMirrors(command)) {
+            TypeElement annotation = (TypeElement) mirror.getAnnotationType().asElement();
+            String name = annotation.getQualifiedName().toString();
+            Map<String, AnnotationValue> values = values(mirror);
+            switch (name) {
+                case COMMAND_ANNOTATIONS + "RegisterCommand":
+                    sb.append("\n                .register(").append(value(values.get("subcommandOf"))).append(", ")
+                            .append(value(values.get("hasExecutor"))).append(", ").append(value(values.get("value"))).append(")")
+                            .append(".rootAliases(").append(value(values.get("rootAliasRegister"))).append(")");
+                    break;
+                case COMMAND_ANNOTATIONS + "Permissions":
+                    sb.append("\n                .permissions(").append(value(values.get("prefix"))).append(", ")
+                            .append(value(values.get("mainOverride"))).append(", ").append(value(values.get("suffix"))).append(", ")
+                            .append(value(values.get("supportsOthers"))).append(", ").append(value(values.get("suggestedLevel")))
+                            .append(")");
+                    break;
+                case COMMAND_ANNOTATIONS + "PermissionsFrom":
+                    sb.append("\n                .permissionsFrom(").append(value(values.get("value"))).append(", ")
+                            .append(value(values.get("requiresSuffix"))).append(")");
+                    break;
+                case COMMAND_ANNOTATIONS + "RedirectModifiers":
+                    sb.append("\n                .redirectModifiers(").append(value(values.get("value"))).append(", ")
+                            .append(value(values.get("requireGeneration"))).append(")");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoWarmup":
+                    sb.append("\n                .noWarmup(").append(value(values.get("generateConfigEntry"))).append(", ")
+                            .append(value(values.get("generatePermissionDocs"))).append(")");
+                    break;
+                case ANNOTATIONS + "RunAsync":
+                    sb.append("\n                .runAsync()");
+                    break;
+                case ANNOTATIONS + "RequiresEconomy":
+                    sb.append("\n                .requiresEconomy()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoCommandPrefix":
+                    sb.append("\n                .noCommandPrefix()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoModifiers":
+                    sb.append("\n                .noModifiers()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoCooldown":
+                    sb.append("\n                .noCooldown()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoCost":
+                    sb.append("\n                .noCost()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoTimings":
+                    sb.append("\n                .noTimings()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoPermissions":
+                    sb.append("\n                .noPermissions()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoDocumentation":
+                    sb.append("\n                .noDocumentation()");
+                    break;
+                case COMMAND_ANNOTATIONS + "NoHelpSubcommand":
+                    sb.append("\n                .noHelpSubcommand()");
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private Map<String, AnnotationValue> values(AnnotationMirror mirror) {
+        Map<String, AnnotationValue> values = new TreeMap<>();
+        for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry
+                : this.elements.getElementValuesWithDefaults(mirror).entrySet()) {
+            values.put(entry.getKey().getSimpleName().toString(), entry.getValue());
+        }
+
+        return values;
+    }
+
+    /**
+     * Finds the type of source that the command accepts, which is the type argument given to
+     * {@code AbstractCommand} somewhere in its hierarchy.
+     */
+    private String sourceType(TypeElement command) {
+        TypeMirror source = findSourceType(command.asType());
+        if (source != null && source.getKind() == TypeKind.DECLARED) {
+            return classLiteral((TypeElement) ((DeclaredType) source).asElement());
+        }
+
+        return COMMAND_SOURCE + ".class";
+    }
+
+    @Nullable
+    private TypeMirror findSourceType(TypeMirror type) {
+        for (TypeMirror supertype : this.types.directSupertypes(type)) {
+            if (supertype.getKind() != TypeKind.DECLARED) {
+                continue;
+            }
+
+            DeclaredType declared = (DeclaredType) supertype;
+            if (((TypeElement) declared.asElement()).getQualifiedName().contentEquals(ABSTRACT_COMMAND)) {
+                return declared.getTypeArguments().isEmpty() ? null : declared.getTypeArguments().get(0);
+            }
+
+            TypeMirror result = findSourceType(supertype);
+            if (result != null) {
+                return result;
+            }
+        }
+
+        return null;
+    }
+
+    private String value(AnnotationValue annotationValue) {
+        Object value = annotationValue.getValue();
+        if (value instanceof String) {
+            return literal((String) value);
+        } else if (value instanceof TypeMirror) {
+            return classLiteral((TypeElement) this.types.asElement((TypeMirror) value));
+        } else if (value instanceof VariableElement) {
+            // An enum constant.
+            VariableElement constant = (VariableElement) value;
+            return ((TypeElement) constant.getEnclosingElement()).getQualifiedName() + "." + constant.getSimpleName();
+        } else if (value instanceof List) {
+            StringBuilder sb = new StringBuilder("new String[] {");
+            boolean first = true;
+            for (Object o : (List<?>) value) {
+                if (!first) {
+                    sb.append(", ");
+                }
+
+                first = false;
+                sb.append(value((AnnotationValue) o));
+            }
+
+            return sb.append("}").toString();
+        }
+
+        return String.valueOf(value);
+    }
+
+    private String classLiteral(TypeElement element) {
+        if (isAccessible(element)) {
+            return element.getQualifiedName() + ".class";
+        }
+
+        // Can't be referenced from the index, so it has to be looked up.
+        return "(Class) load(" + literal(this.elements.getBinaryName(element).toString()) + ")";
+    }
+
+    private static boolean isAccessible(Element element) {
+        Element e = element;
+        while (e instanceof TypeElement) {
+            if (!e.getModifiers().contains(Modifier.PUBLIC)) {
+                return false;
+            }
+
+            e = e.getEnclosingElement();
+        }
+
+        return true;
+    }
+
+    private static String literal(String string) {
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : string.toCharArray()) {
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20 || c > 0x7e) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+
+        return sb.append('"').toString();
+    }
+}
@@ -101,6 +101,20 @@ public class StoreProcessor extends AbstractProcessor {
             } catch (IOException e) {
                 e.printStackTrace();
             }
+
+            // Then the index, so that the classes do not need to be looked up by name.
+            Map<String, TypeElement> byName = new HashMap<>();
+            for (Element element : classes.keySet()) {
+                if (element instanceof TypeElement) {
+                    byName.put(this.processingEnv.getElementUtils().getBinaryName((TypeElement) element).toString(), (TypeElement) element);
+                }
+            }
+
+            try {
+                new ClassIndexWriter(this.processingEnv).write(result, byName);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
         }
 
         return false;
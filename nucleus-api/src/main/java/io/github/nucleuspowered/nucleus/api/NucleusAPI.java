@@ -7,6 +7,8 @@ package io.github.nucleuspowered.nucleus.api;
 import io.github.nucleuspowered.nucleus.api.service.NucleusAFKService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusAPIMetaService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusBackService;
+import io.github.nucleuspowered.nucleus.api.service.NucleusCooldownService;
+import io.github.nucleuspowered.nucleus.api.service.NucleusDataCacheService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusHomeService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusInvulnerabilityService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusJailService;
@@ -101,6 +103,24 @@ public class NucleusAPI {
                 + "loaded"));
     }
 
+    /**
+     * Gets the {@link NucleusDataCacheService} service, which provides statistics about the user and world data caches.
+     * @return The {@link NucleusDataCacheService}
+     * @throws IllegalStateException if Nucleus hasn't completed post init yet.
+     */
+    public static NucleusDataCacheService getDataCacheService() {
+        return getService(NucleusDataCacheService.class).orElseThrow(() -> new IllegalStateException("Nucleus API has not started registering yet"));
+    }
+
+    /**
+     * Gets the {@link NucleusCooldownService} service, which holds command cooldowns and allows plugins to use their own.
+     * @return The {@link NucleusCooldownService}
+     * @throws IllegalStateException if Nucleus hasn't completed post init yet.
+     */
+    public static NucleusCooldownService getCooldownService() {
+        return getService(NucleusCooldownService.class).orElseThrow(() -> new IllegalStateException("Nucleus API has not started registering yet"));
+    }
+
     /**
      * Gets the {@link NucleusAFKService}, if it exists.
      *
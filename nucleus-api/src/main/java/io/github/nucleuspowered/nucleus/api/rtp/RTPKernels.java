@@ -35,6 +35,14 @@ public final class RTPKernels {
      */
     public final static RTPKernel AROUND_PLAYER_SURFACE = DummyObjectProvider.createFor(RTPKernel.class, "AROUND_PLAYER_SURFACE");
 
+    /**
+     * A surface only Nucleus RTP kernel that remembers the surface height and biome
+     * of the chunks it visits, and prefers areas that are known to be valid.
+     *
+     * <p>This has an ID of {@code nucleus:cached_surface}</p>
+     */
+    public final static RTPKernel CACHED_SURFACE = DummyObjectProvider.createFor(RTPKernel.class, "CACHED_SURFACE");
+
     /**
      * The default Nucleus RTP kernel.
      *
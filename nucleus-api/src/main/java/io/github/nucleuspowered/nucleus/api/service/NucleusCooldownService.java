@@ -0,0 +1,81 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.api.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Holds cooldowns for users. Nucleus uses this for command cooldowns, and other plugins may use it
+ * for their own cooldowns.
+ *
+ * <p>Each cooldown is identified by the user it applies to and a key. Plugins should prefix their
+ * keys with their plugin ID, for example, <code>myplugin:ability</code>, to avoid clashing with other
+ * plugins. Nucleus command cooldowns use the key <code>nucleus:command.[command]</code>.</p>
+ *
+ * <p>This service may be used from any thread.</p>
+ */
+public interface NucleusCooldownService {
+
+    /**
+     * Gets the time that is left on a cooldown.
+     *
+     * @param user The {@link UUID} of the user.
+     * @param key The key of the cooldown.
+     * @return The time left, or an empty {@link Optional} if the cooldown has expired or was never set.
+     */
+    Optional<Duration> getCooldown(UUID user, String key);
+
+    /**
+     * Gets whether the user has an active cooldown with the given key.
+     *
+     * @param user The {@link UUID} of the user.
+     * @param key The key of the cooldown.
+     * @return <code>true</code> if the cooldown has not expired.
+     */
+    default boolean isOnCooldown(UUID user, String key) {
+        return getCooldown(user, key).isPresent();
+    }
+
+    /**
+     * Gets all of the active cooldowns for a user.
+     *
+     * @param user The {@link UUID} of the user.
+     * @return The keys of the cooldowns, and when they expire.
+     */
+    Map<String, Instant> getCooldowns(UUID user);
+
+    /**
+     * Starts a cooldown, replacing any existing cooldown with the same key.
+     *
+     * @param user The {@link UUID} of the user.
+     * @param key The key of the cooldown.
+     * @param duration How long the cooldown lasts.
+     */
+    default void setCooldown(UUID user, String key, Duration duration) {
+        setCooldown(user, key, Instant.now().plus(duration));
+    }
+
+    /**
+     * Starts a cooldown, replacing any existing cooldown with the same key.
+     *
+     * @param user The {@link UUID} of the user.
+     * @param key The key of the cooldown.
+     * @param expiry When the cooldown expires.
+     */
+    void setCooldown(UUID user, String key, Instant expiry);
+
+    /**
+     * Removes a cooldown.
+     *
+     * @param user The {@link UUID} of the user.
+     * @param key The key of the cooldown.
+     * @return <code>true</code> if there was an active cooldown to remove.
+     */
+    boolean removeCooldown(UUID user, String key);
+}
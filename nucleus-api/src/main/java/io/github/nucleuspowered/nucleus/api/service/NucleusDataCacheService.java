@@ -0,0 +1,92 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.api.service;
+
+/**
+ * Provides statistics about the caches that Nucleus uses to hold user and world data in memory.
+ *
+ * <p>
+ *     This service is available from POST INIT.
+ * </p>
+ */
+public interface NucleusDataCacheService {
+
+    /**
+     * Gets the statistics for the user data cache.
+     *
+     * @return The {@link CacheStatistics}
+     */
+    CacheStatistics getUserCacheStatistics();
+
+    /**
+     * Gets the statistics for the world data cache.
+     *
+     * @return The {@link CacheStatistics}
+     */
+    CacheStatistics getWorldCacheStatistics();
+
+    /**
+     * A snapshot of the statistics for a data cache, since the server started.
+     */
+    interface CacheStatistics {
+
+        /**
+         * The number of times that data was requested and was already in memory.
+         *
+         * @return The number of hits.
+         */
+        long getHitCount();
+
+        /**
+         * The number of times that data was requested and had to be loaded.
+         *
+         * @return The number of misses.
+         */
+        long getMissCount();
+
+        /**
+         * The ratio of hits to requests, or 1 if there have been no requests.
+         *
+         * @return The hit rate.
+         */
+        double getHitRate();
+
+        /**
+         * The number of times that data was loaded.
+         *
+         * @return The number of loads.
+         */
+        long getLoadCount();
+
+        /**
+         * The average time spent loading data, in nanoseconds.
+         *
+         * @return The average load time.
+         */
+        double getAverageLoadPenalty();
+
+        /**
+         * The number of entries that have been evicted from the cache.
+         *
+         * @return The number of evictions.
+         */
+        long getEvictionCount();
+
+        /**
+         * The approximate number of entries that can be evicted that are currently held.
+         *
+         * @return The number of entries.
+         */
+        long getEstimatedSize();
+
+        /**
+         * The number of entries that are held outside of the evictable part of the cache,
+         * such as those for online players.
+         *
+         * @return The number of pinned entries.
+         */
+        long getPinnedCount();
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks;
+
+import co.aikar.timings.Timing;
+import co.aikar.timings.Timings;
+import co.aikar.timings.TimingsFactory;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
+import org.spongepowered.api.Game;
+import org.spongepowered.api.Server;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.api.service.ServiceManager;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.LiteralText;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+import org.spongepowered.api.text.serializer.FormattingCodeTextSerializer;
+import org.spongepowered.api.text.serializer.SafeTextSerializer;
+import org.spongepowered.api.text.serializer.TextSerializers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Lightweight stand-ins for the parts of Sponge that are provided by the server.
+ *
+ * <p>Each stand-in is a proxy that answers the methods that the benchmarked code calls. Any other
+ * method returns an empty {@link Optional}, <code>false</code>, zero or <code>null</code>, as
+ * appropriate.</p>
+ */
+public final class StandIns {
+
+    private static final Pattern codes = Pattern.compile("[&§][0-9a-fk-or]", Pattern.CASE_INSENSITIVE);
+
+    private StandIns() {}
+
+    /**
+     * Creates a {@link PluginContainer} with the given ID.
+     *
+     * @param id The ID.
+     * @return The {@link PluginContainer}
+     */
+    public static PluginContainer pluginContainer(String id) {
+        return proxy(PluginContainer.class, id, (method, args) -> {
+            switch (method.getName()) {
+                case "getId":
+                case "getName":
+                    return id;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    /**
+     * Creates a {@link CommandSource} with the given name, that has every permission and no options.
+     *
+     * @param name The name.
+     * @return The {@link CommandSource}
+     */
+    public static CommandSource commandSource(String name) {
+        String identifier = UUID.nameUUIDFromBytes(name.getBytes()).toString();
+        return proxy(CommandSource.class, name, (method, args) -> {
+            switch (method.getName()) {
+                case "getName":
+                    return name;
+                case "getIdentifier":
+                    return identifier;
+                case "getActiveContexts":
+                    return ImmutableSet.of();
+                case "hasPermission":
+                    return true;
+                default:
+                    return null;
+            }
+        });
+    }
+
+    /**
+     * Creates a {@link Subject} with the given permissions and options. Contexts are ignored.
+     *
+     * @param name The name.
+     * @param permissions The permissions that the subject has.
+     * @param options The options that are set on the subject.
+     * @return The {@link Subject}
+     */
+    public static Subject subject(String name, Set<String> permissions, Map<String, String> options) {
+        return proxy(Subject.class, name, subjectHandler(name, permissions, options));
+    }
+
+    /**
+     * Creates an online {@link Player} with the given permissions and options. Contexts are ignored.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param name The name.
+     * @param permissions The permissions that the player has.
+     * @param options The options that are set on the player.
+     * @return The {@link Player}
+     */
+    public static Player player(UUID uuid, String name, Set<String> permissions, Map<String, String> options) {
+        Handler subjectHandler = subjectHandler(uuid.toString(), permissions, options);
+        return proxy(Player.class, name, (method, args) -> {
+            switch (method.getName()) {
+                case "getUniqueId":
+                    return uuid;
+                case "getName":
+                    return name;
+                case "isOnline":
+                    return true;
+                case "getPlayer":
+                    return null;
+                default:
+                    return subjectHandler.handle(method, args);
+            }
+        });
+    }
+
+    private static Handler subjectHandler(String identifier, Set<String> permissions, Map<String, String> options) {
+        return (method, args) -> {
+            switch (method.getName()) {
+                case "getIdentifier":
+                    return identifier;
+                case "getActiveContexts":
+                    return ImmutableSet.of();
+                case "hasPermission":
+                    return permissions.contains((String) args[args.length - 1]);
+                case "getOption":
+                    return Optional.ofNullable(options.get((String) args[args.length - 1]));
+                default:
+                    return null;
+            }
+        };
+    }
+
+    /**
+     * Installs a {@link Game} whose {@link Server} has the given players online. Services are never
+     * available.
+     *
+     * @param players The players that are online.
+     */
+    public static void installGame(Collection<Player> players) {
+        Map<UUID, Player> online = players.stream().collect(Collectors.toMap(Player::getUniqueId, x -> x));
+        Server server = proxy(Server.class, "server", (method, args) -> {
+            switch (method.getName()) {
+                case "getPlayer":
+                    return args[0] instanceof UUID ? Optional.ofNullable(online.get(args[0])) : null;
+                case "getOnlinePlayers":
+                    return online.values();
+                default:
+                    return null;
+            }
+        });
+
+        ServiceManager serviceManager = proxy(ServiceManager.class, "services", (method, args) -> null);
+        Game game = proxy(Game.class, "game", (method, args) -> {
+            switch (method.getName()) {
+                case "getServer":
+                    return server;
+                case "isServerAvailable":
+                    return true;
+                case "getServiceManager":
+                    return serviceManager;
+                default:
+                    return null;
+            }
+        });
+
+        for (Field field : Sponge.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                if (field.getType() == Game.class) {
+                    setStatic(field, game);
+                } else if (field.getType() == ServiceManager.class) {
+                    setStatic(field, serviceManager);
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces the factory in {@link Timings}, which is provided by the server, with one whose
+     * timings do nothing.
+     */
+    static void installTimings() {
+        TimingsFactory factory = proxy(TimingsFactory.class, "timings",
+                (method, args) -> method.getReturnType() == Timing.class ? TimingsDummy.DUMMY : null);
+        for (Field field : Timings.class.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == TimingsFactory.class) {
+                setStatic(field, factory);
+            }
+        }
+    }
+
+    /**
+     * Replaces the colours in {@link TextColors}, which are only created by the server, with
+     * versions that have a name.
+     */
+    static void installTextColours() {
+        for (Field field : TextColors.class.getFields()) {
+            if (field.getType() == TextColor.class) {
+                String id = field.getName().toLowerCase();
+                setStatic(field, proxy(TextColor.class, id, (method, args) -> {
+                    switch (method.getName()) {
+                        case "getId":
+                        case "getName":
+                            return id;
+                        default:
+                            return null;
+                    }
+                }));
+            }
+        }
+    }
+
+    /**
+     * Replaces the plain and formatting code serializers in {@link TextSerializers}, which are only
+     * created by the server, with simple versions that understand unformatted text.
+     */
+    static void installTextSerializers() {
+        setStatic("PLAIN", proxy(SafeTextSerializer.class, "plain", (method, args) -> {
+            switch (method.getName()) {
+                case "serialize":
+                    return toPlain((Text) args[0]);
+                case "deserialize":
+                case "deserializeUnchecked":
+                    return Text.of((String) args[0]);
+                default:
+                    return null;
+            }
+        }));
+
+        FormattingCodeTextSerializer formattingCode = proxy(FormattingCodeTextSerializer.class, "formatting_code", (method, args) -> {
+            switch (method.getName()) {
+                case "serialize":
+                    return toPlain((Text) args[0]);
+                case "deserialize":
+                case "deserializeUnchecked":
+                    return Text.of(codes.matcher((String) args[0]).replaceAll(""));
+                case "stripCodes":
+                    return codes.matcher((String) args[0]).replaceAll("");
+                case "replaceCodes":
+                    return ((String) args[0]).replace('&', (char) args[1]);
+                case "getCharacter":
+                    return '&';
+                default:
+                    return null;
+            }
+        });
+
+        setStatic("FORMATTING_CODE", formattingCode);
+        setStatic("LEGACY_FORMATTING_CODE", formattingCode);
+    }
+
+    private static String toPlain(Text text) {
+        StringBuilder sb = new StringBuilder();
+        for (Text t : text.withChildren()) {
+            if (t instanceof LiteralText) {
+                sb.append(((LiteralText) t).getContent());
+            }
+        }
+
+        return sb.toString();
+    }
+
+    private static void setStatic(String name, Object value) {
+        try {
+            setStatic(TextSerializers.class.getField(name), value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void setStatic(Field field, Object value) {
+        try {
+            Field modifiersField = Field.class.getDeclaredField("modifiers");
+            modifiersField.setAccessible(true);
+            modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+            field.setAccessible(true);
+            field.set(null, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, String name, Handler handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + "[" + name + "]";
+            }
+
+            Object result = handler.handle(method, args);
+            if (result != null) {
+                return result;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == Optional.class) {
+                return Optional.empty();
+            } else if (returnType == boolean.class) {
+                return false;
+            } else if (returnType == int.class) {
+                return 0;
+            } else if (returnType == long.class) {
+                return 0L;
+            } else if (returnType == double.class) {
+                return 0.0;
+            }
+
+            return null;
+        };
+
+        return (T) Proxy.newProxyInstance(StandIns.class.getClassLoader(), new Class<?>[] { type }, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+
+        Object handle(Method method, Object[] args);
+    }
+}
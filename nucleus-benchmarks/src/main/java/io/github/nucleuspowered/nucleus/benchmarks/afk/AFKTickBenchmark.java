@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.afk;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.StandIns;
+import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.afk.handlers.AFKHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the work that the {@link AFKHandler} does for online players: recording activity, which
+ * happens whenever a player moves, chats or interacts, and the AFK task that runs each second.
+ *
+ * <p>Players go AFK after five minutes, so no player goes AFK or is kicked during a run. The tick
+ * therefore measures the cost of checking for players whose time is up, which is what it does on
+ * almost every run on a real server.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AFKTickBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Handler {
+
+        @Param({"100", "1000"})
+        int players;
+
+        AFKHandler handler;
+        Player[] online;
+        int next = 0;
+
+        @Setup(Level.Trial)
+        public void setup() {
+            BenchmarkNucleus nucleus = BenchmarkNucleus.install();
+            Map<String, String> options = ImmutableMap.of("nucleus.afk.toggletime", "300", "nucleus.afk.kicktime", "600");
+            this.online = new Player[this.players];
+            for (int i = 0; i < this.players; i++) {
+                this.online[i] = StandIns.player(UUID.randomUUID(), "Player" + i, ImmutableSet.of(), options);
+            }
+
+            StandIns.installGame(ImmutableSet.copyOf(this.online));
+            nucleus.getInternalServiceManager().registerService(AFKConfigAdapter.class, new AFKConfigAdapter(), true);
+            this.handler = new AFKHandler();
+            for (Player player : this.online) {
+                this.handler.stageUserActivityUpdate(player);
+            }
+
+            // Works out the times for each player, as happens on the tick after they join.
+            this.handler.onTick();
+        }
+
+        Player nextPlayer() {
+            this.next = (this.next + 1) % this.players;
+            return this.online[this.next];
+        }
+    }
+
+    @Benchmark
+    public void activity(Handler handler) {
+        handler.handler.stageUserActivityUpdate(handler.nextPlayer());
+    }
+
+    @Benchmark
+    public void tick(Handler handler) {
+        handler.handler.onTick();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.arguments;
+
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.argumentparsers.BoundedIntegerArgument;
+import io.github.nucleuspowered.nucleus.argumentparsers.PositiveIntegerArgument;
+import io.github.nucleuspowered.nucleus.argumentparsers.RegexArgument;
+import io.github.nucleuspowered.nucleus.argumentparsers.TimespanArgument;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.StandIns;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.command.ArgumentParseException;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandArgs;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.command.args.parsing.InputTokenizer;
+import org.spongepowered.api.command.args.parsing.SingleArg;
+import org.spongepowered.api.text.Text;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the Nucleus argument parsers, from the tokenised arguments to the parsed value in the
+ * {@link CommandContext}. An invalid timespan is included, as building the error message is part of
+ * the cost of a mistyped command.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ArgumentParserBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Parsers {
+
+        CommandSource source;
+
+        CommandElement timespan;
+        CommandElement positiveInteger;
+        CommandElement boundedInteger;
+        CommandElement username;
+
+        Input timespanInput;
+        Input secondsInput;
+        Input invalidTimespanInput;
+        Input integerInput;
+        Input usernameInput;
+
+        @Setup(Level.Trial)
+        public void setup() throws ArgumentParseException {
+            BenchmarkNucleus.install();
+            this.source = StandIns.commandSource("Player");
+
+            this.timespan = new TimespanArgument(Text.of("time"));
+            this.positiveInteger = new PositiveIntegerArgument(Text.of("amount"));
+            this.boundedInteger = new BoundedIntegerArgument(Text.of("level"), 0, Short.MAX_VALUE);
+            this.username = new RegexArgument(Text.of("name"), Util.usernameRegexPattern, "command.nameban.notvalid");
+
+            this.timespanInput = new Input("1w2d3h4m5s");
+            this.secondsInput = new Input("3600");
+            this.invalidTimespanInput = new Input("1x2y");
+            this.integerInput = new Input("1250");
+            this.usernameInput = new Input("Notch_1234");
+        }
+    }
+
+    @Benchmark
+    public CommandContext timespan(Parsers parsers) throws ArgumentParseException {
+        return parse(parsers.timespan, parsers.source, parsers.timespanInput);
+    }
+
+    @Benchmark
+    public CommandContext timespanSeconds(Parsers parsers) throws ArgumentParseException {
+        return parse(parsers.timespan, parsers.source, parsers.secondsInput);
+    }
+
+    @Benchmark
+    public Object timespanInvalid(Parsers parsers) {
+        try {
+            return parse(parsers.timespan, parsers.source, parsers.invalidTimespanInput);
+        } catch (ArgumentParseException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public CommandContext positiveInteger(Parsers parsers) throws ArgumentParseException {
+        return parse(parsers.positiveInteger, parsers.source, parsers.integerInput);
+    }
+
+    @Benchmark
+    public CommandContext boundedInteger(Parsers parsers) throws ArgumentParseException {
+        return parse(parsers.boundedInteger, parsers.source, parsers.integerInput);
+    }
+
+    @Benchmark
+    public CommandContext regex(Parsers parsers) throws ArgumentParseException {
+        return parse(parsers.username, parsers.source, parsers.usernameInput);
+    }
+
+    private static CommandContext parse(CommandElement element, CommandSource source, Input input) throws ArgumentParseException {
+        CommandContext context = new CommandContext();
+        element.parse(source, new CommandArgs(input.raw, input.args), context);
+        return context;
+    }
+
+    /**
+     * The input for a parser, tokenised once, as the tokenising is done by Sponge.
+     */
+    static final class Input {
+
+        private final String raw;
+        private final List<SingleArg> args;
+
+        private Input(String raw) throws ArgumentParseException {
+            this.raw = raw;
+            this.args = InputTokenizer.spaceSplitString().tokenize(raw, true);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.data;
+
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SimpleConfigurateDataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CooldownUserDataModule;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures loading and saving user data through a {@link UserDataManager}, backed by JSON files in a
+ * temporary directory that are read and written by {@link SimpleConfigurateDataProvider}s.
+ *
+ * <p>Each user has a {@link CooldownUserDataModule} with twenty entries. Loading reads the file and
+ * the module, saving changes one entry and writes the file, and saving an unchanged user checks
+ * whether it needs writing.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataManagerBenchmark {
+
+    private static final int USERS = 100;
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        Path directory;
+        UUID[] uuids;
+        BenchmarkUserDataManager manager;
+        ModularUserService cached;
+        int next = 0;
+        long counter = 0;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            BenchmarkNucleus.install();
+            this.directory = Files.createTempDirectory("nucleus-benchmark");
+            this.manager = new BenchmarkUserDataManager(this.directory);
+            this.uuids = new UUID[USERS];
+
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < USERS; i++) {
+                this.uuids[i] = UUID.randomUUID();
+                ModularUserService service = this.manager.get(this.uuids[i]).get();
+                Map<String, Instant> cooldowns = Maps.newHashMap();
+                for (int j = 0; j < 20; j++) {
+                    cooldowns.put("nucleus:command.command" + j, Instant.ofEpochMilli(now + j * 60000L));
+                }
+
+                CooldownUserDataModule module = service.get(CooldownUserDataModule.class);
+                module.setCooldowns(cooldowns);
+                service.set(module);
+                service.saveInternal();
+            }
+
+            this.cached = this.manager.get(this.uuids[0]).get();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            try (Stream<Path> paths = Files.walk(this.directory)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(x -> x.toFile().delete());
+            }
+        }
+
+        UUID nextUuid() {
+            this.next = (this.next + 1) % USERS;
+            return this.uuids[this.next];
+        }
+    }
+
+    @Benchmark
+    public CooldownUserDataModule loadFromFile(Data data) throws Exception {
+        UUID uuid = data.nextUuid();
+        return data.manager.getNew(uuid, data.manager.provider(uuid)).get().get(CooldownUserDataModule.class);
+    }
+
+    @Benchmark
+    public Optional<ModularUserService> getCached(Data data) {
+        return data.manager.get(data.uuids[0]);
+    }
+
+    @Benchmark
+    public void saveChanged(Data data) throws Exception {
+        CooldownUserDataModule module = data.cached.get(CooldownUserDataModule.class);
+        Map<String, Instant> cooldowns = module.getCooldowns();
+        cooldowns.put("nucleus:command.changed", Instant.ofEpochMilli(++data.counter));
+        module.setCooldowns(cooldowns);
+        data.cached.saveInternal();
+    }
+
+    @Benchmark
+    public void saveUnchanged(Data data) throws Exception {
+        data.cached.get(CooldownUserDataModule.class);
+        data.cached.saveInternal();
+    }
+
+    /**
+     * A {@link UserDataManager} for users that are never online, which does not check that the users
+     * exist, as the user storage service needs the server.
+     */
+    private static final class BenchmarkUserDataManager extends UserDataManager {
+
+        private final Path directory;
+
+        private BenchmarkUserDataManager(Path directory) {
+            super((uuid, create) -> provider(directory, uuid), uuid -> Files.exists(file(directory, uuid)));
+            this.directory = directory;
+        }
+
+        private DataProvider<ConfigurationNode> provider(UUID uuid) {
+            return provider(this.directory, uuid);
+        }
+
+        private static DataProvider<ConfigurationNode> provider(Path directory, UUID uuid) {
+            return new SimpleConfigurateDataProvider(path -> GsonConfigurationLoader.builder().setPath(path).build(), file(directory, uuid),
+                    Nucleus.getNucleus().getLogger());
+        }
+
+        private static Path file(Path directory, UUID uuid) {
+            return directory.resolve(uuid.toString() + ".json");
+        }
+
+        @Override
+        protected boolean shouldNotExpire(UUID key) {
+            return false;
+        }
+
+        @Override
+        public Optional<ModularUserService> getNew(UUID uuid, DataProvider<ConfigurationNode> dataProvider) throws Exception {
+            ModularUserService service = new ModularUserService(dataProvider, uuid);
+            service.loadInternal();
+            return Optional.of(service);
+        }
+    }
+}
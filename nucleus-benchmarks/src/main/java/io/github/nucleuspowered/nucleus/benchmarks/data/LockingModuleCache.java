@@ -0,0 +1,41 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.data;
+
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The module cache that {@link io.github.nucleuspowered.nucleus.dataservices.modular.ModularDataService}
+ * used before modules were given slots: a map from the type of module to the module, guarded by a
+ * monitor that is taken on every read.
+ */
+final class LockingModuleCache {
+
+    private final Map<Class<?>, DataModule<ModularUserService>> cached = new HashMap<>();
+    private final Object lockingObject = new Object();
+    private final Function<Class<? extends DataModule<ModularUserService>>, DataModule<ModularUserService>> loader;
+
+    LockingModuleCache(Function<Class<? extends DataModule<ModularUserService>>, DataModule<ModularUserService>> loader) {
+        this.loader = loader;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T extends DataModule<ModularUserService>> T get(Class<T> module) {
+        synchronized (this.lockingObject) {
+            if (this.cached.containsKey(module)) {
+                return (T) this.cached.get(module);
+            }
+
+            T dm = (T) this.loader.apply(module);
+            this.cached.put(dm.getClass(), dm);
+            return dm;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.data;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.SimpleConfigurateDataProvider;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.vanish.datamodules.VanishUserDataModule;
+import ninja.leaping.configurate.gson.GsonConfigurationLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of getting data modules that have already been loaded from a single user's
+ * {@link ModularUserService}, from several threads at once, against the locking map that it replaced.
+ * This is what the freeze, ignore, vanish and command spy listeners do for each event.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ModuleAccessBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Data {
+
+        Path file;
+        ModularUserService service;
+        LockingModuleCache locking;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            BenchmarkNucleus.install();
+            this.file = Files.createTempFile("nucleus-benchmark", ".json");
+            this.service = new ModularUserService(new SimpleConfigurateDataProvider(
+                    path -> GsonConfigurationLoader.builder().setPath(path).build(), this.file, Nucleus.getNucleus().getLogger()),
+                    UUID.randomUUID());
+            this.service.loadInternal();
+            this.locking = new LockingModuleCache(this::load);
+
+            // Load everything up front, so that only reads are measured.
+            read(this.service, this.locking);
+        }
+
+        private DataModule<ModularUserService> load(Class<? extends DataModule<ModularUserService>> module) {
+            return this.service.get(module);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            Files.deleteIfExists(this.file);
+        }
+    }
+
+    @Benchmark
+    public void slotted(Data data, Blackhole blackhole) {
+        ModularUserService service = data.service;
+        blackhole.consume(service.get(FreezePlayerUserDataModule.class));
+        blackhole.consume(service.get(IgnoreUserDataModule.class));
+        blackhole.consume(service.get(VanishUserDataModule.class));
+        blackhole.consume(service.get(CommandSpyUserDataModule.class));
+    }
+
+    @Benchmark
+    public void locking(Data data, Blackhole blackhole) {
+        LockingModuleCache cache = data.locking;
+        blackhole.consume(cache.get(FreezePlayerUserDataModule.class));
+        blackhole.consume(cache.get(IgnoreUserDataModule.class));
+        blackhole.consume(cache.get(VanishUserDataModule.class));
+        blackhole.consume(cache.get(CommandSpyUserDataModule.class));
+    }
+
+    private static void read(ModularUserService service, LockingModuleCache cache) {
+        service.get(FreezePlayerUserDataModule.class);
+        service.get(IgnoreUserDataModule.class);
+        service.get(VanishUserDataModule.class);
+        service.get(CommandSpyUserDataModule.class);
+        cache.get(FreezePlayerUserDataModule.class);
+        cache.get(IgnoreUserDataModule.class);
+        cache.get(VanishUserDataModule.class);
+        cache.get(CommandSpyUserDataModule.class);
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.data;
+
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
+import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link UserCacheService} lookups that commands such as checkban, jail and mute make,
+ * against a cache of known users held in memory.
+ *
+ * <p>One in ten users share an IP address with another, one in fifty is jailed in one of five jails,
+ * and one in twenty is muted.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UserCacheBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Cache {
+
+        @Param({"1000", "100000"})
+        int users;
+
+        UserCacheService service;
+        String ip;
+
+        @Setup(Level.Trial)
+        public void setup() throws Exception {
+            BenchmarkNucleus.install();
+            Random random = new Random(42);
+            UserCacheVersionNode node = new UserCacheVersionNode();
+            for (int i = 0; i < this.users; i++) {
+                String ip = "10." + (i / 65536 % 256) + "." + (i / 256 % 256) + "." + (i % 256);
+                if (i % 10 == 1) {
+                    // Shares with the previous user.
+                    ip = "10." + ((i - 1) / 65536 % 256) + "." + ((i - 1) / 256 % 256) + "." + ((i - 1) % 256);
+                }
+
+                String jail = i % 50 == 0 ? "jail" + random.nextInt(5) : null;
+                node.getNode().put(new UUID(random.nextLong(), random.nextLong()), new UserCacheDataNode(ip, jail, i % 20 == 0));
+            }
+
+            this.service = new UserCacheService(new InMemoryProvider(node));
+            this.service.loadInternal();
+            this.ip = "10.0.0.1";
+        }
+    }
+
+    @Benchmark
+    public List<UUID> getForIp(Cache cache) {
+        return cache.service.getForIp(cache.ip);
+    }
+
+    @Benchmark
+    public List<UUID> getJailedIn(Cache cache) {
+        return cache.service.getJailedIn("jail1");
+    }
+
+    @Benchmark
+    public List<UUID> getMuted(Cache cache) {
+        return cache.service.getMuted();
+    }
+
+    private static final class InMemoryProvider implements DataProvider<UserCacheVersionNode> {
+
+        private UserCacheVersionNode node;
+
+        private InMemoryProvider(UserCacheVersionNode node) {
+            this.node = node;
+        }
+
+        @Override public boolean has() {
+            return true;
+        }
+
+        @Override public UserCacheVersionNode load() {
+            return this.node;
+        }
+
+        @Override public void save(UserCacheVersionNode info) {
+            this.node = info;
+        }
+
+        @Override public void delete() {
+        }
+    }
+}
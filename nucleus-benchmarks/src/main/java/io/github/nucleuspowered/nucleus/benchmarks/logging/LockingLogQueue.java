@@ -0,0 +1,55 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.logging;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.logging.DateRotatableFileLogger;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * The queue that the chat and command loggers used before {@link io.github.nucleuspowered.nucleus.logging.AsyncLogAppender}:
+ * a list guarded by a monitor, copied and written once per tick, with the timestamp formatted for
+ * every line.
+ */
+final class LockingLogQueue {
+
+    private final List<String> queueEntry = Lists.newArrayList();
+    private final Object locking = new Object();
+    private final DateRotatableFileLogger logger;
+
+    LockingLogQueue(String directory, DateTimeFormatter formatter) throws IOException {
+        this.logger = new DateRotatableFileLogger(directory, "bench", s -> "[" +
+                formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) + "] " + s);
+    }
+
+    void queueEntry(String s) {
+        synchronized (this.locking) {
+            this.queueEntry.add(s);
+        }
+    }
+
+    void onTick() throws IOException {
+        if (this.queueEntry.isEmpty()) {
+            return;
+        }
+
+        List<String> l;
+        synchronized (this.locking) {
+            l = Lists.newArrayList(this.queueEntry);
+            this.queueEntry.clear();
+        }
+
+        this.logger.logEntry(l);
+    }
+
+    void close() throws IOException {
+        this.logger.close();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.logging;
+
+import io.github.nucleuspowered.nucleus.logging.AsyncLogAppender;
+import io.github.nucleuspowered.nucleus.logging.DateRotatableFileLogger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost, to the threads that log, of queueing chat log entries with the
+ * {@link AsyncLogAppender} against the locking queue it replaced. Both write to files under
+ * {@code logs/nucleus} in the working directory, once per {@link #FLUSH_INTERVAL_MILLIS}.
+ *
+ * <p>The appender drops entries when its buffer is full, which the locking queue never does, so
+ * the number of dropped entries is printed at the end of each trial.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class LogAppenderBenchmark {
+
+    private static final long FLUSH_INTERVAL_MILLIS = 1000;
+    private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
+            .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
+    private static final String ENTRY = "[Chat] Player: the quick brown fox jumps over the lazy dog";
+
+    @State(Scope.Benchmark)
+    public static class Appender {
+
+        AsyncLogAppender appender;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            this.appender = new AsyncLogAppender("benchmark",
+                    new DateRotatableFileLogger("bench-async", "bench", null), formatter, FLUSH_INTERVAL_MILLIS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws IOException {
+            this.appender.close();
+            System.out.println("Dropped entries: " + this.appender.getDroppedCount());
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Locking {
+
+        LockingLogQueue queue;
+        ScheduledExecutorService ticker;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException {
+            this.queue = new LockingLogQueue("bench-locking", formatter);
+            this.ticker = Executors.newSingleThreadScheduledExecutor();
+            this.ticker.scheduleAtFixedRate(() -> {
+                try {
+                    this.queue.onTick();
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            }, FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() throws Exception {
+            this.ticker.shutdown();
+            this.ticker.awaitTermination(10, TimeUnit.SECONDS);
+            this.queue.onTick();
+            this.queue.close();
+        }
+    }
+
+    @Benchmark
+    public void asyncAppender(Appender state, Blackhole blackhole) {
+        blackhole.consume(state.appender.offer(ENTRY));
+    }
+
+    @Benchmark
+    public void lockingQueue(Locking state) {
+        state.queue.queueEntry(ENTRY);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.startup;
+
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.internal.Constants;
+import io.github.nucleuspowered.nucleus.internal.annotations.RequiresEconomy;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCommandPrefix;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCooldown;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoDocumentation;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoHelpSubcommand;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoPermissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoTimings;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.PermissionsFrom;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RedirectModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
+import io.github.nucleuspowered.nucleus.internal.qsml.ClassIndex;
+import io.github.nucleuspowered.nucleus.util.ClassUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how long it takes, in a new JVM, to find the classes of every module and everything
+ * declared about every command: by reading {@code classes.json}, looking each class up by name and
+ * reading the command annotations reflectively, as Nucleus used to, and by using the generated
+ * {@link ClassIndex}.
+ *
+ * <p>Each fork measures a single cold run, so the cost of loading the classes is included.</p>
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class StartupIndexBenchmark {
+
+    private static final List<Class<? extends Annotation>> annotations = Arrays.asList(RunAsync.class, RequiresEconomy.class,
+            NoCommandPrefix.class, NoCooldown.class, NoCost.class, NoDocumentation.class, NoHelpSubcommand.class, NoModifiers.class,
+            NoPermissions.class, NoTimings.class, NoWarmup.class, Permissions.class, PermissionsFrom.class, RedirectModifiers.class,
+            RegisterCommand.class);
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) throws Exception {
+        Map<String, Map<String, List<String>>> m;
+        try (Reader reader = new InputStreamReader(
+                StartupIndexBenchmark.class.getResourceAsStream("/assets/nucleus/classes.json"), StandardCharsets.UTF_8)) {
+            m = new Gson().fromJson(reader, new TypeToken<Map<String, Map<String, List<String>>>>() {}.getType());
+        }
+
+        for (Map.Entry<String, Map<String, List<String>>> module : m.entrySet()) {
+            blackhole.consume(Class.forName(module.getKey()));
+            for (Map.Entry<String, List<String>> type : module.getValue().entrySet()) {
+                for (String name : type.getValue()) {
+                    Class<?> c = Class.forName(name);
+                    blackhole.consume(c);
+                    if (Constants.COMMAND.equals(type.getKey())) {
+                        blackhole.consume(ClassUtil.getActualTypeArguments(c.asSubclass(AbstractCommand.class), AbstractCommand.class));
+                        for (Class<? extends Annotation> annotation : annotations) {
+                            blackhole.consume(c.getAnnotation(annotation));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public void indexed(Blackhole blackhole) {
+        ClassIndex index = ClassIndex.get().orElseThrow(() -> new IllegalStateException("The class index was not generated"));
+        for (Class<?> module : index.getModules()) {
+            blackhole.consume(module);
+            Map<String, List<Class<?>>> classes = index.getClasses(module);
+            if (classes == null) {
+                continue;
+            }
+
+            for (Map.Entry<String, List<Class<?>>> type : classes.entrySet()) {
+                for (Class<?> c : type.getValue()) {
+                    blackhole.consume(c);
+                    if (Constants.COMMAND.equals(type.getKey())) {
+                        blackhole.consume(CommandMetadata.of(c.asSubclass(AbstractCommand.class)));
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.text;
+
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextTemplate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * How templates were rendered before they were compiled: each argument's token is parsed from its
+ * string, suffix and all, every time the template is rendered.
+ */
+final class LegacyTokenParser {
+
+    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
+
+    private final NucleusMessageTokenService tokenService;
+
+    LegacyTokenParser(NucleusMessageTokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    Text render(TextTemplate textTemplate, CommandSource source, Map<String, Object> variables) {
+        Map<String, Text> finalArgs = Maps.newHashMap();
+        textTemplate.getArguments().forEach((k, v) -> parse(k.toLowerCase(), source, variables).ifPresent(t -> finalArgs.put(k, t)));
+        return textTemplate.apply(finalArgs).build();
+    }
+
+    Optional<Text> parse(String token, CommandSource source, Map<String, Object> variables) {
+        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+        Matcher m = suffixPattern.matcher(token);
+        boolean addSpace = false;
+        boolean prependSpace = false;
+        if (m.find(0)) {
+            String match = m.group(1).toLowerCase();
+            addSpace = match.contains("s");
+            prependSpace = match.contains("p");
+            token = token.replaceAll(":[sp]+$", "");
+        }
+
+        Optional<Text> toReturn;
+        if (token.startsWith("pl:") || token.startsWith("p:")) {
+            String[] tokSplit = token.split(":", 3);
+            if (tokSplit.length < 3) {
+                return Optional.empty();
+            }
+
+            toReturn = this.tokenService.applyToken(tokSplit[1], tokSplit[2], source, variables);
+        } else {
+            toReturn = this.tokenService.applyPrimaryToken(token, source, variables);
+        }
+
+        if (addSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
+        }
+
+        if (prependSpace) {
+            toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
+        }
+
+        return toReturn;
+    }
+}
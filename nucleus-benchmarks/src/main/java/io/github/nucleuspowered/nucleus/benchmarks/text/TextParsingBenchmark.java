@@ -0,0 +1,99 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.text;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.StandIns;
+import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
+import io.github.nucleuspowered.nucleus.modules.chat.listeners.ChatListener;
+import io.github.nucleuspowered.nucleus.modules.chat.util.FormattingCodes;
+import io.github.nucleuspowered.nucleus.util.Tuples;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextRepresentable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the parsing that is done to each chat message: adding links to URLs, building the
+ * template fragments for a message, and removing the formatting codes that the sender may not use.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextParsingBenchmark {
+
+    private static final String PLAIN = "Has anyone seen the diamonds that I left in the chest by spawn?";
+    private static final String WITH_URL = "&aThe rules are at &9https://example.com/rules&r, read them before building.";
+    private static final String WITH_CODES = "&cWarning: &lthe &kserver&r &ewill restart in &b5 minutes&e!";
+
+    @State(Scope.Benchmark)
+    public static class Parsing {
+
+        TextParsingUtils textParsingUtils;
+        Subject allCodes;
+        Subject someCodes;
+
+        // Also needed by the static parsers, as the stand-ins must be installed before they are used.
+        @Setup(Level.Trial)
+        public void setup() {
+            this.textParsingUtils = BenchmarkNucleus.install().getTextParsingUtils();
+            this.allCodes = StandIns.subject("all", ImmutableSet.copyOf(FormattingCodes.getPermissionDescriptions().keySet()), ImmutableMap.of());
+            this.someCodes = StandIns.subject("some", ImmutableSet.of(
+                    FormattingCodes.PREFIX + "colour.red",
+                    FormattingCodes.PREFIX + "colour.yellow",
+                    FormattingCodes.PREFIX + "style.bold"), ImmutableMap.of());
+        }
+    }
+
+    @Benchmark
+    public Text addUrlsPlain(Parsing parsing) {
+        return TextParsingUtils.addUrls(PLAIN);
+    }
+
+    @Benchmark
+    public Text addUrlsWithUrl(Parsing parsing) {
+        return TextParsingUtils.addUrls(WITH_URL);
+    }
+
+    @Benchmark
+    public Tuples.NullableTuple<List<TextRepresentable>, Map<String, Function<CommandSource, Text>>> createFragmentsWithUrl(Parsing parsing) {
+        return parsing.textParsingUtils.createTextTemplateFragmentWithLinks(WITH_URL);
+    }
+
+    @Benchmark
+    public String stripPermissionlessPlain(Parsing parsing) {
+        return ChatListener.stripPermissionless(parsing.someCodes, PLAIN);
+    }
+
+    @Benchmark
+    public String stripPermissionlessAllowed(Parsing parsing) {
+        return ChatListener.stripPermissionless(parsing.allCodes, WITH_CODES);
+    }
+
+    @Benchmark
+    public String stripPermissionlessDenied(Parsing parsing) {
+        return ChatListener.stripPermissionless(parsing.someCodes, WITH_CODES);
+    }
+}
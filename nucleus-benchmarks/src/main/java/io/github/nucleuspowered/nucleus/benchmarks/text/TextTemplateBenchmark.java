@@ -0,0 +1,138 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.benchmarks.text;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.reflect.TypeToken;
+import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredException;
+import io.github.nucleuspowered.nucleus.benchmarks.BenchmarkNucleus;
+import io.github.nucleuspowered.nucleus.benchmarks.StandIns;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
+import io.github.nucleuspowered.nucleus.internal.text.ParsedToken;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.serialize.TypeSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.TextTemplate;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares rendering compiled {@link NucleusTextTemplateImpl}s, of both the Ampersand and Json
+ * variants, against rendering the same template by parsing each token from its string, as was done
+ * before templates were compiled. Also compares the parsing of a single token.
+ *
+ * <p>The tokens are registered by a stand-in plugin, as the Nucleus tokens need the server. The Json
+ * variant is normally read by Sponge's serializer, which needs the server's JSON text serializer, so a
+ * stand-in serializer returns the same template as the Ampersand variant would produce.</p>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TextTemplateBenchmark {
+
+    private static final String AMPERSAND = "&7[AFK] {{benchname}}&7 is now away from keyboard, in{{benchworld:p}}.";
+    private static final String TOKEN = "{{pl:nucleusbench:world:sp}}";
+
+    @State(Scope.Benchmark)
+    public static class Templates {
+
+        NucleusTokenServiceImpl tokenService;
+        LegacyTokenParser legacy;
+        NucleusTextTemplateImpl ampersand;
+        NucleusTextTemplateImpl json;
+        ParsedToken parsedToken;
+        CommandSource source;
+        Map<String, Object> variables;
+
+        @Setup(Level.Trial)
+        public void setup() throws Throwable {
+            this.tokenService = (NucleusTokenServiceImpl) BenchmarkNucleus.install().getMessageTokenService();
+            try {
+                this.tokenService.register(StandIns.pluginContainer("nucleusbench"), (token, source, variables) -> {
+                    switch (token.toLowerCase()) {
+                        case "name":
+                            return Optional.of(Text.of(source.getName()));
+                        case "world":
+                            return Optional.of(Text.of("world"));
+                        default:
+                            return Optional.empty();
+                    }
+                });
+            } catch (PluginAlreadyRegisteredException e) {
+                // Registered by an earlier trial.
+            }
+
+            this.tokenService.registerPrimaryToken("benchname", StandIns.pluginContainer("nucleusbench"), "name");
+            this.tokenService.registerPrimaryToken("benchworld", StandIns.pluginContainer("nucleusbench"), "world");
+
+            this.legacy = new LegacyTokenParser(this.tokenService);
+            this.ampersand = NucleusTextTemplateFactory.createFromAmpersandString(AMPERSAND);
+            installJsonSerializer(this.ampersand.getTextTemplate());
+            this.json = NucleusTextTemplateFactory.INSTANCE.create("{\"stand-in\":true}");
+            this.parsedToken = ParsedToken.parse(TOKEN);
+            this.source = StandIns.commandSource("Player");
+            this.variables = ImmutableMap.of();
+        }
+
+        private static void installJsonSerializer(TextTemplate template) throws ReflectiveOperationException {
+            Class<?> json = Class.forName(NucleusTextTemplateImpl.class.getName() + "$Json");
+            Field field = json.getDeclaredField("textTemplateTypeSerializer");
+            field.setAccessible(true);
+            field.set(null, new TypeSerializer<TextTemplate>() {
+                @Override public TextTemplate deserialize(TypeToken<?> type, ConfigurationNode value) {
+                    return template;
+                }
+
+                @Override public void serialize(TypeToken<?> type, TextTemplate obj, ConfigurationNode value) {
+                    throw new UnsupportedOperationException();
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public Text renderAmpersand(Templates templates) {
+        return templates.ampersand.getForCommandSource(templates.source);
+    }
+
+    @Benchmark
+    public Text renderJson(Templates templates) {
+        return templates.json.getForCommandSource(templates.source);
+    }
+
+    @Benchmark
+    public Text renderLegacy(Templates templates) {
+        return templates.legacy.render(templates.ampersand.getTextTemplate(), templates.source, templates.variables);
+    }
+
+    @Benchmark
+    public Optional<Text> parseTokenCompiled(Templates templates) {
+        return templates.tokenService.parseToken(templates.parsedToken, templates.source, templates.variables);
+    }
+
+    @Benchmark
+    public Optional<Text> parseTokenLegacy(Templates templates) {
+        return templates.legacy.parse(TOKEN, templates.source, templates.variables);
+    }
+}
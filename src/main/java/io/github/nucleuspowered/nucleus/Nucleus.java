@@ -10,6 +10,7 @@ import io.github.nucleuspowered.nucleus.dataservices.ItemDataService;
 import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
@@ -69,6 +70,8 @@ public abstract class Nucleus {
 
     public abstract UserCacheService getUserCacheService();
 
+    public abstract DataProviders getDataProviders();
+
     public abstract void saveSystemConfig() throws IOException;
 
     public abstract boolean reload();
@@ -16,6 +16,7 @@ import com.google.gson.Gson;
 import com.google.gson.reflect.TypeToken;
 import com.typesafe.config.ConfigException;
 import io.github.nucleuspowered.nucleus.api.NucleusAPITokens;
+import io.github.nucleuspowered.nucleus.api.service.NucleusCooldownService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusModuleService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
@@ -26,6 +27,7 @@ import io.github.nucleuspowered.nucleus.dataservices.KitService;
 import io.github.nucleuspowered.nucleus.dataservices.NameBanService;
 import io.github.nucleuspowered.nucleus.dataservices.UserCacheService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataStorageType;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.WorldDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralService;
@@ -45,15 +47,23 @@ import io.github.nucleuspowered.nucleus.internal.messages.ResourceMessageProvide
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.qsml.ClassIndex;
 import io.github.nucleuspowered.nucleus.internal.qsml.ModuleRegistrationProxyService;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusConfigAdapter;
 import io.github.nucleuspowered.nucleus.internal.qsml.NucleusLoggerProxy;
 import io.github.nucleuspowered.nucleus.internal.qsml.QuickStartModuleConstructor;
 import io.github.nucleuspowered.nucleus.internal.qsml.event.BaseModuleEvent;
+import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
 import io.github.nucleuspowered.nucleus.internal.services.CommandRemapperService;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
 import io.github.nucleuspowered.nucleus.internal.services.EnderchestAccessService;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.internal.services.HotbarFirstReorderService;
 import io.github.nucleuspowered.nucleus.internal.services.InventoryReorderService;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndexService;
+import io.github.nucleuspowered.nucleus.internal.services.PermissionRefreshService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.services.UserEnderchestAccessService;
 import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
@@ -94,6 +104,7 @@ import org.spongepowered.api.service.permission.PermissionService;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.format.TextColors;
+import uk.co.drnaylor.quickstart.ModuleContainer;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 import uk.co.drnaylor.quickstart.enums.ConstructionPhase;
 import uk.co.drnaylor.quickstart.exceptions.IncorrectAdapterTypeException;
@@ -115,7 +126,9 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -153,10 +166,12 @@ public class NucleusPlugin extends Nucleus {
     private MessageProvider commandMessageProvider = new ResourceMessageProvider(ResourceMessageProvider.commandMessagesBundle);
 
     private WarmupManager warmupManager;
+    private CooldownService cooldownService;
     private final EconHelper econHelper = new EconHelper();
     private final PermissionRegistry permissionRegistry = new PermissionRegistry();
 
     private DiscoveryModuleContainer moduleContainer;
+    private QuickStartModuleConstructor moduleConstructor;
 
     private final Map<String, TextFileController> textFileControllers = Maps.newHashMap();
 
@@ -164,6 +179,8 @@ public class NucleusPlugin extends Nucleus {
     private final Path configDir;
     private final Supplier<Path> dataDir;
     @Nullable private Path dataFileLocation = null;
+    private DataStorageType dataStorageType = DataStorageType.JSON;
+    private DataProviders dataProviders;
     private Path currentDataDir;
     private boolean isServer = false;
     private WarmupConfig warmupConfig;
@@ -231,6 +248,8 @@ public class NucleusPlugin extends Nucleus {
             if (!location.equalsIgnoreCase("default")) {
                 this.dataFileLocation = Paths.get(location);
             }
+
+            this.dataStorageType = DataStorageType.fromString(node.getNode("core", "data-storage-type").getString("json"));
         } catch (IOException e) {
             // don't worry about it
         }
@@ -268,7 +287,8 @@ public class NucleusPlugin extends Nucleus {
             }
             this.commandsConfig = new CommandsConfig(Paths.get(this.configDir.toString(), "commands.conf"));
 
-            DataProviders d = new DataProviders(this);
+            DataProviders d = new DataProviders(this, this.dataStorageType);
+            this.dataProviders = d;
             this.generalService = new ModularGeneralService(d.getGeneralDataProvider());
             this.itemDataService = new ItemDataService(d.getItemDataProvider());
             this.itemDataService.loadInternal();
@@ -278,6 +298,7 @@ public class NucleusPlugin extends Nucleus {
             this.nameBanService = new NameBanService(d.getNameBanDataProvider());
             this.userCacheService = new UserCacheService(d.getUserCacheDataProvider());
             this.warmupManager = new WarmupManager();
+            this.cooldownService = new CooldownService();
             this.textParsingUtils = new TextParsingUtils();
             registerReloadable(this.textParsingUtils);
 
@@ -299,17 +320,35 @@ public class NucleusPlugin extends Nucleus {
         game.getServiceManager().setProvider(this, NucleusModuleService.class, new ModuleRegistrationProxyService(this));
         game.getServiceManager().setProvider(this, NucleusWarmupManagerService.class, this.warmupManager);
         this.serviceManager.registerService(WarmupManager.class, this.warmupManager);
+        game.getServiceManager().setProvider(this, NucleusCooldownService.class, this.cooldownService);
+        this.serviceManager.registerService(CooldownService.class, this.cooldownService);
 
         this.nucleusChatService = new NucleusTokenServiceImpl(this);
         this.serviceManager.registerService(NucleusTokenServiceImpl.class, this.nucleusChatService);
         Sponge.getServiceManager().setProvider(this, NucleusMessageTokenService.class, this.nucleusChatService);
         this.serviceManager.registerService(CommandRemapperService.class, new CommandRemapperService());
+        PlayerStatusService statusService = new PlayerStatusService();
+        this.serviceManager.registerService(PlayerStatusService.class, statusService);
+        this.serviceManager.registerService(NameIndexService.class, new NameIndexService(statusService));
+        this.serviceManager.registerService(MovementService.class, new MovementService());
+        ExpiryService expiryService = new ExpiryService();
+        this.serviceManager.registerService(ExpiryService.class, expiryService);
+        registerReloadable(expiryService);
+        this.serviceManager.registerService(PermissionRefreshService.class, new PermissionRefreshService());
 
         try {
             final String he = this.messageProvider.getMessageWithFormat("config.main-header", PluginInfo.VERSION);
-            Optional<Asset> optionalAsset = Sponge.getAssetManager().getAsset(Nucleus.getNucleus(), "classes.json");
             DiscoveryModuleContainer.Builder db = DiscoveryModuleContainer.builder();
-            if (optionalAsset.isPresent()) {
+            Optional<ClassIndex> classIndex = ClassIndex.get();
+            Optional<Asset> optionalAsset = classIndex.isPresent() ? Optional.empty()
+                    : Sponge.getAssetManager().getAsset(Nucleus.getNucleus(), "classes.json");
+            if (classIndex.isPresent()) {
+                // Generated at build time, so no lookups by name are needed.
+                ClassIndex index = classIndex.get();
+                Set<Class<?>> sc = index.getModules();
+                this.moduleConstructor = new QuickStartModuleConstructor(index::getClasses);
+                db.setStrategy((string, classloader) -> sc);
+            } else if (optionalAsset.isPresent()) {
                 Map<String, Map<String, List<String>>> m = new Gson().fromJson(
                         optionalAsset.get().readString(),
                         new TypeToken<Map<String, Map<String, List<String>>>>() {}.getType()
@@ -320,13 +359,14 @@ public class NucleusPlugin extends Nucleus {
                     sc.add(Class.forName(classString));
                 }
 
-                db.setStrategy((string, classloader) -> sc)
-                        .setConstructor(new QuickStartModuleConstructor(m));
+                this.moduleConstructor = new QuickStartModuleConstructor(module -> QuickStartModuleConstructor.forNames(m.get(module.getName())));
+                db.setStrategy((string, classloader) -> sc);
             } else {
-                db.setConstructor(new QuickStartModuleConstructor(null))
-                        .setStrategy(Strategy.DEFAULT);
+                this.moduleConstructor = new QuickStartModuleConstructor(null);
+                db.setStrategy(Strategy.DEFAULT);
             }
             this.moduleContainer = db
+                    .setConstructor(this.moduleConstructor)
                     .setConfigurationLoader(builder.setDefaultOptions(ConfigurateHelper.setOptions(builder.getDefaultOptions()).setHeader(he)).build())
                     .setPackageToScan(getClass().getPackage().getName() + ".modules")
                     .setLoggerProxy(new NucleusLoggerProxy(this.logger))
@@ -334,6 +374,7 @@ public class NucleusPlugin extends Nucleus {
                     .setOnPreEnable(() -> {
                         initDocGenIfApplicable();
                         Sponge.getEventManager().post(new BaseModuleEvent.AboutToEnable(this));
+                        this.moduleConstructor.preload(this.moduleContainer.getModules(ModuleContainer.ModuleStatusTristate.ENABLE), this.logger);
                     })
                     .setOnEnable(() -> Sponge.getEventManager().post(new BaseModuleEvent.PreEnable(this)))
                     .setOnPostEnable(() -> Sponge.getEventManager().post(new BaseModuleEvent.Enabled(this)))
@@ -438,6 +479,14 @@ public class NucleusPlugin extends Nucleus {
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.moduleloading", PluginInfo.NAME));
             this.moduleContainer.loadModules(true);
 
+            // Each module merges its command defaults in, they are written out once.
+            try {
+                this.commandsConfig.save();
+            } catch (Exception e) {
+                this.logger.error("Could not save defaults.");
+                e.printStackTrace();
+            }
+
             CoreConfig coreConfig = this.moduleContainer.getConfigAdapterForModule(CoreModule.ID, CoreConfigAdapter.class).getNodeOrDefault();
 
             if (coreConfig.isErrorOnStartup()) {
@@ -447,6 +496,9 @@ public class NucleusPlugin extends Nucleus {
             this.isDebugMode = coreConfig.isDebugmode();
             this.isTraceUserCreations = coreConfig.traceUserCreations();
             this.savesandloads = coreConfig.isPrintSaveLoad();
+            if (this.isDebugMode) {
+                logModuleTimings();
+            }
         } catch (Throwable construction) {
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.modulenotloaded", PluginInfo.NAME));
             construction.printStackTrace();
@@ -510,6 +562,8 @@ public class NucleusPlugin extends Nucleus {
 
             // Start the user cache walk if required, the user storage service is loaded at this point.
             Task.builder().async().execute(() -> this.userCacheService.startFilewalkIfNeeded()).submit(this);
+            Task.builder().async().execute(() -> getInternalServiceManager().getServiceUnchecked(NameIndexService.class).loadKnownNames())
+                    .submit(this);
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.started", PluginInfo.NAME));
         }
     }
@@ -593,6 +647,7 @@ public class NucleusPlugin extends Nucleus {
             this.gameStartedTime = null;
             this.logger.info(this.messageProvider.getMessageWithFormat("startup.stopped", PluginInfo.NAME));
             saveData();
+            this.dataProviders.close();
             getInternalServiceManager().getServiceUnchecked(CommandRemapperService.class).deactivate();
         }
     }
@@ -601,6 +656,7 @@ public class NucleusPlugin extends Nucleus {
     public void saveData() {
         this.userDataManager.saveAll();
         this.worldDataManager.saveAll();
+        this.dataProviders.commit();
 
         if (Sponge.getGame().getState().ordinal() > GameState.SERVER_ABOUT_TO_START.ordinal()) {
             try {
@@ -689,6 +745,10 @@ public class NucleusPlugin extends Nucleus {
         return this.userCacheService;
     }
 
+    @Override public DataProviders getDataProviders() {
+        return this.dataProviders;
+    }
+
     @Override
     public void saveSystemConfig() throws IOException {
         this.moduleContainer.saveSystemConfig();
@@ -784,6 +844,20 @@ public class NucleusPlugin extends Nucleus {
         this.logger.info(this.messageProvider.getMessageWithFormat("language.set", this.messageProvider.getLocale().toLanguageTag()));
     }
 
+    private void logModuleTimings() {
+        for (StandardModule module : this.moduleConstructor.getConstructedModules()) {
+            Map<String, Long> timings = module.getStartupTimings();
+            if (!timings.isEmpty()) {
+                long total = timings.values().stream().mapToLong(Long::longValue).sum();
+                String phases = timings.entrySet().stream()
+                        .map(x -> x.getKey() + ": " + TimeUnit.NANOSECONDS.toMillis(x.getValue()) + "ms")
+                        .collect(Collectors.joining(", "));
+                this.logger.info(this.messageProvider.getMessageWithFormat("startup.moduletimings", module.getModuleId(),
+                        String.valueOf(TimeUnit.NANOSECONDS.toMillis(total)), phases));
+            }
+        }
+    }
+
     @Override
     public WarmupManager getWarmupManager() {
         return this.warmupManager;
@@ -8,6 +8,7 @@ import com.flowpowered.math.vector.Vector3d;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
 import io.github.nucleuspowered.nucleus.internal.services.InventoryReorderService;
 import io.github.nucleuspowered.nucleus.util.PaginationBuilderWrapper;
 import io.github.nucleuspowered.nucleus.util.ThrownFunction;
@@ -279,16 +280,8 @@ public class Util {
      */
     public static Optional<String> getOptionFromSubject(Subject player, String... options) {
         for (String option : options) {
-            String o = option.toLowerCase();
-
-            // Option for context.
-            Optional<String> os = player.getOption(player.getActiveContexts(), o);
-            if (os.isPresent()) {
-                return os.map(r -> r.isEmpty() ? null : r);
-            }
-
-            // General option
-            os = player.getOption(o);
+            // Checks the active contexts, then the general option.
+            Optional<String> os = SubjectResolutionCache.getInstance().getOption(player, option.toLowerCase());
             if (os.isPresent()) {
                 return os.map(r -> r.isEmpty() ? null : r);
             }
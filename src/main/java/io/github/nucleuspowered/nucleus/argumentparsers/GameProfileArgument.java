@@ -5,12 +5,14 @@
 package io.github.nucleuspowered.nucleus.argumentparsers;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndexService;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.ArgumentParseException;
 import org.spongepowered.api.command.args.CommandArgs;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
+import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.profile.GameProfile;
 import org.spongepowered.api.service.user.UserStorageService;
@@ -18,6 +20,9 @@ import org.spongepowered.api.text.Text;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -25,6 +30,8 @@ import javax.annotation.Nullable;
 
 public class GameProfileArgument extends CommandElement {
 
+    private static final int COMPLETION_LIMIT = 100;
+
     private final Pattern p = Pattern.compile("[a-zA-Z0-9_]{1,16}");
 
     public GameProfileArgument(@Nullable Text key) {
@@ -39,9 +46,18 @@ public class GameProfileArgument extends CommandElement {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.format"));
         }
 
-        List<GameProfile> lgp = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
-                .stream().filter(x -> x.getName().isPresent() && x.getName().get().equalsIgnoreCase(name))
-                .collect(Collectors.toList());
+        UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+        NameIndexService nameIndex = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(NameIndexService.class);
+        List<GameProfile> lgp;
+        if (nameIndex.isKnownNamesLoaded()) {
+            lgp = nameIndex.getKnown(name).stream()
+                    .map(x -> uss.get(x).map(User::getProfile).orElse(null))
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            lgp = uss.getAll().stream().filter(x -> x.getName().isPresent() && x.getName().get().equalsIgnoreCase(name))
+                    .collect(Collectors.toList());
+        }
 
         if (lgp.isEmpty()) {
             throw args.createError(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("args.gameprofile.none", name));
@@ -58,6 +74,18 @@ public class GameProfileArgument extends CommandElement {
     public List<String> complete(CommandSource src, CommandArgs args, CommandContext context) {
         try {
             String arg = args.peek().toLowerCase();
+            NameIndexService nameIndex = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(NameIndexService.class);
+            if (nameIndex.isKnownNamesLoaded()) {
+                // Online players first, then everyone else.
+                List<Player> online = nameIndex.findOnline(arg, true, Integer.MAX_VALUE);
+                Set<UUID> onlineIds = online.stream().map(Player::getUniqueId).collect(Collectors.toSet());
+                List<String> names = online.stream().map(Player::getName).collect(Collectors.toList());
+                nameIndex.findKnown(arg, COMPLETION_LIMIT).stream()
+                        .filter(x -> !onlineIds.contains(x))
+                        .forEach(x -> nameIndex.getKnownName(x).ifPresent(names::add));
+                return names;
+            }
+
             List<String> onlinePlayers = Sponge.getServer().getOnlinePlayers().stream().map(User::getName).collect(Collectors.toList());
             return Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll()
                 .stream().filter(x -> x.getName().isPresent() && x.getName().get().toLowerCase().startsWith(arg))
@@ -6,10 +6,11 @@ package io.github.nucleuspowered.nucleus.argumentparsers;
 
 import com.google.common.collect.ImmutableSet;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndexService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.nickname.services.NicknameService;
 import io.github.nucleuspowered.nucleus.modules.vanish.commands.VanishCommand;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
@@ -17,7 +18,6 @@ import org.spongepowered.api.command.args.ArgumentParseException;
 import org.spongepowered.api.command.args.CommandArgs;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
-import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.user.UserStorageService;
@@ -32,7 +32,6 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.BiFunction;
-import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
@@ -41,6 +40,9 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
 
     private static boolean init = false;
     private static int USER_LIMIT = 20;
+
+    // The most users that are not online that a partial name will match.
+    private static final int OFFLINE_MATCH_LIMIT = 100;
     private static final String VANISH_PERMISSION = Nucleus.getNucleus().getPermissionRegistry()
             .getPermissionsForNucleusCommand(VanishCommand.class).getPermissionWithSuffix("see");
 
@@ -51,7 +53,6 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
     }
 
     private final Target target;
-    @Nullable private final NicknameService nicknameService = getService(NicknameService.class).orElse(null);
 
     public NicknameArgument(@Nullable Text key, Target target) {
         super(key);
@@ -82,7 +83,7 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
             return ImmutableSet.of(Sponge.getServer().getConsole());
         }
 
-        final Predicate<Player> shouldShow = determinePredicate(source);
+        final boolean showVanished = source.hasPermission(VANISH_PERMISSION);
 
         boolean playerOnly = toParse.startsWith("p:");
         if (playerOnly) {
@@ -108,42 +109,39 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
             }
         }
 
-        if (this.nicknameService != null) {
-            Optional<Player> op = this.nicknameService.getFromCache(toParse.toLowerCase());
-            if (op.isPresent() && shouldShowPlayer(op.get())) {
-                return ImmutableSet.of(op.get());
-            }
+        NameIndexService nameIndex = getServiceUnchecked(NameIndexService.class);
+        Optional<Player> op = nameIndex.getByNickname(toParse);
+        if (op.isPresent() && shouldShowPlayer(op.get())) {
+            return ImmutableSet.of(op.get());
         }
 
         if (toParse.length() < 3) {
             throw exceptionSupplier.apply("args.user.nouserfuzzy", toParse);
         }
 
-        Set<User> users = new HashSet<>();
-        final String parse = toParse.toLowerCase();
         // fuzzy matching time.
-        // players that match
-        Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> x.getName().toLowerCase().startsWith(parse))
-                .filter(shouldShow)
-                .forEach(users::add);
-        if (this.nicknameService != null) {
-            this.nicknameService.startsWith(parse).stream()
-                    .map(x -> Sponge.getServer().getPlayer(x).orElse(null))
-                    .filter(shouldShow)
-                    .filter(Objects::nonNull)
-                    .forEach(users::add);
-        }
+        // players and nicknames that match
+        Set<User> users = new HashSet<>(nameIndex.findOnline(toParse, showVanished, Integer.MAX_VALUE));
+        users.addAll(nameIndex.findNicknames(toParse, showVanished, Integer.MAX_VALUE));
 
         List<UUID> uuids = users.stream().map(Identifiable::getUniqueId).collect(Collectors.toList());
         if (this.target == Target.USER) {
             // This may add vanished players, but that's OK because we're showing all users anyway,
             // AND if they were hidden, it could give away that they were vanished.
-            uss.match(parse).stream()
-                    .map(x -> uss.get(x).orElse(null))
-                    .filter(Objects::nonNull)
-                    .filter(x -> !uuids.contains(x.getUniqueId()))
-                    .forEach(users::add);
+            if (nameIndex.isKnownNamesLoaded()) {
+                nameIndex.findKnown(toParse, OFFLINE_MATCH_LIMIT).stream()
+                        .filter(x -> !uuids.contains(x))
+                        .map(x -> uss.get(x).orElse(null))
+                        .filter(Objects::nonNull)
+                        .forEach(users::add);
+            } else {
+                final String parse = toParse.toLowerCase();
+                uss.match(parse).stream()
+                        .map(x -> uss.get(x).orElse(null))
+                        .filter(Objects::nonNull)
+                        .filter(x -> !uuids.contains(x.getUniqueId()))
+                        .forEach(users::add);
+            }
         }
 
         if (users.isEmpty()) {
@@ -163,36 +161,31 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
                 toParse = toParse.substring(2);
             }
 
-            final Predicate<Player> shouldShow = determinePredicate(source);
-            String parse = toParse.toLowerCase();
-            UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
-            Sponge.getServer().getOnlinePlayers().stream()
-                    .filter(x -> x.getName().toLowerCase().startsWith(parse))
-                    .filter(shouldShow)
-                    .forEach(player -> {
-                        if (playerOnly) {
-                            names.add("p:" + player.getName());
-                        } else {
-                            names.add(player.getName());
-                        }
-                    });
+            final boolean showVanished = source.hasPermission(VANISH_PERMISSION);
+            NameIndexService nameIndex = getServiceUnchecked(NameIndexService.class);
+            nameIndex.findOnline(toParse, showVanished, Integer.MAX_VALUE).forEach(player -> {
+                if (playerOnly) {
+                    names.add("p:" + player.getName());
+                } else {
+                    names.add(player.getName());
+                }
+            });
 
             if (!playerOnly) {
-                if (this.nicknameService != null) {
-                    this.nicknameService.startsWithGetMap(parse).entrySet().stream()
-                            .map(x -> Sponge.getServer().getPlayer(x.getValue())
-                                    .filter(shouldShow)
-                                    .map(y -> x.getKey()).orElse(null))
-                            .filter(Objects::nonNull)
-                            .forEach(names::add);
-                }
+                nameIndex.findNicknames(toParse, showVanished, Integer.MAX_VALUE)
+                        .forEach(x -> nameIndex.getNickname(x.getUniqueId()).ifPresent(names::add));
 
                 if (USER_LIMIT > 0 && this.target == Target.USER) {
-                    uss.match(parse).stream()
-                            .map(x -> uss.get(x).map(User::getName).orElse(null))
-                            .filter(Objects::nonNull)
-                            .limit(USER_LIMIT)
-                            .forEach(names::add);
+                    if (nameIndex.isKnownNamesLoaded()) {
+                        nameIndex.findKnown(toParse, USER_LIMIT).forEach(x -> nameIndex.getKnownName(x).ifPresent(names::add));
+                    } else {
+                        UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+                        uss.match(toParse.toLowerCase()).stream()
+                                .map(x -> uss.get(x).map(User::getName).orElse(null))
+                                .filter(Objects::nonNull)
+                                .limit(USER_LIMIT)
+                                .forEach(names::add);
+                    }
                 }
             }
             return names;
@@ -201,16 +194,8 @@ public class NicknameArgument extends CommandElement implements MessageProviderT
         }
     }
 
-    private static Predicate<Player> determinePredicate(CommandSource source) {
-        if (source.hasPermission(VANISH_PERMISSION)) {
-            return p -> true;
-        } else {
-            return NicknameArgument::shouldShowPlayer;
-        }
-    }
-
     private static boolean shouldShowPlayer(Player player) {
-        return !player.get(Keys.VANISH).orElse(false);
+        return !Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class).isVanished(player);
     }
 
 }
@@ -34,6 +34,12 @@ public class UserCacheDataNode {
         // ignored - for Configurate
     }
 
+    public UserCacheDataNode(@Nullable String ipAddress, @Nullable String jail, boolean isMuted) {
+        this.ipAddress = ipAddress;
+        this.jail = jail;
+        this.isMuted = isMuted;
+    }
+
     public UserCacheDataNode(ModularUserService x) {
         set(x);
     }
@@ -20,6 +20,14 @@ public class UserCacheVersionNode {
     @Setting
     private Map<UUID, UserCacheDataNode> node = Maps.newHashMap();
 
+    public UserCacheVersionNode() {
+        // ignored - for Configurate
+    }
+
+    public UserCacheVersionNode(int version) {
+        this.version = version;
+    }
+
     public int getVersion() {
         return this.version;
     }
@@ -73,6 +73,10 @@ public abstract class AbstractService<T> implements Service {
         throw new IllegalStateException("Data has not been initialised.");
     }
 
+    @Override public long getLastSavedSize() {
+        return this.dataProvider.getLastSavedSize();
+    }
+
     @Override public boolean delete() {
         try {
             if (Nucleus.getNucleus().isPrintingSavesAndLoads()) {
@@ -15,4 +15,39 @@ public interface Service {
     void saveInternal() throws Exception;
 
     boolean delete();
+
+    /**
+     * Gets whether the data in this service has changed since it was last loaded or saved.
+     *
+     * @return true if a save would write new data.
+     */
+    default boolean isDirty() {
+        return true;
+    }
+
+    /**
+     * Marks the data in this service as saved, as it is about to be written. Changes made after
+     * this is called will mark it as dirty again.
+     */
+    default void clearDirty() {
+        // noop
+    }
+
+    /**
+     * Gets the size, in bytes, of the last save.
+     *
+     * @return The size, or zero if unknown.
+     */
+    default long getLastSavedSize() {
+        return 0;
+    }
+
+    /**
+     * Gets the relative weight of this service when held in a cache.
+     *
+     * @return The weight, at least one.
+     */
+    default int getWeight() {
+        return 1;
+    }
 }
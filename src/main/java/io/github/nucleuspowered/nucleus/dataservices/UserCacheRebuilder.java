@@ -0,0 +1,339 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.ConfigurationNodeCodec;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataStorageType;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.EmbeddedDataStore;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * Rebuilds the user cache directly from the stored user data, without loading users through the
+ * {@link io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager}.
+ *
+ * <p>User data is split into units - the two character prefix directories for JSON data, or the
+ * same prefixes of the keys for embedded data - which are read in parallel. Only the fields
+ * that {@link UserCacheDataNode} needs are read. When a unit is complete, its entries are appended
+ * to a checkpoint file, so that an interrupted rebuild can skip that unit when it is restarted.</p>
+ */
+final class UserCacheRebuilder {
+
+    static final String CHECKPOINT_FILE = "nucleususercache.rebuild";
+    private static final int PROGRESS_INTERVAL = DataProviders.MIGRATION_PROGRESS_INTERVAL;
+    private static final String DONE = "done";
+
+    private final Path dataPath;
+    private final Path checkpointFile;
+    private final DataProviders dataProviders;
+    private final IntConsumer progress;
+    private final AtomicInteger count = new AtomicInteger();
+    private final Map<UUID, UserCacheDataNode> result = new ConcurrentHashMap<>();
+    private final Object checkpointLock = new Object();
+
+    UserCacheRebuilder(Path dataPath, DataProviders dataProviders, IntConsumer progress) {
+        this.dataPath = dataPath;
+        this.checkpointFile = dataPath.resolve(CHECKPOINT_FILE);
+        this.dataProviders = dataProviders;
+        this.progress = progress;
+    }
+
+    static boolean hasCheckpoint(Path dataPath) {
+        return Files.exists(dataPath.resolve(CHECKPOINT_FILE));
+    }
+
+    /**
+     * Reads the user data, resuming from the checkpoint file if there is one.
+     *
+     * @return The rebuilt cache entries.
+     * @throws Exception if the user data could not be read.
+     */
+    Map<UUID, UserCacheDataNode> rebuild() throws Exception {
+        Set<String> completed = readCheckpoint();
+        List<Unit> units = this.dataProviders.getStorageType() == DataStorageType.EMBEDDED ? getEmbeddedUnits() : getJsonUnits();
+        units.removeIf(x -> completed.contains(x.name));
+        if (!completed.isEmpty()) {
+            Nucleus.getNucleus().getLogger().info("Resuming user cache rebuild, " + completed.size() + " sections were already complete.");
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors() - 1));
+        try {
+            pool.submit(() -> units.parallelStream().forEach(this::process)).get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof Exception ? (Exception) e.getCause() : e;
+        } finally {
+            pool.shutdown();
+        }
+
+        return this.result;
+    }
+
+    /**
+     * Removes the checkpoint file, once the rebuilt cache has been saved.
+     *
+     * @throws IOException if the file could not be deleted.
+     */
+    void complete() throws IOException {
+        Files.deleteIfExists(this.checkpointFile);
+    }
+
+    private void process(Unit unit) {
+        Map<UUID, UserCacheDataNode> entries = Maps.newHashMap();
+        for (Entry entry : unit.entries) {
+            try {
+                entries.put(entry.uuid, entry.read());
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().warn("Could not read the data for " + entry.uuid.toString() + " while rebuilding the user cache.");
+                Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+            }
+
+            int c = this.count.incrementAndGet();
+            if (c % PROGRESS_INTERVAL == 0) {
+                this.progress.accept(c);
+            }
+        }
+
+        this.result.putAll(entries);
+        writeCheckpoint(unit.name, entries);
+    }
+
+    // -- Units
+
+    private List<Unit> getJsonUnits() throws IOException {
+        List<Unit> units = Lists.newArrayList();
+        Path directory = this.dataPath.resolve("userdata");
+        if (!Files.isDirectory(directory)) {
+            return units;
+        }
+
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path prefix : prefixes) {
+                List<Entry> entries = Lists.newArrayList();
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(prefix, "*.json")) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        try {
+                            entries.add(new Entry(UUID.fromString(name.substring(0, name.length() - 5)), () -> readJson(file)));
+                        } catch (IllegalArgumentException e) {
+                            // not a user file
+                        }
+                    }
+                }
+
+                units.add(new Unit(prefix.getFileName().toString(), entries));
+            }
+        }
+
+        return units;
+    }
+
+    private List<Unit> getEmbeddedUnits() {
+        EmbeddedDataStore.Section section = this.dataProviders.getEmbeddedDataStore().users();
+        Map<String, List<Entry>> entries = Maps.newHashMap();
+        Iterator<String> keys = section.keys();
+        while (keys.hasNext()) {
+            String key = keys.next();
+            try {
+                UUID uuid = UUID.fromString(key);
+                entries.computeIfAbsent(key.substring(0, 2), k -> Lists.newArrayList())
+                        .add(new Entry(uuid, () -> readEmbedded(section.get(uuid))));
+            } catch (IllegalArgumentException e) {
+                // not a user key
+            }
+        }
+
+        List<Unit> units = Lists.newArrayList();
+        entries.forEach((name, list) -> units.add(new Unit(name, list)));
+        return units;
+    }
+
+    // -- Readers
+
+    private static UserCacheDataNode readJson(Path file) throws IOException {
+        String ip = null;
+        String jail = null;
+        boolean muted = false;
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(file, StandardCharsets.UTF_8))) {
+            reader.setLenient(true);
+            reader.beginObject();
+            while (reader.hasNext()) {
+                String name = reader.nextName();
+                if (reader.peek() == JsonToken.NULL) {
+                    reader.nextNull();
+                    continue;
+                }
+
+                switch (name) {
+                    case "lastIP":
+                        ip = reader.nextString();
+                        break;
+                    case "jailData":
+                        jail = readJailName(reader);
+                        break;
+                    case "muteData":
+                        muted = true;
+                        reader.skipValue();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+        }
+
+        return createNode(ip, jail, muted);
+    }
+
+    @Nullable
+    private static String readJailName(JsonReader reader) throws IOException {
+        String jail = null;
+        reader.beginObject();
+        while (reader.hasNext()) {
+            if (reader.nextName().equals("jailName") && reader.peek() == JsonToken.STRING) {
+                jail = reader.nextString();
+            } else {
+                reader.skipValue();
+            }
+        }
+
+        reader.endObject();
+        return jail;
+    }
+
+    private static UserCacheDataNode readEmbedded(@Nullable byte[] data) throws IOException {
+        if (data == null) {
+            return createNode(null, null, false);
+        }
+
+        ConfigurationNode node = ConfigurationNodeCodec.decode(data);
+        return createNode(
+                node.getNode("lastIP").getString(),
+                node.getNode("jailData", "jailName").getString(),
+                !node.getNode("muteData").isVirtual());
+    }
+
+    private static UserCacheDataNode createNode(@Nullable String ip, @Nullable String jail, boolean muted) {
+        return new UserCacheDataNode(ip == null ? null : ip.replace("/", ""), jail, muted);
+    }
+
+    // -- Checkpoints
+
+    private Set<String> readCheckpoint() {
+        Set<String> completed = Sets.newHashSet();
+        if (!Files.exists(this.checkpointFile)) {
+            return completed;
+        }
+
+        // Entries only count once the "done" line for their unit has been written.
+        Map<UUID, UserCacheDataNode> pending = Maps.newHashMap();
+        try (BufferedReader reader = Files.newBufferedReader(this.checkpointFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t", -1);
+                if (parts.length == 2 && parts[0].equals(DONE)) {
+                    completed.add(parts[1]);
+                    this.result.putAll(pending);
+                    this.count.addAndGet(pending.size());
+                    pending.clear();
+                } else if (parts.length == 4) {
+                    pending.put(UUID.fromString(parts[0]), new UserCacheDataNode(
+                            parts[1].isEmpty() ? null : parts[1],
+                            parts[2].isEmpty() ? null : parts[2],
+                            parts[3].equals("1")));
+                }
+            }
+        } catch (Exception e) {
+            // Anything after the last complete unit will be read again.
+            Nucleus.getNucleus().getLogger().warn("Could not fully read the user cache rebuild checkpoint, some users will be read again.");
+            Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+        }
+
+        return completed;
+    }
+
+    private void writeCheckpoint(String unit, Map<UUID, UserCacheDataNode> entries) {
+        synchronized (this.checkpointLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(this.checkpointFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Map.Entry<UUID, UserCacheDataNode> entry : entries.entrySet()) {
+                    UserCacheDataNode node = entry.getValue();
+                    writer.write(entry.getKey().toString() + "\t"
+                            + node.getIpAddress().orElse("") + "\t"
+                            + node.getJailName().orElse("").replace("\t", " ") + "\t"
+                            + (node.isMuted() ? "1" : "0"));
+                    writer.newLine();
+                }
+
+                writer.write(DONE + "\t" + unit);
+                writer.newLine();
+            } catch (IOException e) {
+                // Not fatal, this unit will just be read again if the rebuild is interrupted.
+                Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+            }
+        }
+    }
+
+    private static final class Unit {
+
+        private final String name;
+        private final Collection<Entry> entries;
+
+        private Unit(String name, Collection<Entry> entries) {
+            this.name = name;
+            this.entries = entries;
+        }
+    }
+
+    private static final class Entry {
+
+        private final UUID uuid;
+        private final Reader reader;
+
+        private Entry(UUID uuid, Reader reader) {
+            this.uuid = uuid;
+            this.reader = reader;
+        }
+
+        private UserCacheDataNode read() throws IOException {
+            return this.reader.read();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Reader {
+
+        UserCacheDataNode read() throws IOException;
+    }
+}
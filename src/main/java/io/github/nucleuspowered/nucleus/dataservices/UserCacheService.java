@@ -4,22 +4,32 @@
  */
 package io.github.nucleuspowered.nucleus.dataservices;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
 import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
-import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
-import org.spongepowered.api.Sponge;
-import org.spongepowered.api.service.user.UserStorageService;
-import org.spongepowered.api.util.Identifiable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.IntConsumer;
 import java.util.stream.Collectors;
 
+import javax.annotation.Nullable;
+
+/**
+ * Holds the IP address, jail and mute status of every known user, so that these can be looked up
+ * without loading every user's data.
+ *
+ * <p>Lookups use indexes that are updated whenever a user's entry changes, so they take time in
+ * proportion to the size of the result, not the number of known users.</p>
+ */
 public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private static final int expectedVersion = new UserCacheVersionNode().getVersion();
@@ -27,35 +37,59 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
 
     private final Object lockingObject = new Object();
 
+    // Guards the data node and the indexes below.
+    private final Object indexLock = new Object();
+    private final Map<String, Set<UUID>> ipIndex = Maps.newHashMap();
+    private final Map<String, Set<UUID>> jailIndex = Maps.newHashMap();
+    private final Set<UUID> mutedIndex = Sets.newHashSet();
+
+    // Entries changed while a rebuild reads the user data, which are applied over what it read.
+    @Nullable private Map<UUID, UserCacheDataNode> changedDuringWalk = null;
+
     public UserCacheService(DataProvider<UserCacheVersionNode> dataProvider) {
         super(dataProvider);
     }
 
     public List<UUID> getForIp(String ip) {
-        updateCacheForOnlinePlayers();
-        String ipToCheck = ip.replace("/", "");
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue()
-                .getIpAddress().map(y -> y.equals(ipToCheck)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return copyOf(this.ipIndex.get(ip.replace("/", "")));
+        }
     }
 
     public List<UUID> getJailed() {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isJailed())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return this.jailIndex.values().stream().flatMap(Collection::stream).collect(Collectors.toList());
+        }
     }
 
     public List<UUID> getJailedIn(String name) {
-        updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream()
-                .filter(x -> x.getValue().getJailName().map(y -> y.equalsIgnoreCase(name)).orElse(false))
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            return copyOf(this.jailIndex.get(name.toLowerCase()));
+        }
     }
 
     public List<UUID> getMuted() {
+        synchronized (this.indexLock) {
+            return ImmutableList.copyOf(this.mutedIndex);
+        }
+    }
+
+    private static List<UUID> copyOf(@Nullable Set<UUID> set) {
+        return set == null ? ImmutableList.of() : ImmutableList.copyOf(set);
+    }
+
+    @Override public void loadInternal() throws Exception {
+        synchronized (this.indexLock) {
+            super.loadInternal();
+            rebuildIndexes();
+        }
+    }
+
+    @Override public void saveInternal() throws Exception {
         updateCacheForOnlinePlayers();
-        return this.data.getNode().entrySet().stream().filter(x -> x.getValue().isMuted())
-                .map(Map.Entry::getKey).collect(Collectors.toList());
+        synchronized (this.indexLock) {
+            super.saveInternal();
+        }
     }
 
     @Override protected String serviceName() {
@@ -63,12 +97,26 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
     }
 
     public void updateCacheForOnlinePlayers() {
-        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(u ->
-                this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u));
+        Nucleus.getNucleus().getUserDataManager().getOnlineUsers().forEach(this::updateCacheForPlayer);
     }
 
     public void updateCacheForPlayer(ModularUserService u) {
-        this.data.getNode().computeIfAbsent(u.getUniqueId(), x -> new UserCacheDataNode()).set(u);
+        UserCacheDataNode node = new UserCacheDataNode(u);
+        synchronized (this.indexLock) {
+            if (this.changedDuringWalk != null) {
+                this.changedDuringWalk.put(u.getUniqueId(), node);
+            }
+
+            if (this.data != null) {
+                UUID uuid = u.getUniqueId();
+                UserCacheDataNode old = this.data.getNode().put(uuid, node);
+                if (old != null) {
+                    unindex(uuid, old);
+                }
+
+                index(uuid, node);
+            }
+        }
     }
 
     public void updateCacheForPlayer(UUID uuid) {
@@ -76,8 +124,13 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
     }
 
     public void startFilewalkIfNeeded() {
-        if (!this.isWalking && (!isCorrectVersion() || this.data.getNode().isEmpty())) {
-            fileWalk();
+        if (!this.isWalking && (!isCorrectVersion() || this.data.getNode().isEmpty()
+                || UserCacheRebuilder.hasCheckpoint(Nucleus.getNucleus().getDataPath()))) {
+            try {
+                fileWalk(x -> {});
+            } catch (Exception e) {
+                Nucleus.getNucleus().getLogger().error("Could not rebuild the user cache.", e);
+            }
         }
     }
 
@@ -85,7 +138,16 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
         return expectedVersion == this.data.getVersion();
     }
 
-    public boolean fileWalk() {
+    /**
+     * Rebuilds the cache from the stored user data. If a previous rebuild was interrupted, it is
+     * resumed. The current cache remains available until the rebuild is complete, and any changes
+     * made to it while the rebuild runs are kept.
+     *
+     * @param progress Called periodically with the number of users that have been read.
+     * @return false if a rebuild is already in progress.
+     * @throws Exception if the user data could not be read.
+     */
+    public boolean fileWalk(IntConsumer progress) throws Exception {
         synchronized (this.lockingObject) {
             if (this.isWalking) {
                 return false;
@@ -95,29 +157,68 @@ public class UserCacheService extends AbstractService<UserCacheVersionNode> {
         }
 
         try {
-            Map<UUID, UserCacheDataNode> data = Maps.newHashMap();
-            List<UUID> knownUsers = Sponge.getServiceManager().provideUnchecked(UserStorageService.class).getAll().stream()
-                    .map(Identifiable::getUniqueId).collect(Collectors.toList());
-
-            int count = 0;
-            UserDataManager manager = Nucleus.getNucleus().getUserDataManager();
-            for (UUID user : knownUsers) {
-                if (manager.has(user)) {
-                    manager.get(user).ifPresent(x -> data.put(user, new UserCacheDataNode(x)));
-                    if (++count >= 10) {
-                        manager.removeOfflinePlayers();
-                        count = 0;
-                    }
+            synchronized (this.indexLock) {
+                this.changedDuringWalk = Maps.newHashMap();
+            }
+
+            // Make sure the files include changes that are only in memory or waiting to be written.
+            Nucleus.getNucleus().getUserDataManager().saveAll();
+            UserCacheRebuilder rebuilder =
+                    new UserCacheRebuilder(Nucleus.getNucleus().getDataPath(), Nucleus.getNucleus().getDataProviders(), progress);
+            Map<UUID, UserCacheDataNode> data = rebuilder.rebuild();
+
+            synchronized (this.indexLock) {
+                this.data = new UserCacheVersionNode();
+                this.data.getNode().putAll(data);
+                if (this.changedDuringWalk != null) {
+                    this.data.getNode().putAll(this.changedDuringWalk);
+                    this.changedDuringWalk = null;
                 }
+
+                rebuildIndexes();
             }
 
-            this.data = new UserCacheVersionNode();
-            this.data.getNode().putAll(data);
-            save();
+            // This also refreshes online players, whose data may have changed since it was last saved.
+            saveInternal();
+            rebuilder.complete();
         } finally {
+            synchronized (this.indexLock) {
+                this.changedDuringWalk = null;
+            }
+
             this.isWalking = false;
         }
 
         return true;
     }
+
+    private void rebuildIndexes() {
+        this.ipIndex.clear();
+        this.jailIndex.clear();
+        this.mutedIndex.clear();
+        if (this.data != null) {
+            this.data.getNode().forEach(this::index);
+        }
+    }
+
+    private void index(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> this.ipIndex.computeIfAbsent(x, k -> Sets.newHashSet()).add(uuid));
+        node.getJailName().ifPresent(x -> this.jailIndex.computeIfAbsent(x.toLowerCase(), k -> Sets.newHashSet()).add(uuid));
+        if (node.isMuted()) {
+            this.mutedIndex.add(uuid);
+        }
+    }
+
+    private void unindex(UUID uuid, UserCacheDataNode node) {
+        node.getIpAddress().ifPresent(x -> remove(this.ipIndex, x, uuid));
+        node.getJailName().ifPresent(x -> remove(this.jailIndex, x.toLowerCase(), uuid));
+        this.mutedIndex.remove(uuid);
+    }
+
+    private static void remove(Map<String, Set<UUID>> index, String key, UUID uuid) {
+        Set<UUID> set = index.get(key);
+        if (set != null && set.remove(uuid) && set.isEmpty()) {
+            index.remove(key);
+        }
+    }
 }
@@ -13,6 +13,7 @@ import ninja.leaping.configurate.loader.ConfigurationLoader;
 import org.slf4j.Logger;
 
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -28,13 +29,16 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
     protected final ConfigurationLoader<?> loader;
     private final Path file;
     private final Path backupFile;
+    private final Path tempFile;
     private final Logger logger;
+    private long lastSavedSize = 0;
 
     public AbstractConfigurateDataProvider(Function<Path, ConfigurationLoader<?>>  loaderProvider, Path file, Logger logger) {
         this.loader = loaderProvider.apply(file);
         this.provider = loaderProvider;
         this.file = file;
         this.backupFile = Paths.get(file.toAbsolutePath().toString() + ".bak");
+        this.tempFile = Paths.get(file.toAbsolutePath().toString() + ".tmp");
         this.logger = logger;
     }
 
@@ -82,8 +86,17 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
                 Files.copy(this.file, this.backupFile, StandardCopyOption.REPLACE_EXISTING);
             }
 
-            this.loader.save(node);
+            // Write to a temporary file first, then move it into place, so that a partially
+            // written file never replaces a good one.
+            this.provider.apply(this.tempFile).save(node);
+            this.lastSavedSize = Files.size(this.tempFile);
+            try {
+                Files.move(this.tempFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(this.tempFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
+            Files.deleteIfExists(this.tempFile);
             if (Files.exists(this.backupFile)) {
                 Files.copy(this.backupFile, this.file, StandardCopyOption.REPLACE_EXISTING);
             }
@@ -92,6 +105,10 @@ public abstract class AbstractConfigurateDataProvider<T> implements DataProvider
         }
     }
 
+    @Override public long getLastSavedSize() {
+        return this.lastSavedSize;
+    }
+
     @Override
     public void delete() throws Exception {
         Files.delete(this.file);
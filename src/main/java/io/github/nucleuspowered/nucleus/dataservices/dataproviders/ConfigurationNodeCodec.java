@@ -0,0 +1,201 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.configurate.ConfigurateHelper;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.ConfigurationOptions;
+import ninja.leaping.configurate.SimpleConfigurationNode;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes {@link ConfigurationNode}s into a compact, tagged binary form and back again.
+ *
+ * <p>The accepted types mirror those of the GSON loader, so that a node read back from
+ * the embedded store behaves exactly as if it had been read from a JSON file.</p>
+ */
+public final class ConfigurationNodeCodec {
+
+    private static final byte NULL = 0;
+    private static final byte MAP = 1;
+    private static final byte LIST = 2;
+    private static final byte STRING = 3;
+    private static final byte BOOLEAN = 4;
+    private static final byte INT = 5;
+    private static final byte LONG = 6;
+    private static final byte DOUBLE = 7;
+    private static final byte FLOAT = 8;
+
+    // Format version, bump if the encoding changes.
+    private static final byte VERSION = 1;
+
+    private ConfigurationNodeCodec() {}
+
+    public static ConfigurationOptions getOptions() {
+        return ConfigurateHelper.setOptions(ConfigurationOptions.defaults().setAcceptedTypes(
+                ImmutableSet.of(Map.class, List.class, Double.class, Float.class, Long.class, Integer.class, Boolean.class, String.class)));
+    }
+
+    public static ConfigurationNode createEmptyNode() {
+        return SimpleConfigurationNode.root(getOptions());
+    }
+
+    public static byte[] encode(ConfigurationNode node) throws IOException {
+        ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream(256);
+        try (DataOutputStream out = new DataOutputStream(byteArrayOutputStream)) {
+            out.writeByte(VERSION);
+            write(node, out);
+        }
+
+        return byteArrayOutputStream.toByteArray();
+    }
+
+    public static ConfigurationNode decode(byte[] data) throws IOException {
+        ConfigurationNode node = createEmptyNode();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(data))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unknown node encoding version " + version);
+            }
+
+            read(node, in);
+        }
+
+        return node;
+    }
+
+    private static void write(ConfigurationNode node, DataOutputStream out) throws IOException {
+        if (node.hasMapChildren()) {
+            Map<Object, ? extends ConfigurationNode> children = node.getChildrenMap();
+            out.writeByte(MAP);
+            writeVarInt(children.size(), out);
+            for (Map.Entry<Object, ? extends ConfigurationNode> entry : children.entrySet()) {
+                writeString(String.valueOf(entry.getKey()), out);
+                write(entry.getValue(), out);
+            }
+        } else if (node.hasListChildren()) {
+            List<? extends ConfigurationNode> children = node.getChildrenList();
+            out.writeByte(LIST);
+            writeVarInt(children.size(), out);
+            for (ConfigurationNode child : children) {
+                write(child, out);
+            }
+        } else {
+            Object value = node.getValue();
+            if (value == null) {
+                out.writeByte(NULL);
+            } else if (value instanceof Boolean) {
+                out.writeByte(BOOLEAN);
+                out.writeBoolean((Boolean) value);
+            } else if (value instanceof Integer) {
+                out.writeByte(INT);
+                out.writeInt((Integer) value);
+            } else if (value instanceof Long) {
+                out.writeByte(LONG);
+                out.writeLong((Long) value);
+            } else if (value instanceof Double) {
+                out.writeByte(DOUBLE);
+                out.writeDouble((Double) value);
+            } else if (value instanceof Float) {
+                out.writeByte(FLOAT);
+                out.writeFloat((Float) value);
+            } else {
+                out.writeByte(STRING);
+                writeString(value.toString(), out);
+            }
+        }
+    }
+
+    private static void read(ConfigurationNode node, DataInputStream in) throws IOException {
+        byte tag = in.readByte();
+        switch (tag) {
+            case NULL:
+                return;
+            case MAP: {
+                int size = readVarInt(in);
+                for (int i = 0; i < size; i++) {
+                    read(node.getNode(readString(in)), in);
+                }
+
+                return;
+            }
+            case LIST: {
+                int size = readVarInt(in);
+                for (int i = 0; i < size; i++) {
+                    read(node.getAppendedNode(), in);
+                }
+
+                return;
+            }
+            case STRING:
+                node.setValue(readString(in));
+                return;
+            case BOOLEAN:
+                node.setValue(in.readBoolean());
+                return;
+            case INT:
+                node.setValue(in.readInt());
+                return;
+            case LONG:
+                node.setValue(in.readLong());
+                return;
+            case DOUBLE:
+                node.setValue(in.readDouble());
+                return;
+            case FLOAT:
+                node.setValue(in.readFloat());
+                return;
+            default:
+                throw new IOException("Unknown node tag " + tag);
+        }
+    }
+
+    private static void writeString(String string, DataOutputStream out) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length, out);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[readVarInt(in)];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeVarInt(int value, DataOutputStream out) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 28) {
+                throw new IOException("VarInt is too long");
+            }
+
+            b = in.readByte();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        return value;
+    }
+}
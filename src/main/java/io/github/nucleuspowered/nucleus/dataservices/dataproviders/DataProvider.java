@@ -14,6 +14,15 @@ public interface DataProvider<T> {
 
     void delete() throws Exception;
 
+    /**
+     * Gets the size, in bytes, of the data that was written by the last call to {@link #save(Object)}.
+     *
+     * @return The size, or zero if unknown.
+     */
+    default long getLastSavedSize() {
+        return 0;
+    }
+
     interface FileChanging<T> extends DataProvider<T> {
 
         void onChange();
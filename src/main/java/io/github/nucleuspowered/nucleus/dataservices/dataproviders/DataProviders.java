@@ -19,31 +19,47 @@ import ninja.leaping.configurate.loader.ConfigurationLoader;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
+import java.util.function.IntConsumer;
 import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
+
 public class DataProviders {
 
+    public static final int MIGRATION_PROGRESS_INTERVAL = 1000;
+
     private final NucleusPlugin plugin;
     private final TypeToken<Map<String, ItemDataNode>> ttmsi = new TypeToken<Map<String, ItemDataNode>>() {};
     private final TypeToken<Map<String, String>> ttss = new TypeToken<Map<String, String>>() {};
     private final TypeToken<KitConfigDataNode> ttmk = TypeToken.of(KitConfigDataNode.class);
-    private final TypeToken<UserCacheVersionNode> ttucv = TypeToken.of(UserCacheVersionNode.class);
 
     private final String userJson = "userdata%1$s%2$s%1$s%3$s.json";
     private final String worldJson = "worlddata%1$s%2$s%1$s%3$s.json";
 
-    public DataProviders(NucleusPlugin plugin) {
+    private final DataStorageType storageType;
+    @Nullable private EmbeddedDataStore embeddedDataStore = null;
+
+    public DataProviders(NucleusPlugin plugin, DataStorageType storageType) {
         this.plugin = plugin;
+        this.storageType = storageType;
     }
 
     public DataProvider<ConfigurationNode> getUserFileDataProviders(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (this.storageType == DataStorageType.EMBEDDED) {
+                if (create || doesUserFileExist(uuid)) {
+                    return new EmbeddedDataProvider(getEmbeddedDataStore().users(), uuid);
+                }
+
+                return null;
+            }
+
             Path p = getFile(this.userJson, uuid);
             if (create || doesUserFileExist(uuid)) {
                 return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, this.plugin.getLogger());
@@ -57,6 +73,10 @@ public class DataProviders {
 
     public boolean doesUserFileExist(UUID uuid) {
         try {
+            if (this.storageType == DataStorageType.EMBEDDED) {
+                return getEmbeddedDataStore().users().has(uuid);
+            }
+
             return Files.exists(getFile(this.userJson, uuid));
         } catch (Exception e) {
             return false;
@@ -64,8 +84,15 @@ public class DataProviders {
     }
 
     public DataProvider<ConfigurationNode> getWorldFileDataProvider(UUID uuid, boolean create) {
-        // For now, just the Configurate one.
         try {
+            if (this.storageType == DataStorageType.EMBEDDED) {
+                if (create || doesWorldFileExist(uuid)) {
+                    return new EmbeddedDataProvider(getEmbeddedDataStore().worlds(), uuid);
+                }
+
+                return null;
+            }
+
             Path p = getFile(this.worldJson, uuid);
             if (create || doesWorldFileExist(uuid)) {
                 return new SimpleConfigurateDataProvider(path -> getGsonBuilder().setPath(path).build(), p, this.plugin.getLogger());
@@ -79,12 +106,108 @@ public class DataProviders {
 
     public boolean doesWorldFileExist(UUID uuid) {
         try {
+            if (this.storageType == DataStorageType.EMBEDDED) {
+                return getEmbeddedDataStore().worlds().has(uuid);
+            }
+
             return Files.exists(getFile(this.worldJson, uuid));
         } catch (Exception e) {
             return false;
         }
     }
 
+    public DataStorageType getStorageType() {
+        return this.storageType;
+    }
+
+    /**
+     * Gets the {@link EmbeddedDataStore} for the current data directory, opening it if
+     * required. If the data directory has changed since it was last opened, the old store
+     * is closed.
+     *
+     * @return The {@link EmbeddedDataStore}
+     */
+    public synchronized EmbeddedDataStore getEmbeddedDataStore() {
+        Path file = this.plugin.getDataPath().resolve(EmbeddedDataStore.FILE_NAME);
+        if (this.embeddedDataStore == null || this.embeddedDataStore.isClosed() || !this.embeddedDataStore.getFile().equals(file)) {
+            if (this.embeddedDataStore != null) {
+                this.embeddedDataStore.close();
+            }
+
+            this.embeddedDataStore = new EmbeddedDataStore(file);
+        }
+
+        return this.embeddedDataStore;
+    }
+
+    public synchronized void commit() {
+        if (this.embeddedDataStore != null) {
+            this.embeddedDataStore.commit();
+        }
+    }
+
+    public synchronized void close() {
+        if (this.embeddedDataStore != null) {
+            this.embeddedDataStore.close();
+            this.embeddedDataStore = null;
+        }
+    }
+
+    /**
+     * Streams all JSON user and world files into the {@link EmbeddedDataStore}. Existing entries
+     * in the store for the same UUIDs are overwritten.
+     *
+     * @param progress Called every {@link #MIGRATION_PROGRESS_INTERVAL} files with the number of files migrated.
+     * @return The number of files that were migrated.
+     * @throws IOException if the directories could not be walked.
+     */
+    public int migrateJsonToEmbedded(IntConsumer progress) throws IOException {
+        EmbeddedDataStore store = getEmbeddedDataStore();
+        int count = migrateDirectory(this.plugin.getDataPath().resolve("userdata"), store.users(), progress, 0);
+        count = migrateDirectory(this.plugin.getDataPath().resolve("worlddata"), store.worlds(), progress, count);
+        store.commit();
+        return count;
+    }
+
+    private int migrateDirectory(Path directory, EmbeddedDataStore.Section section, IntConsumer progress, int start) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return start;
+        }
+
+        int count = start;
+        try (DirectoryStream<Path> prefixes = Files.newDirectoryStream(directory, Files::isDirectory)) {
+            for (Path prefix : prefixes) {
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(prefix, "*.json")) {
+                    for (Path file : files) {
+                        String name = file.getFileName().toString();
+                        UUID uuid;
+                        try {
+                            uuid = UUID.fromString(name.substring(0, name.length() - 5));
+                        } catch (IllegalArgumentException e) {
+                            continue;
+                        }
+
+                        try {
+                            ConfigurationNode node = getGsonBuilder().setPath(file).build().load();
+                            if (!node.isVirtual()) {
+                                section.put(uuid, ConfigurationNodeCodec.encode(node));
+                            }
+                        } catch (IOException e) {
+                            this.plugin.getLogger().warn("Could not migrate " + file.toAbsolutePath().toString(), e);
+                            continue;
+                        }
+
+                        if (++count % MIGRATION_PROGRESS_INTERVAL == 0) {
+                            progress.accept(count);
+                        }
+                    }
+                }
+            }
+        }
+
+        return count;
+    }
+
     public DataProvider.FileChanging<KitConfigDataNode> getKitsDataProvider() {
         // For now, just the Configurate one.
         try {
@@ -99,13 +222,7 @@ public class DataProviders {
     }
 
     public DataProvider.FileChanging<UserCacheVersionNode> getUserCacheDataProvider() {
-        try {
-            Supplier<Path> p = () -> this.plugin.getDataPath().resolve("nucleususercache.json");
-            return new FileChangingConfigurateDataProvider<>(this.ttucv,
-                    path -> new LazyConfigurationLoader<>(() -> getGsonBuilder().setPath(path).build()), p);
-        } catch (Exception e) {
-            return null;
-        }
+        return new UserCacheDataProvider(() -> this.plugin.getDataPath().resolve("nucleususercache.json"));
     }
 
 
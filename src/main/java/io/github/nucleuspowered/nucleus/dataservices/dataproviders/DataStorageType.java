@@ -0,0 +1,31 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+/**
+ * How per-user and per-world data is stored.
+ */
+public enum DataStorageType {
+
+    /**
+     * One JSON file per user or world.
+     */
+    JSON,
+
+    /**
+     * A single embedded key-value store file.
+     */
+    EMBEDDED;
+
+    public static DataStorageType fromString(String type) {
+        for (DataStorageType dataStorageType : values()) {
+            if (dataStorageType.name().equalsIgnoreCase(type)) {
+                return dataStorageType;
+            }
+        }
+
+        return JSON;
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import ninja.leaping.configurate.ConfigurationNode;
+
+import java.util.UUID;
+
+public class EmbeddedDataProvider implements DataProvider<ConfigurationNode> {
+
+    private final EmbeddedDataStore.Section section;
+    private final UUID uuid;
+    private long lastSavedSize = 0;
+
+    EmbeddedDataProvider(EmbeddedDataStore.Section section, UUID uuid) {
+        this.section = section;
+        this.uuid = uuid;
+    }
+
+    @Override public boolean has() {
+        return this.section.has(this.uuid);
+    }
+
+    @Override public ConfigurationNode load() throws Exception {
+        byte[] data = this.section.get(this.uuid);
+        if (data == null) {
+            return ConfigurationNodeCodec.createEmptyNode();
+        }
+
+        return ConfigurationNodeCodec.decode(data);
+    }
+
+    @Override public void save(ConfigurationNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        if (info.isVirtual()) {
+            throw new IllegalStateException("The data for " + this.uuid.toString() + " has not been saved.\nConfiguration Node is virtual.");
+        }
+
+        byte[] data = ConfigurationNodeCodec.encode(info);
+        this.section.put(this.uuid, data);
+        this.lastSavedSize = data.length;
+    }
+
+    @Override public long getLastSavedSize() {
+        return this.lastSavedSize;
+    }
+
+    @Override public void delete() throws Exception {
+        this.section.remove(this.uuid);
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import org.h2.mvstore.MVMap;
+import org.h2.mvstore.MVStore;
+
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A single file, page based key-value store that holds the user and world data nodes, keyed by UUID.
+ *
+ * <p>This is backed by H2's MVStore, which Sponge ships with. Nodes are stored using the
+ * {@link ConfigurationNodeCodec}. The store commits in the background, {@link #commit()}
+ * forces a commit.</p>
+ */
+public class EmbeddedDataStore implements AutoCloseable {
+
+    public static final String FILE_NAME = "nucleusdata.mv.db";
+
+    private final Path file;
+    private final MVStore store;
+    private final MVMap<String, byte[]> userData;
+    private final MVMap<String, byte[]> worldData;
+
+    EmbeddedDataStore(Path file) {
+        this.file = file;
+        this.store = new MVStore.Builder()
+                .fileName(file.toAbsolutePath().toString())
+                .compress()
+                .open();
+        this.userData = this.store.openMap("userdata");
+        this.worldData = this.store.openMap("worlddata");
+    }
+
+    public Path getFile() {
+        return this.file;
+    }
+
+    public boolean isClosed() {
+        return this.store.isClosed();
+    }
+
+    public Section users() {
+        return new Section(this.userData);
+    }
+
+    public Section worlds() {
+        return new Section(this.worldData);
+    }
+
+    public void commit() {
+        if (!this.store.isClosed()) {
+            this.store.commit();
+        }
+    }
+
+    @Override
+    public void close() {
+        if (!this.store.isClosed()) {
+            this.store.close();
+        }
+    }
+
+    /**
+     * A view over one of the maps in the store.
+     */
+    public static final class Section {
+
+        private final MVMap<String, byte[]> map;
+
+        private Section(MVMap<String, byte[]> map) {
+            this.map = map;
+        }
+
+        public boolean has(UUID uuid) {
+            return this.map.containsKey(uuid.toString());
+        }
+
+        @Nullable
+        public byte[] get(UUID uuid) {
+            return this.map.get(uuid.toString());
+        }
+
+        public void put(UUID uuid, byte[] data) {
+            this.map.put(uuid.toString(), data);
+        }
+
+        public void remove(UUID uuid) {
+            this.map.remove(uuid.toString());
+        }
+
+        public long size() {
+            return this.map.sizeAsLong();
+        }
+
+        public Iterator<String> keys() {
+            return this.map.keyIterator(null);
+        }
+    }
+}
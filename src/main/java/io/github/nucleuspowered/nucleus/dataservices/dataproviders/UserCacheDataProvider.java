@@ -0,0 +1,199 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.dataproviders;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheDataNode;
+import io.github.nucleuspowered.nucleus.configurate.datatypes.UserCacheVersionNode;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
+
+/**
+ * Reads and writes the user cache as a compact JSON snapshot, using a streaming parser rather
+ * than object mapping.
+ *
+ * <p>Each user is stored as an array of {@code [uuid, ip, jail, muted]}, with {@code null} for
+ * missing values:</p>
+ *
+ * <pre>{"version":1,"users":[["uuid","127.0.0.1",null,0], ...]}</pre>
+ *
+ * <p>Files in the older object mapped format (with a {@code node} object) can still be read,
+ * and are written in the compact format on the next save.</p>
+ */
+class UserCacheDataProvider implements DataProvider.FileChanging<UserCacheVersionNode> {
+
+    private static final String VERSION = "version";
+    private static final String USERS = "users";
+    private static final String LEGACY_NODE = "node";
+
+    private final Supplier<Path> fileSupplier;
+    private Path file; // set by onChange
+    private long lastSavedSize = 0;
+
+    UserCacheDataProvider(Supplier<Path> fileSupplier) {
+        this.fileSupplier = fileSupplier;
+    }
+
+    @Override public void onChange() {
+        this.file = this.fileSupplier.get();
+    }
+
+    @Override public boolean has() {
+        return Files.exists(this.file);
+    }
+
+    @Override public UserCacheVersionNode load() throws Exception {
+        if (!has()) {
+            return new UserCacheVersionNode();
+        }
+
+        try (JsonReader reader = new JsonReader(Files.newBufferedReader(this.file, StandardCharsets.UTF_8))) {
+            int version = 0;
+            Map<UUID, UserCacheDataNode> users = Maps.newHashMap();
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case VERSION:
+                        version = reader.nextInt();
+                        break;
+                    case USERS:
+                        readUsers(reader, users);
+                        break;
+                    case LEGACY_NODE:
+                        readLegacyNode(reader, users);
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+            UserCacheVersionNode node = new UserCacheVersionNode(version);
+            node.getNode().putAll(users);
+            return node;
+        }
+    }
+
+    private static void readUsers(JsonReader reader, Map<UUID, UserCacheDataNode> map) throws IOException {
+        reader.beginArray();
+        while (reader.hasNext()) {
+            reader.beginArray();
+            UUID uuid = UUID.fromString(reader.nextString());
+            String ip = nextNullableString(reader);
+            String jail = nextNullableString(reader);
+            boolean muted = reader.nextInt() != 0;
+            while (reader.hasNext()) {
+                // Allow for extra values added in future.
+                reader.skipValue();
+            }
+
+            reader.endArray();
+            map.put(uuid, new UserCacheDataNode(ip, jail, muted));
+        }
+
+        reader.endArray();
+    }
+
+    private static void readLegacyNode(JsonReader reader, Map<UUID, UserCacheDataNode> map) throws IOException {
+        reader.beginObject();
+        while (reader.hasNext()) {
+            UUID uuid = UUID.fromString(reader.nextName());
+            String ip = null;
+            String jail = null;
+            boolean muted = false;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                switch (reader.nextName()) {
+                    case "ipAddress":
+                        ip = nextNullableString(reader);
+                        break;
+                    case "jail":
+                        jail = nextNullableString(reader);
+                        break;
+                    case "isMuted":
+                        muted = reader.nextBoolean();
+                        break;
+                    default:
+                        reader.skipValue();
+                }
+            }
+
+            reader.endObject();
+            map.put(uuid, new UserCacheDataNode(ip, jail, muted));
+        }
+
+        reader.endObject();
+    }
+
+    @Nullable
+    private static String nextNullableString(JsonReader reader) throws IOException {
+        if (reader.peek() == JsonToken.NULL) {
+            reader.nextNull();
+            return null;
+        }
+
+        return reader.nextString();
+    }
+
+    @Override public void save(UserCacheVersionNode info) throws Exception {
+        Preconditions.checkNotNull(info);
+        Path tempFile = Paths.get(this.file.toAbsolutePath().toString() + ".tmp");
+        try {
+            try (BufferedWriter bw = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8);
+                    JsonWriter writer = new JsonWriter(bw)) {
+                writer.setSerializeNulls(true);
+                writer.beginObject();
+                writer.name(VERSION).value(info.getVersion());
+                writer.name(USERS).beginArray();
+                for (Map.Entry<UUID, UserCacheDataNode> entry : info.getNode().entrySet()) {
+                    UserCacheDataNode node = entry.getValue();
+                    writer.beginArray()
+                            .value(entry.getKey().toString())
+                            .value(node.getIpAddress().orElse(null))
+                            .value(node.getJailName().orElse(null))
+                            .value(node.isMuted() ? 1 : 0)
+                            .endArray();
+                }
+
+                writer.endArray();
+                writer.endObject();
+            }
+
+            this.lastSavedSize = Files.size(tempFile);
+            try {
+                Files.move(tempFile, this.file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, this.file, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(tempFile);
+            throw new IOException("The file " + this.file.getFileName() + " has not been saved - an exception was thrown.", e);
+        }
+    }
+
+    @Override public long getLastSavedSize() {
+        return this.lastSavedSize;
+    }
+
+    @Override public void delete() throws Exception {
+        Files.delete(this.file);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.github.nucleuspowered.nucleus.api.service.NucleusDataCacheService;
+
+/**
+ * A snapshot of the state of a {@link DataManager} cache. Requests for pinned entries count as hits.
+ */
+public final class DataCacheStatistics implements NucleusDataCacheService.CacheStatistics {
+
+    private final CacheStats stats;
+    private final long pinnedHits;
+    private final long estimatedSize;
+    private final long pinnedCount;
+
+    DataCacheStatistics(CacheStats stats, long pinnedHits, long estimatedSize, long pinnedCount) {
+        this.stats = stats;
+        this.pinnedHits = pinnedHits;
+        this.estimatedSize = estimatedSize;
+        this.pinnedCount = pinnedCount;
+    }
+
+    @Override public long getHitCount() {
+        return this.stats.hitCount() + this.pinnedHits;
+    }
+
+    @Override public long getMissCount() {
+        return this.stats.missCount();
+    }
+
+    @Override public double getHitRate() {
+        long requests = getHitCount() + getMissCount();
+        return requests == 0 ? 1.0 : (double) getHitCount() / requests;
+    }
+
+    @Override public long getLoadCount() {
+        return this.stats.loadCount();
+    }
+
+    @Override public double getAverageLoadPenalty() {
+        return this.stats.averageLoadPenalty();
+    }
+
+    @Override public long getEvictionCount() {
+        return this.stats.evictionCount();
+    }
+
+    @Override public long getEstimatedSize() {
+        return this.estimatedSize;
+    }
+
+    @Override public long getPinnedCount() {
+        return this.pinnedCount;
+    }
+}
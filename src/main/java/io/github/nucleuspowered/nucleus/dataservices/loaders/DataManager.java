@@ -11,15 +11,21 @@ import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
 import com.github.benmanes.caffeine.cache.RemovalCause;
 import com.github.benmanes.caffeine.cache.RemovalListener;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.Service;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
 import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
+import io.github.nucleuspowered.nucleus.modules.core.config.CachePolicyConfig;
 
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -28,12 +34,29 @@ import javax.annotation.CheckForNull;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+/**
+ * Holds {@link Service}s in memory.
+ *
+ * <p>Entries that should not expire (such as those for online players) are pinned outside of the
+ * evictable cache, and are moved back into it by {@link #invalidateOld()} once they may expire.</p>
+ *
+ * @param <I> The key type.
+ * @param <P> The type of data that the {@link DataProvider} loads.
+ * @param <S> The service type.
+ */
 public abstract class DataManager<I, P, S extends Service> {
 
     private final Collection<I> bypassSave = Sets.newConcurrentHashSet();
     private final Predicate<I> fileExists;
     private final BiFunction<I, Boolean, DataProvider<P>> dataProviderFactory;
-    private final LoadingCache<I, S> cache;
+    private final Map<I, S> pinned = new ConcurrentHashMap<>();
+    private final LongAdder pinnedHits = new LongAdder();
+    private final WriteBehindQueue<I, S> writeQueue;
+    private volatile LoadingCache<I, S> cache;
+    private volatile boolean expireOffline = false;
+
+    // Statistics from caches that have been replaced by reconfiguration.
+    private CacheStats previousStats = CacheStats.empty();
 
     private Timing GENERAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
     private Timing ACTUAL_LOAD_TIMINGS = TimingsDummy.DUMMY;
@@ -47,6 +70,7 @@ public abstract class DataManager<I, P, S extends Service> {
                 .maximumSize(500)
                 .removalListener(new Removal())
                 .build(new Loader());
+        this.writeQueue = new WriteBehindQueue<>(getClassName());
 
         try {
             Nucleus plugin = Nucleus.getNucleus();
@@ -66,6 +90,43 @@ public abstract class DataManager<I, P, S extends Service> {
         return this.name;
     }
 
+    /**
+     * Rebuilds the evictable cache using the supplied policy. Entries that are currently held are
+     * carried over without being saved or reloaded.
+     *
+     * @param config The {@link CachePolicyConfig} to use.
+     */
+    public final synchronized void configure(CachePolicyConfig config) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder();
+        if (config.isWeighByData()) {
+            builder.maximumWeight(config.getMaximumWeight()).<I, S>weigher((key, value) -> value.getWeight());
+        } else {
+            builder.maximumSize(config.getMaximumSize());
+        }
+
+        if (config.getExpireAfterAccessMinutes() > 0) {
+            builder.expireAfterAccess(config.getExpireAfterAccessMinutes(), TimeUnit.MINUTES);
+        }
+
+        if (config.isRecordStatistics()) {
+            builder.recordStats();
+        }
+
+        LoadingCache<I, S> newCache = builder.removalListener(new Removal()).build(new Loader());
+        LoadingCache<I, S> oldCache = this.cache;
+
+        // Fill the new cache before it is used, otherwise a lookup could miss it and load an entry
+        // from storage that the old cache holds newer, unsaved, data for. Dropping the old cache does
+        // not fire its removal listener, so nothing is saved here.
+        newCache.putAll(oldCache.asMap());
+        this.cache = newCache;
+
+        // Pick up anything that was loaded into the old cache while the new one was being filled.
+        oldCache.asMap().forEach(newCache.asMap()::putIfAbsent);
+        this.previousStats = this.previousStats.plus(oldCache.stats());
+        this.expireOffline = config.getExpireAfterAccessMinutes() > 0;
+    }
+
     private class Removal implements RemovalListener<I, S> {
 
         @Override
@@ -76,29 +137,34 @@ public abstract class DataManager<I, P, S extends Service> {
             }
 
             if (value != null) {
-                try {
-                    DataManager.this.SAVE_TIMINGS.startTimingIfSync();
-                    value.saveInternal();
-                } catch (Exception e) {
-                    if (Nucleus.getNucleus().isDebugMode()) {
-                        Nucleus.getNucleus().getLogger().error("[" + getClassName()  + "] Could not save " + String.valueOf(key) + ".", e);
-                    }
+                // If nothing has changed since it was last written, there is nothing to save.
+                if (value.isDirty()) {
+                    try {
+                        DataManager.this.SAVE_TIMINGS.startTimingIfSync();
+                        value.clearDirty();
+                        value.saveInternal();
+                    } catch (Exception e) {
+                        if (Nucleus.getNucleus().isDebugMode()) {
+                            Nucleus.getNucleus().getLogger().error("[" + getClassName()  + "] Could not save " + String.valueOf(key) + ".", e);
+                        }
 
-                    // Errored. Put value back in cache if we have the key.
-                    if (key != null) {
-                        Nucleus.getNucleus().getLogger().warn("[" + getClassName() + "] Could not save " + String.valueOf(key) +
-                                ", re-adding to cache to try later.");
-                        DataManager.this.cache.put(key, value);
-                    }
+                        // Errored. Put value back in cache if we have the key.
+                        if (key != null) {
+                            Nucleus.getNucleus().getLogger().warn("[" + getClassName() + "] Could not save " + String.valueOf(key) +
+                                    ", re-adding to cache to try later.");
+                            DataManager.this.cache.put(key, value);
+                        }
 
-                    return;
-                } finally {
-                    DataManager.this.SAVE_TIMINGS.stopTimingIfSync();
+                        return;
+                    } finally {
+                        DataManager.this.SAVE_TIMINGS.stopTimingIfSync();
+                    }
                 }
-            }
 
-            if (key != null && shouldNotExpire(key)) {
-                DataManager.this.cache.refresh(key);
+                // If this was evicted but should stay in memory, pin it rather than reloading what we just saved.
+                if (key != null && cause.wasEvicted() && shouldNotExpire(key)) {
+                    DataManager.this.pinned.putIfAbsent(key, value);
+                }
             }
         }
     }
@@ -106,6 +172,12 @@ public abstract class DataManager<I, P, S extends Service> {
     private class Loader implements CacheLoader<I, S> {
 
         @CheckForNull @Override public S load(@Nonnull I key) throws Exception {
+            // If it left the cache before its changes were written, reading the file would lose them.
+            S queued = DataManager.this.writeQueue.get(key);
+            if (queued != null) {
+                return queued;
+            }
+
             try {
                 DataManager.this.GENERAL_LOAD_TIMINGS.startTimingIfSync();
                 DataManager.this.ACTUAL_LOAD_TIMINGS.startTimingIfSync();
@@ -123,7 +195,8 @@ public abstract class DataManager<I, P, S extends Service> {
     }
 
     public final boolean has(I data) {
-        return this.cache.getIfPresent(data) != null || this.fileExists.test(data);
+        return this.pinned.containsKey(data) || this.cache.getIfPresent(data) != null || this.writeQueue.get(data) != null
+                || this.fileExists.test(data);
     }
 
     public final Optional<S> get(I data) {
@@ -131,22 +204,53 @@ public abstract class DataManager<I, P, S extends Service> {
     }
 
     public final Optional<S> get(I data, boolean create) {
+        S value = this.pinned.get(data);
+        if (value != null) {
+            this.pinnedHits.increment();
+            return Optional.of(value);
+        }
+
         if (create || has(data)) {
-            return Optional.ofNullable(this.cache.get(data));
+            value = this.cache.get(data);
+            if (value != null && shouldNotExpire(data)) {
+                pin(data, value);
+            }
+
+            return Optional.ofNullable(value);
         }
 
         return Optional.empty();
     }
 
     public final Map<I, S> getAll(Collection<I> keys) {
-        return this.cache.getAllPresent(keys);
+        Map<I, S> result = Maps.newHashMap(this.cache.getAllPresent(keys));
+        for (I key : keys) {
+            S value = this.pinned.get(key);
+            if (value != null) {
+                result.put(key, value);
+            }
+        }
+
+        return result;
     }
 
     protected abstract boolean shouldNotExpire(I key);
 
     public abstract Optional<S> getNew(I data, DataProvider<P> dataProvider) throws Exception;
 
+    private void pin(I key, S value) {
+        if (this.pinned.putIfAbsent(key, value) == null) {
+            // Moving it, no need to save.
+            this.bypassSave.add(key);
+            if (!this.cache.asMap().remove(key, value)) {
+                this.bypassSave.remove(key);
+            }
+        }
+    }
+
     final void invalidate(I key) {
+        this.writeQueue.discard(key);
+        this.pinned.remove(key);
         S value = this.cache.getIfPresent(key);
         if (value != null) {
             this.bypassSave.add(key);
@@ -154,20 +258,77 @@ public abstract class DataManager<I, P, S extends Service> {
         }
     }
 
+    /**
+     * Moves pinned entries that may now expire back into the evictable cache. If the cache does not
+     * expire entries after access, entries that may expire are removed (and saved) instead.
+     */
     public final void invalidateOld() {
-        this.cache.invalidateAll(
-                this.cache.asMap().entrySet().stream().filter(x -> !this.shouldNotExpire(x.getKey())).collect(Collectors.toList())
-        );
+        for (Map.Entry<I, S> entry : this.pinned.entrySet()) {
+            if (!shouldNotExpire(entry.getKey()) && this.pinned.remove(entry.getKey(), entry.getValue())) {
+                this.cache.asMap().putIfAbsent(entry.getKey(), entry.getValue());
+            }
+        }
+
+        if (!this.expireOffline) {
+            this.cache.invalidateAll(
+                    this.cache.asMap().keySet().stream().filter(x -> !this.shouldNotExpire(x)).collect(Collectors.toList())
+            );
+        }
+    }
+
+    /**
+     * Queues the cached service for the given key to be saved in the background.
+     *
+     * @param key The key.
+     */
+    public final void queueSave(I key) {
+        S value = this.pinned.get(key);
+        if (value == null) {
+            value = this.cache.getIfPresent(key);
+        }
+
+        if (value != null) {
+            value.clearDirty();
+            this.writeQueue.enqueue(key, value);
+        }
     }
 
+    /**
+     * Saves all services that have changed, and waits for any queued saves to complete, including
+     * any that are being written in the background. Nothing is left to write when this returns, so
+     * it is safe to close the data providers afterwards.
+     */
     public final void saveAll() {
         try {
             this.SAVE_TIMINGS.startTimingIfSync();
-            for (S s : this.cache.asMap().values()) {
-                s.save();
-            }
+            queueIfDirty(this.pinned);
+            queueIfDirty(this.cache.asMap());
+            this.writeQueue.flush();
         } finally {
             this.SAVE_TIMINGS.stopTimingIfSync();
         }
     }
+
+    private void queueIfDirty(Map<I, S> map) {
+        for (Map.Entry<I, S> entry : map.entrySet()) {
+            if (entry.getValue().isDirty()) {
+                // Cleared before the write, so that changes made while it is queued mark it again.
+                entry.getValue().clearDirty();
+                this.writeQueue.enqueue(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    public final WriteBehindQueue.Statistics getWriteStatistics() {
+        return this.writeQueue.getStatistics();
+    }
+
+    public final DataCacheStatistics getCacheStatistics() {
+        LoadingCache<I, S> current = this.cache;
+        return new DataCacheStatistics(
+                this.previousStats.plus(current.stats()),
+                this.pinnedHits.sum(),
+                current.estimatedSize(),
+                this.pinned.size());
+    }
 }
@@ -0,0 +1,251 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.loaders;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.Service;
+import org.spongepowered.api.Sponge;
+
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nullable;
+
+/**
+ * Saves {@link Service}s in the background.
+ *
+ * <p>Only one drain of the queue runs at a time. If a service is queued more than once before it
+ * is written, the writes are coalesced into one. If the queue is full, the service is saved
+ * on the calling thread instead.</p>
+ *
+ * <p>A service is held until it has been written, and services that could not be written are kept
+ * and tried again on the next drain, so that a change is not lost if the service has left the cache
+ * in the meantime. {@link #get(Object)} returns such a service, so it should be used in preference
+ * to reading the data again.</p>
+ *
+ * @param <I> The key type.
+ * @param <S> The service type.
+ */
+public final class WriteBehindQueue<I, S extends Service> {
+
+    private static final int MAX_PENDING = 1024;
+
+    private final String name;
+    private final Map<I, S> pending = new ConcurrentHashMap<>();
+    private final Map<I, S> failed = new ConcurrentHashMap<>();
+
+    // Everything that has been queued and not yet written, including what is being written now.
+    private final Map<I, S> held = new ConcurrentHashMap<>();
+    private final Queue<I> order = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean(false);
+    private final Object drainLock = new Object();
+    @Nullable private Executor executor = null;
+
+    private final AtomicLong writes = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong bytesWritten = new AtomicLong();
+    private final AtomicLong totalLatency = new AtomicLong();
+    private final AtomicLong maxLatency = new AtomicLong();
+
+    WriteBehindQueue(String name) {
+        this.name = name;
+    }
+
+    void enqueue(I key, S service) {
+        if (this.pending.size() >= MAX_PENDING && !this.pending.containsKey(key)) {
+            // Back pressure - write it now.
+            writeOrKeep(key, service);
+            return;
+        }
+
+        // Put into the pending map first, so a write finishing now does not drop it from the held map.
+        S previous = this.pending.put(key, service);
+        this.held.put(key, service);
+        if (previous == null) {
+            this.order.add(key);
+        } else {
+            this.coalesced.incrementAndGet();
+        }
+
+        scheduleDrain();
+    }
+
+    /**
+     * Gets the service that is waiting to be written for a key, including one that is being written
+     * or that could not be written.
+     *
+     * @param key The key.
+     * @return The service, or {@code null} if nothing is waiting to be written.
+     */
+    @Nullable S get(I key) {
+        S service = this.held.get(key);
+        return service == null ? this.pending.get(key) : service;
+    }
+
+    /**
+     * Drops anything waiting to be written for a key, such as when its data is being deleted.
+     * Waits for any drain in progress, so nothing is written for the key after this returns.
+     *
+     * @param key The key.
+     */
+    void discard(I key) {
+        synchronized (this.drainLock) {
+            this.pending.remove(key);
+            this.failed.remove(key);
+            this.held.remove(key);
+        }
+    }
+
+    /**
+     * Writes everything that is currently queued on the calling thread, and tries again to write
+     * anything that could not be written before. If the queue is being drained in the background,
+     * this waits for that to finish first, so everything that was queued before this was called
+     * has been written (or has failed again) when it returns.
+     */
+    void flush() {
+        synchronized (this.drainLock) {
+            for (I key : this.failed.keySet()) {
+                S service = this.failed.remove(key);
+                if (service != null && this.pending.putIfAbsent(key, service) == null) {
+                    this.order.add(key);
+                }
+            }
+
+            I key;
+            while ((key = this.order.poll()) != null) {
+                S service = this.pending.remove(key);
+                if (service != null) {
+                    writeOrKeep(key, service);
+                }
+            }
+        }
+    }
+
+    private void scheduleDrain() {
+        if (this.draining.compareAndSet(false, true)) {
+            try {
+                getExecutor().execute(this::drain);
+            } catch (IllegalStateException | RejectedExecutionException e) {
+                // The scheduler is not available (such as when the server is stopping).
+                this.draining.set(false);
+                flush();
+            }
+        }
+    }
+
+    private void drain() {
+        try {
+            flush();
+        } finally {
+            this.draining.set(false);
+        }
+
+        if (!this.order.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    private void writeOrKeep(I key, S service) {
+        long start = System.nanoTime();
+        try {
+            service.saveInternal();
+            this.writes.incrementAndGet();
+            this.bytesWritten.addAndGet(service.getLastSavedSize());
+
+            // Unless it has been queued again since, it is no longer waiting to be written.
+            this.held.computeIfPresent(key, (k, v) -> v == service && !this.pending.containsKey(k) ? null : v);
+        } catch (Exception e) {
+            this.failures.incrementAndGet();
+            this.failed.put(key, service);
+            this.held.putIfAbsent(key, service);
+            Nucleus.getNucleus().getLogger().warn("[" + this.name + "] Could not save " + String.valueOf(key) + ", will try again later.");
+            Nucleus.getNucleus().printStackTraceIfDebugMode(e);
+        } finally {
+            long time = System.nanoTime() - start;
+            this.totalLatency.addAndGet(time);
+            this.maxLatency.accumulateAndGet(time, Math::max);
+        }
+    }
+
+    private Executor getExecutor() {
+        if (this.executor == null) {
+            this.executor = Sponge.getScheduler().createAsyncExecutor(Nucleus.getNucleus());
+        }
+
+        return this.executor;
+    }
+
+    Statistics getStatistics() {
+        long w = this.writes.get();
+        return new Statistics(
+                this.pending.size() + this.failed.size(),
+                w,
+                this.coalesced.get(),
+                this.failures.get(),
+                this.bytesWritten.get(),
+                w == 0 ? 0 : this.totalLatency.get() / w,
+                this.maxLatency.get());
+    }
+
+    /**
+     * A snapshot of the state of a {@link WriteBehindQueue}.
+     */
+    public static final class Statistics {
+
+        private final int queueDepth;
+        private final long writes;
+        private final long coalesced;
+        private final long failures;
+        private final long bytesWritten;
+        private final long averageLatencyNanos;
+        private final long maxLatencyNanos;
+
+        private Statistics(int queueDepth, long writes, long coalesced, long failures, long bytesWritten, long averageLatencyNanos,
+                long maxLatencyNanos) {
+            this.queueDepth = queueDepth;
+            this.writes = writes;
+            this.coalesced = coalesced;
+            this.failures = failures;
+            this.bytesWritten = bytesWritten;
+            this.averageLatencyNanos = averageLatencyNanos;
+            this.maxLatencyNanos = maxLatencyNanos;
+        }
+
+        public int getQueueDepth() {
+            return this.queueDepth;
+        }
+
+        public long getWrites() {
+            return this.writes;
+        }
+
+        public long getCoalesced() {
+            return this.coalesced;
+        }
+
+        public long getFailures() {
+            return this.failures;
+        }
+
+        public long getBytesWritten() {
+            return this.bytesWritten;
+        }
+
+        public long getAverageLatencyNanos() {
+            return this.averageLatencyNanos;
+        }
+
+        public long getMaxLatencyNanos() {
+            return this.maxLatencyNanos;
+        }
+    }
+}
@@ -34,6 +34,7 @@ public abstract class DataModule<S extends ModularDataService<S>> {
 
     private final List<FieldData> data;
     private final Object lockingObject = new Object();
+    private volatile boolean dirty = false;
 
     @SuppressWarnings("unchecked") protected DataModule() {
         synchronized (lock) {
@@ -63,6 +64,23 @@ public abstract class DataModule<S extends ModularDataService<S>> {
         }
     }
 
+    /**
+     * Marks this module as changed, so that it is written on the next save. Anything that changes
+     * the data of a module must call this afterwards, including changes made to objects that the
+     * module handed out.
+     */
+    public final void markDirty() {
+        this.dirty = true;
+    }
+
+    final boolean isDirty() {
+        return this.dirty;
+    }
+
+    final void clearDirty() {
+        this.dirty = false;
+    }
+
     /**
      * Migrate data
      */
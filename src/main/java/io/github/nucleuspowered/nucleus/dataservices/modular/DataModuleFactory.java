@@ -7,6 +7,7 @@ package io.github.nucleuspowered.nucleus.dataservices.modular;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.modules.back.datamodules.BackUserTransientModule;
 import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CooldownUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import io.github.nucleuspowered.nucleus.modules.environment.datamodule.EnvironmentWorldDataModule;
@@ -36,12 +37,29 @@ import io.github.nucleuspowered.nucleus.modules.world.datamodules.WorldgenWorldD
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-
+import java.util.stream.Stream;
+
+/**
+ * Creates the data and transient modules of each {@link ModularDataService}, and assigns each type of
+ * module a slot, so that services can hold their modules in an array rather than a map.
+ *
+ * <p>The modules registered here are given the lowest slots when this class is loaded. Modules
+ * that are only created by reflection are given the next free slot when they are first used.</p>
+ */
 final class DataModuleFactory {
 
     private DataModuleFactory() {}
 
+    private static final AtomicInteger slotCount = new AtomicInteger();
+
+    private static final ClassValue<Integer> slots = new ClassValue<Integer>() {
+        @Override protected Integer computeValue(Class<?> type) {
+            return slotCount.getAndIncrement();
+        }
+    };
+
     private static final Map<Class<? extends DataModule<ModularGeneralService>>,
             Function<ModularGeneralService, ? extends DataModule<ModularGeneralService>>> general = Maps.newHashMap();
 
@@ -76,6 +94,7 @@ final class DataModuleFactory {
         usert.put(StaffChatTransientModule.class, x -> new StaffChatTransientModule());
 
         user.put(CommandSpyUserDataModule.class, x -> new CommandSpyUserDataModule());
+        user.put(CooldownUserDataModule.class, x -> new CooldownUserDataModule());
         user.put(CoreUserDataModule.class, x -> new CoreUserDataModule());
         user.put(FlyUserDataModule.class, FlyUserDataModule::new);
         user.put(FreezePlayerUserDataModule.class, x -> new FreezePlayerUserDataModule());
@@ -93,6 +112,28 @@ final class DataModuleFactory {
         user.put(TeleportUserDataModule.class, x -> new TeleportUserDataModule());
         user.put(VanishUserDataModule.class, x -> new VanishUserDataModule());
         user.put(WarnUserDataModule.class, x -> new WarnUserDataModule());
+
+        // User data is held for the most services, so give those modules the lowest slots.
+        Stream.of(user, usert, world, worldt, general, generalt).flatMap(x -> x.keySet().stream()).forEach(DataModuleFactory::getSlot);
+    }
+
+    /**
+     * Gets the slot of a type of module.
+     *
+     * @param module The type of module.
+     * @return The slot.
+     */
+    static int getSlot(Class<?> module) {
+        return slots.get(module);
+    }
+
+    /**
+     * Gets the number of slots that have been assigned so far.
+     *
+     * @return The number of slots.
+     */
+    static int getSlotCount() {
+        return slotCount.get();
     }
 
     @SuppressWarnings("unchecked")
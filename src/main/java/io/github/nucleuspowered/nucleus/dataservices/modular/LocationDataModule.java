@@ -34,12 +34,18 @@ public abstract class LocationDataModule<R extends ModularDataService<R>> extend
         }
 
         m.put(name, new LocationNode(loc, rot));
+        markDirty();
         return true;
     }
 
     protected final boolean removeLocation(String name, Map<String, LocationNode> m) {
         Optional<Map.Entry<String, LocationNode>> o = m.entrySet().stream().filter(k -> k.getKey().equalsIgnoreCase(name)).findFirst();
-        return o.isPresent() && m.remove(o.get().getKey()) != null;
+        if (o.isPresent() && m.remove(o.get().getKey()) != null) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     protected final <S extends LocationNode, T extends NamedLocation> Optional<T> get(Map<String, S> input, BiFunction<String, S, T> convert, String name) {
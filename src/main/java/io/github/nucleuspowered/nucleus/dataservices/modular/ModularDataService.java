@@ -6,7 +6,6 @@ package io.github.nucleuspowered.nucleus.dataservices.modular;
 
 import co.aikar.timings.Timing;
 import co.aikar.timings.Timings;
-import com.google.common.collect.ImmutableMap;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.dataservices.AbstractService;
 import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProvider;
@@ -14,19 +13,33 @@ import ninja.leaping.configurate.ConfigurationNode;
 
 import java.lang.reflect.Constructor;
 import java.lang.reflect.InvocationTargetException;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * A data service that is split into {@link DataModule}s, which are loaded from the backing node when
+ * they are first asked for, and {@link TransientModule}s, which are not saved.
+ *
+ * <p>Modules are held in {@link ModuleSlots}, so getting a module that has been loaded is an array
+ * read without any locks. Loading a module takes a lock, so that each is only loaded once.</p>
+ *
+ * <p>Modules mark themselves as dirty when they change, so working out whether a service needs
+ * saving does not touch its data.</p>
+ */
 public abstract class ModularDataService<S extends ModularDataService<S>> extends AbstractService<ConfigurationNode> {
 
-    private final Map<Class<?>, DataModule<S>> cached = new HashMap<>();
-    private final Map<Class<?>, TransientModule<S>> transientCache = new HashMap<>();
+    private final ModuleSlots<DataModule<S>> cached = new ModuleSlots<>();
+    private final ModuleSlots<TransientModule<S>> transientCache = new ModuleSlots<>();
     private final Timing saveTimings = Timings.of(Nucleus.getNucleus(), "Data Modules - Saving");
     private final Timing loadTimings = Timings.of(Nucleus.getNucleus(), "Data Modules - Loading");
     private final Timing loadTransientTimings = Timings.of(Nucleus.getNucleus(), "Transient Modules - Loading");
 
     private final Object lockingObject = new Object();
+    private final Object transientLockingObject = new Object();
+    private final Object saveLockingObject = new Object();
+
+    // Set when the service needs saving for a reason other than a module changing, such as a failed save.
+    private volatile boolean dirty = false;
 
     ModularDataService(DataProvider<ConfigurationNode> dataProvider) {
         super(dataProvider);
@@ -34,30 +47,39 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     @SuppressWarnings("unchecked")
     public final <T extends TransientModule<S>> T getTransient(Class<T> module) {
-        if (this.transientCache.containsKey(module)) {
-            return (T) this.transientCache.get(module);
+        int slot = DataModuleFactory.getSlot(module);
+        TransientModule<S> cachedModule = this.transientCache.get(slot);
+        if (cachedModule != null) {
+            return (T) cachedModule;
         }
 
-        try {
-            this.loadTransientTimings.startTimingIfSync();
-
-            T dm;
-            Optional<T> m = tryGetTransient(module);
-            if (m.isPresent()) {
-                dm = m.get();
-            } else {
-                Nucleus.getNucleus().getLogger()
-                        .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
-                dm = module.newInstance();
+        synchronized (this.transientLockingObject) {
+            cachedModule = this.transientCache.get(slot);
+            if (cachedModule != null) {
+                return (T) cachedModule;
             }
 
-            setTransient(dm);
-            return dm;
-        } catch (IllegalAccessException | InstantiationException e) {
-            e.printStackTrace();
-            throw new RuntimeException(e);
-        } finally {
-            this.loadTransientTimings.stopTimingIfSync();
+            try {
+                this.loadTransientTimings.startTimingIfSync();
+
+                T dm;
+                Optional<T> m = tryGetTransient(module);
+                if (m.isPresent()) {
+                    dm = m.get();
+                } else {
+                    Nucleus.getNucleus().getLogger()
+                            .warn("Attempting to construct " + module.getSimpleName() + " by reflection. Please add this to the factory.");
+                    dm = module.newInstance();
+                }
+
+                this.transientCache.set(slot, dm);
+                return dm;
+            } catch (IllegalAccessException | InstantiationException e) {
+                e.printStackTrace();
+                throw new RuntimeException(e);
+            } finally {
+                this.loadTransientTimings.stopTimingIfSync();
+            }
         }
     }
 
@@ -65,9 +87,16 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     @SuppressWarnings({"unchecked", "JavaReflectionMemberAccess"})
     public final <T extends DataModule<S>> T get(Class<T> module) {
+        int slot = DataModuleFactory.getSlot(module);
+        DataModule<S> cachedModule = this.cached.get(slot);
+        if (cachedModule != null) {
+            return (T) cachedModule;
+        }
+
         synchronized (this.lockingObject) {
-            if (this.cached.containsKey(module)) {
-                return (T) this.cached.get(module);
+            cachedModule = this.cached.get(slot);
+            if (cachedModule != null) {
+                return (T) cachedModule;
             }
 
             try {
@@ -90,7 +119,7 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
                 }
 
                 dm.loadFrom(this.data);
-                set(dm);
+                this.cached.set(slot, dm);
                 return dm;
             } catch (IllegalAccessException | NoSuchMethodException | InvocationTargetException | InstantiationException e) {
                 e.printStackTrace();
@@ -105,30 +134,77 @@ public abstract class ModularDataService<S extends ModularDataService<S>> extend
 
     public <T extends DataModule<S>> void set(T dataModule) {
         synchronized (this.lockingObject) {
-            this.cached.put(dataModule.getClass(), dataModule);
+            this.cached.set(DataModuleFactory.getSlot(dataModule.getClass()), dataModule);
         }
-    }
 
-    private <T extends TransientModule<S>> void setTransient(T dataModule) {
-        this.transientCache.put(dataModule.getClass(), dataModule);
+        dataModule.markDirty();
     }
 
     @Override public void loadInternal() throws Exception {
         super.loadInternal();
-        this.cached.clear(); // Only clear if no exception was caught.
+        synchronized (this.lockingObject) {
+            this.cached.clear(); // Only clear if no exception was caught.
+        }
+
+        this.dirty = false;
+    }
+
+    /**
+     * Gets whether any of the loaded {@link DataModule}s have changed since the service was last
+     * queued to be saved.
+     *
+     * @return true if the service needs saving.
+     */
+    @Override public boolean isDirty() {
+        return this.dirty || this.cached.anyMatch(DataModule::isDirty);
+    }
+
+    @Override public void clearDirty() {
+        this.dirty = false;
+        this.cached.forEach(DataModule::clearDirty);
+    }
+
+    /**
+     * Gets the weight of this service, based on the number of top level entries in the backing
+     * node. Modules are loaded lazily, so this is used as an approximation of their size.
+     *
+     * @return The weight.
+     */
+    @Override public int getWeight() {
+        ConfigurationNode node = this.data;
+        if (node == null || node.isVirtual()) {
+            return 1;
+        }
+
+        return 1 + node.getChildrenMap().size();
     }
 
     @Override public void saveInternal() throws Exception {
-        try {
-            this.saveTimings.startTimingIfSync();
+        synchronized (this.saveLockingObject) {
+            try {
+                this.saveTimings.startTimingIfSync();
 
-            // If there is nothing in the cache, don't save (because we don't need to).
-            if (this.data != null && (!this.cached.isEmpty() || !(this.data.isVirtual() || this.data.getValue() == null))) {
-                ImmutableMap.copyOf(this.cached).values().forEach(x -> x.saveTo(this.data));
-                super.saveInternal();
+                // If there is nothing in the cache, don't save (because we don't need to).
+                if (this.data != null && (!this.cached.isEmpty() || !(this.data.isVirtual() || this.data.getValue() == null))) {
+                    copyModulesToNode();
+                    super.saveInternal();
+                }
+            } catch (Exception e) {
+                // Make sure it is tried again on the next save.
+                this.dirty = true;
+                throw e;
+            } finally {
+                this.saveTimings.stopTimingIfSync();
             }
-        } finally {
-            this.saveTimings.stopTimingIfSync();
         }
     }
+
+    private void copyModulesToNode() {
+        List<DataModule<S>> modules;
+        synchronized (this.lockingObject) {
+            modules = this.cached.getAll();
+        }
+
+        modules.forEach(x -> x.saveTo(this.data));
+    }
 }
@@ -0,0 +1,100 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.dataservices.modular;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds the modules of a {@link ModularDataService}, each in the slot that {@link DataModuleFactory}
+ * assigned to its type.
+ *
+ * <p>Reads do not take any locks. Changes must be made while holding the lock of the owning
+ * service, which is what makes loading a module a once only operation. The array
+ * is replaced with a larger one if a module is given a slot after the service was created.</p>
+ *
+ * @param <M> The type of module.
+ */
+final class ModuleSlots<M> {
+
+    private volatile AtomicReferenceArray<M> modules = new AtomicReferenceArray<>(DataModuleFactory.getSlotCount());
+
+    @Nullable
+    M get(int slot) {
+        AtomicReferenceArray<M> m = this.modules;
+        return slot < m.length() ? m.get(slot) : null;
+    }
+
+    void set(int slot, M module) {
+        AtomicReferenceArray<M> m = this.modules;
+        if (slot >= m.length()) {
+            AtomicReferenceArray<M> larger = new AtomicReferenceArray<>(Math.max(slot + 1, DataModuleFactory.getSlotCount()));
+            for (int i = 0; i < m.length(); i++) {
+                larger.set(i, m.get(i));
+            }
+
+            m = larger;
+            this.modules = larger;
+        }
+
+        m.set(slot, module);
+    }
+
+    void clear() {
+        this.modules = new AtomicReferenceArray<>(DataModuleFactory.getSlotCount());
+    }
+
+    List<M> getAll() {
+        AtomicReferenceArray<M> m = this.modules;
+        List<M> result = Lists.newArrayList();
+        for (int i = 0; i < m.length(); i++) {
+            M module = m.get(i);
+            if (module != null) {
+                result.add(module);
+            }
+        }
+
+        return result;
+    }
+
+    void forEach(Consumer<M> consumer) {
+        AtomicReferenceArray<M> m = this.modules;
+        for (int i = 0; i < m.length(); i++) {
+            M module = m.get(i);
+            if (module != null) {
+                consumer.accept(module);
+            }
+        }
+    }
+
+    boolean anyMatch(Predicate<M> predicate) {
+        AtomicReferenceArray<M> m = this.modules;
+        for (int i = 0; i < m.length(); i++) {
+            M module = m.get(i);
+            if (module != null && predicate.test(module)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    boolean isEmpty() {
+        AtomicReferenceArray<M> m = this.modules;
+        for (int i = 0; i < m.length(); i++) {
+            if (m.get(i) != null) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+}
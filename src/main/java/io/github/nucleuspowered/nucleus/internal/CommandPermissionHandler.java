@@ -7,16 +7,10 @@ package io.github.nucleuspowered.nucleus.internal;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCooldown;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCost;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoDocumentation;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoPermissions;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.NoWarmup;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
@@ -27,7 +21,6 @@ import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.service.permission.Subject;
 
-import java.lang.annotation.Annotation;
 import java.util.Map;
 import java.util.function.Supplier;
 
@@ -50,7 +43,8 @@ public class CommandPermissionHandler {
     private final boolean justReturnTrue;
 
     public CommandPermissionHandler(Class<? extends AbstractCommand> cab, Nucleus plugin) {
-        this.justReturnTrue = cab.isAnnotationPresent(NoPermissions.class);
+        CommandMetadata c = CommandMetadata.of(cab);
+        this.justReturnTrue = c.isNoPermissions();
 
         // If there are no permissions to assign, we just return true.
         if (this.justReturnTrue) {
@@ -63,75 +57,29 @@ public class CommandPermissionHandler {
             return;
         }
 
-        Permissions c = cab.getAnnotation(Permissions.class);
-        if (c == null) {
-            c = new Permissions() {
-
-                @Override
-                public String[] value() {
-                    return new String[0];
-                }
-
-                @Override
-                public String mainOverride() {
-                    return "";
-                }
-
-                @Override
-                public String prefix() {
-                    return "";
-                }
-
-                @Override
-                public String suffix() {
-                    return "";
-                }
-
-                @Override
-                public boolean supportsSelectors() {
-                    return false;
-                }
-
-                @Override public boolean supportsOthers() {
-                    return false;
-                }
-
-                @Override
-                public SuggestedLevel suggestedLevel() {
-                    return SuggestedLevel.ADMIN;
-                }
-
-                @Override
-                public Class<? extends Annotation> annotationType() {
-                    return Permissions.class;
-                }
-            };
-        }
-
-        RegisterCommand co = cab.getAnnotation(RegisterCommand.class);
-        String command = co.value()[0];
+        String command = c.getAliases()[0];
         StringBuilder sb = new StringBuilder(PermissionRegistry.PERMISSIONS_PREFIX);
-        if (!c.prefix().isEmpty()) {
-            sb.append(c.prefix()).append(".");
+        if (!c.getPermissionPrefix().isEmpty()) {
+            sb.append(c.getPermissionPrefix()).append(".");
         }
 
-        if (c.mainOverride().isEmpty()) {
+        if (c.getPermissionMainOverride().isEmpty()) {
             sb.append(command);
         } else {
-            sb.append(c.mainOverride());
+            sb.append(c.getPermissionMainOverride());
         }
 
         sb.append(".");
-        if (!c.suffix().isEmpty()) {
-            sb.append(c.suffix()).append(".");
+        if (!c.getPermissionSuffix().isEmpty()) {
+            sb.append(c.getPermissionSuffix()).append(".");
         }
 
         this.prefix = sb.toString();
 
         this.base = this.prefix + "base";
 
-        if (co.subcommandOf() != AbstractCommand.class) {
-            command = String.format("%s %s", co.subcommandOf().getAnnotation(RegisterCommand.class).value()[0], command);
+        if (!c.isRoot()) {
+            command = String.format("%s %s", CommandMetadata.of(c.getSubcommandOf()).getAliases()[0], command);
         }
 
         this.warmup = this.prefix + "exempt.warmup";
@@ -139,28 +87,28 @@ public class CommandPermissionHandler {
         this.cost = this.prefix + "exempt.cost";
         this.others = this.prefix + "others";
 
-        if (!cab.isAnnotationPresent(NoDocumentation.class)) {
+        if (!c.isNoDocumentation()) {
             this.mssl.put(this.base,
-                new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.base", command), c.suggestedLevel()));
+                new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.base", command), c.getSuggestedLevel()));
 
-            if (c.supportsOthers()) {
-                this.mssl.put(this.others, new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.others", co.value()[0]),
+            if (c.isSupportsOthers()) {
+                this.mssl.put(this.others, new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.others", c.getAliases()[0]),
                     SuggestedLevel.ADMIN));
             }
 
-            if (!cab.isAnnotationPresent(NoModifiers.class)) {
-                if (!cab.isAnnotationPresent(NoWarmup.class) || cab.getAnnotation(NoWarmup.class).generatePermissionDocs()) {
+            if (!c.isNoModifiers()) {
+                if (!c.isNoWarmup() || c.isWarmupGeneratePermissionDocs()) {
                     this.mssl.put(this.warmup, new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.exempt.warmup", command),
                             SuggestedLevel.ADMIN));
                 }
 
-                if (!cab.isAnnotationPresent(NoCooldown.class)) {
+                if (!c.isNoCooldown()) {
                     this.mssl.put(this.cooldown,
                             new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.exempt.cooldown", command),
                                     SuggestedLevel.ADMIN));
                 }
 
-                if (!cab.isAnnotationPresent(NoCost.class)) {
+                if (!c.isNoCost()) {
                     this.mssl.put(this.cost, new PermissionInformation(plugin.getMessageProvider().getMessageWithFormat("permission.exempt.cost", command),
                             SuggestedLevel.ADMIN));
                 }
@@ -252,7 +200,7 @@ public class CommandPermissionHandler {
     }
 
     private boolean test(Subject src, String permission) {
-        return this.justReturnTrue || src.hasPermission(permission);
+        return this.justReturnTrue || SubjectResolutionCache.getInstance().hasPermission(src, permission);
     }
 
     private <X extends Exception> void check(Subject src, String permission, Supplier<X> exception) throws X {
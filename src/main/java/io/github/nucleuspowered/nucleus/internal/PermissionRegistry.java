@@ -4,54 +4,48 @@
  */
 package io.github.nucleuspowered.nucleus.internal;
 
-import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.PluginInfo;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.PermissionsFrom;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class PermissionRegistry {
 
     public final static String PERMISSIONS_PREFIX = PluginInfo.ID + ".";
-    private final Map<Class<? extends AbstractCommand>, CommandPermissionHandler> serviceRegistry = Maps.newHashMap();
-    private final Map<String, PermissionInformation> otherPermissions = Maps.newHashMap();
+    // Modules create the handlers for their commands in parallel while they load.
+    private final Map<Class<? extends AbstractCommand>, CommandPermissionHandler> serviceRegistry = new ConcurrentHashMap<>();
+    private final Map<String, PermissionInformation> otherPermissions = new ConcurrentHashMap<>();
 
     public CommandPermissionHandler getPermissionsForNucleusCommand(Class<? extends AbstractCommand> command) {
-        if (this.serviceRegistry.containsKey(command)) {
-            return this.serviceRegistry.get(command);
+        CommandPermissionHandler existing = this.serviceRegistry.get(command);
+        if (existing != null) {
+            return existing;
         }
 
-        PermissionsFrom p = command.getAnnotation(PermissionsFrom.class);
-        if (p != null && p.value() != AbstractCommand.class) {
-            return getPermissionsForNucleusCommand(p.value());
+        Class<? extends AbstractCommand> p = CommandMetadata.of(command).getPermissionsFrom();
+        if (p != null && p != AbstractCommand.class) {
+            return getPermissionsForNucleusCommand(p);
         }
 
         CommandPermissionHandler handler = new CommandPermissionHandler(command, Nucleus.getNucleus());
-        this.serviceRegistry.put(command, handler);
-        return handler;
+        CommandPermissionHandler previous = this.serviceRegistry.putIfAbsent(command, handler);
+        return previous == null ? handler : previous;
     }
 
     public void addHandler(Class<? extends AbstractCommand> cb, CommandPermissionHandler cph) {
-        if (this.serviceRegistry.containsKey(cb)) {
-            // Silently discard.
-            return;
-        }
-
-        this.serviceRegistry.put(cb, cph);
+        // Silently discard if there is one already.
+        this.serviceRegistry.putIfAbsent(cb, cph);
     }
 
     public void registerOtherPermission(String otherPermission, PermissionInformation pi) {
-        if (this.otherPermissions.containsKey(otherPermission)) {
-            // Silently discard.
-            return;
-        }
-
-        this.otherPermissions.put(otherPermission, pi);
+        // Silently discard if there is one already.
+        this.otherPermissions.putIfAbsent(otherPermission, pi);
     }
 
     public void registerOtherPermission(String otherPermission, String description, SuggestedLevel level) {
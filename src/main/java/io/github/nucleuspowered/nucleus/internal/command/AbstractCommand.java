@@ -19,15 +19,12 @@ import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.Constants;
 import io.github.nucleuspowered.nucleus.internal.CostCancellableTask;
 import io.github.nucleuspowered.nucleus.internal.TimingsDummy;
-import io.github.nucleuspowered.nucleus.internal.annotations.RequiresEconomy;
-import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.*;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
 import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
 import io.github.nucleuspowered.nucleus.internal.traits.PermissionHandlerTrait;
 import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
-import io.github.nucleuspowered.nucleus.util.ClassUtil;
 import ninja.leaping.configurate.commented.CommentedConfigurationNode;
 import ninja.leaping.configurate.commented.SimpleCommentedConfigurationNode;
 import org.apache.commons.lang3.ArrayUtils;
@@ -65,8 +62,7 @@ import org.spongepowered.api.world.storage.WorldProperties;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.lang.reflect.Modifier;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.time.Duration;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Predicate;
@@ -88,7 +84,8 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         commandInterceptors.add(Preconditions.checkNotNull(interceptor));
     }
 
-    private final boolean isAsync = this.getClass().getAnnotation(RunAsync.class) != null;
+    private final CommandMetadata metadata = CommandMetadata.of(this.getClass());
+    private final boolean isAsync = this.metadata.isRunAsync();
 
     private Timing commandTimings = TimingsDummy.DUMMY;
     // A period separated list of parent commands, starting with the prefix. Period terminated.
@@ -97,8 +94,6 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Null until set, then should be considered immutable.
     @Nullable private Set<Class<? extends AbstractCommand<?>>> moduleCommands = null;
 
-    private final Map<UUID, Instant> cooldownStore = Maps.newHashMap();
-
     protected final CommandPermissionHandler permissions;
     @Nullable private final Collection<String> additionalPermsToCheck;
     private final String[] aliases;
@@ -112,7 +107,8 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     private final String configSection;
     private final boolean isRoot;
 
-    private CommandElement argumentParser = GenericArguments.none();
+    // Built when the command is first used.
+    @Nullable private volatile CommandElement argumentParser = null;
 
     private final SimpleDispatcher dispatcher = new SimpleDispatcher(SimpleDispatcher.FIRST_DISAMBIGUATOR);
 
@@ -127,6 +123,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
 
     private final String warmupKey;
     private final String cooldownKey;
+    private final String cooldownStoreKey;
     private final String costKey;
 
     private final Predicate<CommandSource> sourceTypePredicate;
@@ -136,8 +133,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
 
     @SuppressWarnings("unchecked")
     public AbstractCommand() {
-        List<Class<?>> types = ClassUtil.getActualTypeArguments(this.getClass(), AbstractCommand.class);
-        this.sourceType = types.isEmpty() ? (Class<T>) CommandSource.class : (Class<T>) types.get(0);
+        this.sourceType = (Class<T>) this.metadata.getSourceType();
 
         if (this.sourceType.getClass().isAssignableFrom(CommandSource.class)) {
             this.sourceTypePredicate = x -> true;
@@ -148,15 +144,13 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         this.commandPath = getSubcommandOf();
 
         // Now, if this is
-        RegisterCommand rc = this.getClass().getAnnotation(RegisterCommand.class);
-
-        this.isRoot = rc == null || rc.subcommandOf().equals(AbstractCommand.class);
-        this.hasExecutor = rc != null && rc.hasExecutor();
+        this.isRoot = this.metadata.isRoot();
+        this.hasExecutor = this.metadata.hasExecutor();
 
-        List<String> force = rc == null ? Lists.newArrayList() : Lists.newArrayList(rc.rootAliasRegister());
+        List<String> force = Lists.newArrayList(this.metadata.getRootAliases());
 
-        List<String> a = rc == null ? Lists.newArrayList() : Lists.newArrayList(rc.value());
-        if (!this.getClass().isAnnotationPresent(NoCommandPrefix.class)
+        List<String> a = Lists.newArrayList(this.metadata.getAliases());
+        if (!this.metadata.isNoCommandPrefix()
             && !a.isEmpty() && this.isRoot) { // Testing might return a zero length.
 
             final String nPrimary = "n" + a.get(0).toLowerCase();
@@ -185,16 +179,16 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         //
         // exempt.(cooldown|warmup|cost)
         this.permissions = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(this.getClass());
-        if (getClass().isAnnotationPresent(PermissionsFrom.class)) {
+        if (this.metadata.getPermissionsFrom() != null) {
             this.additionalPermsToCheck = Lists.newArrayList();
-            for (String p : getClass().getAnnotation(PermissionsFrom.class).requiresSuffix()) {
+            for (String p : this.metadata.getPermissionsFromSuffixes()) {
                 this.additionalPermsToCheck.add(this.permissions.getPermissionWithSuffix(p));
             }
         } else {
             this.additionalPermsToCheck = null;
         }
 
-        if (this.getClass().isAnnotationPresent(NoModifiers.class)) {
+        if (this.metadata.isNoModifiers()) {
             this.bypassWarmup = true;
             this.generateWarmupAnyway = false;
             this.bypassCooldown = true;
@@ -203,33 +197,33 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             // For these flags, we simply need to get whether the annotation was
             // declared. If they were not, we simply get back
             // a null - so the check is based around that.
-            NoWarmup w = this.getClass().getAnnotation(NoWarmup.class);
-            this.bypassWarmup = w != null;
-            this.generateWarmupAnyway = !this.bypassWarmup || w.generateConfigEntry();
+            this.bypassWarmup = this.metadata.isNoWarmup();
+            this.generateWarmupAnyway = !this.bypassWarmup || this.metadata.isWarmupGenerateConfigEntry();
 
-            this.bypassCooldown = this.getClass().getAnnotation(NoCooldown.class) != null;
-            this.bypassCost = this.getClass().getAnnotation(NoCost.class) != null;
+            this.bypassCooldown = this.metadata.isNoCooldown();
+            this.bypassCost = this.metadata.isNoCost();
         }
 
-        RedirectModifiers cca = this.getClass().getAnnotation(RedirectModifiers.class);
+        String cca = this.metadata.getRedirectModifiers();
         String configSect;
         if (this.commandPath.isEmpty() || !this.commandPath.contains(".")) {
             configSect = "";
         } else {
             configSect = this.commandPath.replaceAll("\\.[^.]+$", ".");
         }
-        generateConfigEntries = cca == null ? true : cca.requireGeneration();
+        generateConfigEntries = cca == null ? true : this.metadata.isRedirectRequireGeneration();
 
-        this.configSection = configSect + (cca == null ? getAliases()[0].toLowerCase() : cca.value().toLowerCase());
+        this.configSection = configSect + (cca == null ? getAliases()[0].toLowerCase() : cca.toLowerCase());
 
         this.warmupKey = "nucleus." + this.configSection + ".warmup";
         this.cooldownKey = "nucleus." + this.configSection + ".cooldown";
+        this.cooldownStoreKey = "nucleus:command." + this.configSection;
         this.costKey = "nucleus." + this.configSection + ".cost";
 
-        this.requiresEconomy = this.getClass().isAnnotationPresent(RequiresEconomy.class);
+        this.requiresEconomy = this.metadata.isRequiresEconomy();
 
         // Timings
-        if (!this.getClass().isAnnotationPresent(NoTimings.class)) {
+        if (!this.metadata.isNoTimings()) {
             try {
                 this.commandTimings =
                         Timings.of(Nucleus.getNucleus(), "Command - /" + (this.commandPath.replace(".", " ")));
@@ -262,12 +256,12 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
 
     private void getSubcommandOf(Class<? extends AbstractCommand> c, StringBuilder sb, boolean appendPeriod) {
         // Get subcommand alias, if any.
-        RegisterCommand rc = c.getAnnotation(RegisterCommand.class);
-        if (!Modifier.isAbstract( rc.subcommandOf().getModifiers()) && rc.subcommandOf() != this.getClass()) {
-            getSubcommandOf(rc.subcommandOf(), sb, true);
+        CommandMetadata rc = c == this.getClass() ? this.metadata : CommandMetadata.of(c);
+        if (!Modifier.isAbstract(rc.getSubcommandOf().getModifiers()) && rc.getSubcommandOf() != this.getClass()) {
+            getSubcommandOf(rc.getSubcommandOf(), sb, true);
         }
 
-        sb.append(rc.value()[0]);
+        sb.append(rc.getAliases()[0]);
         if (appendPeriod) {
             sb.append(".");
         }
@@ -287,7 +281,6 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         Preconditions.checkNotNull(this.getAliases());
         Preconditions.checkArgument(this.getAliases().length > 0);
 
-        this.argumentParser = GenericArguments.seq(getArguments());
         createChildCommands();
 
         afterPostInit();
@@ -296,6 +289,21 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         permissionSuffixesToRegister().forEach(this.permissions::registerPermissionSuffix);
     }
 
+    private CommandElement getArgumentParser() {
+        CommandElement parser = this.argumentParser;
+        if (parser == null) {
+            synchronized (this) {
+                parser = this.argumentParser;
+                if (parser == null) {
+                    parser = GenericArguments.seq(getArguments());
+                    this.argumentParser = parser;
+                }
+            }
+        }
+
+        return parser;
+    }
+
     /**
      * Runs after postInit has completed.
      */
@@ -373,7 +381,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             }
 
             // Phase four - create the context and parse the arguments.
-            this.argumentParser.parse(source, args, context);
+            getArgumentParser().parse(source, args, context);
             if (args.hasNext()) {
                 thrown.add(Tuple.of(command, new NucleusArgumentParseException(
                     Text.of(TextColors.RED, "Too many arguments"),
@@ -535,7 +543,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         options.addAll(this.dispatcher.getSuggestions(source, arguments, targetPosition));
         args.setState(state);
 
-        options.addAll(this.argumentParser.complete(source, args, context));
+        options.addAll(getArgumentParser().complete(source, args, context));
         return options.stream().distinct().collect(Collectors.toList());
     }
 
@@ -732,7 +740,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
                 .filter(x -> x != null && x.getCallable().testPermission(source))
                 .forEach(x -> builder.append(x.getPrimaryAlias()).append("|"));
 
-        return builder.append(this.argumentParser.getUsage(source).toPlain().replaceAll("\\?\\|", "")).toString();
+        return builder.append(getArgumentParser().getUsage(source).toPlain().replaceAll("\\?\\|", "")).toString();
     }
 
     /**
@@ -742,7 +750,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
      * @return The usage.
      */
     public final String getSimpleUsage(CommandSource source) {
-        return "/" + getCommandPath().replaceAll("\\.", " ") + " " + this.argumentParser.getUsage(source).toPlain();
+        return "/" + getCommandPath().replaceAll("\\.", " ") + " " + getArgumentParser().getUsage(source).toPlain();
     }
 
     /**
@@ -1022,23 +1030,23 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         // we already know we have permission,
         // we can skip those checks.
         Task.Builder tb = Sponge.getScheduler().createTaskBuilder().delay(warmupTime, TimeUnit.SECONDS)
-                .execute(new CostCancellableTask(AbstractCommand.this.plugin, src, getCost(src, args)) {
-
-                    @Override
-                    public void accept(Task task) {
-                        src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
-                        this.plugin.getWarmupManager().removeWarmup(src.getUniqueId());
-                        onExecute((T) src, args);
-                    }
-                }).name("Command Warmup - " + src.getName());
+                .name("Command Warmup - " + src.getName());
 
         // Run an async command async, of course!
         if (this.isAsync) {
             tb.async();
         }
 
-        // Add the warmup to the service so we can cancel it if we need to.
-        this.plugin.getWarmupManager().addWarmup(src.getUniqueId(), tb.submit(this.plugin));
+        // Add the warmup to the service so we can cancel it if we need to. It removes itself when it runs.
+        this.plugin.getWarmupManager().submitWarmup(src.getUniqueId(), tb,
+                new CostCancellableTask(AbstractCommand.this.plugin, src, getCost(src, args)) {
+
+                    @Override
+                    public void accept(Task task) {
+                        src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.end"));
+                        onExecute((T) src, args);
+                    }
+                });
 
         // Tell the user we're warming up.
         src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.start",
@@ -1061,18 +1069,14 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
     // Cooldowns
     // -------------------------------------
     private ContinueMode checkCooldown(Player src, CommandContext args) {
-        // Remove any expired cooldowns.
-        cleanCooldowns();
-
-        // If they are still in there, then tell them they are still cooling
-        // down.
-        if (!this.bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) &&
-            !this.permissions.testCooldownExempt(src) && this.cooldownStore.containsKey(src.getUniqueId())) {
-
-            Instant l = this.cooldownStore.get(src.getUniqueId());
-            src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
-                    Util.getTimeStringFromSeconds(l.until(Instant.now(), ChronoUnit.SECONDS))));
-            return ContinueMode.STOP;
+        // If they are still cooling down, then tell them.
+        if (!this.bypassCooldown && !args.hasAny(NoModifiersArgument.NO_COOLDOWN_ARGUMENT) && !this.permissions.testCooldownExempt(src)) {
+            Optional<Duration> remaining = getCooldownService().getCooldown(src.getUniqueId(), this.cooldownStoreKey);
+            if (remaining.isPresent()) {
+                src.sendMessage(NucleusPlugin.getNucleus().getMessageProvider().getTextMessageWithFormat("cooldown.message",
+                        Util.getTimeStringFromSeconds(remaining.get().getSeconds())));
+                return ContinueMode.STOP;
+            }
         }
 
         return ContinueMode.CONTINUE;
@@ -1084,20 +1088,18 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             int cooldownTime = Util.getPositiveIntOptionFromSubject(src, this.cooldownKey)
                 .orElseGet(() -> this.plugin.getCommandsConfig().getCommandNode(this.configSection).getNode("cooldown").getInt());
             if (cooldownTime > 0) {
-                // If there is a cooldown, add the cooldown to the list, with
-                // the end time as an Instant.
-                this.cooldownStore.put(src.getUniqueId(), Instant.now().plus(cooldownTime, ChronoUnit.SECONDS));
+                // If there is a cooldown, add it to the service.
+                getCooldownService().setCooldown(src.getUniqueId(), this.cooldownStoreKey, Duration.ofSeconds(cooldownTime));
             }
         }
     }
 
     protected void removeCooldown(UUID uuid) {
-        this.cooldownStore.remove(uuid);
+        getCooldownService().removeCooldown(uuid, this.cooldownStoreKey);
     }
 
-    private void cleanCooldowns() {
-        // If the cooldown end is in the past, remove it.
-        this.cooldownStore.entrySet().removeIf(k -> k.getValue().isBefore(Instant.now()));
+    private CooldownService getCooldownService() {
+        return this.plugin.getInternalServiceManager().getServiceUnchecked(CooldownService.class);
     }
 
     // -------------------------------------
@@ -1160,9 +1162,9 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
         Set<Class<? extends AbstractCommand<?>>> bases = null;
         if (this.moduleCommands != null) {
             bases = this.moduleCommands.stream().filter(x -> {
-                RegisterCommand r = x.getAnnotation(RegisterCommand.class);
+                CommandMetadata r = CommandMetadata.of(x);
                 // Only commands that are subcommands of this.
-                return r != null && r.subcommandOf().equals(this.getClass());
+                return r.isRegistered() && r.getSubcommandOf().equals(this.getClass());
             }).collect(Collectors.toSet());
         }
 
@@ -1180,7 +1182,7 @@ public abstract class AbstractCommand<T extends CommandSource> implements Comman
             });
         }
 
-        if (!this.getClass().isAnnotationPresent(NoHelpSubcommand.class)) {
+        if (!this.metadata.isNoHelpSubcommand()) {
             this.dispatcher.register(this.usageCommand, "?", "help");
         }
     }
@@ -0,0 +1,494 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.command;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.internal.annotations.RequiresEconomy;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCommandPrefix;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCooldown;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoDocumentation;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoHelpSubcommand;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoPermissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoTimings;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.PermissionsFrom;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RedirectModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.qsml.ClassIndex;
+import io.github.nucleuspowered.nucleus.util.ClassUtil;
+import org.spongepowered.api.command.CommandSource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Everything that is declared about a command through its annotations.
+ *
+ * <p>When Nucleus is built, the annotation processor writes this out for each command into the
+ * {@link ClassIndex}, so that it does not have to be read reflectively on startup. Commands that are
+ * not in the index, such as those in tests, have it read from their annotations instead. That is only
+ * kept if there is no index at all.</p>
+ */
+public final class CommandMetadata {
+
+    private static final String[] EMPTY = new String[0];
+    private static final Map<Class<?>, CommandMetadata> fromAnnotations = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the metadata for a command.
+     *
+     * @param command The command.
+     * @return The {@link CommandMetadata}
+     */
+    public static CommandMetadata of(Class<? extends AbstractCommand> command) {
+        CommandMetadata metadata = ClassIndex.getCommandMetadata(command);
+        if (metadata != null) {
+            return metadata;
+        }
+
+        // If there is an index, the module of the command may not have been loaded into it yet, so
+        // what is read now must not be kept in place of what the index will have later.
+        if (ClassIndex.get().isPresent()) {
+            return fromAnnotations(command);
+        }
+
+        return fromAnnotations.computeIfAbsent(command, x -> fromAnnotations(command));
+    }
+
+    /**
+     * Creates a builder for the metadata of a command, with the defaults of each annotation.
+     *
+     * @param command The command.
+     * @param sourceType The type of {@link CommandSource} that the command accepts.
+     * @return The {@link Builder}
+     */
+    public static Builder builder(Class<? extends AbstractCommand> command, Class<? extends CommandSource> sourceType) {
+        return new Builder(command, sourceType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CommandMetadata fromAnnotations(Class<? extends AbstractCommand> command) {
+        List<Class<?>> types = ClassUtil.getActualTypeArguments(command, AbstractCommand.class);
+        Class<?> sourceType = types == null || types.isEmpty() || types.get(0) == null ? CommandSource.class : types.get(0);
+        Builder builder = builder(command, (Class<? extends CommandSource>) sourceType);
+
+        RegisterCommand rc = command.getAnnotation(RegisterCommand.class);
+        if (rc != null) {
+            builder.register(rc.subcommandOf(), rc.hasExecutor(), rc.value()).rootAliases(rc.rootAliasRegister());
+        }
+
+        Permissions p = command.getAnnotation(Permissions.class);
+        if (p != null) {
+            builder.permissions(p.prefix(), p.mainOverride(), p.suffix(), p.supportsOthers(), p.suggestedLevel());
+        }
+
+        PermissionsFrom pf = command.getAnnotation(PermissionsFrom.class);
+        if (pf != null) {
+            builder.permissionsFrom(pf.value(), pf.requiresSuffix());
+        }
+
+        RedirectModifiers rm = command.getAnnotation(RedirectModifiers.class);
+        if (rm != null) {
+            builder.redirectModifiers(rm.value(), rm.requireGeneration());
+        }
+
+        NoWarmup nw = command.getAnnotation(NoWarmup.class);
+        if (nw != null) {
+            builder.noWarmup(nw.generateConfigEntry(), nw.generatePermissionDocs());
+        }
+
+        if (command.isAnnotationPresent(RunAsync.class)) {
+            builder.runAsync();
+        }
+
+        if (command.isAnnotationPresent(RequiresEconomy.class)) {
+            builder.requiresEconomy();
+        }
+
+        if (command.isAnnotationPresent(NoCommandPrefix.class)) {
+            builder.noCommandPrefix();
+        }
+
+        if (command.isAnnotationPresent(NoModifiers.class)) {
+            builder.noModifiers();
+        }
+
+        if (command.isAnnotationPresent(NoCooldown.class)) {
+            builder.noCooldown();
+        }
+
+        if (command.isAnnotationPresent(NoCost.class)) {
+            builder.noCost();
+        }
+
+        if (command.isAnnotationPresent(NoTimings.class)) {
+            builder.noTimings();
+        }
+
+        if (command.isAnnotationPresent(NoPermissions.class)) {
+            builder.noPermissions();
+        }
+
+        if (command.isAnnotationPresent(NoDocumentation.class)) {
+            builder.noDocumentation();
+        }
+
+        if (command.isAnnotationPresent(NoHelpSubcommand.class)) {
+            builder.noHelpSubcommand();
+        }
+
+        return builder.build();
+    }
+
+    private final Class<? extends AbstractCommand> command;
+    private final Class<? extends CommandSource> sourceType;
+
+    // RegisterCommand
+    private final boolean registered;
+    private final Class<? extends AbstractCommand> subcommandOf;
+    private final boolean hasExecutor;
+    private final String[] aliases;
+    private final String[] rootAliases;
+
+    // Permissions
+    private final String permissionPrefix;
+    private final String permissionMainOverride;
+    private final String permissionSuffix;
+    private final boolean supportsOthers;
+    private final SuggestedLevel suggestedLevel;
+
+    @Nullable private final Class<? extends AbstractCommand> permissionsFrom;
+    private final String[] permissionsFromSuffixes;
+
+    @Nullable private final String redirectModifiers;
+    private final boolean redirectRequireGeneration;
+
+    private final boolean noWarmup;
+    private final boolean warmupGenerateConfigEntry;
+    private final boolean warmupGeneratePermissionDocs;
+
+    private final boolean runAsync;
+    private final boolean requiresEconomy;
+    private final boolean noCommandPrefix;
+    private final boolean noModifiers;
+    private final boolean noCooldown;
+    private final boolean noCost;
+    private final boolean noTimings;
+    private final boolean noPermissions;
+    private final boolean noDocumentation;
+    private final boolean noHelpSubcommand;
+
+    private CommandMetadata(Builder builder) {
+        this.command = builder.command;
+        this.sourceType = builder.sourceType;
+        this.registered = builder.registered;
+        this.subcommandOf = builder.subcommandOf;
+        this.hasExecutor = builder.hasExecutor;
+        this.aliases = builder.aliases;
+        this.rootAliases = builder.rootAliases;
+        this.permissionPrefix = builder.permissionPrefix;
+        this.permissionMainOverride = builder.permissionMainOverride;
+        this.permissionSuffix = builder.permissionSuffix;
+        this.supportsOthers = builder.supportsOthers;
+        this.suggestedLevel = builder.suggestedLevel;
+        this.permissionsFrom = builder.permissionsFrom;
+        this.permissionsFromSuffixes = builder.permissionsFromSuffixes;
+        this.redirectModifiers = builder.redirectModifiers;
+        this.redirectRequireGeneration = builder.redirectRequireGeneration;
+        this.noWarmup = builder.noWarmup;
+        this.warmupGenerateConfigEntry = builder.warmupGenerateConfigEntry;
+        this.warmupGeneratePermissionDocs = builder.warmupGeneratePermissionDocs;
+        this.runAsync = builder.runAsync;
+        this.requiresEconomy = builder.requiresEconomy;
+        this.noCommandPrefix = builder.noCommandPrefix;
+        this.noModifiers = builder.noModifiers;
+        this.noCooldown = builder.noCooldown;
+        this.noCost = builder.noCost;
+        this.noTimings = builder.noTimings;
+        this.noPermissions = builder.noPermissions;
+        this.noDocumentation = builder.noDocumentation;
+        this.noHelpSubcommand = builder.noHelpSubcommand;
+    }
+
+    public Class<? extends AbstractCommand> getCommand() {
+        return this.command;
+    }
+
+    public Class<? extends CommandSource> getSourceType() {
+        return this.sourceType;
+    }
+
+    /**
+     * Gets whether the command has a {@link RegisterCommand} annotation.
+     *
+     * @return true if so.
+     */
+    public boolean isRegistered() {
+        return this.registered;
+    }
+
+    public Class<? extends AbstractCommand> getSubcommandOf() {
+        return this.subcommandOf;
+    }
+
+    public boolean isRoot() {
+        return this.subcommandOf == AbstractCommand.class;
+    }
+
+    public boolean hasExecutor() {
+        return this.hasExecutor;
+    }
+
+    /**
+     * Gets the aliases of the command. Callers must not modify the array.
+     *
+     * @return The aliases.
+     */
+    public String[] getAliases() {
+        return this.aliases;
+    }
+
+    /**
+     * Gets the aliases that should be registered as root aliases. Callers must not modify the array.
+     *
+     * @return The aliases.
+     */
+    public String[] getRootAliases() {
+        return this.rootAliases;
+    }
+
+    public String getPermissionPrefix() {
+        return this.permissionPrefix;
+    }
+
+    public String getPermissionMainOverride() {
+        return this.permissionMainOverride;
+    }
+
+    public String getPermissionSuffix() {
+        return this.permissionSuffix;
+    }
+
+    public boolean isSupportsOthers() {
+        return this.supportsOthers;
+    }
+
+    public SuggestedLevel getSuggestedLevel() {
+        return this.suggestedLevel;
+    }
+
+    @Nullable public Class<? extends AbstractCommand> getPermissionsFrom() {
+        return this.permissionsFrom;
+    }
+
+    public String[] getPermissionsFromSuffixes() {
+        return this.permissionsFromSuffixes;
+    }
+
+    @Nullable public String getRedirectModifiers() {
+        return this.redirectModifiers;
+    }
+
+    public boolean isRedirectRequireGeneration() {
+        return this.redirectRequireGeneration;
+    }
+
+    public boolean isNoWarmup() {
+        return this.noWarmup;
+    }
+
+    public boolean isWarmupGenerateConfigEntry() {
+        return this.warmupGenerateConfigEntry;
+    }
+
+    public boolean isWarmupGeneratePermissionDocs() {
+        return this.warmupGeneratePermissionDocs;
+    }
+
+    public boolean isRunAsync() {
+        return this.runAsync;
+    }
+
+    public boolean isRequiresEconomy() {
+        return this.requiresEconomy;
+    }
+
+    public boolean isNoCommandPrefix() {
+        return this.noCommandPrefix;
+    }
+
+    public boolean isNoModifiers() {
+        return this.noModifiers;
+    }
+
+    public boolean isNoCooldown() {
+        return this.noCooldown;
+    }
+
+    public boolean isNoCost() {
+        return this.noCost;
+    }
+
+    public boolean isNoTimings() {
+        return this.noTimings;
+    }
+
+    public boolean isNoPermissions() {
+        return this.noPermissions;
+    }
+
+    public boolean isNoDocumentation() {
+        return this.noDocumentation;
+    }
+
+    public boolean isNoHelpSubcommand() {
+        return this.noHelpSubcommand;
+    }
+
+    /**
+     * Builds {@link CommandMetadata}. Each method corresponds to an annotation, and should only be
+     * called if the command has that annotation.
+     */
+    public static final class Builder {
+
+        private final Class<? extends AbstractCommand> command;
+        private final Class<? extends CommandSource> sourceType;
+        private boolean registered = false;
+        private Class<? extends AbstractCommand> subcommandOf = AbstractCommand.class;
+        private boolean hasExecutor = false;
+        private String[] aliases = EMPTY;
+        private String[] rootAliases = EMPTY;
+        private String permissionPrefix = "";
+        private String permissionMainOverride = "";
+        private String permissionSuffix = "";
+        private boolean supportsOthers = false;
+        private SuggestedLevel suggestedLevel = SuggestedLevel.ADMIN;
+        @Nullable private Class<? extends AbstractCommand> permissionsFrom = null;
+        private String[] permissionsFromSuffixes = EMPTY;
+        @Nullable private String redirectModifiers = null;
+        private boolean redirectRequireGeneration = false;
+        private boolean noWarmup = false;
+        private boolean warmupGenerateConfigEntry = false;
+        private boolean warmupGeneratePermissionDocs = false;
+        private boolean runAsync = false;
+        private boolean requiresEconomy = false;
+        private boolean noCommandPrefix = false;
+        private boolean noModifiers = false;
+        private boolean noCooldown = false;
+        private boolean noCost = false;
+        private boolean noTimings = false;
+        private boolean noPermissions = false;
+        private boolean noDocumentation = false;
+        private boolean noHelpSubcommand = false;
+
+        private Builder(Class<? extends AbstractCommand> command, Class<? extends CommandSource> sourceType) {
+            this.command = Preconditions.checkNotNull(command);
+            this.sourceType = Preconditions.checkNotNull(sourceType);
+        }
+
+        public Builder register(Class<? extends AbstractCommand> subcommandOf, boolean hasExecutor, String... aliases) {
+            this.registered = true;
+            this.subcommandOf = subcommandOf;
+            this.hasExecutor = hasExecutor;
+            this.aliases = aliases;
+            return this;
+        }
+
+        public Builder rootAliases(String... rootAliases) {
+            this.rootAliases = rootAliases;
+            return this;
+        }
+
+        public Builder permissions(String prefix, String mainOverride, String suffix, boolean supportsOthers, SuggestedLevel suggestedLevel) {
+            this.permissionPrefix = prefix;
+            this.permissionMainOverride = mainOverride;
+            this.permissionSuffix = suffix;
+            this.supportsOthers = supportsOthers;
+            this.suggestedLevel = suggestedLevel;
+            return this;
+        }
+
+        public Builder permissionsFrom(Class<? extends AbstractCommand> permissionsFrom, String... requiresSuffix) {
+            this.permissionsFrom = permissionsFrom;
+            this.permissionsFromSuffixes = requiresSuffix;
+            return this;
+        }
+
+        public Builder redirectModifiers(String value, boolean requireGeneration) {
+            this.redirectModifiers = value;
+            this.redirectRequireGeneration = requireGeneration;
+            return this;
+        }
+
+        public Builder noWarmup(boolean generateConfigEntry, boolean generatePermissionDocs) {
+            this.noWarmup = true;
+            this.warmupGenerateConfigEntry = generateConfigEntry;
+            this.warmupGeneratePermissionDocs = generatePermissionDocs;
+            return this;
+        }
+
+        public Builder runAsync() {
+            this.runAsync = true;
+            return this;
+        }
+
+        public Builder requiresEconomy() {
+            this.requiresEconomy = true;
+            return this;
+        }
+
+        public Builder noCommandPrefix() {
+            this.noCommandPrefix = true;
+            return this;
+        }
+
+        public Builder noModifiers() {
+            this.noModifiers = true;
+            return this;
+        }
+
+        public Builder noCooldown() {
+            this.noCooldown = true;
+            return this;
+        }
+
+        public Builder noCost() {
+            this.noCost = true;
+            return this;
+        }
+
+        public Builder noTimings() {
+            this.noTimings = true;
+            return this;
+        }
+
+        public Builder noPermissions() {
+            this.noPermissions = true;
+            return this;
+        }
+
+        public Builder noDocumentation() {
+            this.noDocumentation = true;
+            return this;
+        }
+
+        public Builder noHelpSubcommand() {
+            this.noHelpSubcommand = true;
+            return this;
+        }
+
+        public CommandMetadata build() {
+            return new CommandMetadata(this);
+        }
+    }
+}
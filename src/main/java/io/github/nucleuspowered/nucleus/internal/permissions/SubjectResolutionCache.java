@@ -0,0 +1,218 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.permissions;
+
+import com.google.common.collect.ImmutableSet;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.util.Tristate;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Caches the results of permission and option checks for online players, for the set of contexts
+ * that were active when they were checked.
+ *
+ * <p>A player's active contexts are worked out once for each entry rather than for each check. The
+ * results for a player are thrown away when they change world (which changes their world context),
+ * when they log in or out, when the permission service changes, or when they are older than the
+ * configured time to live. Changes made directly in the permission plugin, and changes to any other
+ * contexts, are therefore picked up within that time.</p>
+ *
+ * <p>Other subjects are not cached, as they may not be identified by their UUID.</p>
+ */
+public class SubjectResolutionCache {
+
+    private final static SubjectResolutionCache INSTANCE = new SubjectResolutionCache();
+
+    public static SubjectResolutionCache getInstance() {
+        return INSTANCE;
+    }
+
+    private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    // Checks go straight through until the core config has been loaded.
+    private volatile boolean enabled = false;
+    private volatile long ttlNanos = TimeUnit.SECONDS.toNanos(30);
+
+    private SubjectResolutionCache() {
+    }
+
+    /**
+     * Sets how the cache behaves. Clears the cache.
+     *
+     * @param enabled Whether results should be cached.
+     * @param ttlSeconds How long results are kept for, in seconds.
+     */
+    public void configure(boolean enabled, long ttlSeconds) {
+        this.enabled = enabled;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(Math.max(1, ttlSeconds));
+        invalidateAll();
+    }
+
+    /**
+     * Checks whether the subject has a permission, in their active contexts.
+     *
+     * @param subject The {@link Subject}
+     * @param permission The permission to check.
+     * @return Whether the subject has the permission.
+     */
+    public boolean hasPermission(Subject subject, String permission) {
+        if (!this.enabled || !(subject instanceof Player)) {
+            return subject.hasPermission(permission);
+        }
+
+        Entry entry = getEntry((Player) subject);
+        Tristate result = entry.permissions.getOrDefault(permission, Tristate.UNDEFINED);
+        if (result != Tristate.UNDEFINED) {
+            this.hits.increment();
+            return result.asBoolean();
+        }
+
+        this.misses.increment();
+        boolean hasPermission = subject.hasPermission(entry.contexts, permission);
+        entry.permissions.put(permission, Tristate.fromBoolean(hasPermission));
+        return hasPermission;
+    }
+
+    /**
+     * Gets an option from the subject, checking their active contexts first, then the global context.
+     *
+     * @param subject The {@link Subject}
+     * @param option The option to get, in lower case.
+     * @return The option, if it is set.
+     */
+    public Optional<String> getOption(Subject subject, String option) {
+        if (!this.enabled || !(subject instanceof Player)) {
+            return resolveOption(subject, subject.getActiveContexts(), option);
+        }
+
+        Entry entry = getEntry((Player) subject);
+        Optional<String> result = entry.options.get(option);
+        if (result != null) {
+            this.hits.increment();
+            return result;
+        }
+
+        this.misses.increment();
+        result = resolveOption(subject, entry.contexts, option);
+        entry.options.put(option, result);
+        return result;
+    }
+
+    public void invalidate(UUID uuid) {
+        if (this.entries.remove(uuid) != null) {
+            this.invalidations.increment();
+        }
+    }
+
+    public void invalidateAll() {
+        this.invalidations.add(this.entries.size());
+        this.entries.clear();
+    }
+
+    public Statistics getStatistics() {
+        return new Statistics(this.enabled, this.entries.size(), this.hits.sum(), this.misses.sum(), this.invalidations.sum());
+    }
+
+    private Entry getEntry(Player player) {
+        UUID world = player.getWorld().getUniqueId();
+        long now = System.nanoTime();
+        Entry entry = this.entries.get(player.getUniqueId());
+        if (entry == null || now - entry.created > this.ttlNanos || !entry.world.equals(world)) {
+            if (entry != null) {
+                this.invalidations.increment();
+            }
+
+            entry = new Entry(ImmutableSet.copyOf(player.getActiveContexts()), world, now);
+            this.entries.put(player.getUniqueId(), entry);
+        }
+
+        return entry;
+    }
+
+    private static Optional<String> resolveOption(Subject subject, Set<Context> contexts, String option) {
+        // Option for context.
+        Optional<String> os = subject.getOption(contexts, option);
+        if (os.isPresent()) {
+            return os;
+        }
+
+        // General option
+        return subject.getOption(option);
+    }
+
+    private static final class Entry {
+
+        private final Set<Context> contexts;
+        private final UUID world;
+        private final long created;
+
+        // Only TRUE and FALSE are stored, UNDEFINED means that the permission has not been checked.
+        private final Map<String, Tristate> permissions = new ConcurrentHashMap<>();
+        private final Map<String, Optional<String>> options = new ConcurrentHashMap<>();
+
+        private Entry(Set<Context> contexts, UUID world, long created) {
+            this.contexts = contexts;
+            this.world = world;
+            this.created = created;
+        }
+    }
+
+    /**
+     * A snapshot of the state of the {@link SubjectResolutionCache}.
+     */
+    public static final class Statistics {
+
+        private final boolean enabled;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long invalidations;
+
+        private Statistics(boolean enabled, int size, long hits, long misses, long invalidations) {
+            this.enabled = enabled;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+        }
+
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+
+        public int getSize() {
+            return this.size;
+        }
+
+        public long getHits() {
+            return this.hits;
+        }
+
+        public long getMisses() {
+            return this.misses;
+        }
+
+        public double getHitRate() {
+            long requests = this.hits + this.misses;
+            return requests == 0 ? 1.0 : (double) this.hits / requests;
+        }
+
+        public long getInvalidations() {
+            return this.invalidations;
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.qsml;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import javax.annotation.Nullable;
+
+/**
+ * An index of the modules, the commands, listeners, tasks and registries in each module, and the
+ * {@link CommandMetadata} of each command.
+ *
+ * <p>The index is generated as Java source by the annotation processor when Nucleus is built, so the
+ * classes are referenced directly rather than being looked up by name or found by scanning the
+ * classpath. The classes of each module are only loaded when they are first asked for, so disabled
+ * modules do not load their classes.</p>
+ */
+public abstract class ClassIndex {
+
+    private static final String GENERATED = "io.github.nucleuspowered.nucleus.internal.qsml.GeneratedClassIndex";
+
+    @Nullable private static volatile Optional<ClassIndex> instance = null;
+
+    /**
+     * Gets the generated index, if Nucleus was built with the annotation processor.
+     *
+     * @return The index, if it exists.
+     */
+    public static synchronized Optional<ClassIndex> get() {
+        if (instance == null) {
+            try {
+                instance = Optional.of((ClassIndex) Class.forName(GENERATED).newInstance());
+            } catch (ClassNotFoundException e) {
+                instance = Optional.empty();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Could not create the class index", e);
+            }
+        }
+
+        return instance;
+    }
+
+    /**
+     * Gets the metadata of a command from the index, if the classes of its module have been loaded.
+     *
+     * @param command The command.
+     * @return The {@link CommandMetadata}, or null.
+     */
+    @Nullable
+    public static CommandMetadata getCommandMetadata(Class<?> command) {
+        Optional<ClassIndex> index = instance;
+        if (index == null || !index.isPresent()) {
+            return null;
+        }
+
+        return index.get().commands.get(command);
+    }
+
+    private final Map<Class<?>, Consumer<ModuleClasses>> modules = new LinkedHashMap<>();
+    private final Map<Class<?>, CommandMetadata> commands = new ConcurrentHashMap<>();
+
+    protected final void module(Class<?> module, Consumer<ModuleClasses> classes) {
+        this.modules.put(module, classes);
+    }
+
+    /**
+     * Gets the modules in the index.
+     *
+     * @return The module classes.
+     */
+    public final Set<Class<?>> getModules() {
+        return ImmutableSet.copyOf(this.modules.keySet());
+    }
+
+    /**
+     * Loads the classes of a module, keyed by their type, such as {@code command} or
+     * {@code listener}. Also adds the metadata of the commands of the module to the index.
+     *
+     * @param module The module.
+     * @return The classes, or null if the module is not in the index.
+     */
+    @Nullable
+    public final Map<String, List<Class<?>>> getClasses(Class<?> module) {
+        Consumer<ModuleClasses> consumer = this.modules.get(module);
+        if (consumer == null) {
+            return null;
+        }
+
+        ModuleClasses classes = new ModuleClasses();
+        consumer.accept(classes);
+        return classes.classes;
+    }
+
+    /**
+     * Collects the classes of a module.
+     */
+    protected final class ModuleClasses {
+
+        private final Map<String, List<Class<?>>> classes = new HashMap<>();
+
+        private ModuleClasses() {
+        }
+
+        public void add(String type, Class<?>... classes) {
+            this.classes.put(type, ImmutableList.copyOf(classes));
+        }
+
+        public void command(CommandMetadata.Builder builder) {
+            CommandMetadata metadata = builder.build();
+            ClassIndex.this.commands.put(metadata.getCommand(), metadata);
+        }
+    }
+
+    /**
+     * Loads a class by name. Used for classes that cannot be referenced from the index, because they are
+     * not public.
+     *
+     * @param name The binary name of the class.
+     * @return The class.
+     */
+    protected static Class<?> load(String name) {
+        try {
+            return Class.forName(name);
+        } catch (ClassNotFoundException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
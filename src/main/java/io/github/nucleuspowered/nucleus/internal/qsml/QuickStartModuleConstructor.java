@@ -4,19 +4,39 @@
  */
 package io.github.nucleuspowered.nucleus.internal.qsml;
 
+import com.google.common.collect.ImmutableList;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
+import org.slf4j.Logger;
 import uk.co.drnaylor.quickstart.Module;
 import uk.co.drnaylor.quickstart.exceptions.QuickStartModuleLoaderException;
 import uk.co.drnaylor.quickstart.loaders.ModuleConstructor;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nullable;
 
 public class QuickStartModuleConstructor implements ModuleConstructor {
 
-    private final Map<String, Map<String, List<String>>> mm;
+    private static final int MAX_THREADS = 4;
+
+    @Nullable private final Function<Class<?>, Map<String, List<Class<?>>>> mm;
+    private final List<StandardModule> constructed = new ArrayList<>();
 
-    public QuickStartModuleConstructor(Map<String, Map<String, List<String>>> m) {
+    /**
+     * Creates the constructor.
+     *
+     * @param m Gets the classes of a module, keyed by type. Called when the module first needs them. If
+     *          null, the classes are found by scanning the module's package.
+     */
+    public QuickStartModuleConstructor(@Nullable Function<Class<?>, Map<String, List<Class<?>>>> m) {
          this.mm = m;
     }
 
@@ -30,9 +50,79 @@ public class QuickStartModuleConstructor implements ModuleConstructor {
         }
 
         if (m instanceof StandardModule) {
-            ((StandardModule) m).init(this.mm.get(moduleClass.getName()));
+            if (this.mm != null) {
+                ((StandardModule) m).init(() -> this.mm.apply(moduleClass));
+            }
+
+            this.constructed.add((StandardModule) m);
         }
 
         return m;
     }
+
+    /**
+     * Gets the {@link StandardModule}s that have been constructed.
+     *
+     * @return The modules.
+     */
+    public List<StandardModule> getConstructedModules() {
+        return ImmutableList.copyOf(this.constructed);
+    }
+
+    /**
+     * Runs {@link StandardModule#preload()} on the modules that are going to be enabled, in parallel.
+     * Waits until they have all finished.
+     *
+     * @param moduleIds The IDs of the modules to preload.
+     * @param logger The {@link Logger} to report failures to.
+     */
+    public void preload(Set<String> moduleIds, Logger logger) {
+        List<StandardModule> toPreload = this.constructed.stream().filter(x -> moduleIds.contains(x.getModuleId())).collect(Collectors.toList());
+        if (toPreload.isEmpty()) {
+            return;
+        }
+
+        // Leave a core for the server.
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, Math.min(MAX_THREADS, Runtime.getRuntime().availableProcessors() - 1)));
+        try {
+            pool.submit(() -> toPreload.parallelStream().forEach(StandardModule::preload)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            // Anything that was not preloaded will be loaded when the module is enabled.
+            logger.warn("Could not preload modules, they will be loaded one at a time: " + e.getCause().getMessage());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Loads the classes in a map of class names, as read from {@code classes.json}.
+     *
+     * @param names The class names, keyed by type.
+     * @return The classes, keyed by type, or null if the names were null.
+     */
+    @Nullable
+    public static Map<String, List<Class<?>>> forNames(@Nullable Map<String, List<String>> names) {
+        if (names == null) {
+            return null;
+        }
+
+        Map<String, List<Class<?>>> classes = new HashMap<>();
+        names.forEach((type, list) -> {
+            List<Class<?>> l = new ArrayList<>();
+            for (String s : list) {
+                try {
+                    // Initialised when used, so that they can be loaded off the main thread.
+                    l.add(Class.forName(s, false, QuickStartModuleConstructor.class.getClassLoader()));
+                } catch (ClassNotFoundException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            classes.put(type, l);
+        });
+
+        return classes;
+    }
 }
@@ -20,10 +20,10 @@ import io.github.nucleuspowered.nucleus.internal.annotations.RequireExistenceOf;
 import io.github.nucleuspowered.nucleus.internal.annotations.RequiresPlatform;
 import io.github.nucleuspowered.nucleus.internal.annotations.ServerOnly;
 import io.github.nucleuspowered.nucleus.internal.annotations.SkipOnError;
-import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Scan;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.CommandBuilder;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
 import io.github.nucleuspowered.nucleus.internal.command.ICommandInterceptor;
 import io.github.nucleuspowered.nucleus.internal.docgen.DocGenCache;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
@@ -55,7 +55,9 @@ import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -63,6 +65,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -77,7 +80,9 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     protected final Nucleus plugin;
     protected final InternalServiceManager serviceManager;
     private final CommandsConfig commandsConfig;
-    @Nullable private Map<String, List<String>> msls;
+    @Nullable private Supplier<Map<String, List<Class<?>>>> classSupplier;
+    @Nullable private Map<String, List<Class<?>>> msls;
+    private final Map<String, Long> startupTimings = Collections.synchronizedMap(new LinkedHashMap<>());
     private final String message = NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("config.enabled");
 
     public StandardModule() {
@@ -89,8 +94,62 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
         this.commandsConfig = this.plugin.getCommandsConfig();
     }
 
-    public void init(Map<String, List<String>> m) {
-        this.msls = m;
+    public void init(Supplier<Map<String, List<Class<?>>>> m) {
+        this.classSupplier = m;
+    }
+
+    /**
+     * Gets the classes of this module, keyed by type, if they are known without scanning.
+     *
+     * @return The classes, or null if the package must be scanned.
+     */
+    @Nullable
+    private synchronized Map<String, List<Class<?>>> getClasses() {
+        if (this.msls == null && this.classSupplier != null) {
+            this.msls = this.classSupplier.get();
+        }
+
+        return this.msls;
+    }
+
+    public final String getModuleId() {
+        return this.moduleId;
+    }
+
+    /**
+     * Gets how long each phase of loading this module took, in nanoseconds, in the order they ran.
+     *
+     * @return The timings.
+     */
+    public final Map<String, Long> getStartupTimings() {
+        synchronized (this.startupTimings) {
+            return ImmutableMap.copyOf(this.startupTimings);
+        }
+    }
+
+    /**
+     * Does the parts of enabling this module that do not touch the game, so that modules can do them
+     * in parallel before they are enabled. This loads the classes of the module and creates the
+     * permission handlers for its commands.
+     *
+     * <p>Anything that is not done here is done when it is first needed.</p>
+     */
+    @SuppressWarnings("unchecked")
+    public final void preload() {
+        long start = System.nanoTime();
+        Map<String, List<Class<?>>> classes = getClasses();
+        List<Class<?>> commands = classes == null ? null : classes.get(Constants.COMMAND);
+        if (commands != null) {
+            for (Class<?> c : commands) {
+                // Commands that depend on the platform are checked, and warned about, on the main thread.
+                if (!c.isAnnotationPresent(RequiresPlatform.class)
+                        && CommandMetadata.of((Class<? extends AbstractCommand>) c).isRegistered()) {
+                    this.plugin.getPermissionRegistry().getPermissionsForNucleusCommand((Class<? extends AbstractCommand>) c);
+                }
+            }
+        }
+
+        this.startupTimings.put("preload", System.nanoTime() - start);
     }
 
     @Override
@@ -116,6 +175,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     @Override
     public final void preEnable() {
+        long start = System.nanoTime();
         try {
             loadRegistries();
             registerServices();
@@ -125,6 +185,8 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
             e.printStackTrace();
             throw new RuntimeException("Cannot enable module!", e);
         }
+
+        this.startupTimings.put("pre-enable", System.nanoTime() - start);
     }
 
     @SuppressWarnings("unchecked")
@@ -209,6 +271,7 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     @Override
     public final void onEnable() {
+        long start = System.nanoTime();
         this.packageName = this.getClass().getPackage().getName() + ".";
 
         // Construct commands
@@ -222,10 +285,13 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
             e.printStackTrace();
             throw new RuntimeException("Cannot enable module!", e);
         }
+
+        this.startupTimings.put("enable", System.nanoTime() - start);
     }
 
     @Override
     public final void postEnable() {
+        long start = System.nanoTime();
         loadTokens();
         configTasks();
         try {
@@ -234,25 +300,24 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
             e.printStackTrace();
             throw new RuntimeException("Cannot perform post enable on module!", e);
         }
+
+        this.startupTimings.put("post-enable", System.nanoTime() - start);
     }
 
     @SuppressWarnings("unchecked")
     private void loadCommands() {
 
         Set<Class<? extends AbstractCommand<?>>> cmds;
-        if (this.msls != null) {
+        Map<String, List<Class<?>>> classes = getClasses();
+        if (classes != null) {
             cmds = new HashSet<>();
-            List<String> l = this.msls.get(Constants.COMMAND);
+            List<Class<?>> l = classes.get(Constants.COMMAND);
             if (l == null) {
                 return;
             }
 
-            for (String s : l) {
-                try {
-                    checkPlatformOpt((Class<? extends AbstractCommand<?>>) Class.forName(s)).ifPresent(cmds::add);
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+            for (Class<?> c : l) {
+                checkPlatformOpt((Class<? extends AbstractCommand<?>>) c).ifPresent(cmds::add);
             }
         } else {
             cmds = new HashSet<>(
@@ -271,20 +336,15 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
         // We all love the special injector. We just want to provide the module with more commands, in case it needs a child.
         Set<Class<? extends AbstractCommand>> commandBases =  cmds.stream().filter(x -> {
-            RegisterCommand rc = x.getAnnotation(RegisterCommand.class);
-            return (rc != null && rc.subcommandOf().equals(AbstractCommand.class));
+            CommandMetadata rc = CommandMetadata.of(x);
+            return rc.isRegistered() && rc.isRoot();
         }).collect(Collectors.toSet());
 
         CommandBuilder builder = new CommandBuilder(this.plugin, cmds, this.moduleId, this.moduleName);
         commandBases.forEach(builder::buildCommand);
 
-        try {
-            this.commandsConfig.mergeDefaults(builder.getNodeToMerge());
-            this.commandsConfig.save();
-        } catch (Exception e) {
-            this.plugin.getLogger().error("Could not save defaults.");
-            e.printStackTrace();
-        }
+        // Saved once all modules have been enabled.
+        this.commandsConfig.mergeDefaults(builder.getNodeToMerge());
     }
 
     private void prepareAliasedCommands() {
@@ -303,25 +363,22 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     }
 
     private Stream<Class<? extends AbstractCommand<?>>> performFilter(Stream<Class<? extends AbstractCommand<?>>> stream) {
-        return stream.filter(x -> x.isAnnotationPresent(RegisterCommand.class));
+        return stream.filter(x -> CommandMetadata.of(x).isRegistered());
     }
 
     @SuppressWarnings("unchecked")
     private void loadEvents() {
         Set<Class<? extends ListenerBase>> listenersToLoad;
-        if (this.msls != null) {
+        Map<String, List<Class<?>>> classes = getClasses();
+        if (classes != null) {
             listenersToLoad = new HashSet<>();
-            List<String> l = this.msls.get(Constants.LISTENER);
+            List<Class<?>> l = classes.get(Constants.LISTENER);
             if (l == null) {
                 return;
             }
 
-            for (String s : l) {
-                try {
-                    checkPlatformOpt((Class<? extends ListenerBase>) Class.forName(s)).ifPresent(listenersToLoad::add);
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+            for (Class<?> c : l) {
+                checkPlatformOpt((Class<? extends ListenerBase>) c).ifPresent(listenersToLoad::add);
             }
         } else {
             listenersToLoad = getStreamForModule(ListenerBase.class).collect(Collectors.toSet());
@@ -364,19 +421,16 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
     @SuppressWarnings("unchecked")
     private void loadRunnables() {
         Set<Class<? extends TaskBase>> tasksToLoad;
-        if (this.msls != null) {
+        Map<String, List<Class<?>>> classes = getClasses();
+        if (classes != null) {
             tasksToLoad = new HashSet<>();
-            List<String> l = this.msls.get(Constants.RUNNABLE);
+            List<Class<?>> l = classes.get(Constants.RUNNABLE);
             if (l == null) {
                 return;
             }
 
-            for (String s : l) {
-                try {
-                    checkPlatformOpt((Class<? extends TaskBase>) Class.forName(s)).ifPresent(tasksToLoad::add);
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+            for (Class<?> c : l) {
+                checkPlatformOpt((Class<? extends TaskBase>) c).ifPresent(tasksToLoad::add);
             }
         } else {
             tasksToLoad = getStreamForModule(TaskBase.class).collect(Collectors.toSet());
@@ -432,19 +486,16 @@ public abstract class StandardModule implements Module, InternalServiceManagerTr
 
     private void loadRegistries() {
         Set<Class<? extends NucleusRegistryModule>> registries;
-        if (this.msls != null) {
+        Map<String, List<Class<?>>> classes = getClasses();
+        if (classes != null) {
             registries = new HashSet<>();
-            List<String> l = this.msls.get(Constants.REGISTRY);
+            List<Class<?>> l = classes.get(Constants.REGISTRY);
             if (l == null) {
                 return;
             }
 
-            for (String s : l) {
-                try {
-                    checkPlatformOpt((Class<? extends NucleusRegistryModule>) Class.forName(s)).ifPresent(registries::add);
-                } catch (ClassNotFoundException e) {
-                    throw new RuntimeException(e);
-                }
+            for (Class<?> c : l) {
+                checkPlatformOpt((Class<? extends NucleusRegistryModule>) c).ifPresent(registries::add);
             }
         } else {
             registries = getStreamForModule(NucleusRegistryModule.class).collect(Collectors.toSet());
@@ -0,0 +1,128 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.api.service.NucleusCooldownService;
+import io.github.nucleuspowered.nucleus.util.TimingWheel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds cooldowns in a map per user, so that checking a cooldown is a pair of map lookups.
+ *
+ * <p>Each cooldown is also put in a {@link TimingWheel}, so that expired cooldowns can be removed in
+ * batches by {@link #expire()} without scanning every cooldown. A cooldown that is replaced or removed
+ * before it expires leaves its old wheel entry behind, which is ignored when it comes up.</p>
+ */
+public class CooldownService implements NucleusCooldownService {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final Map<UUID, Map<String, Long>> cooldowns = new ConcurrentHashMap<>();
+    private final TimingWheel<Expiry> wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+
+    @Override
+    public Optional<Duration> getCooldown(UUID user, String key) {
+        Map<String, Long> userCooldowns = this.cooldowns.get(user);
+        if (userCooldowns == null) {
+            return Optional.empty();
+        }
+
+        Long expiry = userCooldowns.get(key);
+        if (expiry == null) {
+            return Optional.empty();
+        }
+
+        long remaining = expiry - System.currentTimeMillis();
+        if (remaining <= 0) {
+            // Expired, but not removed yet.
+            return Optional.empty();
+        }
+
+        return Optional.of(Duration.ofMillis(remaining));
+    }
+
+    @Override
+    public Map<String, Instant> getCooldowns(UUID user) {
+        Map<String, Long> userCooldowns = this.cooldowns.get(user);
+        if (userCooldowns == null) {
+            return ImmutableMap.of();
+        }
+
+        long now = System.currentTimeMillis();
+        Map<String, Instant> result = Maps.newHashMap();
+        userCooldowns.forEach((key, expiry) -> {
+            if (expiry > now) {
+                result.put(key, Instant.ofEpochMilli(expiry));
+            }
+        });
+
+        return result;
+    }
+
+    @Override
+    public void setCooldown(UUID user, String key, Instant expiry) {
+        Preconditions.checkNotNull(user, "user");
+        Preconditions.checkNotNull(key, "key");
+        long expiryMillis = expiry.toEpochMilli();
+        if (expiryMillis <= System.currentTimeMillis()) {
+            removeCooldown(user, key);
+            return;
+        }
+
+        this.cooldowns.compute(user, (k, v) -> {
+            Map<String, Long> userCooldowns = v == null ? new ConcurrentHashMap<>() : v;
+            userCooldowns.put(key, expiryMillis);
+            return userCooldowns;
+        });
+
+        this.wheel.schedule(expiryMillis, new Expiry(user, key, expiryMillis));
+    }
+
+    @Override
+    public boolean removeCooldown(UUID user, String key) {
+        long now = System.currentTimeMillis();
+        boolean[] removed = new boolean[1];
+        this.cooldowns.computeIfPresent(user, (k, v) -> {
+            Long expiry = v.remove(key);
+            removed[0] = expiry != null && expiry > now;
+            return v.isEmpty() ? null : v;
+        });
+
+        return removed[0];
+    }
+
+    /**
+     * Removes the cooldowns that have expired.
+     */
+    public void expire() {
+        this.wheel.advance(System.currentTimeMillis(), expiry -> this.cooldowns.computeIfPresent(expiry.user, (k, v) -> {
+            // Only remove it if it has not been replaced since.
+            v.remove(expiry.key, expiry.expiry);
+            return v.isEmpty() ? null : v;
+        }));
+    }
+
+    private static final class Expiry {
+
+        private final UUID user;
+        private final String key;
+        private final Long expiry;
+
+        private Expiry(UUID user, String key, long expiry) {
+            this.user = user;
+            this.key = key;
+            this.expiry = expiry;
+        }
+    }
+}
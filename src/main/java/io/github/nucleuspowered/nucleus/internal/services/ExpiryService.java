@@ -0,0 +1,156 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.util.TimingWheel;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Acts on timed punishments, such as mutes and jails, of online players when they expire.
+ *
+ * <p>Each type of punishment is registered with a function that gets when it next expires for a player
+ * and an action to run when it does. The time of the next expiry of each type for each player is held
+ * in a {@link TimingWheel}, so {@link #expire()} only touches the entries that are due, rather than
+ * checking every online player. An entry that is replaced or cancelled before it is due is left in
+ * the wheel and ignored when it comes up.</p>
+ *
+ * <p>The owning modules tell this service when a punishment is applied, removed or starts counting
+ * down on login. The expiry of every online player is worked out again when a type is registered and
+ * on reload. If a player is offline when their entry comes up, nothing is done, as their expiry is
+ * worked out again when they next log in.</p>
+ */
+public class ExpiryService implements Reloadable {
+
+    private static final long TICK_MILLIS = 1000;
+
+    private final Map<String, Type> types = new ConcurrentHashMap<>();
+    private final Map<UUID, Map<String, Long>> expiries = new ConcurrentHashMap<>();
+    private final TimingWheel<Expiry> wheel = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+
+    /**
+     * Registers a type of punishment, and works out when it expires for everyone who is online.
+     *
+     * @param type The type, such as {@code mute}.
+     * @param nextExpiry Gets when the punishment next expires for a player, if it is timed.
+     * @param onExpiry The action to run when the punishment expires for a player who is online.
+     */
+    public void register(String type, Function<Player, Optional<Instant>> nextExpiry, Consumer<Player> onExpiry) {
+        Preconditions.checkNotNull(type, "type");
+        this.types.put(type, new Type(nextExpiry, onExpiry));
+        if (Sponge.isServerAvailable()) {
+            Sponge.getServer().getOnlinePlayers().forEach(x -> update(type, x));
+        }
+    }
+
+    /**
+     * Works out when a type of punishment next expires for a player, and schedules it.
+     *
+     * @param type The type.
+     * @param player The {@link Player}.
+     */
+    public void update(String type, Player player) {
+        Type t = this.types.get(type);
+        if (t != null) {
+            Optional<Instant> next = t.nextExpiry.apply(player);
+            if (next.isPresent()) {
+                schedule(type, player.getUniqueId(), next.get());
+            } else {
+                cancel(type, player.getUniqueId());
+            }
+        }
+    }
+
+    /**
+     * Schedules the expiry of a type of punishment for a player, replacing any that is already
+     * scheduled. If the time has already passed, it will expire on the next call to {@link #expire()}.
+     *
+     * @param type The type.
+     * @param uuid The {@link UUID} of the player.
+     * @param expiry When the punishment expires.
+     */
+    public void schedule(String type, UUID uuid, Instant expiry) {
+        long expiryMillis = expiry.toEpochMilli();
+        this.expiries.computeIfAbsent(uuid, k -> new ConcurrentHashMap<>()).put(type, expiryMillis);
+        this.wheel.schedule(expiryMillis, new Expiry(type, uuid, expiryMillis));
+    }
+
+    /**
+     * Cancels the expiry of a type of punishment for a player.
+     *
+     * @param type The type.
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void cancel(String type, UUID uuid) {
+        this.expiries.computeIfPresent(uuid, (k, v) -> {
+            v.remove(type);
+            return v.isEmpty() ? null : v;
+        });
+    }
+
+    /**
+     * Runs the action for each punishment that has expired since this was last called.
+     */
+    public void expire() {
+        this.wheel.advance(System.currentTimeMillis(), this::onDue);
+    }
+
+    @Override
+    public void onReload() {
+        this.expiries.clear();
+        this.wheel.clear();
+        if (Sponge.isServerAvailable()) {
+            Sponge.getServer().getOnlinePlayers().forEach(player -> this.types.keySet().forEach(type -> update(type, player)));
+        }
+    }
+
+    private void onDue(Expiry expiry) {
+        // Only act if this is still the current expiry of this type for this player.
+        boolean[] current = new boolean[1];
+        this.expiries.computeIfPresent(expiry.uuid, (k, v) -> {
+            current[0] = v.remove(expiry.type, expiry.expiryMillis);
+            return v.isEmpty() ? null : v;
+        });
+
+        Type type = this.types.get(expiry.type);
+        if (current[0] && type != null) {
+            Sponge.getServer().getPlayer(expiry.uuid).ifPresent(type.onExpiry);
+        }
+    }
+
+    private static final class Type {
+
+        private final Function<Player, Optional<Instant>> nextExpiry;
+        private final Consumer<Player> onExpiry;
+
+        private Type(Function<Player, Optional<Instant>> nextExpiry, Consumer<Player> onExpiry) {
+            this.nextExpiry = nextExpiry;
+            this.onExpiry = onExpiry;
+        }
+    }
+
+    private static final class Expiry {
+
+        private final String type;
+        private final UUID uuid;
+        private final long expiryMillis;
+
+        private Expiry(String type, UUID uuid, long expiryMillis) {
+            this.type = type;
+            this.uuid = uuid;
+            this.expiryMillis = expiryMillis;
+        }
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import org.spongepowered.api.entity.Transform;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.world.World;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Passes player movement to the modules that act on it, from one listener for each {@link Phase}.
+ *
+ * <p>Each module registers a {@link Handler}, along with the interest flag that a player must have
+ * for it to be called, or zero if it is called for every player. What changed in a move is worked
+ * out once for each phase, as a {@link Movement}, and given to every handler in that phase that is
+ * called. Handlers in the {@link Phase#CHECK} phase, which may cancel the move, are called at the
+ * default order, so that other plugins see the cancellation as they did when each module had its own
+ * listener. Handlers in the {@link Phase#MONITOR} phase are called last. No more handlers are called
+ * once the move is cancelled.</p>
+ *
+ * <p>The interest flags of a player are set by the module that owns them, and only while the player
+ * is online. They are removed when the player leaves.</p>
+ */
+public class MovementService {
+
+    public static final int FROZEN = 1;
+    public static final int WARMUP = 1 << 1;
+
+    private final Map<UUID, Integer> interests = new ConcurrentHashMap<>();
+    private volatile ImmutableMap<Phase, ImmutableList<Route>> routes = ImmutableMap.of();
+
+    /**
+     * Registers a handler for player movement.
+     *
+     * @param phase The {@link Phase} to call the handler in.
+     * @param interest The flag a player must have for the handler to be called, or zero to call it for every player.
+     * @param handler The {@link Handler}.
+     */
+    public synchronized void register(Phase phase, int interest, Handler handler) {
+        Preconditions.checkArgument(interest == 0 || Integer.bitCount(interest) == 1, "interest");
+        Map<Phase, ImmutableList<Route>> routes = new EnumMap<>(Phase.class);
+        routes.putAll(this.routes);
+        routes.put(phase, ImmutableList.<Route>builder().addAll(this.routes.getOrDefault(phase, ImmutableList.of()))
+                .add(new Route(interest, handler)).build());
+        this.routes = Maps.immutableEnumMap(routes);
+    }
+
+    /**
+     * Sets or clears an interest flag for an online player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param interest The flag, such as {@link #FROZEN}.
+     * @param value Whether the flag is set.
+     */
+    public void setInterest(UUID uuid, int interest, boolean value) {
+        Preconditions.checkArgument(Integer.bitCount(interest) == 1, "interest");
+        this.interests.compute(uuid, (k, v) -> {
+            int flags = v == null ? 0 : v;
+            flags = value ? flags | interest : flags & ~interest;
+            return flags == 0 ? null : flags;
+        });
+    }
+
+    /**
+     * Removes all interest flags for a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void untrack(UUID uuid) {
+        this.interests.remove(uuid);
+    }
+
+    /**
+     * Passes a move to the handlers in a phase that the player has an interest in.
+     *
+     * @param phase The {@link Phase} to call the handlers of.
+     * @param event The {@link MoveEntityEvent}.
+     * @param player The {@link Player} that caused the move.
+     */
+    public void dispatch(Phase phase, MoveEntityEvent event, Player player) {
+        ImmutableList<Route> r = this.routes.get(phase);
+        if (r == null) {
+            return;
+        }
+
+        int flags = this.interests.getOrDefault(player.getUniqueId(), 0);
+        Movement movement = null;
+        for (Route route : r) {
+            if (route.interest == 0 || (flags & route.interest) != 0) {
+                if (movement == null) {
+                    movement = new Movement(event.getFromTransform(), event.getToTransform());
+                }
+
+                route.handler.handle(event, player, movement);
+                if (event.isCancelled()) {
+                    return;
+                }
+            }
+        }
+    }
+
+    public enum Phase {
+
+        /**
+         * Handlers that may cancel the move. Called at {@link Order#DEFAULT}.
+         */
+        CHECK,
+
+        /**
+         * Handlers that act on a move that is going ahead. Called at {@link Order#LAST}.
+         */
+        MONITOR
+    }
+
+    @FunctionalInterface
+    public interface Handler {
+
+        void handle(MoveEntityEvent event, Player player, Movement movement);
+    }
+
+    /**
+     * What changed between the start and the end of a move.
+     */
+    public static final class Movement {
+
+        private final boolean worldChanged;
+        private final boolean positionChanged;
+        private final boolean blockChanged;
+        private final boolean rotationChanged;
+
+        Movement(Transform<World> from, Transform<World> to) {
+            this.worldChanged = !from.getExtent().equals(to.getExtent());
+            this.positionChanged = !from.getPosition().equals(to.getPosition());
+            this.blockChanged = this.worldChanged || (this.positionChanged
+                    && !from.getLocation().getBlockPosition().equals(to.getLocation().getBlockPosition()));
+            this.rotationChanged = !from.getRotation().equals(to.getRotation());
+        }
+
+        public boolean isWorldChanged() {
+            return this.worldChanged;
+        }
+
+        public boolean isPositionChanged() {
+            return this.positionChanged;
+        }
+
+        /**
+         * Gets whether the player is now in a different block or world.
+         *
+         * @return Whether the block changed.
+         */
+        public boolean isBlockChanged() {
+            return this.blockChanged;
+        }
+
+        /**
+         * Gets whether the player is now somewhere else, rather than having only turned.
+         *
+         * @return Whether the location changed.
+         */
+        public boolean isLocationChanged() {
+            return this.worldChanged || this.positionChanged;
+        }
+
+        public boolean isRotationChanged() {
+            return this.rotationChanged;
+        }
+
+        /**
+         * Gets whether the player only turned.
+         *
+         * @return Whether only the rotation changed.
+         */
+        public boolean isRotationOnly() {
+            return this.rotationChanged && !isLocationChanged();
+        }
+    }
+
+    private static final class Route {
+
+        private final int interest;
+        private final Handler handler;
+
+        private Route(int interest, Handler handler) {
+            this.interest = interest;
+            this.handler = handler;
+        }
+    }
+}
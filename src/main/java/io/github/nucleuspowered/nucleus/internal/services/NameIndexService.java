@@ -0,0 +1,171 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.util.PrefixIndex;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.service.user.UserStorageService;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import javax.annotation.Nullable;
+
+/**
+ * Finds players by the start of their name or nickname, for the arguments that take a player or
+ * user, without going through every online player or every known user on each keystroke.
+ *
+ * <p>Three {@link PrefixIndex}es are kept up to date as things change: the names of online
+ * players, the nicknames of online players as plain text, and the names of every user the server
+ * knows about. Lookups on online players can leave out vanished players, which is done as the index
+ * is read so that it counts towards the limit. The known names are loaded from the
+ * {@link UserStorageService} once the server has started. Until then,
+ * {@link #isKnownNamesLoaded()} is false and callers should ask the user storage service.</p>
+ */
+public class NameIndexService {
+
+    private final PlayerStatusService statusService;
+    private final PrefixIndex<UUID> online = new PrefixIndex<>();
+    private final PrefixIndex<UUID> nicknames = new PrefixIndex<>();
+    private final PrefixIndex<UUID> known = new PrefixIndex<>();
+    private volatile boolean knownNamesLoaded = false;
+
+    public NameIndexService(PlayerStatusService statusService) {
+        this.statusService = statusService;
+    }
+
+    /**
+     * Adds a player that has joined.
+     *
+     * @param player The {@link Player}.
+     */
+    public void addOnline(Player player) {
+        this.online.put(player.getUniqueId(), player.getName());
+        this.known.put(player.getUniqueId(), player.getName());
+    }
+
+    /**
+     * Removes a player that has left. Their name stays in the known names.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void removeOnline(UUID uuid) {
+        this.online.remove(uuid);
+        this.nicknames.remove(uuid);
+    }
+
+    /**
+     * Sets or removes the nickname of an online player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param nickname The nickname as plain text, or {@code null} to remove it.
+     */
+    public void setNickname(UUID uuid, @Nullable String nickname) {
+        if (nickname == null || nickname.isEmpty()) {
+            this.nicknames.remove(uuid);
+        } else {
+            this.nicknames.put(uuid, nickname);
+        }
+    }
+
+    /**
+     * Loads the names of every user that the {@link UserStorageService} knows about. This may take
+     * some time on a large server, so should be run off the main thread.
+     */
+    public void loadKnownNames() {
+        UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+        uss.getAll().forEach(x -> x.getName().ifPresent(name -> this.known.put(x.getUniqueId(), name)));
+        this.knownNamesLoaded = true;
+    }
+
+    public boolean isKnownNamesLoaded() {
+        return this.knownNamesLoaded;
+    }
+
+    /**
+     * Gets the online players whose names start with the prefix.
+     *
+     * @param prefix The prefix, which is not case sensitive.
+     * @param showVanished Whether vanished players should be included.
+     * @param limit The most players to return.
+     * @return The players.
+     */
+    public List<Player> findOnline(String prefix, boolean showVanished, int limit) {
+        return toPlayers(this.online.startingWith(prefix, isShown(showVanished), limit));
+    }
+
+    /**
+     * Gets the online players whose nicknames start with the prefix.
+     *
+     * @param prefix The prefix, which is not case sensitive.
+     * @param showVanished Whether vanished players should be included.
+     * @param limit The most players to return.
+     * @return The players.
+     */
+    public List<Player> findNicknames(String prefix, boolean showVanished, int limit) {
+        return toPlayers(this.nicknames.startingWith(prefix, isShown(showVanished), limit));
+    }
+
+    /**
+     * Gets the online player with the nickname.
+     *
+     * @param nickname The nickname, which is not case sensitive.
+     * @return The player, if there is one.
+     */
+    public Optional<Player> getByNickname(String nickname) {
+        return this.nicknames.get(nickname).stream().map(x -> Sponge.getServer().getPlayer(x).orElse(null))
+                .filter(Objects::nonNull)
+                .findFirst();
+    }
+
+    /**
+     * Gets the users, online or not, whose names start with the prefix.
+     *
+     * @param prefix The prefix, which is not case sensitive.
+     * @param limit The most users to return.
+     * @return The {@link UUID}s of the users.
+     */
+    public List<UUID> findKnown(String prefix, int limit) {
+        return this.known.startingWith(prefix, x -> true, limit);
+    }
+
+    /**
+     * Gets the users, online or not, with the name.
+     *
+     * @param name The name, which is not case sensitive.
+     * @return The {@link UUID}s of the users.
+     */
+    public Set<UUID> getKnown(String name) {
+        return this.known.get(name);
+    }
+
+    public Optional<String> getNickname(UUID uuid) {
+        return this.nicknames.getName(uuid);
+    }
+
+    public Optional<String> getKnownName(UUID uuid) {
+        return this.known.getName(uuid);
+    }
+
+    private Predicate<UUID> isShown(boolean showVanished) {
+        if (showVanished) {
+            return x -> Sponge.getServer().getPlayer(x).isPresent();
+        }
+
+        return x -> Sponge.getServer().getPlayer(x).map(y -> !this.statusService.isVanished(y)).orElse(false);
+    }
+
+    private static List<Player> toPlayers(List<UUID> uuids) {
+        List<Player> players = Lists.newArrayListWithCapacity(uuids.size());
+        uuids.forEach(x -> Sponge.getServer().getPlayer(x).ifPresent(players::add));
+        return players;
+    }
+}
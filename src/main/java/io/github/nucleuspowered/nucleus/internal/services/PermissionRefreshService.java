@@ -0,0 +1,46 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Works out again anything that modules hold for online players that depends on their permissions or
+ * options, such as who is spying on commands.
+ *
+ * <p>Sponge has no event for permission changes, so the core module calls {@link #refreshAll()}
+ * periodically, off the main thread. Modules are expected to work out their state for a player when
+ * they join, and to drop it from their own disconnect listener.</p>
+ */
+public class PermissionRefreshService {
+
+    private final List<Consumer<Player>> refreshers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Registers an action that works out what is held for a player. It may be run off the main thread.
+     *
+     * @param refresher The action.
+     */
+    public void register(Consumer<Player> refresher) {
+        this.refreshers.add(Preconditions.checkNotNull(refresher, "refresher"));
+    }
+
+    /**
+     * Runs every registered action for every online player.
+     */
+    public void refreshAll() {
+        for (Player player : Sponge.getServer().getOnlinePlayers()) {
+            for (Consumer<Player> refresher : this.refreshers) {
+                refresher.accept(player);
+            }
+        }
+    }
+}
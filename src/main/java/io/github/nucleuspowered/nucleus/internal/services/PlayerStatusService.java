@@ -0,0 +1,177 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.services;
+
+import com.google.common.base.Preconditions;
+import org.spongepowered.api.data.key.Keys;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.text.Text;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds whether each online player is vanished, AFK, muted or jailed, and their nickname, so that
+ * code that asks these questions often, such as the player list and the server list ping, does not
+ * have to go to each module or to the player's data.
+ *
+ * <p>Each player has an immutable {@link PlayerStatus}, which is replaced when the module that owns
+ * the state changes it. Reads are a single map lookup, do not take any locks, and may be made from
+ * any thread. Players are added when they join and removed when they leave, and changes made for
+ * players that are not online are ignored.</p>
+ */
+public class PlayerStatusService {
+
+    public static final int VANISHED = 1;
+    public static final int AFK = 1 << 1;
+    public static final int MUTED = 1 << 2;
+    public static final int JAILED = 1 << 3;
+
+    private final Map<UUID, PlayerStatus> statuses = new ConcurrentHashMap<>();
+    private volatile boolean vanishTracked = false;
+
+    /**
+     * Starts holding the status of a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void track(UUID uuid) {
+        this.statuses.putIfAbsent(uuid, PlayerStatus.EMPTY);
+    }
+
+    /**
+     * Stops holding the status of a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void untrack(UUID uuid) {
+        this.statuses.remove(uuid);
+    }
+
+    /**
+     * Marks the vanish state as being kept up to date by the vanish module. Until this is called,
+     * {@link #getStatus(Player)} asks the player whether they are vanished.
+     */
+    public void setVanishTracked() {
+        this.vanishTracked = true;
+    }
+
+    /**
+     * Sets or clears a flag on the status of a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param flag The flag, such as {@link #VANISHED}.
+     * @param value Whether the flag is set.
+     */
+    public void setFlag(UUID uuid, int flag, boolean value) {
+        Preconditions.checkArgument(Integer.bitCount(flag) == 1, "flag");
+        this.statuses.computeIfPresent(uuid, (k, v) -> v.withFlag(flag, value));
+    }
+
+    /**
+     * Sets the nickname of a player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @param nickname The nickname, or null if they do not have one.
+     */
+    public void setNickname(UUID uuid, @Nullable Text nickname) {
+        this.statuses.computeIfPresent(uuid, (k, v) -> v.withNickname(nickname));
+    }
+
+    /**
+     * Gets the status of a player, if they are online.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The {@link PlayerStatus}, if the player is online.
+     */
+    public Optional<PlayerStatus> getStatus(UUID uuid) {
+        return Optional.ofNullable(this.statuses.get(uuid));
+    }
+
+    /**
+     * Gets the status of an online player.
+     *
+     * <p>If the vanish module is not enabled, whether the player is vanished is read from the player,
+     * which should only be done on the main thread.</p>
+     *
+     * @param player The {@link Player}.
+     * @return The {@link PlayerStatus}.
+     */
+    public PlayerStatus getStatus(Player player) {
+        PlayerStatus status = this.statuses.getOrDefault(player.getUniqueId(), PlayerStatus.EMPTY);
+        if (!this.vanishTracked) {
+            return status.withFlag(VANISHED, player.get(Keys.VANISH).orElse(false));
+        }
+
+        return status;
+    }
+
+    public boolean isVanished(Player player) {
+        return getStatus(player).isVanished();
+    }
+
+    public static final class PlayerStatus {
+
+        private static final PlayerStatus[] FLAGS_ONLY = new PlayerStatus[1 << 4];
+
+        static {
+            for (int i = 0; i < FLAGS_ONLY.length; i++) {
+                FLAGS_ONLY[i] = new PlayerStatus(i, null);
+            }
+        }
+
+        static final PlayerStatus EMPTY = FLAGS_ONLY[0];
+
+        private static PlayerStatus of(int flags, @Nullable Text nickname) {
+            if (nickname == null) {
+                return FLAGS_ONLY[flags];
+            }
+
+            return new PlayerStatus(flags, nickname);
+        }
+
+        private final int flags;
+        @Nullable private final Text nickname;
+
+        private PlayerStatus(int flags, @Nullable Text nickname) {
+            this.flags = flags;
+            this.nickname = nickname;
+        }
+
+        public boolean isVanished() {
+            return (this.flags & VANISHED) != 0;
+        }
+
+        public boolean isAfk() {
+            return (this.flags & AFK) != 0;
+        }
+
+        public boolean isMuted() {
+            return (this.flags & MUTED) != 0;
+        }
+
+        public boolean isJailed() {
+            return (this.flags & JAILED) != 0;
+        }
+
+        public Optional<Text> getNickname() {
+            return Optional.ofNullable(this.nickname);
+        }
+
+        PlayerStatus withFlag(int flag, boolean value) {
+            int newFlags = value ? this.flags | flag : this.flags & ~flag;
+            return newFlags == this.flags ? this : of(newFlags, this.nickname);
+        }
+
+        PlayerStatus withNickname(@Nullable Text nickname) {
+            return Objects.equals(nickname, this.nickname) ? this : of(this.flags, nickname);
+        }
+    }
+}
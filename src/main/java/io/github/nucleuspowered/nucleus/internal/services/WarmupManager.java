@@ -4,70 +4,203 @@
  */
 package io.github.nucleuspowered.nucleus.internal.services;
 
-import com.google.common.collect.Maps;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.scheduler.Task;
 
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
-
-import javax.annotation.concurrent.GuardedBy;
+import java.util.function.Predicate;
 
+/**
+ * Holds the warmup that each player is waiting on, so that it can be cancelled.
+ *
+ * <p>Warmups started with {@link #submitWarmup(UUID, Task.Builder, Consumer)} remove themselves
+ * when they run, so nothing has to look for finished warmups. Tasks added directly with
+ * {@link #addWarmup(UUID, Task)} cannot do this, so {@link #cleanup()} drops those that are no
+ * longer scheduled, looking each one up by its ID rather than searching every scheduled task.</p>
+ */
 public class WarmupManager implements NucleusWarmupManagerService {
 
-    private final Object mapLock = new Object();
+    private final Map<UUID, Task> warmupTasks = new ConcurrentHashMap<>();
+    private final LongAdder started = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder cancelled = new LongAdder();
 
-    @GuardedBy("mapLock")
-    private final Map<UUID, Task> warmupTasks = Maps.newHashMap();
+    /**
+     * Submits a warmup task for a player, which will remove itself from this manager when it runs.
+     *
+     * @param player The {@link UUID} of the player to add a warmup for.
+     * @param builder The {@link Task.Builder}, with the delay and any other settings already set.
+     * @param task The action to run when the warmup ends. If it is a {@link CancellableTask}, it will
+     *             be told if the warmup is cancelled.
+     * @return The submitted {@link Task}.
+     */
+    public Task submitWarmup(UUID player, Task.Builder builder, Consumer<Task> task) {
+        Task t = builder.execute(new WarmupTask(player, task)).submit(Nucleus.getNucleus());
+        addWarmup(player, t);
+        return t;
+    }
 
     @Override
     public void addWarmup(UUID player, Task task) {
-        Task t;
-        synchronized (this.mapLock) {
-            t = this.warmupTasks.put(player, task);
+        Task t = this.warmupTasks.put(player, task);
+        this.started.increment();
+        getMovementService().setInterest(player, MovementService.WARMUP, true);
+
+        if (t != null && !t.equals(task)) {
+            cancel(t);
         }
+    }
 
-        if (t != null) {
-            t.cancel();
+    @Override
+    public boolean removeWarmup(UUID player) {
+        Task t = this.warmupTasks.remove(player);
+        if (t == null) {
+            return false;
+        }
+
+        clearInterest(player);
+        return cancel(t);
+    }
 
-            Consumer<Task> ct = t.getConsumer();
-            if (ct instanceof CancellableTask) {
-                ((CancellableTask) ct).onCancel();
+    /**
+     * Cancels the warmups of every player that matches the {@link Predicate}.
+     *
+     * @param predicate Tests the {@link UUID} of each player with a warmup.
+     * @return The {@link UUID}s of the players whose warmups were cancelled.
+     */
+    public List<UUID> removeWarmups(Predicate<UUID> predicate) {
+        List<UUID> removed = Lists.newArrayList();
+        for (UUID player : this.warmupTasks.keySet()) {
+            if (predicate.test(player) && removeWarmup(player)) {
+                removed.add(player);
             }
         }
+
+        return removed;
     }
 
     @Override
-    public boolean removeWarmup(UUID player) {
-        if (this.warmupTasks.containsKey(player)) {
-            Task t;
-            synchronized (this.mapLock) {
-                t = this.warmupTasks.remove(player);
+    public void cleanup() {
+        this.warmupTasks.forEach((player, task) -> {
+            if (!Sponge.getScheduler().getTaskById(task.getUniqueId()).isPresent()) {
+                onComplete(player, task);
             }
+        });
+    }
 
-            if (t != null && t.cancel()) {
-                if (t.getConsumer() instanceof CancellableTask) {
-                    ((CancellableTask) t.getConsumer()).onCancel();
-                }
+    /**
+     * Gets a snapshot of the warmups that are waiting, and of what has happened to them since the
+     * server started.
+     *
+     * @return The {@link Statistics}.
+     */
+    public Statistics getStatistics() {
+        return new Statistics(this.warmupTasks.size(), this.started.sum(), this.completed.sum(), this.cancelled.sum());
+    }
 
-                return true;
+    private boolean cancel(Task task) {
+        if (task.cancel()) {
+            this.cancelled.increment();
+            if (task.getConsumer() instanceof CancellableTask) {
+                ((CancellableTask) task.getConsumer()).onCancel();
             }
+
+            return true;
         }
 
         return false;
     }
 
-    @Override
-    public void cleanup() {
-        synchronized (this.mapLock) {
-            this.warmupTasks.entrySet().stream().filter(v -> !Sponge.getGame().getScheduler().getScheduledTasks().contains(v.getValue()))
-                    .map(Map.Entry::getKey)
-                    .collect(Collectors.toList())
-                    .forEach(this.warmupTasks::remove);
+    private void onComplete(UUID player, Task task) {
+        // Only if this is still the player's warmup, it may have been replaced.
+        if (this.warmupTasks.remove(player, task)) {
+            this.completed.increment();
+            clearInterest(player);
+        }
+    }
+
+    private void clearInterest(UUID player) {
+        if (this.warmupTasks.containsKey(player)) {
+            return;
+        }
+
+        MovementService movementService = getMovementService();
+        movementService.setInterest(player, MovementService.WARMUP, false);
+
+        // A warmup may have been added since the check, after it set the flag. Put the flag back.
+        if (this.warmupTasks.containsKey(player)) {
+            movementService.setInterest(player, MovementService.WARMUP, true);
+        }
+    }
+
+    private MovementService getMovementService() {
+        return Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(MovementService.class);
+    }
+
+    private final class WarmupTask implements CancellableTask {
+
+        private final UUID player;
+        private final Consumer<Task> task;
+
+        private WarmupTask(UUID player, Consumer<Task> task) {
+            this.player = player;
+            this.task = task;
+        }
+
+        @Override
+        public void accept(Task task) {
+            onComplete(this.player, task);
+            this.task.accept(task);
+        }
+
+        @Override
+        public void onCancel() {
+            if (this.task instanceof CancellableTask) {
+                ((CancellableTask) this.task).onCancel();
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the state of the {@link WarmupManager}.
+     */
+    public static final class Statistics {
+
+        private final int active;
+        private final long started;
+        private final long completed;
+        private final long cancelled;
+
+        private Statistics(int active, long started, long completed, long cancelled) {
+            this.active = active;
+            this.started = started;
+            this.completed = completed;
+            this.cancelled = cancelled;
+        }
+
+        public int getActive() {
+            return this.active;
+        }
+
+        public long getStarted() {
+            return this.started;
+        }
+
+        public long getCompleted() {
+            return this.completed;
+        }
+
+        public long getCancelled() {
+            return this.cancelled;
         }
     }
 }
@@ -8,6 +8,7 @@ import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
 import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.util.Tuples;
 import ninja.leaping.configurate.ConfigurationOptions;
@@ -38,14 +39,26 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
 
     private final String representation;
     private final TextTemplate textTemplate;
-    private final Map<String, Function<CommandSource, Text>> tokenMap = Maps.newHashMap();
+
+    // The arguments of the template, worked out when it is created so that rendering is just a case of
+    // getting the text for each one. The text is still put together by the TextTemplate, rather than from
+    // segments held here, as that is what applies the colour, style and default value of each argument
+    // in the same way as Sponge does for templates that are not ours. The static parts of the template
+    // are already built Text objects within it, so this only costs the final join.
+    private final Argument[] arguments;
+
+    // If the template has no arguments, it is rendered once, when it is first needed.
+    @Nullable private volatile Text fixedText = null;
 
     public NucleusTextTemplateImpl(String representation) {
         this.representation = representation;
         Tuple<TextTemplate, Map<String, Function<CommandSource, Text>>> t = parse(representation);
         this.textTemplate = t.getFirst();
 
-        this.tokenMap.putAll(t.getSecond());
+        Map<String, Function<CommandSource, Text>> tokenMap = t.getSecond();
+        this.arguments = this.textTemplate.getArguments().keySet().stream()
+                .map(x -> new Argument(x, tokenMap.get(x.toLowerCase())))
+                .toArray(Argument[]::new);
     }
 
     @Override public boolean isEmpty() {
@@ -63,33 +76,43 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
     abstract Tuple<TextTemplate, Map<String, Function<CommandSource, Text>>> parse(String parser);
 
     @Override public boolean containsTokens() {
-        return !this.textTemplate.getArguments().isEmpty();
+        return this.arguments.length != 0;
     }
 
     @Override @SuppressWarnings("SameParameterValue")
     public Text getForCommandSource(CommandSource source, @Nullable Map<String, Function<CommandSource, Optional<Text>>> tokensArray,
             @Nullable Map<String, Object> variables) {
-        final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
+        if (this.arguments.length == 0) {
+            Text text = this.fixedText;
+            if (text == null) {
+                text = this.textTemplate.apply(emptyVariables).build();
+                this.fixedText = text;
+            }
 
-        Map<String, TextTemplate.Arg> tokens = this.textTemplate.getArguments();
-        Map<String, Text> finalArgs = Maps.newHashMap();
+            return text;
+        }
 
-        tokens.forEach((k, v) -> {
-            String key = k.toLowerCase();
+        final Map<String, Object> variables2 = variables == null ? emptyVariables : variables;
+        NucleusMessageTokenService tokenService = Nucleus.getNucleus().getMessageTokenService();
+        NucleusTokenServiceImpl tokenServiceImpl = tokenService instanceof NucleusTokenServiceImpl ? (NucleusTokenServiceImpl) tokenService : null;
+        Map<String, Text> finalArgs = Maps.newHashMapWithExpectedSize(this.arguments.length);
 
+        for (Argument argument : this.arguments) {
             Text t;
-            if (this.tokenMap.containsKey(key)) {
-                t = this.tokenMap.get(key).apply(source);
-            } else if (tokensArray != null && tokensArray.containsKey(key)) {
-                t = tokensArray.get(key).apply(source).orElse(null);
+            if (argument.function != null) {
+                t = argument.function.apply(source);
+            } else if (tokensArray != null && tokensArray.containsKey(argument.lowerKey)) {
+                t = tokensArray.get(argument.lowerKey).apply(source).orElse(null);
+            } else if (tokenServiceImpl != null) {
+                t = tokenServiceImpl.parseToken(argument.token, source, variables2).orElse(null);
             } else {
-                t = Nucleus.getNucleus().getMessageTokenService().parseToken(key, source, variables2).orElse(null);
+                t = tokenService.parseToken(argument.key, source, variables2).orElse(null);
             }
 
             if (t != null) {
-                finalArgs.put(k, t);
+                finalArgs.put(argument.key, t);
             }
-        });
+        }
 
         return this.textTemplate.apply(finalArgs).build();
     }
@@ -184,7 +207,7 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
                         texts.push(style.getTextOf());
                     }
 
-                    cu.createTextTemplateFragmentWithLinks(s.get(i + 1)).mapIfPresent(texts::addAll, tokens::putAll);
+                    tt.mapIfPresent(texts::addAll, tokens::putAll);
                 }
             }
 
@@ -230,4 +253,19 @@ public abstract class NucleusTextTemplateImpl implements NucleusTextTemplate {
             return true;
         }
     }
+
+    private static final class Argument {
+
+        private final String key;
+        private final String lowerKey;
+        private final ParsedToken token;
+        @Nullable private final Function<CommandSource, Text> function;
+
+        private Argument(String key, @Nullable Function<CommandSource, Text> function) {
+            this.key = key;
+            this.lowerKey = key.toLowerCase();
+            this.token = ParsedToken.parse(this.lowerKey);
+            this.function = function;
+        }
+    }
 }
@@ -6,14 +6,16 @@ package io.github.nucleuspowered.nucleus.internal.text;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
-import io.github.nucleuspowered.nucleus.NucleusPlugin;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.PluginInfo;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.exceptions.NucleusException;
 import io.github.nucleuspowered.nucleus.api.exceptions.PluginAlreadyRegisteredException;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
+import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.plugin.PluginContainer;
@@ -24,21 +26,23 @@ import org.spongepowered.api.util.Tuple;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.annotation.Nullable;
 
 public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
 
-    private static final Pattern suffixPattern = Pattern.compile(":([sp]+)$", Pattern.CASE_INSENSITIVE);
     private final Map<String, TokenParser> tokenStore = Maps.newHashMap();
     private final Map<String, Tuple<TokenParser, String>> primaryTokenStore = Maps.newHashMap();
-    private final NucleusPlugin plugin;
+    private final Nucleus plugin;
+
+    // Results of tokens that are stable for a tick. Replaced, rather than cleared, when the tick changes,
+    // so that a result worked out during one tick can never be stored for the next.
+    private volatile TickResults tickResults = new TickResults(-1);
 
     @SuppressWarnings("OptionalUsedAsFieldOrParameterType") private final Optional<Text> EMPTY = Optional.empty();
 
-    public NucleusTokenServiceImpl(NucleusPlugin plugin) {
+    public NucleusTokenServiceImpl(Nucleus plugin) {
         this.plugin = plugin;
         try {
             PluginContainer pluginContainer = plugin.getPluginContainer();
@@ -98,7 +102,7 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     }
 
     @Override public Optional<Text> parseToken(String token, CommandSource source, @Nullable Map<String, Object> variables) {
-        return getTextFromToken(token, source, variables);
+        return parseToken(ParsedToken.parse(token), source, variables);
     }
 
     @Override public boolean registerTokenFormat(String tokenStart, String tokenEnd, String replacement) throws IllegalArgumentException {
@@ -113,41 +117,32 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
-    private Optional<Text> getTextFromToken(String token, CommandSource source, Map<String, Object> variables) {
-        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
-        Matcher m = suffixPattern.matcher(token);
-        boolean addSpace = false;
-        boolean prependSpace = false;
-        if (m.find(0)) {
-            String match = m.group(1).toLowerCase();
-            addSpace = match.contains("s");
-            prependSpace = match.contains("p");
-
-            token = token.replaceAll(":[sp]+$", "");
-        }
-
+    /**
+     * Gets the text for a token that has already been parsed.
+     *
+     * <p>If the token is stable for the tick and no variables are supplied, the result is reused for
+     * the same source until the next tick.</p>
+     *
+     * @param token The {@link ParsedToken}
+     * @param source The {@link CommandSource} to get the text for.
+     * @param variables The variables to pass to the token, if any.
+     * @return The text, if any.
+     */
+    public Optional<Text> parseToken(ParsedToken token, CommandSource source, @Nullable Map<String, Object> variables) {
+        final Map<String, Object> variables2 = variables == null ? ImmutableMap.of() : variables;
         try {
             Optional<Text> toReturn;
-            if (token.startsWith("pl:") || token.startsWith("p:")) {
-                // Plugin identifiers are of the form pl:<pluginid>:<identifier>
-                String[] tokSplit = token.split(":", 3);
-                if (tokSplit.length < 3) {
-                    return this.EMPTY;
-                }
-
-                toReturn = applyToken(tokSplit[1], tokSplit[2], source, variables);
-            } else if (token.startsWith("o:")) { // Option identifier.
-                toReturn = getTextFromOption(source, token.substring(2));
+            if (variables2.isEmpty() && isTickStable(token) && Sponge.isServerAvailable()) {
+                toReturn = getForTick(token, source);
             } else {
-                // Standard.
-                toReturn = applyPrimaryToken(token, source, variables);
+                toReturn = getTextFromToken(token, source, variables2);
             }
 
-            if (addSpace) {
+            if (token.isAddSpace()) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(x, Util.SPACE));
             }
 
-            if (prependSpace) {
+            if (token.isPrependSpace()) {
                 toReturn = toReturn.map(x -> x.isEmpty() ? x : Text.join(Util.SPACE, x));
             }
 
@@ -161,6 +156,72 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
         }
     }
 
+    /**
+     * Removes the results for a source that are being reused for the rest of the tick, for when
+     * something that they depend on, such as their display name, changes.
+     *
+     * @param sourceIdentifier The identifier of the source, see {@link CommandSource#getIdentifier()}
+     */
+    public void invalidateTickResults(String sourceIdentifier) {
+        this.tickResults.results.keySet().removeIf(x -> x.source.equals(sourceIdentifier));
+    }
+
+    private Optional<Text> getForTick(ParsedToken token, CommandSource source) {
+        int tick = Sponge.getServer().getRunningTimeTicks();
+        TickResults results = this.tickResults;
+        if (tick != results.tick) {
+            synchronized (this) {
+                results = this.tickResults;
+                if (tick > results.tick) {
+                    results = new TickResults(tick);
+                    this.tickResults = results;
+                } else if (tick < results.tick) {
+                    // The tick moved on while this was called, so don't keep the result.
+                    return getTextFromToken(token, source, ImmutableMap.of());
+                }
+            }
+        }
+
+        ResultKey key = new ResultKey(source.getIdentifier(), token.getToken());
+        Optional<Text> result = results.results.get(key);
+        if (result == null) {
+            result = getTextFromToken(token, source, ImmutableMap.of());
+            results.results.put(key, result);
+        }
+
+        return result;
+    }
+
+    private boolean isTickStable(ParsedToken token) {
+        if (token.getType() == ParsedToken.Type.PRIMARY) {
+            Tuple<TokenParser, String> parser = this.primaryTokenStore.get(token.getIdentifier());
+            return parser != null && parser.getFirst() instanceof Tokens && ((Tokens) parser.getFirst()).isTickStable(parser.getSecond());
+        } else if (token.getType() == ParsedToken.Type.PLUGIN && PluginInfo.ID.equals(token.getPlugin())) {
+            return getNucleusTokenParser().isTickStable(token.getIdentifier());
+        }
+
+        return false;
+    }
+
+    private Optional<Text> getTextFromToken(ParsedToken token, CommandSource source, Map<String, Object> variables) {
+        switch (token.getType()) {
+            case PLUGIN:
+                return applyToken(token.getPlugin(), token.getIdentifier(), source, variables);
+            case OPTION:
+                return getTextFromOption(source, token.getIdentifier());
+            case PRIMARY:
+                Tuple<TokenParser, String> parser = this.primaryTokenStore.get(token.getIdentifier());
+                if (parser == null) {
+                    return this.EMPTY;
+                }
+
+                String identifier = token.getVariables() == null ? parser.getSecond() : parser.getSecond() + "|" + token.getVariables();
+                return parser.getFirst().parse(identifier, source, variables);
+            default:
+                return this.EMPTY;
+        }
+    }
+
     private Optional<Text> getTextFromOption(CommandSource cs, String option) {
         if (cs instanceof Player) {
             return Util.getOptionFromSubject(cs, option).map(TextSerializers.FORMATTING_CODE::deserialize);
@@ -172,4 +233,42 @@ public class NucleusTokenServiceImpl implements NucleusMessageTokenService {
     public Tokens getNucleusTokenParser() {
         return ((Tokens) this.tokenStore.get("nucleus"));
     }
+
+    private static final class TickResults {
+
+        private final int tick;
+        private final Map<ResultKey, Optional<Text>> results = new ConcurrentHashMap<>();
+
+        private TickResults(int tick) {
+            this.tick = tick;
+        }
+    }
+
+    private static final class ResultKey {
+
+        private final String source;
+        private final String token;
+
+        private ResultKey(String source, String token) {
+            this.source = source;
+            this.token = token;
+        }
+
+        @Override public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            ResultKey resultKey = (ResultKey) o;
+            return this.source.equals(resultKey.source) && this.token.equals(resultKey.token);
+        }
+
+        @Override public int hashCode() {
+            return 31 * this.source.hashCode() + this.token.hashCode();
+        }
+    }
 }
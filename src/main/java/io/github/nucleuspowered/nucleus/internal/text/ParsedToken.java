@@ -0,0 +1,143 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.internal.text;
+
+import javax.annotation.Nullable;
+
+/**
+ * A token that has been split into its parts, so that it does not have to be parsed each time it
+ * is used.
+ */
+public final class ParsedToken {
+
+    enum Type {
+        /**
+         * Of the form <code>pl:[plugin]:[identifier]</code>
+         */
+        PLUGIN,
+
+        /**
+         * Of the form <code>o:[option]</code>
+         */
+        OPTION,
+
+        /**
+         * A primary token, of the form <code>[identifier]</code> or <code>[identifier]|[variables]</code>
+         */
+        PRIMARY,
+
+        /**
+         * A token that can never return anything.
+         */
+        INVALID
+    }
+
+    private final String token;
+    private final Type type;
+    @Nullable private final String plugin;
+    private final String identifier;
+    @Nullable private final String variables;
+    private final boolean addSpace;
+    private final boolean prependSpace;
+
+    /**
+     * Parses a token, with or without the surrounding braces.
+     *
+     * @param token The token.
+     * @return The {@link ParsedToken}
+     */
+    public static ParsedToken parse(String token) {
+        token = token.toLowerCase().trim().replace("{{", "").replace("}}", "");
+
+        // Suffixes of the form :s, :p or :sp
+        boolean addSpace = false;
+        boolean prependSpace = false;
+        int colon = token.lastIndexOf(':');
+        if (colon >= 0 && colon < token.length() - 1 && isSuffix(token, colon + 1)) {
+            String match = token.substring(colon + 1);
+            addSpace = match.indexOf('s') >= 0;
+            prependSpace = match.indexOf('p') >= 0;
+            token = token.substring(0, colon);
+        }
+
+        if (token.startsWith("pl:") || token.startsWith("p:")) {
+            // Plugin identifiers are of the form pl:<pluginid>:<identifier>
+            String[] tokSplit = token.split(":", 3);
+            if (tokSplit.length < 3) {
+                return new ParsedToken(token, Type.INVALID, null, token, null, false, false);
+            }
+
+            return new ParsedToken(token, Type.PLUGIN, tokSplit[1], tokSplit[2], null, addSpace, prependSpace);
+        } else if (token.startsWith("o:")) {
+            return new ParsedToken(token, Type.OPTION, null, token.substring(2), null, addSpace, prependSpace);
+        } else if (token.isEmpty()) {
+            return new ParsedToken(token, Type.INVALID, null, token, null, false, false);
+        }
+
+        String[] tokenData = token.split("\\|", 2);
+        return new ParsedToken(token, Type.PRIMARY, null, tokenData[0], tokenData.length == 2 ? tokenData[1] : null, addSpace, prependSpace);
+    }
+
+    private static boolean isSuffix(String token, int start) {
+        for (int i = start; i < token.length(); i++) {
+            char c = token.charAt(i);
+            if (c != 's' && c != 'p') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private ParsedToken(String token, Type type, @Nullable String plugin, String identifier, @Nullable String variables, boolean addSpace,
+            boolean prependSpace) {
+        this.token = token;
+        this.type = type;
+        this.plugin = plugin;
+        this.identifier = identifier;
+        this.variables = variables;
+        this.addSpace = addSpace;
+        this.prependSpace = prependSpace;
+    }
+
+    /**
+     * Gets the token, in lower case, without braces or suffixes.
+     *
+     * @return The token.
+     */
+    public String getToken() {
+        return this.token;
+    }
+
+    Type getType() {
+        return this.type;
+    }
+
+    @Nullable String getPlugin() {
+        return this.plugin;
+    }
+
+    /**
+     * Gets the identifier of the token, that is, the plugin token for {@link Type#PLUGIN}, the option for
+     * {@link Type#OPTION}, and the primary token, without any variables, for {@link Type#PRIMARY}.
+     *
+     * @return The identifier.
+     */
+    String getIdentifier() {
+        return this.identifier;
+    }
+
+    @Nullable String getVariables() {
+        return this.variables;
+    }
+
+    boolean isAddSpace() {
+        return this.addSpace;
+    }
+
+    boolean isPrependSpace() {
+        return this.prependSpace;
+    }
+}
@@ -75,23 +75,16 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
         }
 
         List<TextElement> texts = Lists.newArrayList();
-        String remaining = message;
+        int last = 0;
         TextParsingUtils.StyleTuple st = TextParsingUtils.EMPTY;
         do {
-            // We found a URL. We split on the URL that we have.
-            String[] textArray = remaining.split(urlParser.pattern(), 2);
+            // We found a URL. Take the text between the last URL and this one.
             Text first = Text.builder().color(st.colour).style(st.style)
-                    .append(TextSerializers.FORMATTING_CODE.deserialize(textArray[0])).build();
+                    .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(last, m.start()))).build();
 
             // Add this text to the list regardless.
             texts.add(first);
-
-            // If we have more to do, shove it into the "remaining" variable.
-            if (textArray.length == 2) {
-                remaining = textArray[1];
-            } else {
-                remaining = null;
-            }
+            last = m.end();
 
             // Get the last colour & styles
             String colourMatch = m.group("colour");
@@ -128,13 +121,11 @@ public class TextParsingUtils implements Reloadable, MessageProviderTrait, Inter
             if (replaceBlueUnderline) {
                 st = TextParsingUtils.getLastColourAndStyle(first, st, TextColors.WHITE, TextStyles.NONE);
             }
-        } while (remaining != null && m.find());
+        } while (m.find());
 
         // Add the last bit.
-        if (remaining != null) {
-            texts.add(
-                Text.builder().color(st.colour).style(st.style).append(TextSerializers.FORMATTING_CODE.deserialize(remaining)).build());
-        }
+        texts.add(Text.builder().color(st.colour).style(st.style)
+                .append(TextSerializers.FORMATTING_CODE.deserialize(message.substring(last))).build());
 
         // Join it all together.
         //noinspection SuspiciousToArrayCall,ToArrayCallWithZeroLengthArrayArgument
@@ -32,30 +32,30 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
 
     private Tokens() {
         this.translatorMap
-                .put("name", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToName(getFromVariableIfExists(p, v, m))));
-        this.translatorMap.put("player", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
-        this.translatorMap.put("playername", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
+                .put("name", tickStable((p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToName(getFromVariableIfExists(p, v, m)))));
+        this.translatorMap.put("player", tickStable((p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m)))));
+        this.translatorMap.put("playername", tickStable((p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m)))));
 
-        this.translatorMap.put("prefix", (p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "prefix"));
-        this.translatorMap.put("suffix", (p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "suffix"));
+        this.translatorMap.put("prefix", tickStable((p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "prefix")));
+        this.translatorMap.put("suffix", tickStable((p, v, m) -> getTextFromOption(getFromVariableIfExists(p, v, m), "suffix")));
 
-        this.translatorMap.put("playerdisplayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
-        this.translatorMap.put("displayname", (p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m))));
+        this.translatorMap.put("playerdisplayname", tickStable((p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m)))));
+        this.translatorMap.put("displayname", tickStable((p, v, m) -> Optional.of(Nucleus.getNucleus().getTextParsingUtils().addCommandToDisplayName(getFromVariableIfExists(p, v, m)))));
 
-        this.translatorMap.put("maxplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getMaxPlayers())));
-        this.translatorMap.put("onlineplayers", (p, v, m) -> Optional.of(Text.of(Sponge.getServer().getOnlinePlayers().size())));
-        this.translatorMap.put("currentworld", (p, v, m) -> Optional.of(Text.of(getWorld(getFromVariableIfExists(p, v, m)).getName())));
-        this.translatorMap.put("time", (p, v, m) -> Optional.of(Text.of(String.valueOf(Util
-                .getTimeFromTicks(getWorld(getFromVariableIfExists(p, v, m)).getProperties().getWorldTime())))));
+        this.translatorMap.put("maxplayers", tickStable((p, v, m) -> Optional.of(Text.of(Sponge.getServer().getMaxPlayers()))));
+        this.translatorMap.put("onlineplayers", tickStable((p, v, m) -> Optional.of(Text.of(Sponge.getServer().getOnlinePlayers().size()))));
+        this.translatorMap.put("currentworld", tickStable((p, v, m) -> Optional.of(Text.of(getWorld(getFromVariableIfExists(p, v, m)).getName()))));
+        this.translatorMap.put("time", tickStable((p, v, m) -> Optional.of(Text.of(String.valueOf(Util
+                .getTimeFromTicks(getWorld(getFromVariableIfExists(p, v, m)).getProperties().getWorldTime()))))));
 
-        this.translatorMap.put("uniquevisitor", (p, v, m) -> Optional.of(Text.of(Nucleus.getNucleus()
-                .getGeneralService().getTransient(UniqueUserCountTransientModule.class).getUniqueUserCount())));
+        this.translatorMap.put("uniquevisitor", tickStable((p, v, m) -> Optional.of(Text.of(Nucleus.getNucleus()
+                .getGeneralService().getTransient(UniqueUserCountTransientModule.class).getUniqueUserCount()))));
 
-        this.translatorMap.put("ipaddress", (p, v, m) -> Optional.of(Text.of(p instanceof RemoteSource ?
+        this.translatorMap.put("ipaddress", tickStable((p, v, m) -> Optional.of(Text.of(p instanceof RemoteSource ?
             ((RemoteSource)p).getConnection().getAddress().getAddress().toString() :
-            "localhost")));
+            "localhost"))));
 
-        this.translatorMap.put("subject", (p, v, m) -> Optional.of(Text.of((p instanceof ConsoleSource ? "-" : p.getName()))));
+        this.translatorMap.put("subject", tickStable((p, v, m) -> Optional.of(Text.of((p instanceof ConsoleSource ? "-" : p.getName())))));
     }
 
     @Nonnull @Override public Optional<Text> parse(String tokenInput, CommandSource source, Map<String, Object> variables) {
@@ -69,6 +69,18 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         return this.translatorMap.getOrDefault(split[0].toLowerCase(), (p, v, m) -> Optional.empty()).get(source, var, variables);
     }
 
+    /**
+     * Gets whether the result of a token, for a given source, does not change during a tick.
+     *
+     * @param token The token, with or without its variables.
+     * @return Whether the result can be reused until the next tick.
+     */
+    public boolean isTickStable(String token) {
+        int bar = token.indexOf('|');
+        Translator translator = this.translatorMap.get(bar < 0 ? token : token.substring(0, bar));
+        return translator != null && translator.isTickStable();
+    }
+
     public Set<String> getTokenNames() {
         return Sets.newHashSet(this.translatorMap.keySet());
     }
@@ -93,6 +105,18 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
         return source;
     }
 
+    private static Translator tickStable(Translator translator) {
+        return new Translator() {
+            @Override public Optional<Text> get(CommandSource source, String variableString, Map<String, Object> variables) {
+                return translator.get(source, variableString, variables);
+            }
+
+            @Override public boolean isTickStable() {
+                return true;
+            }
+        };
+    }
+
     private static World getWorld(CommandSource p) {
         World world;
         if (p instanceof Locatable) {
@@ -113,6 +137,16 @@ public final class Tokens implements NucleusMessageTokenService.TokenParser {
     public interface Translator {
 
         Optional<Text> get(CommandSource source, String variableString, Map<String, Object> variables);
+
+        /**
+         * Whether the result for a given source does not change during a tick, so that it may be
+         * reused for the rest of that tick.
+         *
+         * @return <code>true</code> if the result can be reused.
+         */
+        default boolean isTickStable() {
+            return false;
+        }
     }
 
     public static abstract class TrueFalseVariableTranslator implements Translator {
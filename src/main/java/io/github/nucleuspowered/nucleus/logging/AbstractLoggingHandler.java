@@ -5,21 +5,18 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.Lists;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
 import org.spongepowered.api.GameState;
 import org.spongepowered.api.Sponge;
 
 import java.io.IOException;
-import java.time.Instant;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.time.format.FormatStyle;
-import java.util.List;
 import java.util.Locale;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public abstract class AbstractLoggingHandler {
@@ -27,11 +24,13 @@ public abstract class AbstractLoggingHandler {
     private static final DateTimeFormatter formatter = DateTimeFormatter.ofLocalizedDateTime(FormatStyle.SHORT)
         .withLocale(Locale.getDefault()).withZone(ZoneId.systemDefault());
     protected DateRotatableFileLogger logger;
-    private final List<String> queueEntry = Lists.newArrayList();
+    @Nullable private volatile AsyncLogAppender appender;
     private final String directoryName;
     private final String filePrefix;
-    private final Object locking = new Object();
     private final Nucleus plugin = Nucleus.getNucleus();
+    private long flushInterval = 1000;
+    private LogRotationConfig rotation = new LogRotationConfig();
+    private long reportedDropped = 0;
 
     @Inject
     public AbstractLoggingHandler(String directoryName, String filePrefix) {
@@ -40,10 +39,19 @@ public abstract class AbstractLoggingHandler {
     }
 
     public void queueEntry(String s) {
-        if (this.logger != null) {
-            synchronized (this.locking) {
-                this.queueEntry.add(s);
-            }
+        queueEntry(null, s);
+    }
+
+    /**
+     * Queues an entry to be logged.
+     *
+     * @param source The name of whoever caused the entry, used for the log index.
+     * @param s The entry.
+     */
+    public void queueEntry(@Nullable String source, String s) {
+        AsyncLogAppender a = this.appender;
+        if (a != null) {
+            a.offer(source, s);
         }
     }
 
@@ -55,7 +63,12 @@ public abstract class AbstractLoggingHandler {
     }
 
     protected void onShutdown() throws IOException {
-        if (this.logger != null) {
+        if (this.appender != null) {
+            // Closes the logger too.
+            this.appender.close();
+            this.appender = null;
+            this.logger = null;
+        } else if (this.logger != null) {
             this.logger.close();
             this.logger = null;
         }
@@ -63,17 +76,35 @@ public abstract class AbstractLoggingHandler {
 
     protected abstract boolean enabledLog();
 
-    public void onTick() {
-        if (this.queueEntry.isEmpty()) {
-            return;
+    /**
+     * Sets how often queued entries are written to the log file.
+     *
+     * @param flushInterval The interval, in milliseconds.
+     */
+    protected void setFlushInterval(long flushInterval) {
+        this.flushInterval = flushInterval;
+        if (this.appender != null) {
+            this.appender.setFlushInterval(flushInterval);
         }
+    }
 
-        List<String> l;
-        synchronized (this.locking) {
-            l = Lists.newArrayList(this.queueEntry);
-            this.queueEntry.clear();
+    /**
+     * Sets the rotation and retention policy for the log files.
+     *
+     * @param rotation The {@link LogRotationConfig}
+     */
+    protected void setRotation(LogRotationConfig rotation) {
+        this.rotation = rotation;
+        if (this.logger != null) {
+            this.logger.setRotation(rotation);
         }
+    }
 
+    /**
+     * Entries are written by the {@link AsyncLogAppender}'s own thread, so this just opens the
+     * log if it could not be opened before and reports any problems with writing.
+     */
+    public void onTick() {
         if (this.logger == null) {
             if (enabledLog()) {
                 try {
@@ -83,33 +114,35 @@ public abstract class AbstractLoggingHandler {
                     if (this.plugin.isDebugMode()) {
                         e.printStackTrace();
                     }
-
-                    return;
                 }
-            } else {
-                return;
             }
+
+            return;
         }
 
-        try {
-            writeEntry(l);
-        } catch (IOException e) {
-            this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
-            if (this.plugin.isDebugMode()) {
-                e.printStackTrace();
+        AsyncLogAppender a = this.appender;
+        if (a != null) {
+            IOException e = a.getAndClearException();
+            if (e != null) {
+                this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.couldnotwrite"));
+                if (this.plugin.isDebugMode()) {
+                    e.printStackTrace();
+                }
+            }
+
+            long dropped = a.getDroppedCount();
+            if (dropped > this.reportedDropped) {
+                this.plugin.getLogger().warn(NucleusPlugin.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.dropped",
+                        String.valueOf(dropped - this.reportedDropped)));
+                this.reportedDropped = dropped;
             }
         }
     }
 
     protected void createLogger() throws IOException {
-        this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, s -> "[" +
-            formatter.format(Instant.now().atZone(ZoneOffset.systemDefault())) +
-            "] " + s);
-    }
-
-    private void writeEntry(Iterable<String> entry) throws IOException {
-        if (this.logger != null) {
-            this.logger.logEntry(entry);
-        }
+        this.logger = new DateRotatableFileLogger(this.directoryName, this.filePrefix, null);
+        this.logger.setRotation(this.rotation);
+        this.appender = new AsyncLogAppender(this.filePrefix, this.logger, formatter, this.flushInterval);
+        this.reportedDropped = 0;
     }
 }
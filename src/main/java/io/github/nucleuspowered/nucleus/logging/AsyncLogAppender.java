@@ -0,0 +1,181 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.annotation.Nullable;
+
+/**
+ * Writes log entries to a {@link DateRotatableFileLogger} from a dedicated thread.
+ *
+ * <p>Entries are added to a lock-free {@link MpscRingBuffer}. The writer thread wakes once per
+ * flush interval and writes everything that has been queued as one batch, with a single flush.
+ * If the buffer is full, the entry is dropped and counted rather than blocking the caller.</p>
+ */
+public final class AsyncLogAppender implements Closeable {
+
+    static final int CAPACITY = 8192;
+    private static final int BATCH_SIZE = 1024;
+    private static final long SHUTDOWN_WAIT_MILLIS = 5000;
+
+    private final MpscRingBuffer<LogEntry> buffer = new MpscRingBuffer<>(CAPACITY);
+    private final DateRotatableFileLogger logger;
+    private final DateTimeFormatter formatter;
+    private final Thread writer;
+    private final LongAdder dropped = new LongAdder();
+    private volatile long flushIntervalNanos;
+    private volatile boolean running = true;
+    @Nullable private volatile IOException lastException = null;
+
+    // Only used by the writer thread.
+    private final List<LogEntry> batch = Lists.newArrayList();
+    private long prefixSecond = Long.MIN_VALUE;
+    private String prefix = "";
+
+    /**
+     * Creates the appender and starts its writer thread.
+     *
+     * @param name The name to give the writer thread.
+     * @param logger The {@link DateRotatableFileLogger} to write to. Lines are written as is, so this should not format them.
+     * @param formatter The {@link DateTimeFormatter} to use for the timestamp at the start of each line.
+     * @param flushIntervalMillis How often queued entries are written, in milliseconds.
+     */
+    public AsyncLogAppender(String name, DateRotatableFileLogger logger, DateTimeFormatter formatter, long flushIntervalMillis) {
+        this.logger = Preconditions.checkNotNull(logger);
+        this.formatter = Preconditions.checkNotNull(formatter);
+        setFlushInterval(flushIntervalMillis);
+        this.writer = new Thread(this::run, "Nucleus " + name + " log writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public void setFlushInterval(long flushIntervalMillis) {
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, flushIntervalMillis));
+    }
+
+    /**
+     * Queues an entry to be written.
+     *
+     * @param entry The entry.
+     * @return false if the entry was dropped.
+     */
+    public boolean offer(String entry) {
+        return offer(null, entry);
+    }
+
+    /**
+     * Queues an entry to be written.
+     *
+     * @param source The name of whoever caused the entry, for the log index, if known.
+     * @param entry The entry.
+     * @return false if the entry was dropped.
+     */
+    public boolean offer(@Nullable String source, String entry) {
+        if (this.running && this.buffer.offer(new LogEntry(System.currentTimeMillis(), source, entry))) {
+            return true;
+        }
+
+        this.dropped.increment();
+        return false;
+    }
+
+    /**
+     * Gets the number of entries that have been dropped since this appender was created.
+     *
+     * @return The number of dropped entries.
+     */
+    public long getDroppedCount() {
+        return this.dropped.sum();
+    }
+
+    /**
+     * Gets, and clears, the last exception thrown when writing to the log.
+     *
+     * @return The exception, or null.
+     */
+    @Nullable
+    public IOException getAndClearException() {
+        IOException e = this.lastException;
+        this.lastException = null;
+        return e;
+    }
+
+    private void run() {
+        while (this.running) {
+            LockSupport.parkNanos(this, this.flushIntervalNanos);
+            writeQueued();
+        }
+
+        writeQueued();
+    }
+
+    private void writeQueued() {
+        while (this.buffer.drain(this.batch::add, BATCH_SIZE) > 0) {
+            if (this.batch.size() >= BATCH_SIZE) {
+                write();
+            }
+        }
+
+        write();
+    }
+
+    private String format(LogEntry entry) {
+        long second = entry.getTime() / 1000;
+        if (second != this.prefixSecond) {
+            this.prefixSecond = second;
+            this.prefix = "[" + this.formatter.format(Instant.ofEpochSecond(second)) + "] ";
+        }
+
+        return this.prefix + entry.getLine();
+    }
+
+    private void write() {
+        if (this.batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            this.logger.logEntries(this.batch, this::format);
+        } catch (IOException e) {
+            this.lastException = e;
+        } catch (IllegalStateException e) {
+            // The logger was closed before the writer thread stopped.
+        } finally {
+            this.batch.clear();
+        }
+    }
+
+    /**
+     * Writes anything that has been queued, stops the writer thread and closes the logger.
+     *
+     * @throws IOException if the logger could not be closed.
+     */
+    @Override public void close() throws IOException {
+        if (!this.running) {
+            return;
+        }
+
+        this.running = false;
+        LockSupport.unpark(this.writer);
+        try {
+            this.writer.join(SHUTDOWN_WAIT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.logger.close();
+    }
+}
@@ -6,7 +6,6 @@ package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
-import io.github.nucleuspowered.nucleus.Util;
 
 import java.io.Closeable;
 import java.io.IOException;
@@ -18,8 +17,14 @@ import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
 import java.time.temporal.ChronoUnit;
 import java.util.Iterator;
+import java.util.List;
 import java.util.function.Function;
 
+/**
+ * Writes to log files in {@code logs/nucleus}, starting a new file each day and, optionally,
+ * whenever the current file reaches a maximum size. Rotated files are compressed, and old files
+ * removed, in the background by {@link LogMaintenance}.
+ */
 public class DateRotatableFileLogger implements Closeable {
 
     private final static Path nucleusBase = Paths.get("logs/nucleus");
@@ -29,6 +34,7 @@ public class DateRotatableFileLogger implements Closeable {
     private Instant currentDate;
     private LogFile file;
     private final Function<String, String> formatter;
+    private volatile LogRotationConfig rotation = new LogRotationConfig();
     private boolean isClosed = false;
 
     public DateRotatableFileLogger(String directory, String filenamePrefix, Function<String, String> formatter) throws IOException {
@@ -41,19 +47,24 @@ public class DateRotatableFileLogger implements Closeable {
         Files.createDirectories(this.directory);
     }
 
+    /**
+     * Sets the rotation and retention policy. A change to the maximum file size or index takes
+     * effect from the next file.
+     *
+     * @param rotation The {@link LogRotationConfig}
+     */
+    public void setRotation(LogRotationConfig rotation) {
+        this.rotation = Preconditions.checkNotNull(rotation);
+    }
+
     private void openFile() throws IOException {
         if (this.isClosed) {
             throw new IllegalStateException();
         }
 
-        if (this.file != null && !this.file.isClosed()) {
-            try {
-                this.file.close();
-            } finally {
-                this.file = null;
-            }
-        }
+        closeFile();
 
+        LogRotationConfig config = this.rotation;
         int count = 0;
         boolean go = false;
         String fileName;
@@ -62,18 +73,37 @@ public class DateRotatableFileLogger implements Closeable {
             fileName = this.directory.toString() + "/" + this.filenamePrefix + "-" + DateTimeFormatter.ofPattern("yyyy-MM-dd").format(Instant.now().atZone(ZoneId.systemDefault())) + "-" + count + ".log";
             Path nextFile = Paths.get(fileName);
             if (Files.exists(nextFile)) {
-                try {
-                    Util.compressAndDeleteFile(nextFile);
-                } catch (IOException e) {
-                    e.printStackTrace();
-                }
+                // Left behind, such as if the server crashed.
+                LogMaintenance.compress(nextFile);
             } else if (!Files.exists(Paths.get(fileName + ".gz"))) {
-                this.file = new LogFile(nextFile, this.formatter);
+                this.file = new LogFile(nextFile, this.formatter, config.isWriteIndex());
                 go = true;
             }
         } while(!go);
 
         this.currentDate = Instant.now().truncatedTo(ChronoUnit.DAYS);
+        LogMaintenance.applyRetention(this.directory, this.filenamePrefix, config);
+    }
+
+    private void closeFile() throws IOException {
+        if (this.file != null) {
+            LogFile toClose = this.file;
+            this.file = null;
+            try {
+                toClose.close();
+            } finally {
+                LogMaintenance.compress(toClose.getLocation());
+            }
+        }
+    }
+
+    private boolean shouldRotate() {
+        if (this.file == null || this.file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(this.currentDate)) {
+            return true;
+        }
+
+        long maxSize = this.rotation.getMaxFileSizeBytes();
+        return maxSize > 0 && this.file.getSize() >= maxSize;
     }
 
     public void logEntry(String entry) throws IOException {
@@ -93,7 +123,7 @@ public class DateRotatableFileLogger implements Closeable {
     }
 
     private void logEntry(Iterable<String> entry, boolean retryOnError) throws IOException {
-        if (this.file == null || this.file.isClosed() || Instant.now().truncatedTo(ChronoUnit.DAYS).isAfter(this.currentDate)) {
+        if (shouldRotate()) {
             openFile();
         }
 
@@ -114,16 +144,52 @@ public class DateRotatableFileLogger implements Closeable {
         }
     }
 
+    /**
+     * Writes the entries, recording them in the index if there is one. Entries are removed from
+     * the list as they are written.
+     *
+     * @param entries The {@link LogEntry} entries to write.
+     * @param lineFormatter Creates the line to write for each entry.
+     * @throws IOException if the entries could not be written.
+     */
+    public void logEntries(List<LogEntry> entries, Function<LogEntry, String> lineFormatter) throws IOException {
+        if (this.isClosed) {
+            throw new IllegalStateException();
+        }
+
+        logEntries(entries, lineFormatter, true);
+    }
+
+    private void logEntries(List<LogEntry> entries, Function<LogEntry, String> lineFormatter, boolean retryOnError) throws IOException {
+        if (shouldRotate()) {
+            openFile();
+        }
+
+        try {
+            Iterator<LogEntry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                LogEntry entry = iterator.next();
+                this.file.writeEntry(entry, lineFormatter.apply(entry));
+                iterator.remove();
+            }
+
+            this.file.flush();
+        } catch (IOException e) {
+            if (retryOnError) {
+                logEntries(entries, lineFormatter, false);
+            } else {
+                throw e;
+            }
+        }
+    }
+
     @Override
     public void close() throws IOException {
         if (this.isClosed) {
             return;
         }
 
-        if (this.file != null && !this.file.isClosed()) {
-            this.file.close();
-            this.file = null;
-            this.isClosed = true;
-        }
+        this.isClosed = true;
+        closeFile();
     }
 }
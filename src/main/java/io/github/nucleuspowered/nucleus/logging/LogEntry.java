@@ -0,0 +1,47 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import java.util.Optional;
+
+import javax.annotation.Nullable;
+
+/**
+ * An entry that is waiting to be written to a log file.
+ */
+public final class LogEntry {
+
+    private final long time;
+    @Nullable private final String source;
+    private final String line;
+
+    public LogEntry(long time, @Nullable String source, String line) {
+        this.time = time;
+        this.source = source;
+        this.line = line;
+    }
+
+    /**
+     * Gets the time the entry was created, in milliseconds since the epoch.
+     *
+     * @return The time.
+     */
+    public long getTime() {
+        return this.time;
+    }
+
+    /**
+     * Gets the name of whoever caused this entry, if known, for the log index.
+     *
+     * @return The name.
+     */
+    public Optional<String> getSource() {
+        return Optional.ofNullable(this.source);
+    }
+
+    public String getLine() {
+        return this.line;
+    }
+}
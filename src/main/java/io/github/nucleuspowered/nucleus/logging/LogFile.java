@@ -5,29 +5,41 @@
 package io.github.nucleuspowered.nucleus.logging;
 
 import com.google.common.base.Preconditions;
-import io.github.nucleuspowered.nucleus.Util;
+import com.google.common.io.CountingOutputStream;
 
 import java.io.BufferedWriter;
 import java.io.Closeable;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.function.Function;
 
+import javax.annotation.Nullable;
+
+/**
+ * A single log segment. Closing it does not compress it, the {@link DateRotatableFileLogger} hands
+ * it to {@link LogMaintenance} instead.
+ */
 class LogFile implements Closeable {
 
     private final Path location;
     private final Function<String, String> formatter;
+    private final CountingOutputStream counter;
     private final BufferedWriter outputStream;
+    @Nullable private final LogIndex index;
     private boolean isClosed = false;
 
-    LogFile(final Path location, Function<String, String> stringFormatter) throws IOException {
+    LogFile(final Path location, Function<String, String> stringFormatter, boolean writeIndex) throws IOException {
         Preconditions.checkNotNull(location);
         Preconditions.checkNotNull(stringFormatter);
 
         this.location = location;
-        this.outputStream = Files.newBufferedWriter(location);
+        this.counter = new CountingOutputStream(Files.newOutputStream(location));
+        this.outputStream = new BufferedWriter(new OutputStreamWriter(this.counter, StandardCharsets.UTF_8));
         this.formatter = stringFormatter;
+        this.index = writeIndex ? new LogIndex() : null;
     }
 
     void writeLine(String line) throws IOException {
@@ -40,10 +52,30 @@ class LogFile implements Closeable {
         }
     }
 
+    void writeEntry(LogEntry entry, String line) throws IOException {
+        writeLine(line);
+        if (this.index != null) {
+            this.index.record(entry);
+        }
+    }
+
     void flush() throws IOException {
         this.outputStream.flush();
     }
 
+    Path getLocation() {
+        return this.location;
+    }
+
+    /**
+     * Gets the number of bytes that have been flushed to the file.
+     *
+     * @return The size.
+     */
+    long getSize() {
+        return this.counter.getCount();
+    }
+
     boolean isClosed() {
         return this.isClosed;
     }
@@ -58,8 +90,9 @@ class LogFile implements Closeable {
             this.outputStream.close();
         } finally {
             this.isClosed = true;
-
-            Util.compressAndDeleteFile(this.location);
+            if (this.index != null && !this.index.isEmpty()) {
+                this.index.write(LogIndex.getIndexFile(this.location));
+            }
         }
     }
 }
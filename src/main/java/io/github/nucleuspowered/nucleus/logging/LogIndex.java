@@ -0,0 +1,127 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Maps;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * A summary of a log segment, recording when each source wrote to it, so that a search by name
+ * and time range only needs to decompress the segments that could match.
+ *
+ * <p>The index is written next to the segment with the extension {@code .idx}, as tab separated
+ * lines. The first line is {@code v1, first second, last second, entry count}, and each following
+ * line is {@code source, entry count, first second, last second}. Times are seconds since the
+ * epoch.</p>
+ */
+public final class LogIndex {
+
+    private static final String EXTENSION = ".idx";
+    private static final String VERSION = "v1";
+
+    private long first = Long.MAX_VALUE;
+    private long last = Long.MIN_VALUE;
+    private long entries = 0;
+
+    // source (lower case) -> [count, first, last]
+    private final Map<String, long[]> sources = Maps.newHashMap();
+
+    public static Path getIndexFile(Path segment) {
+        return Paths.get(segment.toString() + EXTENSION);
+    }
+
+    void record(LogEntry entry) {
+        long second = entry.getTime() / 1000;
+        this.first = Math.min(this.first, second);
+        this.last = Math.max(this.last, second);
+        this.entries++;
+        entry.getSource().ifPresent(x -> {
+            long[] data = this.sources.computeIfAbsent(x.toLowerCase().replace("\t", " "), k -> new long[] { 0, second, second });
+            data[0]++;
+            data[1] = Math.min(data[1], second);
+            data[2] = Math.max(data[2], second);
+        });
+    }
+
+    boolean isEmpty() {
+        return this.entries == 0;
+    }
+
+    void write(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(VERSION + "\t" + this.first + "\t" + this.last + "\t" + this.entries);
+            writer.newLine();
+            for (Map.Entry<String, long[]> entry : this.sources.entrySet()) {
+                long[] data = entry.getValue();
+                writer.write(entry.getKey() + "\t" + data[0] + "\t" + data[1] + "\t" + data[2]);
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Reads the index for a log segment.
+     *
+     * @param file The index file.
+     * @return The {@link LogIndex}.
+     * @throws IOException if the file could not be read, or is not an index.
+     */
+    public static LogIndex read(Path file) throws IOException {
+        LogIndex index = new LogIndex();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String[] header = String.valueOf(reader.readLine()).split("\t");
+            Preconditions.checkState(header.length == 4 && header[0].equals(VERSION), "Not a log index");
+            index.first = Long.parseLong(header[1]);
+            index.last = Long.parseLong(header[2]);
+            index.entries = Long.parseLong(header[3]);
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] parts = line.split("\t");
+                if (parts.length == 4) {
+                    index.sources.put(parts[0],
+                            new long[] { Long.parseLong(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]) });
+                }
+            }
+        } catch (NumberFormatException | IllegalStateException e) {
+            throw new IOException("Could not read the log index " + file.toString(), e);
+        }
+
+        return index;
+    }
+
+    /**
+     * Gets whether the segment could contain entries from the given source between the given times.
+     *
+     * @param source The name of the source.
+     * @param fromSecond The start of the range, in seconds since the epoch.
+     * @param toSecond The end of the range, in seconds since the epoch.
+     * @return true if the segment should be searched.
+     */
+    public boolean mayContain(String source, long fromSecond, long toSecond) {
+        long[] data = this.sources.get(source.toLowerCase());
+        return data != null && data[1] <= toSecond && data[2] >= fromSecond;
+    }
+
+    /**
+     * Gets whether the segment could contain any entries between the given times.
+     *
+     * @param fromSecond The start of the range, in seconds since the epoch.
+     * @param toSecond The end of the range, in seconds since the epoch.
+     * @return true if the segment should be searched.
+     */
+    public boolean mayContain(long fromSecond, long toSecond) {
+        return this.entries > 0 && this.first <= toSecond && this.last >= fromSecond;
+    }
+}
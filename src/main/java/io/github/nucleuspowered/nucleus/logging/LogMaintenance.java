@@ -0,0 +1,106 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Util;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Compresses rotated log segments and applies the retention policy on a single, low priority
+ * background thread, so that the threads writing logs never wait for them.
+ *
+ * <p>The thread is a daemon, so work may be lost if the server stops. Uncompressed segments that
+ * are left behind are picked up the next time the log is opened.</p>
+ */
+final class LogMaintenance {
+
+    private static final String COMPRESSED = ".log.gz";
+
+    private static final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "Nucleus log maintenance");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    private LogMaintenance() {}
+
+    static void compress(Path file) {
+        executor.execute(() -> {
+            try {
+                Util.compressAndDeleteFile(file);
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    static void applyRetention(Path directory, String filenamePrefix, LogRotationConfig config) {
+        if (config.getMaxAgeDays() > 0 || config.getMaxTotalSizeBytes() > 0) {
+            executor.execute(() -> {
+                try {
+                    retain(directory, filenamePrefix, config);
+                } catch (IOException e) {
+                    e.printStackTrace();
+                }
+            });
+        }
+    }
+
+    private static void retain(Path directory, String filenamePrefix, LogRotationConfig config) throws IOException {
+        List<Segment> segments = Lists.newArrayList();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, filenamePrefix + "-*" + COMPRESSED)) {
+            for (Path file : files) {
+                segments.add(new Segment(file));
+            }
+        }
+
+        segments.sort(Comparator.comparing(x -> x.modified));
+        Instant cutoff = config.getMaxAgeDays() > 0 ? Instant.now().minus(Duration.ofDays(config.getMaxAgeDays())) : Instant.MIN;
+        long total = segments.stream().mapToLong(x -> x.size).sum();
+        for (Segment segment : segments) {
+            boolean tooOld = segment.modified.isBefore(cutoff);
+            boolean tooBig = config.getMaxTotalSizeBytes() > 0 && total > config.getMaxTotalSizeBytes();
+            if (!tooOld && !tooBig) {
+                // Sorted oldest first, so nothing after this needs deleting either.
+                break;
+            }
+
+            Files.deleteIfExists(segment.file);
+            Files.deleteIfExists(segment.index);
+            total -= segment.size;
+        }
+    }
+
+    private static final class Segment {
+
+        private final Path file;
+        private final Path index;
+        private final Instant modified;
+        private final long size;
+
+        private Segment(Path file) throws IOException {
+            String name = file.toString();
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            this.file = file;
+            this.index = LogIndex.getIndexFile(Paths.get(name.substring(0, name.length() - 3)));
+            this.modified = attributes.lastModifiedTime().toInstant();
+            this.size = attributes.size() + (Files.exists(this.index) ? Files.size(this.index) : 0);
+        }
+    }
+}
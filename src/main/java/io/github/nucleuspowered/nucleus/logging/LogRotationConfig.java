@@ -0,0 +1,56 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class LogRotationConfig {
+
+    @Setting(value = "max-file-size-kb", comment = "config.logging.rotation.maxsize")
+    private long maxFileSize = 10240;
+
+    @Setting(value = "max-age-days", comment = "config.logging.rotation.maxage")
+    private int maxAge = 0;
+
+    @Setting(value = "max-total-size-mb", comment = "config.logging.rotation.maxtotal")
+    private long maxTotalSize = 0;
+
+    @Setting(value = "write-index", comment = "config.logging.rotation.index")
+    private boolean writeIndex = false;
+
+    /**
+     * Gets the size, in bytes, at which the log file is rotated, or zero to only rotate daily.
+     *
+     * @return The size.
+     */
+    public long getMaxFileSizeBytes() {
+        return Math.max(0, this.maxFileSize) * 1024;
+    }
+
+    /**
+     * Gets the number of days after which old log files are deleted, or zero to keep them.
+     *
+     * @return The number of days.
+     */
+    public int getMaxAgeDays() {
+        return Math.max(0, this.maxAge);
+    }
+
+    /**
+     * Gets the total size, in bytes, that old log files may take up before the oldest are deleted,
+     * or zero for no limit.
+     *
+     * @return The size.
+     */
+    public long getMaxTotalSizeBytes() {
+        return Math.max(0, this.maxTotalSize) * 1024 * 1024;
+    }
+
+    public boolean isWriteIndex() {
+        return this.writeIndex;
+    }
+}
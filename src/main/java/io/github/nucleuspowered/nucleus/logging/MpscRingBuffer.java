@@ -0,0 +1,96 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.logging;
+
+import com.google.common.base.Preconditions;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * A bounded, lock-free ring buffer that may be offered to from any number of threads, but must
+ * only be drained from one.
+ *
+ * <p>Each slot has a sequence number. A producer claims a slot by advancing the tail, writes the
+ * element and then publishes it by advancing the slot's sequence. The consumer only reads a slot
+ * once it has been published, and frees it by advancing the sequence by the capacity.</p>
+ *
+ * @param <T> The element type.
+ */
+final class MpscRingBuffer<T> {
+
+    private final int mask;
+    private final AtomicReferenceArray<T> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+    private long head = 0; // only touched by the consumer
+
+    MpscRingBuffer(int capacity) {
+        Preconditions.checkArgument(capacity > 0 && Integer.bitCount(capacity) == 1, "capacity must be a power of two");
+        this.mask = capacity - 1;
+        this.elements = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            this.sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds an element to the buffer.
+     *
+     * @param element The element.
+     * @return false if the buffer is full.
+     */
+    boolean offer(T element) {
+        long position;
+        int index;
+        while (true) {
+            position = this.tail.get();
+            index = (int) (position & this.mask);
+            long difference = this.sequences.get(index) - position;
+            if (difference == 0) {
+                if (this.tail.compareAndSet(position, position + 1)) {
+                    break;
+                }
+            } else if (difference < 0) {
+                // The consumer has not freed this slot yet.
+                return false;
+            }
+        }
+
+        this.elements.lazySet(index, element);
+        this.sequences.lazySet(index, position + 1);
+        return true;
+    }
+
+    /**
+     * Removes up to {@code limit} published elements, passing each to the consumer in order.
+     * Must only be called from the consuming thread.
+     *
+     * @param consumer The consumer.
+     * @param limit The maximum number of elements to remove.
+     * @return The number of elements removed.
+     */
+    int drain(Consumer<T> consumer, int limit) {
+        int count = 0;
+        while (count < limit) {
+            int index = (int) (this.head & this.mask);
+            if (this.sequences.get(index) != this.head + 1) {
+                break;
+            }
+
+            T element = this.elements.get(index);
+            this.elements.lazySet(index, null);
+            this.sequences.lazySet(index, this.head + this.mask + 1);
+            this.head++;
+            consumer.accept(element);
+            count++;
+        }
+
+        return count;
+    }
+}
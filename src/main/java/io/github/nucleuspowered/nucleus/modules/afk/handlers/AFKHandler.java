@@ -5,10 +5,8 @@
 package io.github.nucleuspowered.nucleus.modules.afk.handlers;
 
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.NucleusPlugin;
@@ -18,15 +16,16 @@ import io.github.nucleuspowered.nucleus.api.util.NoExceptionAutoClosable;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.afk.commands.AFKCommand;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfig;
 import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.afk.events.AFKEvents;
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
+import io.github.nucleuspowered.nucleus.util.TimingWheel;
 import io.github.nucleuspowered.nucleus.util.Tuples;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
@@ -44,27 +43,36 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
-import javax.annotation.concurrent.GuardedBy;
-
+/**
+ * Tracks player activity.
+ *
+ * <p>Activity is recorded by writing a timestamp, without taking any locks. The next time that each
+ * player may go AFK or be kicked is held in a {@link TimingWheel}, so each tick only checks the players
+ * whose deadline has passed. If they have been active since the deadline was set, it is moved on.
+ * Players that return from being AFK are queued so that the event can be fired on the next tick.</p>
+ */
 public class AFKHandler implements NucleusAFKService, Reloadable {
 
+    private static final long TICK_MILLIS = 1000;
+
     private final Map<UUID, AFKData> data = Maps.newConcurrentMap();
     private final AFKConfigAdapter afkConfigAdapter;
     private final CommandPermissionHandler afkPermissionHandler;
+    private final PlayerStatusService statusService;
     private AFKConfig config;
 
-    @GuardedBy("lock")
-    private final Set<UUID> activity = Sets.newHashSet();
-
-    @GuardedBy("lock2")
-    private final Multimap<UUID, UUID> disabledTracking = HashMultimap.create();
-    private final Object lock = new Object();
-    private final Object lock2 = new Object();
+    private final TimingWheel<Deadline> deadlines = new TimingWheel<>(TICK_MILLIS, System.currentTimeMillis());
+    private final Queue<AFKData> returning = new ConcurrentLinkedQueue<>();
+    private final Queue<AFKData> refresh = new ConcurrentLinkedQueue<>();
+    private final Map<UUID, Set<UUID>> disabledTracking = Maps.newConcurrentMap();
 
     private final String exempttoggle = "exempt.toggle";
     private final String exemptkick = "exempt.kick";
@@ -75,6 +83,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     public AFKHandler() {
         this.afkPermissionHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(AFKCommand.class);
         this.afkConfigAdapter = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(AFKConfigAdapter.class);
+        this.statusService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
     }
 
     public void stageUserActivityUpdate(Player player) {
@@ -84,78 +93,147 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     private void stageUserActivityUpdate(UUID uuid) {
-        synchronized (this.lock) {
-            synchronized (this.lock2) {
-                if (this.disabledTracking.containsKey(uuid)) {
-                    return;
-                }
-            }
+        if (this.disabledTracking.containsKey(uuid)) {
+            return;
+        }
 
-            this.activity.add(uuid);
+        AFKData afkData = getOrCreate(uuid);
+        afkData.lastActivityTime = System.currentTimeMillis();
+        if (afkData.isKnownAfk && afkData.returnQueued.compareAndSet(false, true)) {
+            this.returning.add(afkData);
         }
     }
 
+    /**
+     * Stops tracking a player that has left the server.
+     *
+     * @param uuid The {@link UUID} of the player.
+     */
+    public void onDisconnect(UUID uuid) {
+        AFKData afkData = this.data.remove(uuid);
+        if (afkData != null) {
+            afkData.removed = true;
+        }
+
+        this.disabledTracking.remove(uuid);
+    }
+
     public void onTick() {
-        synchronized (this.lock) {
-            this.activity.forEach(u -> this.data.compute(u, ((uuid, afkData) -> afkData == null ? new AFKData(uuid) : updateActivity(uuid, afkData))));
-            this.activity.clear();
+        AFKData afkData;
+        while ((afkData = this.returning.poll()) != null) {
+            afkData.returnQueued.set(false);
+            if (!afkData.removed && afkData.isKnownAfk) {
+                updateActivity(afkData.uuid, afkData);
+            }
+        }
+
+        while ((afkData = this.refresh.poll()) != null) {
+            if (!afkData.removed) {
+                afkData.updateFromPermissions();
+            }
         }
 
-        List<UUID> uuidList = Sponge.getServer().getOnlinePlayers().stream().map(Player::getUniqueId).collect(Collectors.toList());
+        this.deadlines.advance(System.currentTimeMillis(), this::onDeadline);
+    }
 
-        // Remove all offline players.
-        Set<Map.Entry<UUID, AFKData>> entries = this.data.entrySet();
-        entries.removeIf(refactor -> !uuidList.contains(refactor.getKey()));
-        entries.stream().filter(x -> !x.getValue().cacheValid).forEach(x -> x.getValue().updateFromPermissions());
+    private void onDeadline(Deadline deadline) {
+        AFKData afkData = deadline.data;
+        if (afkData.removed || deadline.generation != afkData.generation) {
+            // Superseded.
+            return;
+        }
 
         long now = System.currentTimeMillis();
+        if (!afkData.isKnownAfk) {
+            if (afkData.timeToAfk > 0 && now - afkData.lastActivityTime > afkData.timeToAfk) {
+                Sponge.getServer().getPlayer(afkData.uuid).ifPresent(this::setAfkInternal);
+            } else {
+                // They have been active since this was scheduled.
+                schedule(afkData);
+            }
+        } else if (!afkData.willKick && afkData.timeToKick > 0) {
+            if (now - afkData.lastActivityTime > afkData.timeToKick) {
+                kick(afkData);
+            } else {
+                schedule(afkData);
+            }
+        }
+    }
 
-        // Check AFK status.
-        entries.stream().filter(x -> x.getValue().isKnownAfk && !x.getValue().willKick && x.getValue().timeToKick > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime > e.getValue().timeToKick) {
-                // Kick them
-                e.getValue().willKick = true;
-                NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
-                TextRepresentable t;
-                if (message == null || message.isEmpty()) {
-                    t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
-                } else {
-                    t = message;
-                }
-
-                final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
+    private void kick(AFKData afkData) {
+        afkData.willKick = true;
+        NucleusTextTemplateImpl message = this.config.getMessages().getKickMessage();
+        TextRepresentable t;
+        if (message == null || message.isEmpty()) {
+            t = Nucleus.getNucleus().getMessageProvider().getTextMessageWithTextFormat("afk.kickreason");
+        } else {
+            t = message;
+        }
 
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(player -> {
-                    MessageChannel mc;
-                    if (this.config.isBroadcastOnKick()) {
-                        mc = MessageChannel.TO_ALL;
-                    } else {
-                        mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
-                    }
+        final NucleusTextTemplateImpl messageToServer = this.config.getMessages().getOnKick();
 
-                    AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
-                    if (Sponge.getEventManager().post(events)) {
-                        // Cancelled.
-                        return;
-                    }
+        Sponge.getServer().getPlayer(afkData.uuid).ifPresent(player -> {
+            MessageChannel mc;
+            if (this.config.isBroadcastOnKick()) {
+                mc = MessageChannel.TO_ALL;
+            } else {
+                mc = MessageChannel.permission(this.afkPermissionHandler.getPermissionWithSuffix("notify"));
+            }
 
-                    Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
-                    Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
-                    events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
-                });
+            AFKEvents.Kick events = new AFKEvents.Kick(player, messageToServer.getForCommandSource(player), mc);
+            if (Sponge.getEventManager().post(events)) {
+                // Cancelled.
+                return;
             }
+
+            Text toSend = t instanceof NucleusTextTemplateImpl ? ((NucleusTextTemplateImpl) t).getForCommandSource(player) : t.toText();
+            Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> player.kick(toSend));
+            events.getMessage().ifPresent(m -> events.getChannel().send(player, m, ChatTypes.SYSTEM));
         });
+    }
 
-        // Check AFK status.
-        entries.stream().filter(x -> !x.getValue().isKnownAfk && x.getValue().timeToAfk > 0).forEach(e -> {
-            if (now - e.getValue().lastActivityTime  > e.getValue().timeToAfk) {
-                Sponge.getServer().getPlayer(e.getKey()).ifPresent(this::setAfkInternal);
+    /*
+     * (non-Javadoc)
+     *
+     * Schedules the next check for the player, replacing any that is already scheduled.
+     */
+    private void schedule(AFKData afkData) {
+        long deadline;
+        synchronized (afkData) {
+            afkData.generation++;
+            if (!afkData.isKnownAfk && afkData.timeToAfk > 0) {
+                deadline = afkData.lastActivityTime + afkData.timeToAfk + 1;
+            } else if (afkData.isKnownAfk && !afkData.willKick && afkData.timeToKick > 0) {
+                deadline = afkData.lastActivityTime + afkData.timeToKick + 1;
+            } else {
+                return;
             }
-        });
+
+            this.deadlines.schedule(deadline, new Deadline(afkData, afkData.generation));
+        }
+    }
+
+    private AFKData getOrCreate(UUID uuid) {
+        AFKData afkData = this.data.get(uuid);
+        if (afkData == null) {
+            AFKData created = new AFKData(uuid, false);
+            afkData = this.data.putIfAbsent(uuid, created);
+            if (afkData == null) {
+                // The permissions and options are read the next time the AFK task runs, which is
+                // asynchronous and up to a second away, not here on the calling thread.
+                this.refresh.add(created);
+                afkData = created;
+            }
+        }
+
+        return afkData;
     }
 
     public void invalidateAfkCache() {
-        this.data.forEach((k, v) -> v.cacheValid = false);
+        this.data.forEach((k, v) -> {
+            v.cacheValid = false;
+            this.refresh.add(v);
+        });
     }
 
     public boolean isAFK(UUID uuid) {
@@ -171,26 +249,21 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
             return false;
         }
 
-        UUID uuid = player.getUniqueId();
-        AFKData a = this.data.compute(uuid, ((u, afkData) -> afkData == null ? new AFKData(u) : afkData));
+        AFKData a = getOrCreate(player.getUniqueId());
         if (force) {
-            a.isKnownAfk = false;
+            setKnownAfk(a, false);
         } else if (a.isKnownAfk) {
             return false;
         }
 
         if (a.canGoAfk()) {
-            // Don't accident undo setting AFK, remove any activity from the list.
-            synchronized (this.lock) {
-                this.activity.remove(uuid);
-            }
-
             Tuples.NullableTuple<Text, MessageChannel> ttmc = getAFKMessage(player, true);
             AFKEvents.To event = new AFKEvents.To(player, ttmc.getFirstUnwrapped(), ttmc.getSecondUnwrapped(), cause);
             Sponge.getEventManager().post(event);
             actionEvent(event, "command.afk.to.vanish");
 
-            a.isKnownAfk = true;
+            setKnownAfk(a, true);
+            schedule(a);
             return true;
         }
 
@@ -211,7 +284,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     private AFKData updateActivity(UUID uuid, AFKData data, Cause cause) {
         data.lastActivityTime = System.currentTimeMillis();
         if (data.isKnownAfk) {
-            data.isKnownAfk = false;
+            setKnownAfk(data, false);
             data.willKick = false;
             Sponge.getServer().getPlayer(uuid).ifPresent(x -> {
                 Tuples.NullableTuple<Text, MessageChannel> ttmc = getAFKMessage(x, false);
@@ -220,11 +293,17 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
                 actionEvent(event, "command.afk.from.vanish");
             });
 
+            schedule(data);
         }
 
         return data;
     }
 
+    private void setKnownAfk(AFKData data, boolean isAfk) {
+        data.isKnownAfk = isAfk;
+        this.statusService.setFlag(data.uuid, PlayerStatusService.AFK, isAfk);
+    }
+
     private void actionEvent(AFKEvents event, String key) {
         Optional<Text> message = event.getMessage();
         if (message.isPresent()) {
@@ -237,7 +316,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     private Tuples.NullableTuple<Text, MessageChannel> getAFKMessage(Player player, boolean isAfk) {
-        if (this.config.isAfkOnVanish() || !player.get(Keys.VANISH).orElse(false)) {
+        if (this.config.isAfkOnVanish() || !this.statusService.isVanished(player)) {
             NucleusTextTemplateImpl template = isAfk ? this.config.getMessages().getAfkMessage() : this.config.getMessages().getReturnAfkMessage();
             return Tuples.ofNullable(template.getForCommandSource(player), MessageChannel.TO_ALL);
         } else {
@@ -255,7 +334,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
 
     @Override public boolean setAFK(Cause cause, Player player, boolean isAfk) {
         Preconditions.checkArgument(cause.root() instanceof PluginContainer, "The root object MUST be a plugin container.");
-        AFKData data = this.data.computeIfAbsent(player.getUniqueId(), AFKData::new);
+        AFKData data = getOrCreate(player.getUniqueId());
         if (data.isKnownAfk == isAfk) {
             // Already AFK
             return false;
@@ -273,7 +352,7 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     }
 
     @Override public Instant lastActivity(Player player) {
-        return Instant.ofEpochMilli(this.data.computeIfAbsent(player.getUniqueId(), AFKData::new).lastActivityTime);
+        return Instant.ofEpochMilli(getOrCreate(player.getUniqueId()).lastActivityTime);
     }
 
     @Override public Optional<Duration> timeForInactivity(User user) {
@@ -305,14 +384,17 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
     @Override public NoExceptionAutoClosable disableTrackingForPlayer(final Player player, int ticks) {
         // Disable tracking now with a new UUID.
         Task n = Task.builder().execute(t -> {
-            synchronized (this.lock2) {
-                this.disabledTracking.remove(player.getUniqueId(), t.getUniqueId());
-            }
+            this.disabledTracking.computeIfPresent(player.getUniqueId(), (k, v) -> {
+                v.remove(t.getUniqueId());
+                return v.isEmpty() ? null : v;
+            });
         }).delayTicks(ticks).submit(Nucleus.getNucleus());
 
-        synchronized (this.lock2) {
-            this.disabledTracking.put(player.getUniqueId(), n.getUniqueId());
-        }
+        this.disabledTracking.compute(player.getUniqueId(), (k, v) -> {
+            Set<UUID> tasks = v == null ? Sets.newHashSet() : v;
+            tasks.add(n.getUniqueId());
+            return tasks;
+        });
 
         return () -> {
             n.cancel();
@@ -348,17 +430,16 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
 
         private final UUID uuid;
 
-        private long lastActivityTime = System.currentTimeMillis();
-        boolean isKnownAfk = false;
-        private boolean willKick = false;
-
-        private boolean cacheValid = false;
-        private long timeToAfk = -1;
-        private long timeToKick = -1;
+        private volatile long lastActivityTime = System.currentTimeMillis();
+        volatile boolean isKnownAfk = false;
+        private volatile boolean willKick = false;
+        private volatile boolean removed = false;
+        private final AtomicBoolean returnQueued = new AtomicBoolean(false);
+        private int generation = 0;
 
-        private AFKData(UUID uuid) {
-            this(uuid, true);
-        }
+        private volatile boolean cacheValid = false;
+        private volatile long timeToAfk = -1;
+        private volatile long timeToKick = -1;
 
         private AFKData(UUID uuid, boolean permCheck) {
             this.uuid = uuid;
@@ -382,6 +463,8 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
         void updateFromPermissions() {
             synchronized (this) {
                 if (!this.cacheValid) {
+                    long oldTimeToAfk = this.timeToAfk;
+                    long oldTimeToKick = this.timeToKick;
                     // Get the subject.
                     Sponge.getServer().getPlayer(this.uuid).ifPresent(x -> {
                         if (!ServiceChangeListener.isOpOnly() && AFKHandler.this.afkPermissionHandler.testSuffix(x, AFKHandler.this.exempttoggle)) {
@@ -400,8 +483,25 @@ public class AFKHandler implements NucleusAFKService, Reloadable {
 
                         this.cacheValid = true;
                     });
+
+                    // Data that is not being tracked (such as for offline users) is not scheduled.
+                    boolean changed = oldTimeToAfk != this.timeToAfk || oldTimeToKick != this.timeToKick || this.generation == 0;
+                    if (changed && AFKHandler.this.data.get(this.uuid) == this) {
+                        schedule(this);
+                    }
                 }
             }
         }
     }
+
+    private static final class Deadline {
+
+        private final AFKData data;
+        private final int generation;
+
+        private Deadline(AFKData data, int generation) {
+            this.data = data;
+            this.generation = generation;
+        }
+    }
 }
@@ -22,6 +22,10 @@ abstract class AbstractAFKListener implements ListenerBase {
         this.handler.stageUserActivityUpdate(player);
     }
 
+    final void disconnect(Player player) {
+        this.handler.onDisconnect(player.getUniqueId());
+    }
+
     final boolean getTriggerConfigEntry(Predicate<AFKConfig.Triggers> triggersPredicate) {
         return Nucleus.getNucleus().getConfigValue(AFKModule.ID, AFKConfigAdapter.class, x -> triggersPredicate.test(x.getTriggers())).orElse(false);
     }
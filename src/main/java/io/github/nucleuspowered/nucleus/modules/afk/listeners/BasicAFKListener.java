@@ -4,17 +4,46 @@
  */
 package io.github.nucleuspowered.nucleus.modules.afk.listeners;
 
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import io.github.nucleuspowered.nucleus.modules.afk.config.AFKConfig;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
 import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
 
-public class BasicAFKListener extends AbstractAFKListener {
+public class BasicAFKListener extends AbstractAFKListener implements Reloadable {
+
+    private boolean onMovement = false;
+    private boolean onRotation = false;
+
+    public BasicAFKListener() {
+        getServiceUnchecked(MovementService.class).register(MovementService.Phase.MONITOR, 0, this::onPlayerMove);
+    }
 
     @Listener(order = Order.FIRST)
     public void onPlayerJoin(final ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
         update(player);
     }
 
+    @Listener(order = Order.POST)
+    public void onPlayerQuit(final ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        disconnect(player);
+    }
+
+    private void onPlayerMove(MoveEntityEvent event, Player player, MovementService.Movement movement) {
+        // With both triggers on, any move counts, as it did when this had its own listener.
+        if ((this.onMovement && (this.onRotation || movement.isPositionChanged())) || (this.onRotation && movement.isRotationChanged())) {
+            update(player);
+        }
+    }
+
+    @Override
+    public void onReload() {
+        this.onMovement = getTriggerConfigEntry(AFKConfig.Triggers::isOnMovement);
+        this.onRotation = getTriggerConfigEntry(AFKConfig.Triggers::isOnRotation);
+    }
+
 }
@@ -7,10 +7,12 @@ package io.github.nucleuspowered.nucleus.modules.chat;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatFormatCache;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @RegisterService(TemplateUtil.class)
+@RegisterService(ChatFormatCache.class)
 @ModuleData(id = ChatModule.ID, name = "Chat")
 public class ChatModule extends ConfigurableModule<ChatConfigAdapter> {
 
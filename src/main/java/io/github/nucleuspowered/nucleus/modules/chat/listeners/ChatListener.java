@@ -4,40 +4,34 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chat.listeners;
 
-import com.google.common.collect.Maps;
-import io.github.nucleuspowered.nucleus.NameUtil;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.EventContexts;
 import io.github.nucleuspowered.nucleus.api.chat.NucleusNoFormatChannel;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMessageTokenService;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
-import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
-import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import io.github.nucleuspowered.nucleus.modules.chat.ChatModule;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfig;
 import io.github.nucleuspowered.nucleus.modules.chat.config.ChatConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
-import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
+import io.github.nucleuspowered.nucleus.modules.chat.util.ChatFormatCache;
+import io.github.nucleuspowered.nucleus.modules.chat.util.FormattingCodes;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.message.MessageChannelEvent;
 import org.spongepowered.api.event.message.MessageEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.service.permission.Subject;
 import org.spongepowered.api.text.Text;
 import org.spongepowered.api.text.serializer.TextSerializers;
-import org.spongepowered.api.util.Tuple;
 
-import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.function.BiFunction;
-import java.util.function.Function;
 import java.util.regex.Pattern;
 
 /**
@@ -48,55 +42,20 @@ import java.util.regex.Pattern;
 public class ChatListener implements Reloadable, ListenerBase.Conditional {
 
     private static final Pattern prefixPattern = Pattern.compile("^\\s*<[a-zA-Z0-9_]+>\\s*$");
-    private static final String prefix = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
-
-    // Order is important here!
-    private static final Map<String, String> permissionToDesc = Maps.newHashMap();
-    private static final Map<String, Tuple<String[], Function<String, String>>> replacements = createReplacements();
-
-    private static Map<String, Tuple<String[], Function<String, String>>> createReplacements() {
-        Map<String, Tuple<String[], Function<String, String>>> t = new HashMap<>();
-
-        MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
-
-        BiFunction<String, String, String> fss = (key, s) -> s.replaceAll("[&]+[" + key.toLowerCase() + key.toUpperCase() + "]", "");
-        NameUtil.getColours().forEach((key, value) -> {
-            t.put("&" + key, Tuple.of(
-                new String[]{ prefix + "colour." + value.getName(), prefix + "color." + value.getName() },
-                s -> fss.apply(key.toString(), s)));
-
-            permissionToDesc.put(prefix + "colour." + value.getName(), mp.getMessageWithFormat("permission.chat.colourspec", value.getName().toLowerCase(), key.toString()));
-            permissionToDesc.put(prefix + "color." + value.getName(), mp.getMessageWithFormat("permission.chat.colorspec", value.getName().toLowerCase(), key.toString()));
-        });
-
-        NameUtil.getStyleKeys().entrySet().stream().filter(x -> x.getKey() != 'k').forEach((k) -> {
-            t.put("&" + k.getKey(), Tuple.of(new String[] { prefix + "style." + k.getValue().toLowerCase() },
-                    s -> fss.apply(k.getKey().toString(), s)));
-            permissionToDesc.put(prefix + "style." + k.getValue().toLowerCase(),
-                mp.getMessageWithFormat("permission.chat.stylespec", k.getValue().toLowerCase(), k.getKey().toString()));
-        });
-
-        t.put("&k", Tuple.of(new String[] { prefix + "magic" }, s -> s.replaceAll("[&]+[kK]", "")));
-
-        return t;
-    }
+    private static final String prefix = FormattingCodes.PREFIX;
 
     public static String stripPermissionless(Subject source, String message) {
-        if (message.contains("&")) {
-            String m = message.toLowerCase();
-            for (Map.Entry<String, Tuple<String[], Function<String, String>>> r : replacements.entrySet()) {
-                if (m.contains(r.getKey()) && Arrays.stream(r.getValue().getFirst()).noneMatch(source::hasPermission)) {
-                    message = r.getValue().getSecond().apply(message);
-                }
-            }
+        if (message.indexOf('&') < 0) {
+            return message;
         }
 
-        return message;
+        // Only check the permissions for the codes that are actually used.
+        return FormattingCodes.strip(message, FormattingCodes.getMask(source, FormattingCodes.getUsed(message)));
     }
 
     // --- Listener Proper
     private ChatConfig chatConfig = null;
-    private final TemplateUtil templateUtil = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(TemplateUtil.class);
+    private final ChatFormatCache formatCache = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatFormatCache.class);
 
     @Override
     public Map<String, PermissionInformation> getPermissions() {
@@ -108,7 +67,7 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
         mp.put(prefix + "style.<style>", PermissionInformation.getWithTranslation("permission.chat.stylesingle", SuggestedLevel.ADMIN, false, true));
         mp.put(prefix + "magic", PermissionInformation.getWithTranslation("permission.chat.magic", SuggestedLevel.ADMIN));
         mp.put(prefix + "url", PermissionInformation.getWithTranslation("permission.chat.urls", SuggestedLevel.ADMIN));
-        permissionToDesc.forEach((k, v) -> mp.put(k, new PermissionInformation(v, SuggestedLevel.ADMIN, true, false)));
+        FormattingCodes.getPermissionDescriptions().forEach((k, v) -> mp.put(k, new PermissionInformation(v, SuggestedLevel.ADMIN, true, false)));
         return mp;
     }
 
@@ -142,43 +101,43 @@ public class ChatListener implements Reloadable, ListenerBase.Conditional {
 
         Text footer = this.chatConfig.isOverwriteEarlySuffixes() ? Text.EMPTY : event.getFormatter().getFooter().toText();
 
-        final ChatTemplateConfig ctc;
-        if (this.chatConfig.isUseGroupTemplates()) {
-            ctc = this.templateUtil.getTemplateNow(player);
-        } else {
-            ctc = this.chatConfig.getDefaultTemplate();
-        }
-
+        ChatFormatCache.PlayerFormat format = this.formatCache.get(player);
         event.setMessage(
-            Text.join(prefix, ctc.getPrefix().getForCommandSource(player)),
-                this.chatConfig.isModifyMainMessage() ? useMessage(player, rawMessage, ctc) : rawMessage,
-            Text.join(footer, ctc.getSuffix().getForCommandSource(player)));
+            Text.join(prefix, format.getPrefix(player)),
+                this.chatConfig.isModifyMainMessage() ? useMessage(rawMessage, format) : rawMessage,
+            Text.join(footer, format.getSuffix(player)));
+    }
+
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.formatCache.refresh(player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.formatCache.invalidate(player.getUniqueId());
     }
 
     @Override public boolean shouldEnable() {
         return Nucleus.getNucleus().getConfigValue(ChatModule.ID, ChatConfigAdapter.class, ChatConfig::isModifychat).orElse(false);
     }
 
-    private Text useMessage(Player player, Text rawMessage, ChatTemplateConfig chatTemplateConfig) {
+    private Text useMessage(Text rawMessage, ChatFormatCache.PlayerFormat format) {
         String m = TextSerializers.FORMATTING_CODE.serialize(rawMessage);
         if (this.chatConfig.isRemoveBlueUnderline()) {
-            m = m.replaceAll("&9&n([A-Za-z0-9-.]+)(&r)?", "$1");
+            m = FormattingCodes.removeBlueUnderline(m);
         }
 
-        m = stripPermissionless(player, m);
+        m = FormattingCodes.strip(m, format.getMask());
 
         Text result;
-        if (player.hasPermission(prefix + "url")) {
+        if (format.canUseUrls()) {
             result = TextParsingUtils.addUrls(m, !this.chatConfig.isRemoveBlueUnderline());
         } else {
             result = TextSerializers.FORMATTING_CODE.deserialize(m);
         }
 
-        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(chatTemplateConfig::getChatcolour);
-        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(chatTemplateConfig::getChatstyle);
-
-        NameUtil nu = Nucleus.getNucleus().getNameUtil();
-        return Text.of(nu.getColourFromString(chatcol), nu.getTextStyleFromString(chatstyle), result);
+        return Text.of(format.getChatColour(), format.getChatStyle(), result);
     }
 
     @Override public void onReload() {
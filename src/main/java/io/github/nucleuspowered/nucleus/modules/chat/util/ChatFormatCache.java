@@ -0,0 +1,165 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.PermissionRefreshService;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
+import io.github.nucleuspowered.nucleus.modules.chat.config.ChatTemplateConfig;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextStyle;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds everything about how a player's chat is formatted that only depends on their permissions
+ * and options, so that none of it has to be looked up when they chat.
+ *
+ * <p>Formats are worked out off the main thread when a player joins, and again on reload and by the
+ * {@link PermissionRefreshService} so that permission changes are picked up. Until the new formats are ready, the old ones
+ * are used. Working out the template can wait on the permission plugin, so that is never done on
+ * the chat thread. If a player chats before their format has been worked out, they are given a
+ * format that uses the default template, and theirs is worked out in the background.</p>
+ */
+public class ChatFormatCache implements Reloadable {
+
+    private final TemplateUtil templateUtil = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(TemplateUtil.class);
+    private final Map<UUID, PlayerFormat> formats = new ConcurrentHashMap<>();
+
+    public ChatFormatCache() {
+        Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PermissionRefreshService.class).register(this::update);
+    }
+
+    public PlayerFormat get(Player player) {
+        PlayerFormat format = this.formats.get(player.getUniqueId());
+        if (format == null) {
+            format = compute(player, this.templateUtil.getDefaultTemplate());
+            if (this.formats.putIfAbsent(player.getUniqueId(), format) == null) {
+                refresh(player);
+            }
+        }
+
+        return format;
+    }
+
+    public void refresh(Player player) {
+        Task.builder().async().execute(() -> update(player)).submit(Nucleus.getNucleus());
+    }
+
+    /**
+     * Works out the format of all online players again. Should be called off the main thread.
+     */
+    public void refreshAll() {
+        Sponge.getServer().getOnlinePlayers().forEach(this::update);
+    }
+
+    public void invalidate(UUID uuid) {
+        this.formats.remove(uuid);
+    }
+
+    private void update(Player player) {
+        if (player.isOnline()) {
+            this.formats.put(player.getUniqueId(), compute(player));
+        }
+    }
+
+    @Override
+    public void onReload() {
+        // Keep using the current formats until the new ones have been worked out. The templates are
+        // rebuilt off the main thread on reload, so give them a moment.
+        Task.builder().async().delay(1, TimeUnit.SECONDS).execute(this::refreshAll).submit(Nucleus.getNucleus());
+    }
+
+    private PlayerFormat compute(Player player) {
+        return compute(player, this.templateUtil.getTemplateNow(player));
+    }
+
+    private PlayerFormat compute(Player player, ChatTemplateConfig template) {
+        String chatcol = Util.getOptionFromSubject(player, "chatcolour", "chatcolor").orElseGet(template::getChatcolour);
+        String chatstyle = Util.getOptionFromSubject(player, "chatstyle").orElseGet(template::getChatstyle);
+        NameUtil nu = Nucleus.getNucleus().getNameUtil();
+        return new PlayerFormat(
+                FormattingCodes.getMask(player),
+                player.hasPermission(FormattingCodes.PREFIX + "url"),
+                template,
+                nu.getColourFromString(chatcol),
+                nu.getTextStyleFromString(chatstyle),
+                renderIfFixed(template.getPrefix(), player),
+                renderIfFixed(template.getSuffix(), player));
+    }
+
+    @Nullable
+    private static Text renderIfFixed(NucleusTextTemplateImpl template, Player player) {
+        // Tokens such as the display name can change at any time, so those are rendered for each message.
+        return template.containsTokens() ? null : template.getForCommandSource(player);
+    }
+
+    public static final class PlayerFormat {
+
+        private final int mask;
+        private final boolean canUseUrls;
+        private final ChatTemplateConfig template;
+        private final TextColor chatColour;
+        private final TextStyle chatStyle;
+        @Nullable private final Text prefix;
+        @Nullable private final Text suffix;
+
+        private PlayerFormat(int mask, boolean canUseUrls, ChatTemplateConfig template, TextColor chatColour, TextStyle chatStyle,
+                @Nullable Text prefix, @Nullable Text suffix) {
+            this.mask = mask;
+            this.canUseUrls = canUseUrls;
+            this.template = template;
+            this.chatColour = chatColour;
+            this.chatStyle = chatStyle;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        /**
+         * Gets the mask of the formatting codes the player may use, see {@link FormattingCodes}.
+         *
+         * @return The mask.
+         */
+        public int getMask() {
+            return this.mask;
+        }
+
+        public boolean canUseUrls() {
+            return this.canUseUrls;
+        }
+
+        public ChatTemplateConfig getTemplate() {
+            return this.template;
+        }
+
+        public TextColor getChatColour() {
+            return this.chatColour;
+        }
+
+        public TextStyle getChatStyle() {
+            return this.chatStyle;
+        }
+
+        public Text getPrefix(Player player) {
+            return this.prefix == null ? this.template.getPrefix().getForCommandSource(player) : this.prefix;
+        }
+
+        public Text getSuffix(Player player) {
+            return this.suffix == null ? this.template.getSuffix().getForCommandSource(player) : this.suffix;
+        }
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.chat.util;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.NameUtil;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.format.TextColor;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * The formatting codes that players may use in chat, and the permissions that allow them.
+ *
+ * <p>Each code has a bit in a mask, so that the codes a player may use can be worked out once and
+ * then applied to each message in a single pass.</p>
+ */
+public final class FormattingCodes {
+
+    public static final String PREFIX = PermissionRegistry.PERMISSIONS_PREFIX + "chat.";
+
+    /**
+     * A mask that allows all codes.
+     */
+    public static final int ALL = -1;
+
+    // The bit for each code character, or -1 if it is not a formatting code.
+    private static final int[] bitForCode = new int[128];
+    private static final String[][] permissionsForBit;
+    private static final Map<String, String> permissionToDesc;
+
+    static {
+        Arrays.fill(bitForCode, -1);
+        String[][] permissions = new String[32][];
+        Map<String, String> desc = Maps.newHashMap();
+        MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
+
+        int bit = 0;
+        for (Map.Entry<Character, TextColor> entry : NameUtil.getColours().entrySet()) {
+            String name = entry.getValue().getName();
+            register(entry.getKey(), bit, permissions, PREFIX + "colour." + name, PREFIX + "color." + name);
+            desc.put(PREFIX + "colour." + name, mp.getMessageWithFormat("permission.chat.colourspec", name.toLowerCase(), entry.getKey().toString()));
+            desc.put(PREFIX + "color." + name, mp.getMessageWithFormat("permission.chat.colorspec", name.toLowerCase(), entry.getKey().toString()));
+            bit++;
+        }
+
+        for (Map.Entry<Character, String> entry : NameUtil.getStyleKeys().entrySet()) {
+            if (entry.getKey() == 'k') {
+                continue;
+            }
+
+            String name = entry.getValue().toLowerCase();
+            register(entry.getKey(), bit, permissions, PREFIX + "style." + name);
+            desc.put(PREFIX + "style." + name, mp.getMessageWithFormat("permission.chat.stylespec", name, entry.getKey().toString()));
+            bit++;
+        }
+
+        register('k', bit, permissions, PREFIX + "magic");
+        permissionsForBit = permissions;
+        permissionToDesc = ImmutableMap.copyOf(desc);
+    }
+
+    private FormattingCodes() {}
+
+    private static void register(char code, int bit, String[][] permissions, String... permission) {
+        bitForCode[Character.toLowerCase(code)] = bit;
+        bitForCode[Character.toUpperCase(code)] = bit;
+        permissions[bit] = permission;
+    }
+
+    /**
+     * Gets the descriptions of the permissions for each individual code.
+     *
+     * @return The permissions and their descriptions.
+     */
+    public static Map<String, String> getPermissionDescriptions() {
+        return permissionToDesc;
+    }
+
+    /**
+     * Gets the mask of the codes that the subject may use.
+     *
+     * @param subject The {@link Subject}
+     * @return The mask.
+     */
+    public static int getMask(Subject subject) {
+        return getMask(subject, ALL);
+    }
+
+    /**
+     * Gets the mask of the codes that the subject may use, only checking the codes in the given mask.
+     *
+     * @param subject The {@link Subject}
+     * @param toCheck The codes to check.
+     * @return The mask.
+     */
+    public static int getMask(Subject subject, int toCheck) {
+        int mask = 0;
+        for (int bit = 0; bit < permissionsForBit.length; bit++) {
+            String[] permissions = permissionsForBit[bit];
+            if (permissions != null && (toCheck & (1 << bit)) != 0) {
+                for (String permission : permissions) {
+                    if (subject.hasPermission(permission)) {
+                        mask |= 1 << bit;
+                        break;
+                    }
+                }
+            }
+        }
+
+        return mask;
+    }
+
+    /**
+     * Gets the mask of the codes that are used in a message.
+     *
+     * @param message The message.
+     * @return The mask.
+     */
+    public static int getUsed(String message) {
+        int used = 0;
+        int length = message.length() - 1;
+        for (int i = message.indexOf('&'); i >= 0 && i < length; i = message.indexOf('&', i + 1)) {
+            int bit = getBit(message.charAt(i + 1));
+            if (bit >= 0) {
+                used |= 1 << bit;
+            }
+        }
+
+        return used;
+    }
+
+    /**
+     * Removes the codes that are not in the given mask. As with the codes themselves, a run of
+     * ampersands before a code is removed with it.
+     *
+     * @param message The message.
+     * @param allowed The mask of codes that may be used.
+     * @return The message without the codes that are not allowed.
+     */
+    public static String strip(String message, int allowed) {
+        int amp = message.indexOf('&');
+        if (amp < 0 || allowed == ALL) {
+            return message;
+        }
+
+        StringBuilder builder = null;
+        int copied = 0;
+        int length = message.length();
+        while (amp >= 0) {
+            int end = amp;
+            while (end < length && message.charAt(end) == '&') {
+                end++;
+            }
+
+            if (end < length) {
+                int bit = getBit(message.charAt(end));
+                if (bit >= 0 && (allowed & (1 << bit)) == 0) {
+                    if (builder == null) {
+                        builder = new StringBuilder(length);
+                    }
+
+                    builder.append(message, copied, amp);
+                    copied = end + 1;
+                }
+            }
+
+            amp = end < length ? message.indexOf('&', end) : -1;
+        }
+
+        if (builder == null) {
+            return message;
+        }
+
+        return builder.append(message, copied, length).toString();
+    }
+
+    /**
+     * Removes the blue underline that is added to links, that is, {@code &9&n} followed by a word
+     * and an optional {@code &r}.
+     *
+     * @param message The message.
+     * @return The message without the blue underlines.
+     */
+    public static String removeBlueUnderline(String message) {
+        int start = message.indexOf("&9&n");
+        if (start < 0) {
+            return message;
+        }
+
+        StringBuilder builder = new StringBuilder(message.length());
+        int copied = 0;
+        int length = message.length();
+        while (start >= 0) {
+            int wordStart = start + 4;
+            int wordEnd = wordStart;
+            while (wordEnd < length && isLinkCharacter(message.charAt(wordEnd))) {
+                wordEnd++;
+            }
+
+            if (wordEnd == wordStart) {
+                // Not followed by a word, leave it alone.
+                start = message.indexOf("&9&n", start + 1);
+                continue;
+            }
+
+            builder.append(message, copied, start).append(message, wordStart, wordEnd);
+            copied = message.startsWith("&r", wordEnd) ? wordEnd + 2 : wordEnd;
+            start = message.indexOf("&9&n", copied);
+        }
+
+        return builder.append(message, copied, length).toString();
+    }
+
+    private static boolean isLinkCharacter(char c) {
+        return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '-' || c == '.';
+    }
+
+    private static int getBit(char code) {
+        return code < bitForCode.length ? bitForCode[code] : -1;
+    }
+}
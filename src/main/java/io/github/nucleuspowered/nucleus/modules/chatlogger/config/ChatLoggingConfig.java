@@ -4,6 +4,7 @@
  */
 package io.github.nucleuspowered.nucleus.modules.chatlogger.config;
 
+import io.github.nucleuspowered.nucleus.logging.LogRotationConfig;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -22,6 +23,12 @@ public class ChatLoggingConfig {
     @Setting(value = "log-mail", comment = "config.chatlog.mail")
     private boolean logMail = false;
 
+    @Setting(value = "flush-interval-millis", comment = "config.chatlog.flushinterval")
+    private long flushInterval = 1000;
+
+    @Setting(value = "rotation", comment = "config.chatlog.rotation")
+    private LogRotationConfig rotation = new LogRotationConfig();
+
     public boolean isEnableLog() {
         return this.enableLog;
     }
@@ -37,4 +44,12 @@ public class ChatLoggingConfig {
     public boolean isLogMail() {
         return this.logMail;
     }
+
+    public long getFlushInterval() {
+        return Math.max(50, this.flushInterval);
+    }
+
+    public LogRotationConfig getRotation() {
+        return this.rotation;
+    }
 }
@@ -21,6 +21,8 @@ public class ChatLoggerHandler extends AbstractLoggingHandler implements Reloada
     public void onReload() throws Exception {
         ChatLoggingConfigAdapter clca = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ChatLoggingConfigAdapter.class);
         this.enabled = clca.getNodeOrDefault().isEnableLog();
+        this.setFlushInterval(clca.getNodeOrDefault().getFlushInterval());
+        this.setRotation(clca.getNodeOrDefault().getRotation());
         if (this.enabled && this.logger == null) {
             this.createLogger();
         } else if (!this.enabled && this.logger != null) {
@@ -41,7 +41,7 @@ public class ChatLoggingListener extends AbstractLoggerListener {
 
     private void log(String s, CommandSource source) {
         String message = Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("chatlog.chat", source.getName(), s);
-        this.handler.queueEntry(message);
+        this.handler.queueEntry(source.getName(), message);
     }
 
     @Override public boolean shouldEnable() {
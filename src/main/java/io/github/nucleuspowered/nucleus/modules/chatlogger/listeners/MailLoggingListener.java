@@ -19,7 +19,7 @@ public class MailLoggingListener extends AbstractLoggerListener {
     public void onCommand(NucleusMailEvent event, @First CommandSource source) {
         String message = Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("chatlog.mail",
             source.getName(), event.getRecipient().getName(), event.getMessage());
-        this.handler.queueEntry(message);
+        this.handler.queueEntry(source.getName(), message);
     }
 
     @Override public boolean shouldEnable() {
@@ -17,7 +17,7 @@ public class MessageLoggingListener extends AbstractLoggerListener {
     public void onCommand(NucleusMessageEvent event) {
         String message = Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("chatlog.message",
             event.getSender().getName(), event.getRecipient().getName(), event.getMessage());
-        this.handler.queueEntry(message);
+        this.handler.queueEntry(event.getSender().getName(), message);
     }
 
     @Override public boolean shouldEnable() {
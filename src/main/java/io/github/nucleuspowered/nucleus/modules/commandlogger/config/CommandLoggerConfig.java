@@ -5,6 +5,7 @@
 package io.github.nucleuspowered.nucleus.modules.commandlogger.config;
 
 import com.google.common.collect.ImmutableList;
+import io.github.nucleuspowered.nucleus.logging.LogRotationConfig;
 import ninja.leaping.configurate.objectmapping.Setting;
 import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
 
@@ -26,6 +27,12 @@ public class CommandLoggerConfig {
     @Setting(value = "log-to-file", comment = "config.commandlogger.file")
     private boolean logToFile = false;
 
+    @Setting(value = "flush-interval-millis", comment = "config.commandlogger.flushinterval")
+    private long flushInterval = 1000;
+
+    @Setting(value = "rotation", comment = "config.commandlogger.rotation")
+    private LogRotationConfig rotation = new LogRotationConfig();
+
     public LoggerTargetConfig getLoggerTarget() {
         return this.loggerTarget;
     }
@@ -41,4 +48,12 @@ public class CommandLoggerConfig {
     public boolean isLogToFile() {
         return this.logToFile;
     }
+
+    public long getFlushInterval() {
+        return Math.max(50, this.flushInterval);
+    }
+
+    public LogRotationConfig getRotation() {
+        return this.rotation;
+    }
 }
@@ -23,6 +23,8 @@ public class CommandLoggerHandler extends AbstractLoggingHandler implements Relo
     @Override
     public void onReload() throws Exception {
         this.config = this.clca.getNodeOrDefault();
+        this.setFlushInterval(this.config.getFlushInterval());
+        this.setRotation(this.config.getRotation());
         if (this.config.isLogToFile() && this.logger == null) {
             this.createLogger();
         } else if (!this.config.isLogToFile() && this.logger != null) {
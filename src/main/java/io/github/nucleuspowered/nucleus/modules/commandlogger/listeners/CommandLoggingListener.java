@@ -64,7 +64,7 @@ public class CommandLoggingListener implements Reloadable, ListenerBase {
         if (this.c.isWhitelist() == this.c.getCommandsToFilter().stream().map(String::toLowerCase).anyMatch(commands::contains)) {
             String message = Nucleus.getNucleus().getMessageProvider().getMessageWithFormat("commandlog.message", source.getName(), event.getCommand(), event.getArguments());
             Nucleus.getNucleus().getLogger().info(message);
-            this.handler.queueEntry(message);
+            this.handler.queueEntry(source.getName(), message);
         }
     }
 
@@ -14,6 +14,7 @@ import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.commandspy.handlers.CommandSpyHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -27,6 +28,8 @@ import java.util.Map;
 @NonnullByDefault
 public class CommandSpyCommand extends AbstractCommand<Player> {
 
+    private final CommandSpyHandler handler = getServiceUnchecked(CommandSpyHandler.class);
+
     @Override protected Map<String, PermissionInformation> permissionSuffixesToRegister() {
         Map<String, PermissionInformation> mspi = super.permissionSuffixesToRegister();
         mspi.put("exempt.target", PermissionInformation.getWithTranslation("permission.commandspy.exempt.target", SuggestedLevel.ADMIN));
@@ -44,6 +47,7 @@ public class CommandSpyCommand extends AbstractCommand<Player> {
         CommandSpyUserDataModule c = service.get(CommandSpyUserDataModule.class);
         boolean to = args.<Boolean>getOne(NucleusParameters.Keys.BOOL).orElseGet(() -> !c.isCommandSpy());
         c.setCommandSpy(to);
+        this.handler.update(src);
 
         MessageProvider mp = Nucleus.getNucleus().getMessageProvider();
         src.sendMessage(mp.getTextMessageWithFormat("command.commandspy.success", mp.getMessageWithFormat(to ? "standard.enabled" : "standard.disabled")));
@@ -0,0 +1,86 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.commandspy.handlers;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
+import io.github.nucleuspowered.nucleus.internal.services.PermissionRefreshService;
+import io.github.nucleuspowered.nucleus.modules.commandspy.commands.CommandSpyCommand;
+import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Keeps track of the online players who are spying on commands, so that commands do not have to
+ * check every online player.
+ *
+ * <p>A player is added when they join or turn command spy on, if they have permission, and removed
+ * when they leave or turn it off. Everyone is checked again on reload and by the
+ * {@link PermissionRefreshService}.</p>
+ */
+public class CommandSpyHandler implements Reloadable {
+
+    private final Set<UUID> spies = ConcurrentHashMap.newKeySet();
+    private final String basePermission =
+            Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(CommandSpyCommand.class).getBase();
+
+    public CommandSpyHandler() {
+        Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PermissionRefreshService.class).register(this::update);
+    }
+
+    /**
+     * Checks whether the player should be spying on commands.
+     *
+     * @param player The {@link Player}
+     */
+    public void update(Player player) {
+        if (player.isOnline()
+                && SubjectResolutionCache.getInstance().hasPermission(player, this.basePermission)
+                && Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(CommandSpyUserDataModule.class).isCommandSpy()) {
+            this.spies.add(player.getUniqueId());
+        } else {
+            this.spies.remove(player.getUniqueId());
+        }
+    }
+
+    public void remove(UUID uuid) {
+        this.spies.remove(uuid);
+    }
+
+    public void updateAll() {
+        Sponge.getServer().getOnlinePlayers().forEach(this::update);
+    }
+
+    /**
+     * Passes each online spy, other than the player who ran the command, to the consumer.
+     *
+     * @param source The {@link UUID} of the player who ran the command.
+     * @param consumer The {@link Consumer} to pass the spies to.
+     */
+    public void forEachSpy(UUID source, Consumer<Player> consumer) {
+        for (UUID uuid : this.spies) {
+            if (!uuid.equals(source)) {
+                Sponge.getServer().getPlayer(uuid).ifPresent(consumer);
+            }
+        }
+    }
+
+    public boolean hasSpies() {
+        return !this.spies.isEmpty();
+    }
+
+    @Override
+    public void onReload() {
+        if (Sponge.getGame().isServerAvailable()) {
+            updateAll();
+        }
+    }
+}
@@ -4,25 +4,29 @@
  */
 package io.github.nucleuspowered.nucleus.modules.commandspy.listeners;
 
+import com.google.common.collect.Lists;
 import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
 import io.github.nucleuspowered.nucleus.modules.commandspy.CommandSpyModule;
 import io.github.nucleuspowered.nucleus.modules.commandspy.commands.CommandSpyCommand;
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfig;
 import io.github.nucleuspowered.nucleus.modules.commandspy.config.CommandSpyConfigAdapter;
-import io.github.nucleuspowered.nucleus.modules.commandspy.datamodules.CommandSpyUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.commandspy.handlers.CommandSpyHandler;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandMapping;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.command.SendCommandEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 import org.spongepowered.api.text.Text;
 
 import java.util.List;
@@ -32,7 +36,7 @@ import java.util.stream.Collectors;
 
 public class CommandSpyListener implements Reloadable, ListenerBase.Conditional {
 
-    private final String basePermission;
+    private final CommandSpyHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CommandSpyHandler.class);
     private final String exemptTarget;
     private CommandSpyConfig config = new CommandSpyConfig();
     private boolean listIsEmpty = true;
@@ -40,14 +44,23 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
     public CommandSpyListener() {
         CommandPermissionHandler permissionHandler =
                 Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(CommandSpyCommand.class);
-        this.basePermission = permissionHandler.getBase();
         this.exemptTarget = permissionHandler.getPermissionWithSuffix("exempt.target");
     }
 
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.handler.update(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.handler.remove(player.getUniqueId());
+    }
+
     @Listener(order = Order.LAST)
     public void onCommand(SendCommandEvent event, @Root Player player) {
 
-        if (!player.hasPermission(this.exemptTarget)) {
+        if (this.handler.hasSpies() && !SubjectResolutionCache.getInstance().hasPermission(player, this.exemptTarget)) {
             boolean isInList = false;
             if (!this.listIsEmpty) {
                 String command = event.getCommand().toLowerCase();
@@ -62,12 +75,8 @@ public class CommandSpyListener implements Reloadable, ListenerBase.Conditional
 
             // If the command is in the list, report it.
             if (isInList == this.config.isUseWhitelist()) {
-                List<Player> playerList = Sponge.getServer().getOnlinePlayers()
-                    .stream()
-                    .filter(x -> !x.getUniqueId().equals(player.getUniqueId()))
-                    .filter(x -> x.hasPermission(this.basePermission))
-                    .filter(x -> Nucleus.getNucleus().getUserDataManager().getUnchecked(x).get(CommandSpyUserDataModule.class).isCommandSpy())
-                    .collect(Collectors.toList());
+                List<Player> playerList = Lists.newArrayList();
+                this.handler.forEachSpy(player.getUniqueId(), playerList::add);
 
                 if (!playerList.isEmpty()) {
                     Text prefix = this.config.getTemplate().getForCommandSource(player);
@@ -5,17 +5,20 @@
 package io.github.nucleuspowered.nucleus.modules.core;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusDataCacheService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusPlayerMetadataService;
 import io.github.nucleuspowered.nucleus.api.service.NucleusWorldUUIDChangeService;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.service.DataCacheService;
 import io.github.nucleuspowered.nucleus.modules.core.service.PlayerMetadataService;
 import io.github.nucleuspowered.nucleus.modules.core.service.UUIDChangeService;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @RegisterService(value = PlayerMetadataService.class, apiService = NucleusPlayerMetadataService.class)
 @RegisterService(value = UUIDChangeService.class, apiService = NucleusWorldUUIDChangeService.class)
+@RegisterService(value = DataCacheService.class, apiService = NucleusDataCacheService.class)
 @ModuleData(id = CoreModule.ID, name = "Core", isRequired = true)
 public class CoreModule extends ConfigurableModule<CoreConfigAdapter> {
 
@@ -6,6 +6,8 @@ package io.github.nucleuspowered.nucleus.modules.core.commands;
 
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.service.NucleusDataCacheService;
+import io.github.nucleuspowered.nucleus.dataservices.loaders.WriteBehindQueue;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
@@ -14,6 +16,8 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.UniqueUserCountTransientModule;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -94,6 +98,105 @@ public class DebugCommand extends AbstractCommand<CommandSource> {
         }
     }
 
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "savestats", subcommandOf = DebugCommand.class)
+    public static class SaveStatistics extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savestats.title"));
+            sendStatistics(src, provider, "user", Nucleus.getNucleus().getUserDataManager().getWriteStatistics());
+            sendStatistics(src, provider, "world", Nucleus.getNucleus().getWorldDataManager().getWriteStatistics());
+            return CommandResult.success();
+        }
+
+        private void sendStatistics(CommandSource src, MessageProvider provider, String type, WriteBehindQueue.Statistics statistics) {
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savestats.queue",
+                    type,
+                    String.valueOf(statistics.getQueueDepth()),
+                    String.valueOf(statistics.getWrites()),
+                    String.valueOf(statistics.getCoalesced()),
+                    String.valueOf(statistics.getFailures())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.savestats.latency",
+                    type,
+                    String.format("%.2f", statistics.getAverageLatencyNanos() / 1_000_000.0),
+                    String.format("%.2f", statistics.getMaxLatencyNanos() / 1_000_000.0),
+                    String.valueOf(statistics.getBytesWritten())));
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "cachestats", subcommandOf = DebugCommand.class)
+    public static class CacheStatistics extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) {
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cachestats.title"));
+            sendStatistics(src, provider, "user", Nucleus.getNucleus().getUserDataManager().getCacheStatistics());
+            sendStatistics(src, provider, "world", Nucleus.getNucleus().getWorldDataManager().getCacheStatistics());
+            return CommandResult.success();
+        }
+
+        private void sendStatistics(CommandSource src, MessageProvider provider, String type,
+                NucleusDataCacheService.CacheStatistics statistics) {
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cachestats.size",
+                    type,
+                    String.valueOf(statistics.getEstimatedSize()),
+                    String.valueOf(statistics.getPinnedCount()),
+                    String.valueOf(statistics.getEvictionCount())));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.cachestats.hits",
+                    type,
+                    String.valueOf(statistics.getHitCount()),
+                    String.valueOf(statistics.getMissCount()),
+                    String.format("%.1f", statistics.getHitRate() * 100),
+                    String.format("%.2f", statistics.getAverageLoadPenalty() / 1_000_000.0)));
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "permcache", subcommandOf = DebugCommand.class)
+    public static class PermissionCacheStatistics extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) {
+            SubjectResolutionCache.Statistics statistics = SubjectResolutionCache.getInstance().getStatistics();
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permcache.title"));
+            if (!statistics.isEnabled()) {
+                src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permcache.disabled"));
+            }
+
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permcache.hits",
+                    String.valueOf(statistics.getHits()),
+                    String.valueOf(statistics.getMisses()),
+                    String.format("%.1f", statistics.getHitRate() * 100)));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.permcache.size",
+                    String.valueOf(statistics.getSize()),
+                    String.valueOf(statistics.getInvalidations())));
+            return CommandResult.success();
+        }
+    }
+
+    @Permissions(prefix = "nucleus.debug")
+    @NoModifiers
+    @RegisterCommand(value = "warmupstats", subcommandOf = DebugCommand.class)
+    public static class WarmupStatistics extends AbstractCommand<CommandSource> {
+
+        @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) {
+            WarmupManager.Statistics statistics = Nucleus.getNucleus().getWarmupManager().getStatistics();
+            MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.warmupstats.title"));
+            src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.debug.warmupstats.counts",
+                    String.valueOf(statistics.getActive()),
+                    String.valueOf(statistics.getStarted()),
+                    String.valueOf(statistics.getCompleted()),
+                    String.valueOf(statistics.getCancelled())));
+            return CommandResult.success();
+        }
+    }
+
     @Permissions(prefix = "nucleus.debug")
     @NoModifiers
     @RegisterCommand(value = "refreshuniquevisitors", subcommandOf = DebugCommand.class)
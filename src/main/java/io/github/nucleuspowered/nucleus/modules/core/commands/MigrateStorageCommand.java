@@ -0,0 +1,56 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.commands;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataProviders;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.DataStorageType;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.EmbeddedDataStore;
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
+import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+/**
+ * Copies the JSON user and world data files into the embedded data store, so that
+ * the storage type can be switched without losing data.
+ */
+@Permissions(prefix = "nucleus", suggestedLevel = SuggestedLevel.OWNER)
+@RunAsync
+@NoModifiers
+@RegisterCommand(value = "migratestorage", subcommandOf = NucleusCommand.class)
+@NonnullByDefault
+public class MigrateStorageCommand extends AbstractCommand<CommandSource> {
+
+    @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+        DataProviders dataProviders = Nucleus.getNucleus().getDataProviders();
+        if (dataProviders.getStorageType() == DataStorageType.EMBEDDED) {
+            throw ReturnMessageException.fromKey("command.nucleus.migratestorage.alreadyembedded");
+        }
+
+        MessageProvider provider = Nucleus.getNucleus().getMessageProvider();
+        src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.migratestorage.start", EmbeddedDataStore.FILE_NAME));
+
+        // Make sure the files on disk are current before we copy them.
+        Nucleus.getNucleus().getUserDataManager().saveAll();
+        Nucleus.getNucleus().getWorldDataManager().saveAll();
+
+        int count = dataProviders.migrateJsonToEmbedded(
+                x -> src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.migratestorage.progress", String.valueOf(x))));
+        dataProviders.close();
+
+        src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.migratestorage.end", String.valueOf(count)));
+        src.sendMessage(provider.getTextMessageWithFormat("command.nucleus.migratestorage.end2"));
+        return CommandResult.success();
+    }
+}
@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.ReturnMessageException;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
 import io.github.nucleuspowered.nucleus.internal.permissions.ServiceChangeListener;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import org.slf4j.Logger;
 import org.spongepowered.api.Sponge;
@@ -84,6 +85,7 @@ public class SetupPermissionsCommand extends AbstractCommand<CommandSource> {
 
             if (args.hasAny(this.acceptGroupKey)) {
                 setupGroups(src);
+                SubjectResolutionCache.getInstance().invalidateAll();
             } else {
                 src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.nucleus.permission.groups.info"));
                 src.sendMessage(
@@ -104,6 +106,7 @@ public class SetupPermissionsCommand extends AbstractCommand<CommandSource> {
         boolean inherit = args.hasAny("i");
 
         setupPerms(src, group, sl, reset, inherit);
+        SubjectResolutionCache.getInstance().invalidateAll();
 
         return CommandResult.success();
     }
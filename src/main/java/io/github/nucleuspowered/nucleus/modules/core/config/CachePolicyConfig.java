@@ -0,0 +1,56 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class CachePolicyConfig {
+
+    @Setting(value = "maximum-size", comment = "config.core.datacache.maxsize")
+    private long maximumSize = 500;
+
+    @Setting(value = "weigh-by-data", comment = "config.core.datacache.weigh")
+    private boolean weighByData = false;
+
+    @Setting(value = "maximum-weight", comment = "config.core.datacache.maxweight")
+    private long maximumWeight = 5000;
+
+    @Setting(value = "expire-after-access-minutes", comment = "config.core.datacache.expire")
+    private long expireAfterAccessMinutes = 0;
+
+    @Setting(value = "record-statistics", comment = "config.core.datacache.stats")
+    private boolean recordStatistics = true;
+
+    public CachePolicyConfig() {
+        // for Configurate
+    }
+
+    CachePolicyConfig(long maximumSize, long maximumWeight) {
+        this.maximumSize = maximumSize;
+        this.maximumWeight = maximumWeight;
+    }
+
+    public long getMaximumSize() {
+        return Math.max(1, this.maximumSize);
+    }
+
+    public boolean isWeighByData() {
+        return this.weighByData;
+    }
+
+    public long getMaximumWeight() {
+        return Math.max(1, this.maximumWeight);
+    }
+
+    public long getExpireAfterAccessMinutes() {
+        return Math.max(0, this.expireAfterAccessMinutes);
+    }
+
+    public boolean isRecordStatistics() {
+        return this.recordStatistics;
+    }
+}
@@ -76,6 +76,18 @@ public class CoreConfig {
     @Setting(value = "data-file-location", comment = "config.core.datafilelocation")
     private String dataFileLocation = "default";
 
+    @Setting(value = "data-storage-type", comment = "config.core.datastoragetype")
+    private String dataStorageType = "json";
+
+    @Setting(value = "data-cache", comment = "config.core.datacache")
+    private DataCacheConfig dataCacheConfig = new DataCacheConfig();
+
+    @Setting(value = "permission-cache", comment = "config.core.permissioncache")
+    private PermissionCacheConfig permissionCacheConfig = new PermissionCacheConfig();
+
+    @Setting(value = "persist-cooldowns", comment = "config.core.persistcooldowns")
+    private boolean persistCooldowns = false;
+
     @Setting(value = "offline-user-tab-limit", comment = "config.core.offlineusertablimit")
     private int nicknameArgOfflineLimit = 20;
 
@@ -155,6 +167,18 @@ public class CoreConfig {
         return this.serverLocale;
     }
 
+    public DataCacheConfig getDataCacheConfig() {
+        return this.dataCacheConfig;
+    }
+
+    public PermissionCacheConfig getPermissionCacheConfig() {
+        return this.permissionCacheConfig;
+    }
+
+    public boolean isPersistCooldowns() {
+        return this.persistCooldowns;
+    }
+
     public int getNicknameArgOfflineLimit() {
         return this.nicknameArgOfflineLimit;
     }
@@ -0,0 +1,26 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.config;
+
+import ninja.leaping.configurate.objectmapping.Setting;
+import ninja.leaping.configurate.objectmapping.serialize.ConfigSerializable;
+
+@ConfigSerializable
+public class DataCacheConfig {
+
+    @Setting(value = "user", comment = "config.core.datacache.user")
+    private CachePolicyConfig user = new CachePolicyConfig(500, 5000);
+
+    @Setting(value = "world", comment = "config.core.datacache.world")
+    private CachePolicyConfig world = new CachePolicyConfig(50, 500);
+
+    public CachePolicyConfig getUser() {
+        return this.user;
+    }
+
+    public CachePolicyConfig getWorld() {
+        return this.world;
+    }
+}
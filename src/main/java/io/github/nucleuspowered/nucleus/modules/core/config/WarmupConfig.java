@@ -16,6 +16,12 @@ public class WarmupConfig {
     @Setting(value = "cancel-on-command", comment = "config.core.warmup.command")
     private boolean onCommand = true;
 
+    @Setting(value = "cancel-on-world-change", comment = "config.core.warmup.worldchange")
+    private boolean onWorldChange = true;
+
+    @Setting(value = "cancel-on-damage", comment = "config.core.warmup.damage")
+    private boolean onDamage = false;
+
     public boolean isOnMove() {
         return this.onMove;
     }
@@ -23,4 +29,12 @@ public class WarmupConfig {
     public boolean isOnCommand() {
         return this.onCommand;
     }
+
+    public boolean isOnWorldChange() {
+        return this.onWorldChange;
+    }
+
+    public boolean isOnDamage() {
+        return this.onDamage;
+    }
 }
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.datamodules;
+
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
+import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
+import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Holds the cooldowns of a player while they are offline, if cooldowns are persisted.
+ */
+public class CooldownUserDataModule extends DataModule<ModularUserService> {
+
+    @DataKey("cooldowns")
+    private Map<String, Long> cooldowns = Maps.newHashMap();
+
+    public Map<String, Instant> getCooldowns() {
+        final Map<String, Instant> r = Maps.newHashMap();
+        this.cooldowns.forEach((k, v) -> r.put(k, Instant.ofEpochMilli(v)));
+        return r;
+    }
+
+    public void setCooldowns(Map<String, Instant> cooldowns) {
+        this.cooldowns = Maps.newHashMap();
+        cooldowns.forEach((k, v) -> this.cooldowns.put(k, v.toEpochMilli()));
+        markDirty();
+    }
+
+    public boolean hasCooldowns() {
+        return !this.cooldowns.isEmpty();
+    }
+}
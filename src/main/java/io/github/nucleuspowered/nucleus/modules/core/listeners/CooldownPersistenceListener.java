@@ -0,0 +1,58 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import com.google.common.collect.ImmutableMap;
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
+import io.github.nucleuspowered.nucleus.modules.core.CoreModule;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.datamodules.CooldownUserDataModule;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * Moves cooldowns into the player's data when they log out, and back when they log in.
+ */
+public class CooldownPersistenceListener implements ListenerBase.Conditional {
+
+    private final CooldownService cooldownService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CooldownService.class);
+
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        Nucleus.getNucleus().getUserDataManager().get(player).ifPresent(x -> {
+            CooldownUserDataModule module = x.get(CooldownUserDataModule.class);
+            if (module.hasCooldowns()) {
+                // Expired cooldowns are dropped by the service.
+                module.getCooldowns().forEach((k, v) -> this.cooldownService.setCooldown(player.getUniqueId(), k, v));
+                module.setCooldowns(ImmutableMap.of());
+                x.set(module);
+            }
+        });
+    }
+
+    @Listener
+    public void onLogout(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        Map<String, Instant> cooldowns = this.cooldownService.getCooldowns(player.getUniqueId());
+        if (!cooldowns.isEmpty()) {
+            Nucleus.getNucleus().getUserDataManager().get(player).ifPresent(x -> {
+                CooldownUserDataModule module = x.get(CooldownUserDataModule.class);
+                module.setCooldowns(cooldowns);
+                x.set(module);
+            });
+        }
+    }
+
+    @Override public boolean shouldEnable() {
+        return Nucleus.getNucleus().getConfigValue(CoreModule.ID, CoreConfigAdapter.class, CoreConfig::isPersistCooldowns).orElse(false);
+    }
+}
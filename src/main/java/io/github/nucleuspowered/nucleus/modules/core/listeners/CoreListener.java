@@ -135,6 +135,7 @@ public class CoreListener implements Reloadable, ListenerBase {
             c.setFirstJoin(player.getJoinData().firstPlayed().get());
             if (Nucleus.getNucleus().isServer()) {
                 c.setLastIp(player.getConnection().getAddress().getAddress());
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(qsu);
             }
 
             // We'll do this bit shortly - after the login events have resolved.
@@ -207,7 +208,7 @@ public class CoreListener implements Reloadable, ListenerBase {
             CoreUserDataModule coreUserDataModule = x.get(CoreUserDataModule.class);
             coreUserDataModule.setLastIp(address);
             coreUserDataModule.setLastLogout(location);
-            x.save();
+            Nucleus.getNucleus().getUserDataManager().queueSave(x.getUniqueId());
             Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(x);
         } catch (Exception e) {
             Nucleus.getNucleus().printStackTraceIfDebugMode(e);
@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/**
+ * The only listener for player movement, which passes each move to the {@link MovementService}.
+ */
+public class MovementListener implements ListenerBase {
+
+    private final MovementService movementService = getServiceUnchecked(MovementService.class);
+
+    @Listener
+    public void onPlayerMovementCheck(MoveEntityEvent event, @Root Player player) {
+        this.movementService.dispatch(MovementService.Phase.CHECK, event, player);
+    }
+
+    @Listener(order = Order.LAST)
+    public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
+        this.movementService.dispatch(MovementService.Phase.MONITOR, event, player);
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.movementService.untrack(player.getUniqueId());
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+public class PermissionCacheListener implements ListenerBase {
+
+    @Listener(order = Order.PRE)
+    public void onLogin(ClientConnectionEvent.Login event) {
+        SubjectResolutionCache.getInstance().invalidate(event.getProfile().getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        SubjectResolutionCache.getInstance().invalidate(player.getUniqueId());
+    }
+}
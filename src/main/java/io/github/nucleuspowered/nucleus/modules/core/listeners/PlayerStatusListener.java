@@ -0,0 +1,32 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.listeners;
+
+import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.Listener;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+
+/**
+ * Adds players to the {@link PlayerStatusService} before any module sets their status on join, and
+ * removes them after everything else has handled them leaving.
+ */
+public class PlayerStatusListener implements ListenerBase {
+
+    private final PlayerStatusService statusService = getServiceUnchecked(PlayerStatusService.class);
+
+    @Listener(order = Order.PRE)
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.statusService.track(player.getUniqueId());
+    }
+
+    @Listener(order = Order.POST)
+    public void onDisconnect(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.statusService.untrack(player.getUniqueId());
+    }
+}
@@ -4,28 +4,40 @@
  */
 package io.github.nucleuspowered.nucleus.modules.core.listeners;
 
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
-import io.github.nucleuspowered.nucleus.api.service.NucleusWarmupManagerService;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
 import io.github.nucleuspowered.nucleus.modules.core.config.WarmupConfig;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.Entity;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
 import org.spongepowered.api.event.command.SendCommandEvent;
+import org.spongepowered.api.event.entity.DamageEntityEvent;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.network.ClientConnectionEvent;
 
+import java.util.Set;
+import java.util.UUID;
+
 public class WarmupListener implements Reloadable, ListenerBase {
 
-    private NucleusWarmupManagerService service = Nucleus.getNucleus().getWarmupManager();
+    private WarmupManager service = Nucleus.getNucleus().getWarmupManager();
     private WarmupConfig warmupConfig = Nucleus.getNucleus().getWarmupConfig();
 
-    @Listener(order = Order.LAST)
-    public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
+    public WarmupListener() {
+        getServiceUnchecked(MovementService.class).register(MovementService.Phase.MONITOR, MovementService.WARMUP, this::onPlayerMovement);
+    }
+
+    private void onPlayerMovement(MoveEntityEvent event, Player player, MovementService.Movement movement) {
         // Rotating is OK!
-        if (this.warmupConfig.isOnMove() && !event.getFromTransform().getLocation().equals(event.getToTransform().getLocation())) {
+        if (this.warmupConfig.isOnMove() && movement.isLocationChanged()) {
             cancelWarmup(player);
         }
     }
@@ -37,18 +49,39 @@ public class WarmupListener implements Reloadable, ListenerBase {
         }
     }
 
+    @Listener(order = Order.LAST)
+    public void onPlayerWorldChange(MoveEntityEvent.Teleport event, @Getter("getTargetEntity") Player player) {
+        if (this.warmupConfig.isOnWorldChange() && !event.getFromTransform().getExtent().equals(event.getToTransform().getExtent())) {
+            // Anyone riding along changes world too.
+            Set<UUID> players = Sets.newHashSet(player.getUniqueId());
+            player.getPassengers().stream().filter(x -> x instanceof Player).map(Entity::getUniqueId).forEach(players::add);
+            cancelWarmups(players);
+        }
+    }
+
+    @Listener(order = Order.LAST)
+    public void onPlayerDamage(DamageEntityEvent event, @Getter("getTargetEntity") Player player) {
+        if (this.warmupConfig.isOnDamage()) {
+            cancelWarmup(player);
+        }
+    }
+
     @Listener(order = Order.LAST)
     public void onPlayerQuit(ClientConnectionEvent.Disconnect event) {
         cancelWarmup(event.getTargetEntity());
     }
 
     private void cancelWarmup(Player player) {
-        this.service.cleanup();
         if (this.service.removeWarmup(player.getUniqueId()) && player.isOnline()) {
             player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.cancel"));
         }
     }
 
+    private void cancelWarmups(Set<UUID> players) {
+        this.service.removeWarmups(players::contains).forEach(x -> Sponge.getServer().getPlayer(x).ifPresent(player ->
+                player.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("warmup.cancel"))));
+    }
+
     @Override public void onReload() {
         this.warmupConfig = Nucleus.getNucleus().getWarmupConfig();
     }
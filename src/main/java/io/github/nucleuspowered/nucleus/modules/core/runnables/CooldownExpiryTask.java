@@ -0,0 +1,38 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Removes expired cooldowns.
+ */
+@NonnullByDefault
+public class CooldownExpiryTask implements TaskBase {
+
+    private final CooldownService service = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(CooldownService.class);
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(10, ChronoUnit.SECONDS);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.service.expire();
+    }
+}
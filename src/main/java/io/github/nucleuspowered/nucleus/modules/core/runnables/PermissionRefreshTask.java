@@ -0,0 +1,40 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.runnables;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.internal.services.PermissionRefreshService;
+import org.spongepowered.api.scheduler.Task;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Picks up permission and option changes for everything registered with the
+ * {@link PermissionRefreshService}.
+ */
+@NonnullByDefault
+public class PermissionRefreshTask implements TaskBase {
+
+    private final PermissionRefreshService service =
+            Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PermissionRefreshService.class);
+
+    @Override
+    public boolean isAsync() {
+        return true;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(1, ChronoUnit.MINUTES);
+    }
+
+    @Override
+    public void accept(Task task) {
+        this.service.refreshAll();
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.core.service;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.api.service.NucleusDataCacheService;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
+import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
+import io.github.nucleuspowered.nucleus.modules.core.config.CoreConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.core.config.DataCacheConfig;
+import io.github.nucleuspowered.nucleus.modules.core.config.PermissionCacheConfig;
+
+public class DataCacheService implements NucleusDataCacheService, Reloadable, InternalServiceManagerTrait {
+
+    @Override public CacheStatistics getUserCacheStatistics() {
+        return Nucleus.getNucleus().getUserDataManager().getCacheStatistics();
+    }
+
+    @Override public CacheStatistics getWorldCacheStatistics() {
+        return Nucleus.getNucleus().getWorldDataManager().getCacheStatistics();
+    }
+
+    @Override public void onReload() throws Exception {
+        DataCacheConfig config = getServiceUnchecked(CoreConfigAdapter.class).getNodeOrDefault().getDataCacheConfig();
+        Nucleus.getNucleus().getUserDataManager().configure(config.getUser());
+        Nucleus.getNucleus().getWorldDataManager().configure(config.getWorld());
+
+        PermissionCacheConfig permissionCacheConfig = getServiceUnchecked(CoreConfigAdapter.class).getNodeOrDefault().getPermissionCacheConfig();
+        SubjectResolutionCache.getInstance().configure(permissionCacheConfig.isEnabled(), permissionCacheConfig.getTimeToLiveSeconds());
+    }
+}
@@ -9,6 +9,7 @@ import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions
 import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
 import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
 import io.github.nucleuspowered.nucleus.internal.command.NucleusParameters;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
@@ -37,6 +38,10 @@ public class FreezePlayerCommand extends AbstractCommand<CommandSource> {
         User pl = this.getUserFromArgs(User.class, src, NucleusParameters.Keys.PLAYER, args);
         FreezePlayerUserDataModule nu = Nucleus.getNucleus().getUserDataManager().getUnchecked(pl).get(FreezePlayerUserDataModule.class);
         nu.setFrozen(args.<Boolean>getOne(NucleusParameters.Keys.BOOL).orElseGet(() -> !nu.isFrozen()));
+        if (pl.isOnline()) {
+            getServiceUnchecked(MovementService.class).setInterest(pl.getUniqueId(), MovementService.FROZEN, nu.isFrozen());
+        }
+
         src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat(
             nu.isFrozen() ? "command.freezeplayer.success.frozen" : "command.freezeplayer.success.unfrozen",
                 Nucleus.getNucleus().getNameUtil().getSerialisedName(pl)));
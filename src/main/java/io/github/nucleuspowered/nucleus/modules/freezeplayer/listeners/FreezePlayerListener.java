@@ -7,13 +7,16 @@ package io.github.nucleuspowered.nucleus.modules.freezeplayer.listeners;
 import com.google.common.collect.Maps;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
 import io.github.nucleuspowered.nucleus.modules.freezeplayer.datamodules.FreezePlayerUserDataModule;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.action.InteractEvent;
 import org.spongepowered.api.event.block.InteractBlockEvent;
 import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -23,10 +26,23 @@ import java.util.UUID;
 public class FreezePlayerListener implements ListenerBase {
 
     private final Map<UUID, Instant> lastFreezeNotification = Maps.newHashMap();
+    private final MovementService movementService = getServiceUnchecked(MovementService.class);
+
+    public FreezePlayerListener() {
+        this.movementService.register(MovementService.Phase.CHECK, MovementService.FROZEN, this::onPlayerMovement);
+    }
 
     @Listener
-    public void onPlayerMovement(MoveEntityEvent event, @Root Player player) {
-        event.setCancelled(checkForFrozen(player, "freeze.cancelmove"));
+    public void onPlayerJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        if (Nucleus.getNucleus().getUserDataManager().get(player).map(x -> x.get(FreezePlayerUserDataModule.class).isFrozen()).orElse(false)) {
+            this.movementService.setInterest(player.getUniqueId(), MovementService.FROZEN, true);
+        }
+    }
+
+    private void onPlayerMovement(MoveEntityEvent event, Player player, MovementService.Movement movement) {
+        if (checkForFrozen(player, "freeze.cancelmove")) {
+            event.setCancelled(true);
+        }
     }
 
     @Listener
@@ -4,9 +4,12 @@
  */
 package io.github.nucleuspowered.nucleus.modules.ignore;
 
+import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.StandardModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
+@RegisterService(IgnoreHandler.class)
 @ModuleData(id = "ignore", name = "Ignore")
 public class IgnoreModule extends StandardModule {
 }
@@ -16,6 +16,7 @@ import io.github.nucleuspowered.nucleus.internal.docgen.annotations.EssentialsEq
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.args.CommandContext;
 import org.spongepowered.api.command.args.CommandElement;
@@ -33,6 +34,8 @@ import java.util.Map;
 @NonnullByDefault
 public class IgnoreCommand extends AbstractCommand<Player> {
 
+    private final IgnoreHandler handler = getServiceUnchecked(IgnoreHandler.class);
+
     @Override
     protected Map<String, PermissionInformation> permissionSuffixesToRegister() {
         Map<String, PermissionInformation> m = Maps.newHashMap();
@@ -63,12 +66,13 @@ public class IgnoreCommand extends AbstractCommand<Player> {
         if (this.permissions.testSuffix(target, "exempt.chat")) {
             // Make sure they are removed.
             inu.removeFromIgnoreList(target.getUniqueId());
+            this.handler.update(src);
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.ignore.exempt", target.getName()));
             return CommandResult.empty();
         }
 
         // Ok, we can ignore or unignore them.
-        boolean ignore = args.<Boolean>getOne(NucleusParameters.Keys.BOOL).orElse(!inu.getIgnoreList().contains(target.getUniqueId()));
+        boolean ignore = args.<Boolean>getOne(NucleusParameters.Keys.BOOL).orElse(!inu.isIgnoring(target.getUniqueId()));
 
         if (ignore) {
             inu.addToIgnoreList(target.getUniqueId());
@@ -78,6 +82,8 @@ public class IgnoreCommand extends AbstractCommand<Player> {
             src.sendMessage(Nucleus.getNucleus().getMessageProvider().getTextMessageWithFormat("command.ignore.remove", target.getName()));
         }
 
+        this.handler.update(src);
+
         return CommandResult.success();
     }
 }
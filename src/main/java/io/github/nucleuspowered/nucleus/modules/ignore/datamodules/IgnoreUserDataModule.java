@@ -4,35 +4,81 @@
  */
 package io.github.nucleuspowered.nucleus.modules.ignore.datamodules;
 
-import com.google.common.collect.ImmutableList;
-import com.google.common.collect.Lists;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.reflect.TypeToken;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataKey;
 import io.github.nucleuspowered.nucleus.dataservices.modular.DataModule;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import ninja.leaping.configurate.ConfigurationNode;
+import ninja.leaping.configurate.objectmapping.ObjectMappingException;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public class IgnoreUserDataModule extends DataModule<ModularUserService> {
 
-    @DataKey("ignoreList")
-    private List<UUID> ignoreList = Lists.newArrayList();
+    private static final String IGNORE_LIST = "ignoreList";
+    private static final TypeToken<List<UUID>> LIST_TYPE = new TypeToken<List<UUID>>() {};
+
+    // Stored as a list. The set is replaced rather than changed, so it can be read and saved without locking.
+    @DataKey(IGNORE_LIST)
+    private volatile ImmutableSet<UUID> ignoreList = ImmutableSet.of();
 
     public List<UUID> getIgnoreList() {
-        return ImmutableList.copyOf(this.ignoreList);
+        return this.ignoreList.asList();
+    }
+
+    public boolean isIgnoring(UUID uuid) {
+        return this.ignoreList.contains(uuid);
+    }
+
+    public synchronized boolean addToIgnoreList(UUID uuid) {
+        if (this.ignoreList.contains(uuid)) {
+            return false;
+        }
+
+        this.ignoreList = ImmutableSet.<UUID>builder().addAll(this.ignoreList).add(uuid).build();
+        markDirty();
+        return true;
     }
 
-    public boolean addToIgnoreList(UUID uuid) {
+    public synchronized boolean removeFromIgnoreList(UUID uuid) {
         if (!this.ignoreList.contains(uuid)) {
-            this.ignoreList.add(uuid);
-            return true;
+            return false;
         }
 
-        return false;
+        this.ignoreList = this.ignoreList.stream().filter(x -> !x.equals(uuid)).collect(ImmutableSet.toImmutableSet());
+        markDirty();
+        return true;
     }
 
-    public boolean removeFromIgnoreList(UUID uuid) {
-        return this.ignoreList.remove(uuid);
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> Optional<T> getValue(TypeToken<T> token, String path, ConfigurationNode node) {
+        if (IGNORE_LIST.equals(path)) {
+            Optional<List<UUID>> list = super.getValue(LIST_TYPE, path, node);
+            Optional<ImmutableSet<UUID>> set = list.map(ImmutableSet::copyOf);
+            if (list.isPresent() && set.get().size() != list.get().size()) {
+                // Remove duplicates.
+                markDirty();
+            }
+
+            return (Optional<T>) set;
+        }
+
+        return super.getValue(token, path, node);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> void saveNode(TypeToken<T> typeToken, T value, String path, ConfigurationNode node) throws ObjectMappingException {
+        if (IGNORE_LIST.equals(path) && value != null) {
+            super.saveNode(LIST_TYPE, ((ImmutableSet<UUID>) value).asList(), path, node);
+            return;
+        }
+
+        super.saveNode(typeToken, value, path, node);
     }
 
 }
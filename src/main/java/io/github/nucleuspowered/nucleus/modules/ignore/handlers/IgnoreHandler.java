@@ -0,0 +1,96 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.ignore.handlers;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.entity.living.player.Player;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds, for each player, the online players who are ignoring them. Nearly all players are not
+ * ignored by anyone, so chat can go straight through without looking at any ignore lists.
+ *
+ * <p>Online players' ignore lists are added when they join and removed when they leave, and kept up
+ * to date by /ignore.</p>
+ */
+public class IgnoreHandler implements Reloadable {
+
+    // Ignored player -> online players ignoring them.
+    private final Map<UUID, Set<UUID>> ignoredBy = new ConcurrentHashMap<>();
+
+    // Online player -> players they are ignoring, so that they can be removed from the index.
+    private final Map<UUID, List<UUID>> indexed = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the online players who are ignoring the given player.
+     *
+     * @param uuid The {@link UUID} of the player.
+     * @return The {@link UUID}s of the online players who are ignoring them.
+     */
+    public Set<UUID> getIgnoredBy(UUID uuid) {
+        Set<UUID> set = this.ignoredBy.get(uuid);
+        return set == null ? Collections.emptySet() : set;
+    }
+
+    public void add(Player player) {
+        remove(player.getUniqueId());
+        List<UUID> ignoring = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(IgnoreUserDataModule.class).getIgnoreList();
+        if (!ignoring.isEmpty()) {
+            this.indexed.put(player.getUniqueId(), ignoring);
+            ignoring.forEach(x -> addToIndex(x, player.getUniqueId()));
+        }
+    }
+
+    public void remove(UUID player) {
+        List<UUID> ignoring = this.indexed.remove(player);
+        if (ignoring != null) {
+            ignoring.forEach(x -> removeFromIndex(x, player));
+        }
+    }
+
+    /**
+     * Updates the index after a player's ignore list has changed.
+     *
+     * @param player The player whose ignore list changed.
+     */
+    public void update(Player player) {
+        if (player.isOnline()) {
+            add(player);
+        }
+    }
+
+    @Override
+    public void onReload() {
+        if (Sponge.getGame().isServerAvailable()) {
+            this.ignoredBy.clear();
+            this.indexed.clear();
+            Sponge.getServer().getOnlinePlayers().forEach(this::add);
+        }
+    }
+
+    private void addToIndex(UUID ignored, UUID ignoring) {
+        this.ignoredBy.compute(ignored, (k, v) -> {
+            Set<UUID> set = v == null ? ConcurrentHashMap.newKeySet() : v;
+            set.add(ignoring);
+            return set;
+        });
+    }
+
+    private void removeFromIndex(UUID ignored, UUID ignoring) {
+        this.ignoredBy.computeIfPresent(ignored, (k, v) -> {
+            v.remove(ignoring);
+            return v.isEmpty() ? null : v;
+        });
+    }
+}
@@ -15,22 +15,27 @@ import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.modules.ignore.commands.IgnoreCommand;
 import io.github.nucleuspowered.nucleus.modules.ignore.datamodules.IgnoreUserDataModule;
+import io.github.nucleuspowered.nucleus.modules.ignore.handlers.IgnoreHandler;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.filter.Getter;
 import org.spongepowered.api.event.filter.cause.Root;
 import org.spongepowered.api.event.message.MessageChannelEvent;
+import org.spongepowered.api.event.network.ClientConnectionEvent;
+import org.spongepowered.api.text.channel.MessageChannel;
 import org.spongepowered.api.text.channel.MessageReceiver;
 import org.spongepowered.api.text.channel.MutableMessageChannel;
 
-import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 public class IgnoreListener implements ListenerBase {
 
     private final UserDataManager loader = Nucleus.getNucleus().getUserDataManager();
+    private final IgnoreHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(IgnoreHandler.class);
     private CommandPermissionHandler ignoreHandler = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(IgnoreCommand.class);
 
     @Listener(order = Order.LATE)
@@ -43,12 +48,36 @@ public class IgnoreListener implements ListenerBase {
     }
 
     private void onChat(MessageChannelEvent.Chat event, Player player) {
-        // Reset the channel - but only if we have to.
-        checkCancels(event.getChannel().orElseGet(event::getOriginalChannel).getMembers(), player).ifPresent(x -> {
-            MutableMessageChannel mmc = event.getChannel().orElseGet(event::getOriginalChannel).asMutable();
-            x.forEach(mmc::removeMember);
+        // Nearly always, nobody is ignoring the player, so don't touch the channel.
+        Set<UUID> ignoredBy = this.handler.getIgnoredBy(player.getUniqueId());
+        if (ignoredBy.isEmpty() || this.ignoreHandler.testSuffix(player, "exempt.chat")) {
+            return;
+        }
+
+        MessageChannel channel = event.getChannel().orElseGet(event::getOriginalChannel);
+        List<MessageReceiver> toRemove = Lists.newArrayList();
+        for (MessageReceiver receiver : channel.getMembers()) {
+            if (receiver instanceof Player && !receiver.equals(player) && ignoredBy.contains(((Player) receiver).getUniqueId())) {
+                toRemove.add(receiver);
+            }
+        }
+
+        // We do this so we don't have to recreate a channel if nothing changes.
+        if (!toRemove.isEmpty()) {
+            MutableMessageChannel mmc = channel.asMutable();
+            toRemove.forEach(mmc::removeMember);
             event.setChannel(mmc);
-        });
+        }
+    }
+
+    @Listener
+    public void onJoin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
+        this.handler.add(player);
+    }
+
+    @Listener
+    public void onQuit(ClientConnectionEvent.Disconnect event, @Getter("getTargetEntity") Player player) {
+        this.handler.remove(player.getUniqueId());
     }
 
     @Listener(order = Order.FIRST)
@@ -57,7 +86,7 @@ public class IgnoreListener implements ListenerBase {
             try {
                 event.setCancelled(this.loader.getUnchecked((User) event.getRecipient())
                         .get(IgnoreUserDataModule.class)
-                        .getIgnoreList().contains(player.getUniqueId()));
+                        .isIgnoring(player.getUniqueId()));
             } catch (Exception e) {
                 if (Nucleus.getNucleus().isDebugMode()) {
                     e.printStackTrace();
@@ -71,57 +100,11 @@ public class IgnoreListener implements ListenerBase {
         try {
             event.setCancelled(this.loader.getUnchecked(event.getRecipient())
                     .get(IgnoreUserDataModule.class)
-                    .getIgnoreList().contains(player.getUniqueId()));
+                    .isIgnoring(player.getUniqueId()));
         } catch (Exception e) {
             if (Nucleus.getNucleus().isDebugMode()) {
                 e.printStackTrace();
             }
         }
     }
-
-    /**
-     * Checks if we need to cancel messages to people.
-     *
-     * @param collection The collection to check through.
-     * @param player The subject who is sending the message.
-     * @return {@link Optional} if unchanged, otherwise a {@link Collection} of {@link MessageReceiver}s to remove
-     */
-    private Optional<Collection<MessageReceiver>> checkCancels(Collection<MessageReceiver> collection, Player player) {
-        if (this.ignoreHandler.testSuffix(player, "exempt.chat")) {
-            return Optional.empty();
-        }
-
-        List<MessageReceiver> list = Lists.newArrayList(collection);
-        list.removeIf(x -> {
-            try {
-                if (!(x instanceof Player)) {
-                    // Remove if not a player.
-                    return true;
-                }
-
-                if (x.equals(player)) {
-                    // Remove if the same player.
-                    return true;
-                }
-
-                // Don't remove if they are in the list.
-                return !this.loader.get((Player) x).map(y ->
-                        y.get(IgnoreUserDataModule.class).getIgnoreList().contains(player.getUniqueId())).orElse(false);
-            } catch (Exception e) {
-                if (Nucleus.getNucleus().isDebugMode()) {
-                    e.printStackTrace();
-                }
-
-                // Remove them.
-                return true;
-            }
-        });
-
-        // We do this so we don't have to recreate a channel if nothing changes.
-        if (list.isEmpty()) {
-            return Optional.empty();
-        }
-
-        return Optional.of(list);
-    }
 }
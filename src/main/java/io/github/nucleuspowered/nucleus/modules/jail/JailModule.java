@@ -39,6 +39,7 @@ public class JailModule extends ConfigurableModule<JailConfigAdapter> {
 
     @Override
     public void performEnableTasks() {
+        getServiceUnchecked(JailHandler.class).registerExpiry();
         createSeenModule(CheckJailCommand.class, (c, u) -> {
 
             // If we have a ban service, then check for a ban.
@@ -32,6 +32,7 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     public void setJailData(@Nullable JailData jailData) {
         this.jailData = jailData;
+        markDirty();
     }
 
     public boolean jailOnNextLogin() {
@@ -40,6 +41,7 @@ public class JailUserDataModule extends DataModule.ReferenceService<ModularUserS
 
     public void setJailOnNextLogin(boolean set) {
         this.jailOnNextLogin = set && !getService().getPlayer().isPresent();
+        markDirty();
     }
 
     public void removeJailData() {
@@ -18,6 +18,8 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularGeneralServi
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.teleport.NucleusTeleportHandler;
 import io.github.nucleuspowered.nucleus.modules.core.datamodules.CoreUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.fly.datamodules.FlyUserDataModule;
@@ -31,6 +33,7 @@ import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.EventContext;
 import org.spongepowered.api.service.context.Context;
 import org.spongepowered.api.service.context.ContextCalculator;
 import org.spongepowered.api.service.permission.Subject;
@@ -48,14 +51,34 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
+import javax.annotation.Nullable;
+
 @NonnullByDefault
 public class JailHandler implements NucleusJailService, ContextCalculator<Subject> {
 
+    public static final String EXPIRY_TYPE = "jail";
+
     private final ModularGeneralService store = Nucleus.getNucleus().getGeneralService();
 
     // Used for the context calculator
     private final Map<UUID, Context> jailDataCache = Maps.newHashMap();
     private final static Context jailContext = new Context(NucleusJailService.JAILED_CONTEXT, "true");
+    private final PlayerStatusService statusService =
+            Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
+    private final ExpiryService expiryService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ExpiryService.class);
+
+    /**
+     * Frees online players when their jail time expires.
+     */
+    public void registerExpiry() {
+        this.expiryService.register(EXPIRY_TYPE, x -> getPlayerJailDataInternal(x).flatMap(JailData::getEndTimestamp), x -> {
+            if (getPlayerJailDataInternal(x).map(JailData::expired).orElse(false)) {
+                unjailPlayer(x, Cause.of(EventContext.empty(), Nucleus.getNucleus()));
+            } else {
+                this.expiryService.update(EXPIRY_TYPE, x);
+            }
+        });
+    }
 
     private JailGeneralDataModule getModule() {
         return this.store.get(JailGeneralDataModule.class);
@@ -95,14 +118,19 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         return getPlayerJailDataInternal(user).map(x -> x);
     }
 
+    private void cacheJail(UUID uuid, @Nullable Context context) {
+        this.jailDataCache.put(uuid, context);
+        this.statusService.setFlag(uuid, PlayerStatusService.JAILED, context != null);
+    }
+
     public Optional<JailData> getPlayerJailDataInternal(User user) {
         try {
             Optional<JailData> data = Nucleus.getNucleus().getUserDataManager().get(user, false)
                     .map(y -> y.get(JailUserDataModule.class).getJailData().orElse(null));
             if (data.isPresent()) {
-                this.jailDataCache.put(user.getUniqueId(), new Context(NucleusJailService.JAIL_CONTEXT, data.get().getJailName()));
+                cacheJail(user.getUniqueId(), new Context(NucleusJailService.JAIL_CONTEXT, data.get().getJailName()));
             } else {
-                this.jailDataCache.put(user.getUniqueId(), null);
+                cacheJail(user.getUniqueId(), null);
             }
 
             return data;
@@ -149,6 +177,7 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         }
 
         jailUserDataModule.setJailData(data);
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         if (user.isOnline()) {
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
                 Player player = user.getPlayer().get();
@@ -160,7 +189,11 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
             jailUserDataModule.setJailOnNextLogin(true);
         }
 
-        this.jailDataCache.put(user.getUniqueId(), new Context(NucleusJailService.JAIL_CONTEXT, data.getJailName()));
+        cacheJail(user.getUniqueId(), new Context(NucleusJailService.JAIL_CONTEXT, data.getJailName()));
+        if (user.isOnline()) {
+            data.getEndTimestamp().ifPresent(x -> this.expiryService.schedule(EXPIRY_TYPE, user.getUniqueId(), x));
+        }
+
             Sponge.getEventManager().post(new JailEvent.Jailed(
             user,
             CauseStackHelper.createCause(Util.getObjectFromUUID(data.getJailerInternal())),
@@ -186,7 +219,8 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
         }
 
         Optional<Location<World>> ow = ojd.get().getPreviousLocation();
-        this.jailDataCache.put(user.getUniqueId(), null);
+        cacheJail(user.getUniqueId(), null);
+        this.expiryService.cancel(EXPIRY_TYPE, user.getUniqueId());
         if (user.isOnline()) {
             Player player = user.getPlayer().get();
             Sponge.getScheduler().createSyncExecutor(Nucleus.getNucleus()).execute(() -> {
@@ -195,12 +229,14 @@ public class JailHandler implements NucleusJailService, ContextCalculator<Subjec
 
                 // Remove after the teleport for the back data.
                 jailUserDataModule.removeJailData();
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
             });
         } else {
             modularUserService.get(CoreUserDataModule.class).sendToLocationOnLogin(
                     ow.orElseGet(() -> new Location<>(Sponge.getServer().getWorld(Sponge.getServer().getDefaultWorld().get().getUniqueId()).get(),
                             Sponge.getServer().getDefaultWorld().get().getSpawnPosition())));
             jailUserDataModule.removeJailData();
+            Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(modularUserService);
         }
 
         Sponge.getEventManager().post(new JailEvent.Unjailed(user, cause));
@@ -13,6 +13,7 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.modules.core.events.NucleusOnLoginEvent;
 import io.github.nucleuspowered.nucleus.modules.fly.datamodules.FlyUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.jail.commands.JailCommand;
@@ -47,6 +48,7 @@ import javax.inject.Inject;
 public class JailListener implements Reloadable, ListenerBase {
 
     private final JailHandler handler = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(JailHandler.class);
+    private final ExpiryService expiryService = getServiceUnchecked(ExpiryService.class);
     private final String notify;
     private final String teleport;
     private final String teleportto;
@@ -137,6 +139,7 @@ public class JailListener implements Reloadable, ListenerBase {
             if (omd.isPresent()) {
                 JailData md = omd.get();
                 md.nextLoginToTimestamp();
+                qs.markDirty();
 
                 if (md.expired()) {
                     // free.
@@ -144,6 +147,7 @@ public class JailListener implements Reloadable, ListenerBase {
                 } else {
                     // ensure jailing is current
                     this.handler.onJail(md, event.getTargetEntity());
+                    this.expiryService.update(JailHandler.EXPIRY_TYPE, user);
                 }
             }
         }).submit(Nucleus.getNucleus());
@@ -25,9 +25,11 @@ public class KitUserDataModule extends DataModule<ModularUserService> {
 
     public void addKitLastUsedTime(String kitName, Instant lastTime) {
         this.kitLastUsedTime.put(kitName.toLowerCase(), lastTime.getEpochSecond());
+        markDirty();
     }
 
     public void removeKitLastUsedTime(String kitName) {
         this.kitLastUsedTime.remove(kitName.toLowerCase());
+        markDirty();
     }
 }
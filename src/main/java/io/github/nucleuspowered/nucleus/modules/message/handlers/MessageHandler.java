@@ -7,12 +7,14 @@ package io.github.nucleuspowered.nucleus.modules.message.handlers;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.Util;
 import io.github.nucleuspowered.nucleus.api.service.NucleusPrivateMessagingService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.PermissionRefreshService;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateFactory;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.internal.text.TextParsingUtils;
@@ -43,6 +45,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
@@ -65,6 +68,9 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
     private final Map<UUID, UUID> messagesReceived = Maps.newHashMap();
     private final Map<UUID, CustomMessageTarget<? extends CommandSource>> targets = Maps.newHashMap();
     private final Map<String, UUID> targetNames = Maps.newHashMap();
+
+    // The online players who have social spy on, and their social spy level.
+    private final Map<UUID, Integer> onlineSpies = new ConcurrentHashMap<>();
     private final String msgToggleBypass = Nucleus.getNucleus().getPermissionRegistry().getPermissionsForNucleusCommand(MsgToggleCommand.class)
             .getPermissionWithSuffix("bypass");
 
@@ -77,6 +83,7 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         this.mca = nucleus.getModuleContainer().getConfigAdapterForModule(MessageModule.ID, MessageConfigAdapter.class);
         this.messagepermissions = nucleus.getPermissionRegistry().getPermissionsForNucleusCommand(MessageCommand.class);
         this.socialspypermissions = nucleus.getPermissionRegistry().getPermissionsForNucleusCommand(SocialSpyCommand.class);
+        nucleus.getInternalServiceManager().getServiceUnchecked(PermissionRefreshService.class).register(this::updateSocialSpy);
         onReload();
     }
 
@@ -86,6 +93,31 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         this.useLevels = this.messageConfig.isSocialSpyLevels();
         this.sameLevel = this.messageConfig.isSocialSpySameLevel();
         this.serverLevel = this.messageConfig.getServerLevel();
+        if (Sponge.getGame().isServerAvailable()) {
+            updateAllSocialSpies();
+        }
+    }
+
+    /**
+     * Checks whether the player has social spy on, and what their level is, for use when messages
+     * are sent.
+     *
+     * @param player The {@link Player}
+     */
+    public void updateSocialSpy(Player player) {
+        if (player.isOnline() && isSocialSpy(player)) {
+            this.onlineSpies.put(player.getUniqueId(), getSocialSpyLevel(player));
+        } else {
+            this.onlineSpies.remove(player.getUniqueId());
+        }
+    }
+
+    public void removeSocialSpy(UUID uuid) {
+        this.onlineSpies.remove(uuid);
+    }
+
+    public void updateAllSocialSpies() {
+        Sponge.getServer().getOnlinePlayers().forEach(this::updateSocialSpy);
     }
 
     @Override
@@ -136,10 +168,13 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
             return false;
         }
 
-        return this.ucl.get(user).map(x -> {
+        boolean result = this.ucl.get(user).map(x -> {
             x.get(MessageUserDataModule.class).setSocialSpy(isSocialSpy);
             return true;
         }).orElse(false);
+
+        user.getPlayer().ifPresent(this::updateSocialSpy);
+        return result;
     }
 
     @Override
@@ -180,25 +215,22 @@ public class MessageHandler implements NucleusPrivateMessagingService, Reloadabl
         Set<UUID> uuidsToSpyOn = toSpyOn.stream().map(x -> x instanceof User ? ((User)x).getUniqueId() : Util.consoleFakeUUID)
                 .collect(Collectors.toSet());
 
-        // Get those who aren't the subjects and have social spy on.
-        Set<CommandSource> sources = Sponge.getServer().getOnlinePlayers().stream()
-                .filter(x -> !uuidsToSpyOn.contains(x.getUniqueId()))
-                .filter(this::isSocialSpy)
-                .collect(Collectors.toSet());
+        // Get the highest level from the sources to spy on.
+        int highestLevel = this.useLevels ? toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0) : 0;
 
-        if (!this.useLevels) {
-            if (includeConsole) {
-                sources.add(Sponge.getServer().getConsole());
+        // Get those who aren't the subjects, have social spy on and can see messages at this level.
+        Set<CommandSource> sources = Sets.newHashSet();
+        for (Map.Entry<UUID, Integer> spy : this.onlineSpies.entrySet()) {
+            if (uuidsToSpyOn.contains(spy.getKey())) {
+                continue;
             }
 
-            return sources;
-        }
+            if (this.useLevels && (this.sameLevel ? spy.getValue() < highestLevel : spy.getValue() <= highestLevel)) {
+                continue;
+            }
 
-        // Get the highest level from the sources to spy on.
-        int highestLevel = toSpyOn.stream().mapToInt(this::getSocialSpyLevelForSource).max().orElse(0);
-        sources = sources.stream()
-            .filter(x -> this.sameLevel ? getSocialSpyLevelForSource(x) >= highestLevel : getSocialSpyLevelForSource(x) > highestLevel)
-            .collect(Collectors.toSet());
+            Sponge.getServer().getPlayer(spy.getKey()).ifPresent(sources::add);
+        }
 
         if (includeConsole) {
             sources.add(Sponge.getServer().getConsole());
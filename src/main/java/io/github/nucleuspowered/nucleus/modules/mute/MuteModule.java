@@ -39,6 +39,7 @@ public class MuteModule extends ConfigurableModule<MuteConfigAdapter> {
 
     @Override
     public void performEnableTasks() {
+        getServiceUnchecked(MuteHandler.class).registerExpiry();
         createSeenModule(CheckMuteCommand.class, (c, u) -> {
 
             // If we have a ban service, then check for a ban.
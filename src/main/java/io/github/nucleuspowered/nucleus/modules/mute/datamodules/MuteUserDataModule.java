@@ -25,9 +25,11 @@ public class MuteUserDataModule extends DataModule<ModularUserService> {
 
     public void setMuteData(@Nullable MuteData mData) {
         this.muteData = mData;
+        markDirty();
     }
 
     public void removeMuteData() {
         this.muteData = null;
+        markDirty();
     }
 }
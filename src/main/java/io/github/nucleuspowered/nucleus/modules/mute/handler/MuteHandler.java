@@ -14,6 +14,8 @@ import io.github.nucleuspowered.nucleus.api.nucleusdata.MuteInfo;
 import io.github.nucleuspowered.nucleus.api.service.NucleusMuteService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.traits.MessageProviderTrait;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
 import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
@@ -41,7 +43,11 @@ import javax.annotation.Nullable;
 
 public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteService, MessageProviderTrait {
 
+    public static final String EXPIRY_TYPE = "mute";
+
     private final UserDataManager ucl;
+    private final PlayerStatusService statusService;
+    private final ExpiryService expiryService;
 
     private final Map<UUID, Boolean> muteContextCache = Maps.newHashMap();
     private final Context mutedContext = new Context(NucleusMuteService.MUTED_CONTEXT, "true");
@@ -51,6 +57,21 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
 
     public MuteHandler() {
         this.ucl = Nucleus.getNucleus().getUserDataManager();
+        this.statusService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
+        this.expiryService = Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(ExpiryService.class);
+    }
+
+    /**
+     * Unmutes online players when their mute expires.
+     */
+    public void registerExpiry() {
+        this.expiryService.register(EXPIRY_TYPE, x -> getPlayerMuteData(x).flatMap(MuteData::getEndTimestamp), x -> {
+            if (getPlayerMuteData(x).map(MuteData::expired).orElse(false)) {
+                unmutePlayer(x);
+            } else {
+                this.expiryService.update(EXPIRY_TYPE, x);
+            }
+        });
     }
 
     public void onMute(Player user) {
@@ -77,10 +98,15 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
     // Internal
     public Optional<MuteData> getPlayerMuteData(User user) {
         Optional<MuteData> nu = this.ucl.get(user, false).map(x -> x.get(MuteUserDataModule.class).getMuteData().orElse(null));
-        this.muteContextCache.put(user.getUniqueId(), nu.isPresent());
+        cacheMuted(user.getUniqueId(), nu.isPresent());
         return nu;
     }
 
+    private void cacheMuted(UUID uuid, boolean muted) {
+        this.muteContextCache.put(uuid, muted);
+        this.statusService.setFlag(uuid, PlayerStatusService.MUTED, muted);
+    }
+
     @Override public boolean mutePlayer(User user, String reason, @Nullable Duration duration, Cause cause) {
         UUID first = cause.first(User.class).map(Identifiable::getUniqueId).orElse(Util.consoleFakeUUID);
         return mutePlayer(user, new MuteData(first, reason, duration), cause);
@@ -107,7 +133,12 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
         }
 
         u.get(MuteUserDataModule.class).setMuteData(data);
-        this.muteContextCache.put(u.getUniqueId(), true);
+        Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(u);
+        cacheMuted(u.getUniqueId(), true);
+        if (user.isOnline()) {
+            data.getEndTimestamp().ifPresent(x -> this.expiryService.schedule(EXPIRY_TYPE, user.getUniqueId(), x));
+        }
+
         Sponge.getEventManager().post(new MuteEvent.Muted(
                 cause,
                 user,
@@ -129,7 +160,9 @@ public class MuteHandler implements ContextCalculator<Subject>, NucleusMuteServi
             Optional<ModularUserService> o = this.ucl.get(user);
             if (o.isPresent()) {
                 o.get().get(MuteUserDataModule.class).removeMuteData();
-                this.muteContextCache.put(user.getUniqueId(), false);
+                Nucleus.getNucleus().getUserCacheService().updateCacheForPlayer(o.get());
+                cacheMuted(user.getUniqueId(), false);
+                this.expiryService.cancel(EXPIRY_TYPE, user.getUniqueId());
                 Sponge.getEventManager().post(new MuteEvent.Unmuted(
                         cause,
                         user,
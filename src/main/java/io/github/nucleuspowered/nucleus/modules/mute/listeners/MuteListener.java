@@ -10,12 +10,14 @@ import io.github.nucleuspowered.nucleus.api.events.NucleusMessageEvent;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.data.EndTimestamp;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.modules.message.events.InternalNucleusHelpOpEvent;
 import io.github.nucleuspowered.nucleus.modules.mute.commands.MuteCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.commands.VoiceCommand;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfig;
 import io.github.nucleuspowered.nucleus.modules.mute.config.MuteConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.mute.data.MuteData;
+import io.github.nucleuspowered.nucleus.modules.mute.datamodules.MuteUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.mute.handler.MuteHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -38,6 +40,7 @@ public class MuteListener implements Reloadable, ListenerBase {
 
     private final MuteHandler handler = getServiceUnchecked(MuteHandler.class);
     private MuteConfig muteConfig = new MuteConfig();
+    private final ExpiryService expiryService = getServiceUnchecked(ExpiryService.class);
     private final String voicePerm = getPermissionHandlerFor(VoiceCommand.class).getPermissionWithSuffix("auto");
 
     /**
@@ -54,6 +57,8 @@ public class MuteListener implements Reloadable, ListenerBase {
             if (omd.isPresent()) {
                 MuteData md = omd.get();
                 md.nextLoginToTimestamp();
+                Nucleus.getNucleus().getUserDataManager().get(user).ifPresent(x -> x.get(MuteUserDataModule.class).markDirty());
+                this.expiryService.update(MuteHandler.EXPIRY_TYPE, user);
 
                 if (isMuted(user)) {
                     this.handler.onMute(md, event.getTargetEntity());
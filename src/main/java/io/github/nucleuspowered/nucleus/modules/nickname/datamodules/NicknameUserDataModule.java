@@ -42,6 +42,7 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void setNickname(Text nickname) {
         this.nickname = Preconditions.checkNotNull(nickname);
+        markDirty();
 
         getService().getPlayer().ifPresent(x -> {
             Text p = getServiceUnchecked(NicknameService.class).getNickPrefix();
@@ -51,6 +52,7 @@ public class NicknameUserDataModule extends DataModule.ReferenceService<ModularU
 
     public void removeNickname() {
         this.nickname = null;
+        markDirty();
         getService().getPlayer().ifPresent(x -> x.offer(Keys.DISPLAY_NAME, Text.of(x.getName())));
     }
 
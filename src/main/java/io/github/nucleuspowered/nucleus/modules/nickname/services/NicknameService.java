@@ -15,6 +15,9 @@ import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.CommandPermissionHandler;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.messages.MessageProvider;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndexService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
+import io.github.nucleuspowered.nucleus.internal.text.NucleusTokenServiceImpl;
 import io.github.nucleuspowered.nucleus.modules.nickname.NicknameModule;
 import io.github.nucleuspowered.nucleus.modules.nickname.commands.NicknameCommand;
 import io.github.nucleuspowered.nucleus.modules.nickname.config.NicknameConfig;
@@ -25,7 +28,6 @@ import io.github.nucleuspowered.nucleus.modules.nickname.events.ChangeNicknameEv
 import io.github.nucleuspowered.nucleus.util.CauseStackHelper;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandSource;
-import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.cause.Cause;
 import org.spongepowered.api.service.permission.Subject;
@@ -36,13 +38,11 @@ import org.spongepowered.api.text.serializer.TextSerializers;
 import org.spongepowered.api.util.Tuple;
 
 import java.util.Arrays;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -56,44 +56,27 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
     private boolean registered = false;
     private final BiMap<UUID, String> cache = HashBiMap.create();
     private final BiMap<UUID, Text> textCache = HashBiMap.create();
+    private final PlayerStatusService statusService =
+            Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
+    private final NameIndexService nameIndexService =
+            Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(NameIndexService.class);
 
     public void updateCache(UUID player, Text text) {
         this.cache.put(player, text.toPlain());
         this.textCache.put(player, text);
-    }
-
-    public Optional<Player> getFromCache(String text) {
-        UUID u = this.cache.inverse().get(text);
-        if (u != null) {
-            Optional<Player> ret = Sponge.getServer().getPlayer(u);
-            if (!ret.isPresent()) {
-                this.cache.remove(u);
-            }
-
-            return ret;
-        }
-
-        return Optional.empty();
+        this.statusService.setNickname(player, text);
+        this.nameIndexService.setNickname(player, text.toPlain());
     }
 
     public Map<String, UUID> getAllCached() {
         return Maps.newHashMap(this.cache.inverse());
     }
 
-    public Map<String, UUID> startsWithGetMap(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue));
-    }
-
-    public List<UUID> startsWith(String text) {
-        return this.cache.inverse().entrySet().stream().filter(x -> x.getKey().startsWith(text.toLowerCase()))
-                .map(Map.Entry::getValue)
-                .collect(Collectors.toList());
-    }
-
     public void removeFromCache(UUID player) {
         this.cache.remove(player);
         this.textCache.remove(player);
+        this.statusService.setNickname(player, null);
+        this.nameIndexService.setNickname(player, null);
     }
 
     public void register() {
@@ -173,6 +156,7 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
         mus.set(n);
         mus.save();
         removeFromCache(user.getUniqueId());
+        invalidateTokens(user);
 
         if (user.isOnline()) {
             user.getPlayer().ifPresent(x ->
@@ -259,6 +243,7 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
         mus.save();
         Text set = nicknameUserDataModule.getNicknameAsText().get();
         this.updateCache(pl.getUniqueId(), nickname);
+        invalidateTokens(pl);
 
         Sponge.getEventManager().post(new ChangeNicknameEventPost(cause, currentNickname, nickname, pl));
         pl.getPlayer().ifPresent(player -> player.sendMessage(Text.builder().append(
@@ -276,6 +261,12 @@ public class NicknameService implements NucleusNicknameService, Reloadable {
         this.prefix = TextSerializers.FORMATTING_CODE.deserialize(nc.getPrefix());
     }
 
+    private void invalidateTokens(User user) {
+        // The display name may have been used in a message already this tick.
+        Nucleus.getNucleus().getInternalServiceManager().getService(NucleusTokenServiceImpl.class)
+                .ifPresent(x -> x.invalidateTickResults(user.getIdentifier()));
+    }
+
     private void stripPermissionless(Subject source, Text message) throws NicknameException {
         String m = TextSerializers.FORMATTING_CODE.serialize(message);
         if (m.contains("&")) {
@@ -30,16 +30,23 @@ public class NoteUserDataModule extends DataModule<ModularUserService> {
         }
 
         this.notes.add(note);
+        markDirty();
     }
 
     public boolean removeNote(Note note) {
-        return this.notes.removeIf(x -> x.getNoterInternal().equals(note.getNoter().orElse(Util.consoleFakeUUID))
-                && x.getNote().equals(note.getNote()));
+        if (this.notes.removeIf(x -> x.getNoterInternal().equals(note.getNoter().orElse(Util.consoleFakeUUID))
+                && x.getNote().equals(note.getNote()))) {
+            markDirty();
+            return true;
+        }
+
+        return false;
     }
 
     public boolean clearNotes() {
         if (!this.notes.isEmpty()) {
             this.notes.clear();
+            markDirty();
             return true;
         } else {
             return false;
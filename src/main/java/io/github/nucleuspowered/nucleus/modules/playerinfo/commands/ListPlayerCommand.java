@@ -18,7 +18,7 @@ import io.github.nucleuspowered.nucleus.internal.docgen.annotations.EssentialsEq
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
-import io.github.nucleuspowered.nucleus.modules.afk.handlers.AFKHandler;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.modules.chat.util.TemplateUtil;
 import io.github.nucleuspowered.nucleus.modules.playerinfo.config.ListConfig;
 import io.github.nucleuspowered.nucleus.modules.playerinfo.config.PlayerInfoConfigAdapter;
@@ -26,7 +26,6 @@ import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandResult;
 import org.spongepowered.api.command.CommandSource;
 import org.spongepowered.api.command.args.CommandContext;
-import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
 import org.spongepowered.api.service.context.Contextual;
 import org.spongepowered.api.service.permission.PermissionService;
@@ -40,6 +39,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Function;
@@ -57,7 +57,7 @@ public class ListPlayerCommand extends AbstractCommand<CommandSource> implements
     @Nullable private final TemplateUtil templateUtil;
     private ListConfig listConfig = new ListConfig();
 
-    @Nullable private AFKHandler handler;
+    private final PlayerStatusService statusService;
     private final Text afk;
     private final Text hidden;
 
@@ -67,7 +67,7 @@ public class ListPlayerCommand extends AbstractCommand<CommandSource> implements
         Nucleus plugin = Nucleus.getNucleus();
         this.afk = plugin.getMessageProvider().getTextMessageWithFormat("command.list.afk");
         this.hidden = plugin.getMessageProvider().getTextMessageWithFormat("command.list.hidden");
-        this.handler = plugin.getInternalServiceManager().getService(AFKHandler.class).orElse(null);
+        this.statusService = plugin.getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
         this.templateUtil = plugin.getInternalServiceManager().getService(TemplateUtil.class).orElse(null);
     }
 
@@ -84,7 +84,7 @@ public class ListPlayerCommand extends AbstractCommand<CommandSource> implements
 
         Collection<Player> players = Sponge.getServer().getOnlinePlayers();
         long playerCount = players.size();
-        long hiddenCount = players.stream().filter(x -> x.get(Keys.VANISH).orElse(false)).count();
+        long hiddenCount = players.stream().filter(this.statusService::isVanished).count();
 
         Text header;
         if (showVanished && hiddenCount > 0) {
@@ -198,16 +198,21 @@ public class ListPlayerCommand extends AbstractCommand<CommandSource> implements
     @SuppressWarnings("ConstantConditions")
     private Optional<Text> getPlayerList(Collection<Player> playersToList, boolean showVanished) {
         NucleusTextTemplate template = this.listConfig.getListTemplate();
-        List<Text> playerList = playersToList.stream().filter(x -> showVanished || !x.get(Keys.VANISH).orElse(false))
+        List<Text> playerList = playersToList.stream()
                 .sorted((x, y) -> x.getName().compareToIgnoreCase(y.getName())).map(x -> {
+                    PlayerStatusService.PlayerStatus status = this.statusService.getStatus(x);
+                    if (!showVanished && status.isVanished()) {
+                        return null;
+                    }
+
                     Text.Builder tb = Text.builder();
                     boolean appendSpace = false;
-                    if (this.handler != null && this.handler.isAFK(x)) {
+                    if (status.isAfk()) {
                         tb.append(this.afk);
                         appendSpace = true;
                     }
 
-                    if (x.get(Keys.VANISH).orElse(false)) {
+                    if (status.isVanished()) {
                         tb.append(this.hidden);
                         appendSpace = true;
                     }
@@ -221,7 +226,7 @@ public class ListPlayerCommand extends AbstractCommand<CommandSource> implements
                     } else {
                         return tb.append(Nucleus.getNucleus().getNameUtil().getName(x)).build();
                     }
-                }).collect(Collectors.toList());
+                }).filter(Objects::nonNull).collect(Collectors.toList());
 
         if (!playerList.isEmpty()) {
             boolean isFirst = true;
@@ -39,14 +39,17 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertool(ItemType type, List<String> commands) {
         this.powertools.put(type.getId(), commands);
+        markDirty();
     }
 
     public void clearPowertool(ItemType type) {
         this.powertools.remove(type.getId());
+        markDirty();
     }
 
     public void clearPowertool(String type) {
         this.powertools.remove(type);
+        markDirty();
     }
 
     public boolean isPowertoolToggled() {
@@ -55,6 +58,7 @@ public class PowertoolUserDataModule extends DataModule<ModularUserService> {
 
     public void setPowertoolToggle(boolean set) {
         this.powertoolToggle = set;
+        markDirty();
     }
 
 }
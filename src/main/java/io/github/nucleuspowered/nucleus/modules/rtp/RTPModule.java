@@ -8,10 +8,12 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusRTPService;
 import io.github.nucleuspowered.nucleus.internal.annotations.RegisterService;
 import io.github.nucleuspowered.nucleus.internal.qsml.module.ConfigurableModule;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPLocationPool;
 import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPService;
 import uk.co.drnaylor.quickstart.annotations.ModuleData;
 
 @RegisterService(value = RTPService.class, apiService = NucleusRTPService.class)
+@RegisterService(RTPLocationPool.class)
 @ModuleData(id = RTPModule.ID, name = "rtp")
 public class RTPModule extends ConfigurableModule<RTPConfigAdapter> {
 
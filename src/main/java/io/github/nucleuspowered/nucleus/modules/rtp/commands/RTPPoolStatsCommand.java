@@ -0,0 +1,47 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.commands;
+
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoModifiers;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPLocationPool;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.util.annotation.NonnullByDefault;
+
+@NonnullByDefault
+@NoModifiers
+@Permissions(prefix = "rtp", suggestedLevel = SuggestedLevel.ADMIN)
+@RegisterCommand(value = "poolstats", subcommandOf = RandomTeleportCommand.class)
+public class RTPPoolStatsCommand extends AbstractCommand<CommandSource> {
+
+    private final RTPLocationPool locationPool = getServiceUnchecked(RTPLocationPool.class);
+
+    @Override protected CommandResult executeCommand(CommandSource src, CommandContext args) {
+        RTPLocationPool.Statistics statistics = this.locationPool.getStatistics();
+        sendMessageTo(src, "command.rtp.poolstats.title");
+        sendMessageTo(src, "command.rtp.poolstats.pooled",
+                String.valueOf(statistics.getPooled()),
+                String.valueOf(statistics.getWorlds()));
+        sendMessageTo(src, "command.rtp.poolstats.hits",
+                String.valueOf(statistics.getHits()),
+                String.valueOf(statistics.getMisses()),
+                String.format("%.1f", statistics.getHitRate() * 100),
+                String.valueOf(statistics.getStale()));
+        sendMessageTo(src, "command.rtp.poolstats.refill",
+                String.valueOf(statistics.getAttempts()),
+                String.valueOf(statistics.getFound()),
+                String.valueOf(statistics.getUngenerated()));
+        sendMessageTo(src, "command.rtp.poolstats.cost",
+                String.format("%.2f", statistics.getAverageRefillMillis()),
+                String.format("%.3f", statistics.getAverageAttemptMillis()),
+                String.valueOf(statistics.getRefillTicks()));
+        return CommandResult.success();
+    }
+}
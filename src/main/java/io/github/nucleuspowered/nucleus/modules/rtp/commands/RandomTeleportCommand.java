@@ -21,6 +21,7 @@ import io.github.nucleuspowered.nucleus.modules.rtp.RTPModule;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
 import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.rtp.events.RTPSelectedLocationEvent;
+import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPLocationPool;
 import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPOptions;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.command.CommandResult;
@@ -47,6 +48,8 @@ import java.util.Optional;
 @RegisterCommand({"rtp", "randomteleport", "rteleport"})
 public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlayer implements Reloadable {
 
+    private final RTPLocationPool locationPool = getServiceUnchecked(RTPLocationPool.class);
+
     private RTPConfig rc = new RTPConfig();
 
     private final String WORLD_KEY = "world";
@@ -88,6 +91,27 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
             currentWorld = Sponge.getServer().loadWorld(wp).orElseThrow(() -> ReturnMessageException.fromKey("command.rtp.worldnoload", wp.getWorldName()));
         }
 
+        // Use a location that has already been found, if there is one.
+        Cause cause = Sponge.getCauseStackManager().getCurrentCause();
+        Optional<Location<World>> pooledLocation;
+        while ((pooledLocation = this.locationPool.poll(currentWorld)).isPresent()) {
+            Location<World> targetLocation = pooledLocation.get();
+            if (Sponge.getEventManager().post(new RTPSelectedLocationEvent(targetLocation, player, cause))) {
+                continue;
+            }
+
+            Nucleus.getNucleus().getLogger().debug(String.format("RTP of %s, using pooled location %s, %s, %s", player.getName(),
+                    String.valueOf(targetLocation.getBlockX()),
+                    String.valueOf(targetLocation.getBlockY()),
+                    String.valueOf(targetLocation.getBlockZ())));
+            if (!NucleusTeleportHandler.setLocation(player, targetLocation)) {
+                throw ReturnMessageException.fromKey("command.rtp.cancelled");
+            }
+
+            sendSuccessMessages(src, player, self, targetLocation);
+            return CommandResult.success();
+        }
+
         sendMessageTo(src, "command.rtp.searching");
 
         RTPOptions options = new RTPOptions(this.rc, currentWorld.getName());
@@ -100,6 +124,22 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
         return CommandResult.success();
     }
 
+    private void sendSuccessMessages(CommandSource source, Player target, boolean isSelf, Location<World> targetLocation) {
+        if (!isSelf) {
+            sendMessageTo(target, "command.rtp.other");
+            sendMessageTo(source, "command.rtp.successother",
+                    target.getName(),
+                    targetLocation.getBlockX(),
+                    targetLocation.getBlockY(),
+                    targetLocation.getBlockZ());
+        }
+
+        sendMessageTo(target, "command.rtp.success",
+                targetLocation.getBlockX(),
+                targetLocation.getBlockY(),
+                targetLocation.getBlockZ());
+    }
+
     @Override public void onReload() {
         this.rc = Nucleus.getNucleus().getConfigAdapter(RTPModule.ID, RTPConfigAdapter.class)
                 .map(TypedAbstractConfigAdapter::getNodeOrDefault).orElseGet(RTPConfig::new);
@@ -167,19 +207,7 @@ public class RandomTeleportCommand extends AbstractCommand.SimpleTargetOtherPlay
                                 String.valueOf(targetLocation.getBlockY()),
                                 String.valueOf(targetLocation.getBlockZ())));
                         if (NucleusTeleportHandler.setLocation(this.target, targetLocation)) {
-                            if (!this.isSelf) {
-                                sendMessageTo(this.target, "command.rtp.other");
-                                sendMessageTo(this.source, "command.rtp.successother",
-                                        this.target.getName(),
-                                        targetLocation.getBlockX(),
-                                        targetLocation.getBlockY(),
-                                        targetLocation.getBlockZ());
-                            }
-
-                            sendMessageTo(this.target, "command.rtp.success",
-                                    targetLocation.getBlockX(),
-                                    targetLocation.getBlockY(),
-                                    targetLocation.getBlockZ());
+                            sendSuccessMessages(this.source, this.target, this.isSelf, targetLocation);
                             return;
                         } else {
                             sendMessageTo(this.source, "command.rtp.cancelled");
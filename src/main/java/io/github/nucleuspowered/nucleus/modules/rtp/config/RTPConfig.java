@@ -73,6 +73,9 @@ public class RTPConfig {
 
     private ImmutableSet<BiomeType> lazyLoadProhbitedBiomes;
 
+    @Setting(value = "location-pool", comment = "config.rtp.pool")
+    private PoolConfig poolConfig = new PoolConfig();
+
     public int getNoOfAttempts() {
         return this.noOfAttempts;
     }
@@ -126,6 +129,10 @@ public class RTPConfig {
         return this.lazyLoadProhbitedBiomes;
     }
 
+    public PoolConfig getPoolConfig() {
+        return this.poolConfig;
+    }
+
     public RTPKernel getKernel() {
         if (this.lazyLoadedKernel == null) {
             // does the kernel exist?
@@ -182,4 +189,29 @@ public class RTPConfig {
 
         private RTPKernel lazyLoadedKernel;
     }
+
+    @ConfigSerializable
+    public static class PoolConfig {
+
+        @Setting(value = "enabled", comment = "config.rtp.pool.enabled")
+        private boolean enabled = true;
+
+        @Setting(value = "size", comment = "config.rtp.pool.size")
+        private int size = 20;
+
+        @Setting(value = "tick-budget-millis", comment = "config.rtp.pool.budget")
+        private double tickBudget = 2.0;
+
+        public boolean isEnabled() {
+            return this.enabled && this.size > 0 && this.tickBudget > 0;
+        }
+
+        public int getSize() {
+            return Math.max(0, this.size);
+        }
+
+        public long getTickBudgetNanos() {
+            return (long) (Math.max(0, this.tickBudget) * 1_000_000);
+        }
+    }
 }
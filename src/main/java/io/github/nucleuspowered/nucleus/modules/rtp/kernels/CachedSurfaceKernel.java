@@ -0,0 +1,302 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.kernels;
+
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.api.service.NucleusRTPService;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.World;
+import org.spongepowered.api.world.biome.BiomeType;
+import org.spongepowered.api.world.teleport.TeleportHelperFilter;
+import org.spongepowered.api.world.teleport.TeleportHelperFilters;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import javax.annotation.Nullable;
+
+/**
+ * A surface only kernel that remembers the surface height and biome of each column in the chunks
+ * that it visits, along with whether each column has been found to be safe.
+ *
+ * <p>Columns in prohibited biomes or outside of the height limits are rejected without checking the
+ * world, and most candidates are picked from visited chunks that still have untested columns that may
+ * be valid. The remaining candidates are picked in the same way as the {@link DefaultKernel}, so that
+ * new chunks are still discovered.</p>
+ *
+ * <p>This must only be used on the main thread.</p>
+ */
+public class CachedSurfaceKernel extends DefaultKernel {
+
+    private static final int MAX_CHUNKS_PER_WORLD = 4096;
+    private static final int EXPLORE_ONE_IN = 4;
+    private static final int SAMPLE_ATTEMPTS = 8;
+
+    private static final byte UNTESTED = 0;
+    private static final byte SAFE = 1;
+    private static final byte UNSAFE = 2;
+    private static final byte EXCLUDED = 3;
+
+    private final Map<UUID, WorldColumns> worlds = Maps.newHashMap();
+
+    @Override
+    public Vector3i getCandidate(@Nullable Location<World> currentLocation, World target, NucleusRTPService.RTPOptions options) {
+        Vector3i centre = getCentralLocation(currentLocation, target);
+        if (KernelHelper.getRandomBetween(0, EXPLORE_ONE_IN) != 0) {
+            Vector3i known = getColumns(target, options).sample(centre, options);
+            if (known != null) {
+                return known;
+            }
+        }
+
+        return KernelHelper.getLocationWithOffset(centre, options);
+    }
+
+    @Override
+    public Optional<Location<World>> testCandidate(Vector3i candidate, World target, NucleusRTPService.RTPOptions options) {
+        WorldColumns columns = getColumns(target, options);
+        ChunkSummary summary = columns.getOrCreate(target, candidate.getX() >> 4, candidate.getZ() >> 4);
+        int column = ChunkSummary.index(candidate.getX(), candidate.getZ());
+        byte state = summary.state[column];
+        if (state == EXCLUDED || state == UNSAFE) {
+            return Optional.empty();
+        }
+
+        Optional<Location<World>> result = super.testCandidate(candidate, target, options);
+        columns.setState(summary, column, result.isPresent() ? SAFE : UNSAFE);
+        return result;
+    }
+
+    @Nullable
+    @Override
+    Location<World> getStartingLocation(Location<World> world) {
+        WorldColumns columns = this.worlds.get(world.getExtent().getUniqueId());
+        ChunkSummary summary = columns == null ? null : columns.get(world.getBlockX() >> 4, world.getBlockZ() >> 4);
+        int y = summary == null
+                ? world.getExtent().getBlockMax().getY()
+                : Math.min(summary.surfaceY[ChunkSummary.index(world.getBlockX(), world.getBlockZ())], world.getExtent().getBlockMax().getY());
+        return super.getStartingLocation(new Location<>(world.getExtent(), world.getBlockX(), y, world.getBlockZ()));
+    }
+
+    @Override
+    TeleportHelperFilter filterToUse() {
+        return TeleportHelperFilters.SURFACE_ONLY;
+    }
+
+    @Override public String getId() {
+        return "nucleus:cached_surface";
+    }
+
+    @Override public String getName() {
+        return "Cached Surface Kernel";
+    }
+
+    private WorldColumns getColumns(World world, NucleusRTPService.RTPOptions options) {
+        WorldColumns columns = this.worlds.computeIfAbsent(world.getUniqueId(), k -> new WorldColumns());
+        columns.applyOptions(options);
+        return columns;
+    }
+
+    /*
+     * (non-Javadoc)
+     *
+     * Summaries for the chunks of one world, limited in number by evicting the least recently used.
+     * Summaries that still have untested columns are also held in a list, so that one can be picked
+     * at random.
+     */
+    private static final class WorldColumns {
+
+        private final List<BiomeType> palette = Lists.newArrayList();
+        private final Map<BiomeType, Short> paletteIds = Maps.newHashMap();
+        private final List<ChunkSummary> untested = Lists.newArrayList();
+        private final LinkedHashMap<Long, ChunkSummary> chunks = new LinkedHashMap<Long, ChunkSummary>(256, 0.75f, true) {
+            @Override protected boolean removeEldestEntry(Map.Entry<Long, ChunkSummary> eldest) {
+                if (size() > MAX_CHUNKS_PER_WORLD) {
+                    removeUntested(eldest.getValue());
+                    return true;
+                }
+
+                return false;
+            }
+        };
+
+        private int minY = -1;
+        private int maxY = -1;
+        @Nullable private Set<BiomeType> prohibitedBiomes = null;
+        @Nullable private boolean[] prohibitedPalette = null;
+
+        private void applyOptions(NucleusRTPService.RTPOptions options) {
+            if (this.minY == options.minHeight() && this.maxY == options.maxHeight()
+                    && Objects.equals(this.prohibitedBiomes, options.prohibitedBiomes())) {
+                return;
+            }
+
+            // The options have changed, so work out which columns may be valid again.
+            this.minY = options.minHeight();
+            this.maxY = options.maxHeight();
+            this.prohibitedBiomes = options.prohibitedBiomes();
+            this.prohibitedPalette = null;
+            this.untested.clear();
+            for (ChunkSummary summary : this.chunks.values()) {
+                summary.untestedIndex = -1;
+                classify(summary);
+            }
+        }
+
+        @Nullable private ChunkSummary get(int chunkX, int chunkZ) {
+            return this.chunks.get(key(chunkX, chunkZ));
+        }
+
+        private ChunkSummary getOrCreate(World world, int chunkX, int chunkZ) {
+            ChunkSummary summary = this.chunks.get(key(chunkX, chunkZ));
+            if (summary == null) {
+                summary = new ChunkSummary(chunkX, chunkZ);
+                int baseX = chunkX << 4;
+                int baseZ = chunkZ << 4;
+                for (int i = 0; i < ChunkSummary.COLUMNS; i++) {
+                    int x = baseX + (i >> 4);
+                    int z = baseZ + (i & 15);
+                    summary.surfaceY[i] = (short) world.getHighestYAt(x, z);
+                    summary.biome[i] = paletteId(world.getBiome(x, 0, z));
+                }
+
+                classify(summary);
+                this.chunks.put(key(chunkX, chunkZ), summary);
+            }
+
+            return summary;
+        }
+
+        private void setState(ChunkSummary summary, int column, byte state) {
+            if (summary.state[column] == UNTESTED && --summary.untestedCount == 0) {
+                removeUntested(summary);
+            }
+
+            summary.state[column] = state;
+        }
+
+        @Nullable private Vector3i sample(Vector3i centre, NucleusRTPService.RTPOptions options) {
+            for (int attempt = 0; attempt < SAMPLE_ATTEMPTS && !this.untested.isEmpty(); attempt++) {
+                ChunkSummary summary = this.untested.get(KernelHelper.getRandomBetween(0, this.untested.size()));
+                int start = KernelHelper.getRandomBetween(0, ChunkSummary.COLUMNS);
+                for (int i = 0; i < ChunkSummary.COLUMNS; i++) {
+                    int column = (start + i) & (ChunkSummary.COLUMNS - 1);
+                    if (summary.state[column] == UNTESTED) {
+                        int x = (summary.chunkX << 4) + (column >> 4);
+                        int z = (summary.chunkZ << 4) + (column & 15);
+                        if (isInRadius(x - centre.getX(), options) && isInRadius(z - centre.getZ(), options)) {
+                            return new Vector3i(x, summary.surfaceY[column], z);
+                        }
+
+                        // The whole chunk is likely to be out of range, try another.
+                        break;
+                    }
+                }
+            }
+
+            return null;
+        }
+
+        private static boolean isInRadius(int offset, NucleusRTPService.RTPOptions options) {
+            int distance = Math.abs(offset);
+            return distance >= options.minRadius() && distance < options.maxRadius();
+        }
+
+        private void classify(ChunkSummary summary) {
+            boolean[] prohibited = getProhibitedPalette();
+            int count = 0;
+            for (int i = 0; i < ChunkSummary.COLUMNS; i++) {
+                // The highest Y is the block above the surface.
+                int y = summary.surfaceY[i] - 1;
+                if (prohibited[summary.biome[i]] || y < this.minY || y > this.maxY) {
+                    summary.state[i] = EXCLUDED;
+                } else {
+                    summary.state[i] = UNTESTED;
+                    count++;
+                }
+            }
+
+            summary.untestedCount = count;
+            if (count > 0 && summary.untestedIndex < 0) {
+                summary.untestedIndex = this.untested.size();
+                this.untested.add(summary);
+            }
+        }
+
+        private void removeUntested(ChunkSummary summary) {
+            int index = summary.untestedIndex;
+            if (index < 0) {
+                return;
+            }
+
+            // Swap with the last entry so that removal is constant time.
+            ChunkSummary last = this.untested.remove(this.untested.size() - 1);
+            if (last != summary) {
+                this.untested.set(index, last);
+                last.untestedIndex = index;
+            }
+
+            summary.untestedIndex = -1;
+        }
+
+        private short paletteId(BiomeType biomeType) {
+            Short id = this.paletteIds.get(biomeType);
+            if (id == null) {
+                id = (short) this.palette.size();
+                this.palette.add(biomeType);
+                this.paletteIds.put(biomeType, id);
+                this.prohibitedPalette = null;
+            }
+
+            return id;
+        }
+
+        private boolean[] getProhibitedPalette() {
+            if (this.prohibitedPalette == null || this.prohibitedPalette.length < this.palette.size()) {
+                boolean[] prohibited = new boolean[this.palette.size()];
+                for (int i = 0; i < prohibited.length; i++) {
+                    prohibited[i] = this.prohibitedBiomes != null && this.prohibitedBiomes.contains(this.palette.get(i));
+                }
+
+                this.prohibitedPalette = prohibited;
+            }
+
+            return this.prohibitedPalette;
+        }
+
+        private static long key(int chunkX, int chunkZ) {
+            return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+        }
+    }
+
+    private static final class ChunkSummary {
+
+        private static final int COLUMNS = 256;
+
+        private final int chunkX;
+        private final int chunkZ;
+        private final short[] surfaceY = new short[COLUMNS];
+        private final short[] biome = new short[COLUMNS];
+        private final byte[] state = new byte[COLUMNS];
+        private int untestedCount = 0;
+        private int untestedIndex = -1;
+
+        private ChunkSummary(int chunkX, int chunkZ) {
+            this.chunkX = chunkX;
+            this.chunkZ = chunkZ;
+        }
+
+        private static int index(int x, int z) {
+            return ((x & 15) << 4) | (z & 15);
+        }
+    }
+}
@@ -27,8 +27,41 @@ public class DefaultKernel implements RTPKernel {
     @Override
     public Optional<Location<World>> getLocation(@Nullable Location<World> currentLocation, World target, NucleusRTPService.RTPOptions options) {
         // from world spawn
-        Vector3i location = KernelHelper.getLocationWithOffset(getCentralLocation(currentLocation, target), options);
-        Location<World> worldLocation = getStartingLocation(new Location<>(target, location));
+        return testCandidate(getCandidate(currentLocation, target, options), target, options);
+    }
+
+    /**
+     * Gets whether the locations this kernel selects depend on the current location of the player. If not,
+     * locations can be selected before they are requested.
+     *
+     * @return true if the player's location is used.
+     */
+    public boolean isRelativeToPlayer() {
+        return false;
+    }
+
+    /**
+     * Selects a random position to test, without checking the world.
+     *
+     * @param currentLocation The current location of the player, if any.
+     * @param target The world to select a position in.
+     * @param options The {@link NucleusRTPService.RTPOptions} to use.
+     * @return The position.
+     */
+    public Vector3i getCandidate(@Nullable Location<World> currentLocation, World target, NucleusRTPService.RTPOptions options) {
+        return KernelHelper.getLocationWithOffset(getCentralLocation(currentLocation, target), options);
+    }
+
+    /**
+     * Attempts to find a safe location around a position returned by {@link #getCandidate(Location, World, NucleusRTPService.RTPOptions)}.
+     *
+     * @param candidate The position.
+     * @param target The world the position is in.
+     * @param options The {@link NucleusRTPService.RTPOptions} to use.
+     * @return The safe location, if there is one.
+     */
+    public Optional<Location<World>> testCandidate(Vector3i candidate, World target, NucleusRTPService.RTPOptions options) {
+        Location<World> worldLocation = getStartingLocation(new Location<>(target, candidate));
         if (worldLocation == null) {
             return Optional.empty();
         }
@@ -54,6 +87,26 @@ public class DefaultKernel implements RTPKernel {
         return Optional.empty();
     }
 
+    /**
+     * Checks that a location that was previously returned by this kernel is still safe, without searching
+     * around it.
+     *
+     * @param location The location.
+     * @return true if it is still safe.
+     */
+    public boolean isStillSafe(Location<World> location) {
+        return Util.isLocationInWorldBorder(location)
+                && Sponge.getTeleportHelper().getSafeLocation(location,
+                        0,
+                        0,
+                        TeleportHelper.DEFAULT_FLOOR_CHECK_DISTANCE,
+                        TeleportHelperFilters.CONFIG,
+                        filterToUse())
+                    .filter(x -> x.getBlockPosition().equals(location.getBlockPosition()))
+                    .isPresent()
+                && verifyLocation(location);
+    }
+
     TeleportHelperFilter filterToUse() {
         return TeleportHelperFilters.DEFAULT;
     }
@@ -0,0 +1,34 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.runnables;
+
+import io.github.nucleuspowered.nucleus.internal.TaskBase;
+import io.github.nucleuspowered.nucleus.modules.rtp.service.RTPLocationPool;
+import org.spongepowered.api.scheduler.Task;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+
+public class RTPPoolRefillTask implements TaskBase {
+
+    private final RTPLocationPool pool = getServiceUnchecked(RTPLocationPool.class);
+
+    @Override
+    public void accept(Task task) {
+        this.pool.refill();
+    }
+
+    @Override
+    public boolean isAsync() {
+        // Locations can only be checked on the main thread.
+        return false;
+    }
+
+    @Override
+    public Duration interval() {
+        return Duration.of(50, ChronoUnit.MILLIS);
+    }
+
+}
@@ -0,0 +1,302 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.modules.rtp.service;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.flowpowered.math.vector.Vector3i;
+import com.google.common.collect.Maps;
+import io.github.nucleuspowered.nucleus.Util;
+import io.github.nucleuspowered.nucleus.api.rtp.RTPKernel;
+import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.traits.InternalServiceManagerTrait;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfig;
+import io.github.nucleuspowered.nucleus.modules.rtp.config.RTPConfigAdapter;
+import io.github.nucleuspowered.nucleus.modules.rtp.kernels.DefaultKernel;
+import org.spongepowered.api.Sponge;
+import org.spongepowered.api.util.PositionOutOfBoundsException;
+import org.spongepowered.api.world.Location;
+import org.spongepowered.api.world.TeleportHelper;
+import org.spongepowered.api.world.World;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.annotation.Nullable;
+
+/**
+ * Holds a pool of safe locations for each world that /rtp has been used in, so that a location can
+ * usually be handed out without having to search for one.
+ *
+ * <p>Pools are refilled by {@link #refill()} each tick, within the configured time budget. Only
+ * positions in chunks that have already been generated are tested. Such chunks are loaded from
+ * storage if they are not loaded already, but filling a pool never generates a chunk. Kernels that
+ * select locations around the player, or that are not based on {@link DefaultKernel}, are not
+ * pooled.</p>
+ *
+ * <p>This must only be used on the main thread.</p>
+ */
+public class RTPLocationPool implements Reloadable, InternalServiceManagerTrait {
+
+    private final Map<UUID, WorldPool> pools = Maps.newHashMap();
+    private RTPConfig config = new RTPConfig();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder stale = new LongAdder();
+    private final LongAdder attempts = new LongAdder();
+    private final LongAdder found = new LongAdder();
+    private final LongAdder ungenerated = new LongAdder();
+    private final LongAdder refillTicks = new LongAdder();
+    private final LongAdder refillNanos = new LongAdder();
+
+    /**
+     * Takes a location from the pool for the given world, checking that it is still safe.
+     *
+     * <p>If the world does not have a pool yet, one is created and will start to be filled.</p>
+     *
+     * @param world The world.
+     * @return The location, if the pool had one.
+     */
+    public Optional<Location<World>> poll(World world) {
+        if (!this.config.getPoolConfig().isEnabled()) {
+            return Optional.empty();
+        }
+
+        WorldPool pool = this.pools.computeIfAbsent(world.getUniqueId(), k -> new WorldPool(world.getName()));
+        if (pool.kernel == null) {
+            return Optional.empty();
+        }
+
+        Vector3d position;
+        while ((position = pool.locations.poll()) != null) {
+            Location<World> location = new Location<>(world, position);
+            try {
+                if (pool.kernel.isStillSafe(location)) {
+                    this.hits.increment();
+                    return Optional.of(location);
+                }
+            } catch (PositionOutOfBoundsException e) {
+                // treat as stale
+            }
+
+            this.stale.increment();
+        }
+
+        this.misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Tests candidate locations for the pools that are not full, until they are full or the
+     * time budget for this tick runs out.
+     */
+    public void refill() {
+        RTPConfig.PoolConfig poolConfig = this.config.getPoolConfig();
+        if (!poolConfig.isEnabled() || this.pools.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        long deadline = start + poolConfig.getTickBudgetNanos();
+        int size = poolConfig.getSize();
+        boolean work = false;
+        boolean needed = true;
+        while (needed && System.nanoTime() < deadline) {
+            needed = false;
+            Iterator<Map.Entry<UUID, WorldPool>> iterator = this.pools.entrySet().iterator();
+            while (iterator.hasNext()) {
+                Map.Entry<UUID, WorldPool> entry = iterator.next();
+                WorldPool pool = entry.getValue();
+                if (pool.kernel == null || pool.locations.size() >= size) {
+                    continue;
+                }
+
+                Optional<World> world = Sponge.getServer().getWorld(entry.getKey());
+                if (!world.isPresent()) {
+                    iterator.remove();
+                    continue;
+                }
+
+                needed = true;
+                work = true;
+                pool.tryAdd(world.get(), pool.kernel);
+                if (System.nanoTime() >= deadline) {
+                    break;
+                }
+            }
+        }
+
+        if (work) {
+            this.refillTicks.increment();
+            this.refillNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    public Statistics getStatistics() {
+        int pooled = 0;
+        for (WorldPool pool : this.pools.values()) {
+            pooled += pool.locations.size();
+        }
+
+        return new Statistics(
+                this.pools.size(),
+                pooled,
+                this.hits.sum(),
+                this.misses.sum(),
+                this.stale.sum(),
+                this.attempts.sum(),
+                this.found.sum(),
+                this.ungenerated.sum(),
+                this.refillTicks.sum(),
+                this.refillNanos.sum());
+    }
+
+    @Override
+    public void onReload() {
+        this.config = getServiceUnchecked(RTPConfigAdapter.class).getNodeOrDefault();
+
+        // The options or kernels may have changed.
+        this.pools.clear();
+    }
+
+    private static boolean isGenerated(World world, Vector3i candidate) {
+        // The safe location search can look this far away from the candidate.
+        int minX = (candidate.getX() - TeleportHelper.DEFAULT_WIDTH) >> 4;
+        int maxX = (candidate.getX() + TeleportHelper.DEFAULT_WIDTH) >> 4;
+        int minZ = (candidate.getZ() - TeleportHelper.DEFAULT_WIDTH) >> 4;
+        int maxZ = (candidate.getZ() + TeleportHelper.DEFAULT_WIDTH) >> 4;
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                // Loads a chunk that has been generated but is not loaded, without generating any.
+                if (!world.getChunk(x, 0, z).isPresent() && !world.loadChunk(x, 0, z, false).isPresent()) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private final class WorldPool {
+
+        private final Deque<Vector3d> locations = new ArrayDeque<>();
+        private final RTPOptions options;
+        @Nullable private final DefaultKernel kernel;
+
+        private WorldPool(String worldName) {
+            RTPKernel rtpKernel = RTPLocationPool.this.config.getKernel(worldName);
+            this.kernel = rtpKernel instanceof DefaultKernel && !((DefaultKernel) rtpKernel).isRelativeToPlayer()
+                    ? (DefaultKernel) rtpKernel : null;
+            this.options = new RTPOptions(RTPLocationPool.this.config, worldName);
+        }
+
+        private void tryAdd(World world, DefaultKernel kernel) {
+            RTPLocationPool.this.attempts.increment();
+            Vector3i candidate = kernel.getCandidate(null, world, this.options);
+            if (!Util.isLocationInWorldBorder(new Location<>(world, candidate))) {
+                return;
+            }
+
+            if (!isGenerated(world, candidate)) {
+                RTPLocationPool.this.ungenerated.increment();
+                return;
+            }
+
+            try {
+                kernel.testCandidate(candidate, world, this.options).ifPresent(x -> {
+                    this.locations.add(x.getPosition());
+                    RTPLocationPool.this.found.increment();
+                });
+            } catch (PositionOutOfBoundsException ignore) {
+                // treat as fail.
+            }
+        }
+    }
+
+    /**
+     * A snapshot of the state of the {@link RTPLocationPool}.
+     */
+    public static final class Statistics {
+
+        private final int worlds;
+        private final int pooled;
+        private final long hits;
+        private final long misses;
+        private final long stale;
+        private final long attempts;
+        private final long found;
+        private final long ungenerated;
+        private final long refillTicks;
+        private final long refillNanos;
+
+        private Statistics(int worlds, int pooled, long hits, long misses, long stale, long attempts, long found, long ungenerated,
+                long refillTicks, long refillNanos) {
+            this.worlds = worlds;
+            this.pooled = pooled;
+            this.hits = hits;
+            this.misses = misses;
+            this.stale = stale;
+            this.attempts = attempts;
+            this.found = found;
+            this.ungenerated = ungenerated;
+            this.refillTicks = refillTicks;
+            this.refillNanos = refillNanos;
+        }
+
+        public int getWorlds() {
+            return this.worlds;
+        }
+
+        public int getPooled() {
+            return this.pooled;
+        }
+
+        public long getHits() {
+            return this.hits;
+        }
+
+        public long getMisses() {
+            return this.misses;
+        }
+
+        public long getStale() {
+            return this.stale;
+        }
+
+        public double getHitRate() {
+            long requests = this.hits + this.misses;
+            return requests == 0 ? 1.0 : (double) this.hits / requests;
+        }
+
+        public long getAttempts() {
+            return this.attempts;
+        }
+
+        public long getFound() {
+            return this.found;
+        }
+
+        public long getUngenerated() {
+            return this.ungenerated;
+        }
+
+        public long getRefillTicks() {
+            return this.refillTicks;
+        }
+
+        public double getAverageRefillMillis() {
+            return this.refillTicks == 0 ? 0 : this.refillNanos / (this.refillTicks * 1_000_000.0);
+        }
+
+        public double getAverageAttemptMillis() {
+            return this.attempts == 0 ? 0 : this.refillNanos / (this.attempts * 1_000_000.0);
+        }
+    }
+}
@@ -38,6 +38,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
     public void setLineOne(@Nullable String lineOne) {
         this.lineOne = lineOne;
         this.messageCache = null;
+        markDirty();
     }
 
     public Optional<String> getLineTwo() {
@@ -47,6 +48,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
     public void setLineTwo(@Nullable String lineTwo) {
         this.lineTwo = lineTwo;
         this.messageCache = null;
+        markDirty();
     }
 
     public Optional<Instant> getExpiry() {
@@ -60,6 +62,7 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
     public void setExpiry(@Nullable Instant expiry) {
         this.expiry = expiry;
         this.messageCache = null;
+        markDirty();
     }
 
     public Optional<Text> getMessage() {
@@ -81,5 +84,6 @@ public class ServerListGeneralDataModule extends DataModule<ModularGeneralServic
         this.lineOne = null;
         this.lineTwo = null;
         this.expiry = null;
+        markDirty();
     }
 }
@@ -8,13 +8,13 @@ import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.api.text.NucleusTextTemplate;
 import io.github.nucleuspowered.nucleus.internal.ListenerBase;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.internal.text.NucleusTextTemplateImpl;
 import io.github.nucleuspowered.nucleus.modules.serverlist.ServerListModule;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfig;
 import io.github.nucleuspowered.nucleus.modules.serverlist.config.ServerListConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.serverlist.datamodules.ServerListGeneralDataModule;
 import org.spongepowered.api.Sponge;
-import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.User;
 import org.spongepowered.api.event.Listener;
 import org.spongepowered.api.event.filter.Getter;
@@ -32,6 +32,7 @@ import java.util.stream.Collectors;
 public class ServerListListener implements Reloadable, ListenerBase.Conditional {
 
     private final Random random = new Random();
+    private final PlayerStatusService statusService = getServiceUnchecked(PlayerStatusService.class);
     private ServerListConfig config;
 
     @Listener
@@ -69,7 +70,7 @@ public class ServerListListener implements Reloadable, ListenerBase.Conditional
             response.setHidePlayers(true);
         } else if (this.config.isHideVanishedPlayers()) {
             Collection<GameProfile> players = Sponge.getServer().getOnlinePlayers().stream()
-                    .filter(x -> !x.get(Keys.VANISH).orElse(false))
+                    .filter(x -> !this.statusService.isVanished(x))
                     .map(User::getProfile).collect(Collectors.toList());
 
             response.getPlayers().ifPresent(y -> {
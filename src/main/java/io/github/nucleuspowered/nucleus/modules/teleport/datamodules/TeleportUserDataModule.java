@@ -19,5 +19,6 @@ public class TeleportUserDataModule extends DataModule<ModularUserService> {
 
     public void setTeleportToggled(boolean teleportToggled) {
         this.isTeleportToggled = teleportToggled;
+        markDirty();
     }
 }
@@ -429,9 +429,9 @@ public class TeleportHandler implements MessageProviderTrait, PermissionHandlerT
 
             if (this.warmupTime > 0) {
                 sendMessageTo(fromPlayer.getPlayer().get(), "teleport.warmup", this.warmupTime);
-                Nucleus.getNucleus().getWarmupManager().addWarmup(
+                Nucleus.getNucleus().getWarmupManager().submitWarmup(
                         this.from, Sponge.getScheduler().createTaskBuilder().delay(this.warmupTime, TimeUnit.SECONDS)
-                        .execute(tt).name("NucleusPlugin - Teleport Waiter").submit(Nucleus.getNucleus()));
+                        .name("NucleusPlugin - Teleport Waiter"), tt);
             } else {
                 tt.run();
             }
@@ -31,7 +31,7 @@ public class VanishListener implements Reloadable, ListenerBase {
     @Listener
     public void onLogin(ClientConnectionEvent.Join event, @Getter("getTargetEntity") Player player) {
         boolean shouldVanish = (!ServiceChangeListener.isOpOnly() && player.hasPermission(this.loginVanishPermission))
-                || this.service.isVanished(player);
+                || this.service.isStoredAsVanished(player);
 
         if (shouldVanish) {
             if (!player.hasPermission(this.permission)) {
@@ -4,24 +4,49 @@
  */
 package io.github.nucleuspowered.nucleus.modules.vanish.service;
 
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
 import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.modules.vanish.commands.VanishCommand;
 import io.github.nucleuspowered.nucleus.modules.vanish.config.VanishConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.vanish.datamodules.VanishUserDataModule;
 import org.spongepowered.api.Sponge;
 import org.spongepowered.api.data.key.Keys;
 import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.entity.living.player.tab.TabList;
 import org.spongepowered.api.entity.living.player.tab.TabListEntry;
 import org.spongepowered.api.scheduler.Task;
 import org.spongepowered.api.text.Text;
 
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Vanishes and unvanishes players.
+ *
+ * <p>Whether each online player is vanished is also held in the {@link PlayerStatusService}, so that
+ * it can be read without going to the player's data. Changes to tab lists are queued and made for all
+ * players that changed in a single pass on the next tick.</p>
+ */
 public class VanishService implements Reloadable {
 
     private final String canseePerm = Nucleus.getNucleus().getPermissionRegistry()
             .getPermissionsForNucleusCommand(VanishCommand.class).getPermissionWithSuffix("see");
+    private final PlayerStatusService statusService =
+            Nucleus.getNucleus().getInternalServiceManager().getServiceUnchecked(PlayerStatusService.class);
+    private final Set<UUID> tabListUpdates = Sets.newConcurrentHashSet();
+    private final AtomicBoolean tabListUpdateScheduled = new AtomicBoolean(false);
     private boolean isAlter = false;
 
+    public VanishService() {
+        this.statusService.setVanishTracked();
+    }
+
     @Override
     public void onReload() {
         String property = System.getProperty("nucleus.vanish.tablist.enable");
@@ -30,9 +55,20 @@ public class VanishService implements Reloadable {
     }
 
     public boolean isVanished(Player player) {
-        return Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class).isVanished();
+        return this.statusService.getStatus(player.getUniqueId()).map(PlayerStatusService.PlayerStatus::isVanished)
+                .orElseGet(() -> isStoredAsVanished(player));
     }
 
+    /**
+     * Gets whether the player's data says that they are vanished, which is what they should be when
+     * they log in.
+     *
+     * @param player The {@link Player}.
+     * @return Whether they are vanished.
+     */
+    public boolean isStoredAsVanished(Player player) {
+        return Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class).isVanished();
+    }
 
     public void vanishPlayer(Player player) {
         vanishPlayer(player, false);
@@ -41,6 +77,7 @@ public class VanishService implements Reloadable {
     public void vanishPlayer(Player player, boolean delay) {
         VanishUserDataModule service = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class);
         service.setVanished(true);
+        this.statusService.setFlag(player.getUniqueId(), PlayerStatusService.VANISHED, true);
 
         if (delay) {
             Task.builder().execute(() -> vanishPlayerInternal(player)).delayTicks(0).name("Nucleus Vanish runnable").submit(Nucleus.getNucleus());
@@ -50,37 +87,71 @@ public class VanishService implements Reloadable {
     }
 
     private void vanishPlayerInternal(Player player) {
-        VanishUserDataModule service = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class);
-        if (service.isVanished()) {
+        if (isVanished(player)) {
             player.offer(Keys.VANISH, true);
             player.offer(Keys.VANISH_IGNORES_COLLISION, true);
             player.offer(Keys.VANISH_PREVENTS_TARGETING, true);
-
-            if (this.isAlter) {
-                Sponge.getServer().getOnlinePlayers().stream().filter(x -> !player.equals(x) || !x.hasPermission(this.canseePerm))
-                        .forEach(x -> x.getTabList().removeEntry(player.getUniqueId()));
-            }
+            queueTabListUpdate(player);
         }
     }
 
     public void unvanishPlayer(Player player) {
         VanishUserDataModule service = Nucleus.getNucleus().getUserDataManager().getUnchecked(player).get(VanishUserDataModule.class);
         service.setVanished(false);
+        this.statusService.setFlag(player.getUniqueId(), PlayerStatusService.VANISHED, false);
         player.offer(Keys.VANISH, false);
         player.offer(Keys.VANISH_IGNORES_COLLISION, false);
         player.offer(Keys.VANISH_PREVENTS_TARGETING, false);
+        queueTabListUpdate(player);
+    }
+
+    private void queueTabListUpdate(Player player) {
+        if (!this.isAlter) {
+            return;
+        }
 
-        if (this.isAlter) {
-            Sponge.getServer().getOnlinePlayers().forEach(x -> {
-                if (!x.getTabList().getEntry(player.getUniqueId()).isPresent()) {
-                    x.getTabList().addEntry(TabListEntry.builder()
+        this.tabListUpdates.add(player.getUniqueId());
+        if (this.tabListUpdateScheduled.compareAndSet(false, true)) {
+            Task.builder().execute(this::updateTabLists).delayTicks(0).name("Nucleus Vanish tab list runnable").submit(Nucleus.getNucleus());
+        }
+    }
+
+    private void updateTabLists() {
+        // Anything queued from here on will be picked up by the next run.
+        this.tabListUpdateScheduled.set(false);
+        List<Player> changed = Lists.newArrayList();
+        Iterator<UUID> iterator = this.tabListUpdates.iterator();
+        while (iterator.hasNext()) {
+            Sponge.getServer().getPlayer(iterator.next()).ifPresent(changed::add);
+            iterator.remove();
+        }
+
+        if (changed.isEmpty()) {
+            return;
+        }
+
+        List<Player> vanished = Lists.newArrayList();
+        List<Player> unvanished = Lists.newArrayList();
+        changed.forEach(x -> (isVanished(x) ? vanished : unvanished).add(x));
+
+        for (Player viewer : Sponge.getServer().getOnlinePlayers()) {
+            TabList tabList = viewer.getTabList();
+            for (Player player : vanished) {
+                if (!player.equals(viewer) || !viewer.hasPermission(this.canseePerm)) {
+                    tabList.removeEntry(player.getUniqueId());
+                }
+            }
+
+            for (Player player : unvanished) {
+                if (!tabList.getEntry(player.getUniqueId()).isPresent()) {
+                    tabList.addEntry(TabListEntry.builder()
                             .displayName(Text.of(player.getName()))
                             .profile(player.getProfile())
                             .gameMode(player.gameMode().get())
                             .latency(player.getConnection().getLatency())
-                            .list(x.getTabList()).build());
+                            .list(tabList).build());
                 }
-            });
+            }
         }
     }
 
@@ -29,6 +29,8 @@ public class WarnModule extends ConfigurableModule<WarnConfigAdapter> {
 
     @Override
     public void performEnableTasks() {
+        getServiceUnchecked(WarnHandler.class).registerExpiry();
+
         // Take base permission from /checkwarnings.
         createSeenModule(CheckWarningsCommand.class, (c, u) -> {
 
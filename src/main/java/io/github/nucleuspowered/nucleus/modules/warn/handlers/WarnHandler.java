@@ -15,6 +15,7 @@ import io.github.nucleuspowered.nucleus.api.service.NucleusWarningService;
 import io.github.nucleuspowered.nucleus.dataservices.loaders.UserDataManager;
 import io.github.nucleuspowered.nucleus.dataservices.modular.ModularUserService;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.modules.warn.WarnModule;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfig;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
@@ -29,6 +30,7 @@ import org.spongepowered.api.event.cause.Cause;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -37,10 +39,30 @@ import javax.annotation.Nullable;
 
 public class WarnHandler implements NucleusWarningService, Reloadable {
 
+    public static final String EXPIRY_TYPE = "warn";
+
     private final Nucleus nucleus = Nucleus.getNucleus();
     private final UserDataManager userDataManager = this.nucleus.getUserDataManager();
+    private final ExpiryService expiryService = this.nucleus.getInternalServiceManager().getServiceUnchecked(ExpiryService.class);
     private boolean expireWarnings = false;
 
+    /**
+     * Removes the timed warnings of online players when they expire.
+     */
+    public void registerExpiry() {
+        this.expiryService.register(EXPIRY_TYPE, x -> getWarningsInternal(x, true, false).stream()
+                .map(WarnData::getEndTimestamp)
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .min(Comparator.naturalOrder()), x -> {
+            Instant now = Instant.now();
+            getWarningsInternal(x, true, false).stream()
+                    .filter(w -> w.getEndTimestamp().map(t -> t.isBefore(now)).orElse(false))
+                    .forEach(w -> removeWarning(x, w));
+            this.expiryService.update(EXPIRY_TYPE, x);
+        });
+    }
+
     public List<WarnData> getWarningsInternal(User user) {
         return getWarningsInternal(user, true, true);
     }
@@ -73,6 +95,7 @@ public class WarnHandler implements NucleusWarningService, Reloadable {
         Optional<Duration> duration = warning.getTimeFromNextLogin();
         warning.nextLoginToTimestamp();
         userService.addWarning(warning);
+        user.getPlayer().ifPresent(x -> this.expiryService.update(EXPIRY_TYPE, x));
 
         if (!warning.isExpired()) {
             Sponge.getEventManager().post(new WarnEvent.Warned(
@@ -161,6 +184,8 @@ public class WarnHandler implements NucleusWarningService, Reloadable {
                 removeWarning(user, warning);
             }
         }
+
+        userService.get().get(WarnUserDataModule.class).markDirty();
         return true;
     }
 
@@ -12,8 +12,10 @@ import io.github.nucleuspowered.nucleus.internal.PermissionRegistry;
 import io.github.nucleuspowered.nucleus.internal.interfaces.Reloadable;
 import io.github.nucleuspowered.nucleus.internal.permissions.PermissionInformation;
 import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import io.github.nucleuspowered.nucleus.internal.services.ExpiryService;
 import io.github.nucleuspowered.nucleus.modules.warn.config.WarnConfigAdapter;
 import io.github.nucleuspowered.nucleus.modules.warn.data.WarnData;
+import io.github.nucleuspowered.nucleus.modules.warn.datamodules.WarnUserDataModule;
 import io.github.nucleuspowered.nucleus.modules.warn.handlers.WarnHandler;
 import io.github.nucleuspowered.nucleus.util.PermissionMessageChannel;
 import org.spongepowered.api.Sponge;
@@ -33,6 +35,7 @@ import java.util.stream.Collectors;
 public class WarnListener implements Reloadable, ListenerBase {
 
     private final WarnHandler handler = getServiceUnchecked(WarnHandler.class);
+    private final ExpiryService expiryService = getServiceUnchecked(ExpiryService.class);
     private final String showOnLogin = PermissionRegistry.PERMISSIONS_PREFIX + "warn.showonlogin";
     private boolean isShowOnLogin = true;
 
@@ -65,6 +68,9 @@ public class WarnListener implements Reloadable, ListenerBase {
                     }
                 }
 
+                // The end times were set on the warnings in place, so make sure they get saved.
+                Nucleus.getNucleus().getUserDataManager().get(player).ifPresent(x -> x.get(WarnUserDataModule.class).markDirty());
+
                 // Now, let's check again
                 if (this.isShowOnLogin) {
                     List<WarnData> lwd = warnings.stream().filter(x -> !x.isExpired()).collect(Collectors.toList());
@@ -77,6 +83,8 @@ public class WarnListener implements Reloadable, ListenerBase {
                                 .build());
                     }
                 }
+
+                this.expiryService.update(WarnHandler.EXPIRY_TYPE, player);
             }
         }).submit(Nucleus.getNucleus());
     }
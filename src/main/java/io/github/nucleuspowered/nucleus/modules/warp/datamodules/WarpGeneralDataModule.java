@@ -56,6 +56,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
         }
 
         this.warps.put(name, new WarpNode(loc, rot));
+        markDirty();
         return true;
     }
 
@@ -65,6 +66,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
         if (os.isPresent()) {
             // No need to put it back - it's saved automatically.
             os.get().setCost(cost);
+            markDirty();
             return true;
         }
 
@@ -80,6 +82,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
                 this.warpCategories.putIfAbsent(category.toLowerCase(), new WarpCategoryDataNode());
             }
 
+            markDirty();
             return true;
         }
 
@@ -91,6 +94,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
         if (os.isPresent()) {
             // No need to put it back - it's saved automatically.
             os.get().setDescription(description);
+            markDirty();
             return true;
         }
 
@@ -101,6 +105,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
         Optional<String> os = Util.getKeyIgnoreCase(this.warps, name);
         if (os.isPresent()) {
             this.warps.remove(os.get());
+            markDirty();
             return true;
         }
 
@@ -142,6 +147,7 @@ public class WarpGeneralDataModule extends LocationDataModule<ModularGeneralServ
                 TextSerializers.JSON.serialize(displayName != null ? displayName : Text.of(category)),
                 description != null ? TextSerializers.JSON.serialize(description) : null
             ));
+        markDirty();
     }
 
     private static class WarpData extends LocationData implements Warp {
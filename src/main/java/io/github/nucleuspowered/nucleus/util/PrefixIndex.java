@@ -0,0 +1,144 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Predicate;
+
+/**
+ * Holds a name for each value, and finds values by the start of their name, ignoring case.
+ *
+ * <p>Names are kept in lower case in a sorted map, so finding the values that start with a prefix
+ * only visits those values, and stops once enough have been found. More than one value may have
+ * the same name. The values for each name are held in a small immutable set that is replaced, rather
+ * than changed, so lookups do not take any locks or copy anything. Changes are made under a lock, and
+ * are expected to be far less frequent than lookups.</p>
+ *
+ * @param <V> The type of value.
+ */
+public final class PrefixIndex<V> {
+
+    private final ConcurrentSkipListMap<String, ImmutableSet<V>> byName = new ConcurrentSkipListMap<>();
+    private final Map<V, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the name of a value, replacing any name it had before.
+     *
+     * @param value The value.
+     * @param name The name.
+     */
+    public synchronized void put(V value, String name) {
+        Preconditions.checkNotNull(value, "value");
+        Preconditions.checkNotNull(name, "name");
+        String previous = this.names.put(value, name);
+        if (previous != null) {
+            removeName(value, previous);
+        }
+
+        this.byName.merge(toKey(name), ImmutableSet.of(value),
+                (current, added) -> ImmutableSet.<V>builder().addAll(current).addAll(added).build());
+    }
+
+    /**
+     * Removes a value.
+     *
+     * @param value The value.
+     */
+    public synchronized void remove(V value) {
+        String previous = this.names.remove(value);
+        if (previous != null) {
+            removeName(value, previous);
+        }
+    }
+
+    /**
+     * Removes every value.
+     */
+    public synchronized void clear() {
+        this.names.clear();
+        this.byName.clear();
+    }
+
+    /**
+     * Gets the name of a value, as it was given.
+     *
+     * @param value The value.
+     * @return The name, if the value is held.
+     */
+    public Optional<String> getName(V value) {
+        return Optional.ofNullable(this.names.get(value));
+    }
+
+    /**
+     * Gets the values with a name, ignoring case.
+     *
+     * @param name The name.
+     * @return The values.
+     */
+    public Set<V> get(String name) {
+        ImmutableSet<V> values = this.byName.get(toKey(name));
+        return values == null ? ImmutableSet.of() : values;
+    }
+
+    /**
+     * Gets the values whose names start with a prefix, ignoring case, in order of their name.
+     *
+     * @param prefix The prefix.
+     * @param filter Values that do not pass this are skipped, and do not count towards the limit.
+     * @param limit The most values to return.
+     * @return The values.
+     */
+    public List<V> startingWith(String prefix, Predicate<V> filter, int limit) {
+        List<V> result = Lists.newArrayList();
+        if (limit <= 0) {
+            return result;
+        }
+
+        String key = toKey(prefix);
+        ConcurrentNavigableMap<String, ImmutableSet<V>> range = key.isEmpty() ? this.byName :
+                this.byName.subMap(key, true, key + Character.MAX_VALUE, false);
+        for (ImmutableSet<V> values : range.values()) {
+            for (V value : values) {
+                if (filter.test(value)) {
+                    result.add(value);
+                    if (result.size() >= limit) {
+                        return result;
+                    }
+                }
+            }
+        }
+
+        return result;
+    }
+
+    public int size() {
+        return this.names.size();
+    }
+
+    private void removeName(V value, String name) {
+        this.byName.computeIfPresent(toKey(name), (k, v) -> {
+            if (v.size() == 1) {
+                return v.contains(value) ? null : v;
+            }
+
+            return v.stream().filter(x -> !x.equals(value)).collect(ImmutableSet.toImmutableSet());
+        });
+    }
+
+    private static String toKey(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+}
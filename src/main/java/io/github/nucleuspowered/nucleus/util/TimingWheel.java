@@ -0,0 +1,184 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.util;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * A hierarchical timing wheel, which holds values until a deadline has passed.
+ *
+ * <p>Scheduling a value is constant time. Advancing the wheel only touches the values whose deadline
+ * has passed, along with values that are moved down to a finer level once they get close to their
+ * deadline. Deadlines are rounded up to the tick length of the wheel.</p>
+ *
+ * <p>There are four levels of 64 slots each. Anything further away than the last level can
+ * hold is kept in an overflow list, which is re-examined each time the last level turns.</p>
+ *
+ * @param <T> The type of value to hold.
+ */
+public final class TimingWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final List<List<Entry<T>>> slots;
+    private final List<Entry<T>> overflow = Lists.newArrayList();
+    private List<Entry<T>> due = Lists.newArrayList();
+    private long currentTick;
+    private int size = 0;
+
+    /**
+     * Creates a wheel.
+     *
+     * @param tickMillis The length of one tick, in milliseconds.
+     * @param nowMillis The current time, in milliseconds.
+     */
+    public TimingWheel(long tickMillis, long nowMillis) {
+        Preconditions.checkArgument(tickMillis > 0, "tickMillis must be positive");
+        this.tickMillis = tickMillis;
+        this.currentTick = nowMillis / tickMillis;
+        this.slots = new ArrayList<>(SLOTS * LEVELS);
+        for (int i = 0; i < SLOTS * LEVELS; i++) {
+            this.slots.add(Lists.newArrayList());
+        }
+    }
+
+    /**
+     * Schedules a value. If the deadline has already passed, the value will be returned by the next
+     * call to {@link #advance(long, Consumer)}.
+     *
+     * @param deadlineMillis The deadline, in milliseconds.
+     * @param value The value.
+     */
+    public synchronized void schedule(long deadlineMillis, T value) {
+        Preconditions.checkNotNull(value, "value");
+        // Round up, so that values are never returned early.
+        long tick = (deadlineMillis + this.tickMillis - 1) / this.tickMillis;
+        place(new Entry<>(tick, value));
+        this.size++;
+    }
+
+    /**
+     * Advances the wheel to the given time, passing each value whose deadline has passed to the
+     * consumer. The consumer is called without holding the lock on this wheel, so it may schedule
+     * values again.
+     *
+     * @param nowMillis The current time, in milliseconds.
+     * @param consumer The {@link Consumer} to pass the values to.
+     */
+    public void advance(long nowMillis, Consumer<T> consumer) {
+        List<Entry<T>> fired;
+        synchronized (this) {
+            long target = nowMillis / this.tickMillis;
+            if (target - this.currentTick >= (1L << (SLOT_BITS * LEVELS))) {
+                // So far behind that it is cheaper to re-place everything than to turn the wheel.
+                List<Entry<T>> all = Lists.newArrayList(this.overflow);
+                this.overflow.clear();
+                this.slots.forEach(x -> {
+                    all.addAll(x);
+                    x.clear();
+                });
+
+                this.currentTick = target;
+                all.forEach(this::place);
+            }
+
+            while (this.currentTick < target) {
+                this.currentTick++;
+                cascade(this.currentTick);
+                List<Entry<T>> slot = this.slots.get((int) (this.currentTick & SLOT_MASK));
+                if (!slot.isEmpty()) {
+                    this.due.addAll(slot);
+                    slot.clear();
+                }
+            }
+
+            fired = this.due;
+            this.due = Lists.newArrayList();
+            this.size -= fired.size();
+        }
+
+        for (Entry<T> entry : fired) {
+            consumer.accept(entry.value);
+        }
+    }
+
+    /**
+     * Gets the number of values that are currently held.
+     *
+     * @return The number of values.
+     */
+    public synchronized int size() {
+        return this.size;
+    }
+
+    /**
+     * Removes all values.
+     */
+    public synchronized void clear() {
+        this.slots.forEach(List::clear);
+        this.overflow.clear();
+        this.due.clear();
+        this.size = 0;
+    }
+
+    private void cascade(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((tick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+
+            List<Entry<T>> slot = this.slots.get(level * SLOTS + (int) ((tick >> (SLOT_BITS * level)) & SLOT_MASK));
+            if (!slot.isEmpty()) {
+                List<Entry<T>> entries = Lists.newArrayList(slot);
+                slot.clear();
+                entries.forEach(this::place);
+            }
+        }
+
+        // The last level has turned.
+        if (!this.overflow.isEmpty()) {
+            List<Entry<T>> entries = Lists.newArrayList(this.overflow);
+            this.overflow.clear();
+            entries.forEach(this::place);
+        }
+    }
+
+    private void place(Entry<T> entry) {
+        long delta = entry.tick - this.currentTick;
+        if (delta <= 0) {
+            this.due.add(entry);
+            return;
+        }
+
+        for (int level = 0; level < LEVELS; level++) {
+            if (delta < (1L << (SLOT_BITS * (level + 1)))) {
+                this.slots.get(level * SLOTS + (int) ((entry.tick >> (SLOT_BITS * level)) & SLOT_MASK)).add(entry);
+                return;
+            }
+        }
+
+        this.overflow.add(entry);
+    }
+
+    private static final class Entry<T> {
+
+        private final long tick;
+        private final T value;
+
+        private Entry(long tick, T value) {
+            this.tick = tick;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.annotations.RunAsync;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoCost;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.NoWarmup;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.Permissions;
+import io.github.nucleuspowered.nucleus.internal.annotations.command.RegisterCommand;
+import io.github.nucleuspowered.nucleus.internal.command.AbstractCommand;
+import io.github.nucleuspowered.nucleus.internal.command.CommandMetadata;
+import io.github.nucleuspowered.nucleus.internal.permissions.SuggestedLevel;
+import org.junit.Assert;
+import org.junit.Test;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.entity.living.player.Player;
+
+public class CommandMetadataTests {
+
+    @Test
+    public void testThatAnnotationsAreRead() {
+        CommandMetadata metadata = CommandMetadata.of(RootCommand.class);
+        Assert.assertTrue(metadata.isRegistered());
+        Assert.assertTrue(metadata.isRoot());
+        Assert.assertTrue(metadata.hasExecutor());
+        Assert.assertArrayEquals(new String[] { "root", "r" }, metadata.getAliases());
+        Assert.assertEquals(Player.class, metadata.getSourceType());
+        Assert.assertEquals("test", metadata.getPermissionPrefix());
+        Assert.assertEquals(SuggestedLevel.USER, metadata.getSuggestedLevel());
+        Assert.assertTrue(metadata.isNoWarmup());
+        Assert.assertTrue(metadata.isWarmupGenerateConfigEntry());
+        Assert.assertTrue(metadata.isRunAsync());
+        Assert.assertFalse(metadata.isNoCost());
+        Assert.assertNull(metadata.getPermissionsFrom());
+    }
+
+    @Test
+    public void testThatInheritedAnnotationsAreRead() {
+        CommandMetadata metadata = CommandMetadata.of(ChildCommand.class);
+        Assert.assertFalse(metadata.isRoot());
+        Assert.assertEquals(RootCommand.class, metadata.getSubcommandOf());
+        Assert.assertEquals(Player.class, metadata.getSourceType());
+
+        // NoWarmup, NoCost and RunAsync are inherited, Permissions is not.
+        Assert.assertTrue(metadata.isNoWarmup());
+        Assert.assertTrue(metadata.isNoCost());
+        Assert.assertTrue(metadata.isRunAsync());
+        Assert.assertEquals("", metadata.getPermissionPrefix());
+        Assert.assertEquals(SuggestedLevel.ADMIN, metadata.getSuggestedLevel());
+    }
+
+    @Test
+    public void testThatUnregisteredCommandsHaveDefaults() {
+        CommandMetadata metadata = CommandMetadata.of(UnregisteredCommand.class);
+        Assert.assertFalse(metadata.isRegistered());
+        Assert.assertTrue(metadata.isRoot());
+        Assert.assertFalse(metadata.hasExecutor());
+        Assert.assertEquals(0, metadata.getAliases().length);
+        Assert.assertEquals(CommandSource.class, metadata.getSourceType());
+    }
+
+    @RegisterCommand({"root", "r"})
+    @Permissions(prefix = "test", suggestedLevel = SuggestedLevel.USER)
+    @NoWarmup(generateConfigEntry = true)
+    @RunAsync
+    public static class RootCommand extends AbstractCommand<Player> {
+
+        @Override public CommandResult executeCommand(Player src, CommandContext args) throws Exception {
+            return CommandResult.success();
+        }
+    }
+
+    @RegisterCommand(value = "child", subcommandOf = RootCommand.class)
+    @NoCost
+    public static class ChildCommand extends RootCommand {
+    }
+
+    public static class UnregisteredCommand extends AbstractCommand<CommandSource> {
+
+        @Override public CommandResult executeCommand(CommandSource src, CommandContext args) throws Exception {
+            return CommandResult.success();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.dataservices.dataproviders.ConfigurationNodeCodec;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+
+public class ConfigurationNodeCodecTests extends TestBase {
+
+    @Test
+    public void testThatNodesSurviveTheRoundTrip() throws IOException {
+        ConfigurationNode node = ConfigurationNodeCodec.createEmptyNode();
+        node.getNode("string").setValue("Nucleus é世");
+        node.getNode("boolean").setValue(true);
+        node.getNode("int").setValue(-42);
+        node.getNode("long").setValue(Long.MAX_VALUE);
+        node.getNode("double").setValue(1.5d);
+        node.getNode("float").setValue(0.25f);
+        node.getNode("list").setValue(Lists.newArrayList("a", "b", "c"));
+        node.getNode("map", "nested", "value").setValue(300);
+
+        ConfigurationNode result = ConfigurationNodeCodec.decode(ConfigurationNodeCodec.encode(node));
+
+        Assert.assertEquals(node.getValue(), result.getValue());
+        Assert.assertEquals(Integer.class, result.getNode("int").getValue().getClass());
+        Assert.assertEquals(Long.class, result.getNode("long").getValue().getClass());
+        Assert.assertEquals(Float.class, result.getNode("float").getValue().getClass());
+        Assert.assertEquals(300, result.getNode("map", "nested", "value").getInt());
+    }
+
+    @Test
+    public void testThatAnEmptyNodeSurvivesTheRoundTrip() throws IOException {
+        ConfigurationNode result = ConfigurationNodeCodec.decode(ConfigurationNodeCodec.encode(ConfigurationNodeCodec.createEmptyNode()));
+        Assert.assertNull(result.getValue());
+        Assert.assertFalse(result.hasMapChildren());
+    }
+
+    @Test
+    public void testThatLongMapsAndStringsSurviveTheRoundTrip() throws IOException {
+        // More than 127 children and a long string, so that lengths take more than one byte.
+        ConfigurationNode node = ConfigurationNodeCodec.createEmptyNode();
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            node.getNode("key" + i).setValue(i);
+            sb.append(i);
+        }
+
+        node.getNode("long-string").setValue(sb.toString());
+        ConfigurationNode result = ConfigurationNodeCodec.decode(ConfigurationNodeCodec.encode(node));
+        Assert.assertEquals(501, result.getChildrenMap().size());
+        Assert.assertEquals(499, result.getNode("key499").getInt());
+        Assert.assertEquals(sb.toString(), result.getNode("long-string").getString());
+    }
+
+    @Test(expected = IOException.class)
+    public void testThatAnUnknownVersionIsRejected() throws IOException {
+        ConfigurationNodeCodec.decode(new byte[] { 99, 0 });
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.services.CooldownService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+public class CooldownServiceTests {
+
+    @Test
+    public void testActiveCooldownIsReturned() {
+        CooldownService service = new CooldownService();
+        UUID user = UUID.randomUUID();
+        service.setCooldown(user, "test:a", Duration.ofMinutes(1));
+
+        Assert.assertTrue(service.isOnCooldown(user, "test:a"));
+        Assert.assertFalse(service.isOnCooldown(user, "test:b"));
+        Assert.assertFalse(service.isOnCooldown(UUID.randomUUID(), "test:a"));
+        Assert.assertTrue(service.getCooldowns(user).containsKey("test:a"));
+    }
+
+    @Test
+    public void testExpiredCooldownIsNotSet() {
+        CooldownService service = new CooldownService();
+        UUID user = UUID.randomUUID();
+        service.setCooldown(user, "test:a", Instant.now().minusSeconds(1));
+
+        Assert.assertFalse(service.isOnCooldown(user, "test:a"));
+        Assert.assertTrue(service.getCooldowns(user).isEmpty());
+    }
+
+    @Test
+    public void testRemovedCooldownIsNotReturned() {
+        CooldownService service = new CooldownService();
+        UUID user = UUID.randomUUID();
+        service.setCooldown(user, "test:a", Duration.ofMinutes(1));
+
+        Assert.assertTrue(service.removeCooldown(user, "test:a"));
+        Assert.assertFalse(service.isOnCooldown(user, "test:a"));
+        Assert.assertFalse(service.removeCooldown(user, "test:a"));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.modules.chat.util.FormattingCodes;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.service.permission.Subject;
+import org.spongepowered.api.text.format.TextColor;
+import org.spongepowered.api.text.format.TextColors;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+
+public class FormattingCodesTests extends TestBase {
+
+    @BeforeClass
+    public static void setupColours() throws Exception {
+        // The colours are only given names by the server, and the permissions are made from them.
+        Field modifiersField = Field.class.getDeclaredField("modifiers");
+        modifiersField.setAccessible(true);
+        for (Field field : TextColors.class.getFields()) {
+            if (field.getType() == TextColor.class) {
+                TextColor colour = Mockito.mock(TextColor.class);
+                Mockito.when(colour.getName()).thenReturn(field.getName().toLowerCase());
+                field.setAccessible(true);
+                modifiersField.setInt(field, field.getModifiers() & ~Modifier.FINAL);
+                field.set(null, colour);
+            }
+        }
+    }
+
+    @Test
+    public void testThatUsedCodesAreFoundInEitherCase() {
+        int green = FormattingCodes.getUsed("&a");
+        int bold = FormattingCodes.getUsed("&l");
+        Assert.assertNotEquals(0, green);
+        Assert.assertNotEquals(green, bold);
+        Assert.assertEquals(green, FormattingCodes.getUsed("&A"));
+        Assert.assertEquals(green | bold, FormattingCodes.getUsed("&ahello &lworld"));
+        Assert.assertEquals(0, FormattingCodes.getUsed("no codes & no trailing code &"));
+        Assert.assertEquals(0, FormattingCodes.getUsed("&z is not a code"));
+    }
+
+    @Test
+    public void testThatOnlyCodesOutsideOfTheMaskAreStripped() {
+        int green = FormattingCodes.getUsed("&a");
+        Assert.assertEquals("&ahello", FormattingCodes.strip("&a&lhello", green));
+        Assert.assertEquals("hello", FormattingCodes.strip("&A&Lhello", 0));
+        Assert.assertEquals("&a&lhello", FormattingCodes.strip("&a&lhello", FormattingCodes.ALL));
+        Assert.assertEquals("&zhello &", FormattingCodes.strip("&zhello &", 0));
+    }
+
+    @Test
+    public void testThatARunOfAmpersandsIsStrippedWithTheCode() {
+        Assert.assertEquals("hello", FormattingCodes.strip("&&&chello", 0));
+        Assert.assertEquals("a&&&ahello", FormattingCodes.strip("a&&&ahello", FormattingCodes.getUsed("&a")));
+    }
+
+    @Test
+    public void testThatTheMaskFollowsPermissions() {
+        Subject subject = Mockito.mock(Subject.class);
+        Mockito.when(subject.hasPermission(Mockito.anyString())).thenReturn(false);
+        Mockito.when(subject.hasPermission(FormattingCodes.PREFIX + "color.green")).thenReturn(true);
+        Mockito.when(subject.hasPermission(FormattingCodes.PREFIX + "style.bold")).thenReturn(true);
+
+        int green = FormattingCodes.getUsed("&a");
+        int bold = FormattingCodes.getUsed("&l");
+        Assert.assertEquals(green | bold, FormattingCodes.getMask(subject));
+        Assert.assertEquals(green, FormattingCodes.getMask(subject, green | FormattingCodes.getUsed("&c")));
+        Assert.assertEquals(0, FormattingCodes.getMask(subject, FormattingCodes.getUsed("&k")));
+    }
+
+    @Test
+    public void testThatTheLinkUnderlineIsRemoved() {
+        Assert.assertEquals("see example.com now", FormattingCodes.removeBlueUnderline("see &9&nexample.com&r now"));
+        Assert.assertEquals("see example.com", FormattingCodes.removeBlueUnderline("see &9&nexample.com"));
+        Assert.assertEquals("&9&n not a link", FormattingCodes.removeBlueUnderline("&9&n not a link"));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.flowpowered.math.vector.Vector3d;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.Transform;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.event.entity.MoveEntityEvent;
+import org.spongepowered.api.world.World;
+
+import java.util.List;
+import java.util.UUID;
+
+public class MovementServiceTests {
+
+    @Test
+    public void testThatHandlersAreOnlyCalledForInterestedPlayers() {
+        MovementService service = new MovementService();
+        List<String> called = Lists.newArrayList();
+        service.register(MovementService.Phase.MONITOR, 0, (e, p, m) -> called.add("all"));
+        service.register(MovementService.Phase.MONITOR, MovementService.WARMUP, (e, p, m) -> called.add("warmup"));
+
+        Player player = getPlayer();
+        service.dispatch(MovementService.Phase.MONITOR, getEvent(new Vector3d(0.5, 0, 0)), player);
+        Assert.assertEquals(Lists.newArrayList("all"), called);
+
+        called.clear();
+        service.setInterest(player.getUniqueId(), MovementService.WARMUP, true);
+        service.dispatch(MovementService.Phase.MONITOR, getEvent(new Vector3d(0.5, 0, 0)), player);
+        Assert.assertEquals(Lists.newArrayList("all", "warmup"), called);
+
+        called.clear();
+        service.untrack(player.getUniqueId());
+        service.dispatch(MovementService.Phase.MONITOR, getEvent(new Vector3d(0.5, 0, 0)), player);
+        Assert.assertEquals(Lists.newArrayList("all"), called);
+    }
+
+    @Test
+    public void testThatOnlyHandlersInThePhaseAreCalledAndCancelledMovesStop() {
+        MovementService service = new MovementService();
+        List<String> called = Lists.newArrayList();
+        service.register(MovementService.Phase.MONITOR, 0, (e, p, m) -> called.add("monitor"));
+        service.register(MovementService.Phase.CHECK, MovementService.FROZEN, (e, p, m) -> called.add("check"));
+        service.register(MovementService.Phase.CHECK, 0, (e, p, m) -> called.add("after"));
+
+        Player player = getPlayer();
+        service.setInterest(player.getUniqueId(), MovementService.FROZEN, true);
+        MoveEntityEvent event = getEvent(new Vector3d(0.5, 0, 0));
+        Mockito.when(event.isCancelled()).thenReturn(true);
+        service.dispatch(MovementService.Phase.CHECK, event, player);
+        Assert.assertEquals(Lists.newArrayList("check"), called);
+    }
+
+    @Test
+    public void testThatMovementIsWorkedOutOnce() {
+        MovementService service = new MovementService();
+        List<MovementService.Movement> movements = Lists.newArrayList();
+        service.register(MovementService.Phase.MONITOR, 0, (e, p, m) -> movements.add(m));
+        service.register(MovementService.Phase.MONITOR, 0, (e, p, m) -> movements.add(m));
+
+        service.dispatch(MovementService.Phase.MONITOR, getEvent(new Vector3d(0.5, 0, 0)), getPlayer());
+        Assert.assertEquals(2, movements.size());
+        Assert.assertSame(movements.get(0), movements.get(1));
+
+        MovementService.Movement movement = movements.get(0);
+        Assert.assertTrue(movement.isPositionChanged());
+        Assert.assertFalse(movement.isBlockChanged());
+        Assert.assertFalse(movement.isRotationOnly());
+    }
+
+    private static Player getPlayer() {
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        return player;
+    }
+
+    private static MoveEntityEvent getEvent(Vector3d to) {
+        World world = Mockito.mock(World.class);
+        MoveEntityEvent event = Mockito.mock(MoveEntityEvent.class);
+        Mockito.when(event.getFromTransform()).thenReturn(new Transform<>(world, Vector3d.ZERO));
+        Mockito.when(event.getToTransform()).thenReturn(new Transform<>(world, to));
+        return event;
+    }
+}
@@ -0,0 +1,42 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.text.ParsedToken;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+import java.util.Arrays;
+
+@RunWith(Parameterized.class)
+public class ParsedTokenTests {
+
+    @Parameterized.Parameters(name = "{index}: Token {0} is {1}")
+    public static Iterable<Object[]> data() {
+        return Arrays.asList(new Object[][] {
+                { "{{displayname}}", "displayname" },
+                { "DisplayName", "displayname" },
+                { "{{displayname:s}}", "displayname" },
+                { "{{displayname:ps}}", "displayname" },
+                { "{{pl:nucleus:displayname:sp}}", "pl:nucleus:displayname" },
+                { "{{o:prefix}}", "o:prefix" },
+                { "{{muted|Muted}}", "muted|muted" },
+                { "{{p:s}}", "p" }
+        });
+    }
+
+    @Parameterized.Parameter(0)
+    public String token;
+
+    @Parameterized.Parameter(1)
+    public String expected;
+
+    @Test
+    public void testTokenIsParsed() {
+        Assert.assertEquals(this.expected, ParsedToken.parse(this.token).getToken());
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.UUID;
+
+public class PlayerStatusServiceTests {
+
+    @Test
+    public void testThatFlagsAreSetAndCleared() {
+        PlayerStatusService service = new PlayerStatusService();
+        UUID uuid = UUID.randomUUID();
+        service.track(uuid);
+
+        service.setFlag(uuid, PlayerStatusService.VANISHED, true);
+        service.setFlag(uuid, PlayerStatusService.JAILED, true);
+        PlayerStatusService.PlayerStatus status = service.getStatus(uuid).get();
+        Assert.assertTrue(status.isVanished());
+        Assert.assertTrue(status.isJailed());
+        Assert.assertFalse(status.isAfk());
+        Assert.assertFalse(status.isMuted());
+
+        service.setFlag(uuid, PlayerStatusService.VANISHED, false);
+        status = service.getStatus(uuid).get();
+        Assert.assertFalse(status.isVanished());
+        Assert.assertTrue(status.isJailed());
+    }
+
+    @Test
+    public void testThatPreviousStatusesAreNotChanged() {
+        PlayerStatusService service = new PlayerStatusService();
+        UUID uuid = UUID.randomUUID();
+        service.track(uuid);
+
+        PlayerStatusService.PlayerStatus before = service.getStatus(uuid).get();
+        service.setFlag(uuid, PlayerStatusService.AFK, true);
+        Assert.assertFalse(before.isAfk());
+        Assert.assertTrue(service.getStatus(uuid).get().isAfk());
+    }
+
+    @Test
+    public void testThatUntrackedPlayersAreIgnored() {
+        PlayerStatusService service = new PlayerStatusService();
+        UUID uuid = UUID.randomUUID();
+        service.setFlag(uuid, PlayerStatusService.MUTED, true);
+        Assert.assertFalse(service.getStatus(uuid).isPresent());
+
+        service.track(uuid);
+        service.setFlag(uuid, PlayerStatusService.MUTED, true);
+        service.untrack(uuid);
+        Assert.assertFalse(service.getStatus(uuid).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testThatOnlyOneFlagCanBeSetAtOnce() {
+        new PlayerStatusService().setFlag(UUID.randomUUID(), PlayerStatusService.AFK | PlayerStatusService.MUTED, true);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.util.PrefixIndex;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PrefixIndexTests {
+
+    @Test
+    public void testThatPrefixesAreNotCaseSensitive() {
+        PrefixIndex<Integer> index = new PrefixIndex<>();
+        index.put(1, "Steve");
+        index.put(2, "stephen");
+        index.put(3, "Alex");
+
+        Assert.assertEquals(Lists.newArrayList(2, 1), index.startingWith("STE", x -> true, 10));
+        Assert.assertEquals(Lists.newArrayList(3), index.startingWith("a", x -> true, 10));
+        Assert.assertTrue(index.startingWith("bob", x -> true, 10).isEmpty());
+        Assert.assertEquals(ImmutableSet.of(1), index.get("steve"));
+        Assert.assertEquals("Steve", index.getName(1).get());
+    }
+
+    @Test
+    public void testThatResultsAreLimitedAfterFiltering() {
+        PrefixIndex<Integer> index = new PrefixIndex<>();
+        for (int i = 0; i < 10; i++) {
+            index.put(i, "name" + i);
+        }
+
+        Assert.assertEquals(Lists.newArrayList(0, 1, 2), index.startingWith("name", x -> true, 3));
+        Assert.assertEquals(Lists.newArrayList(1, 3, 5), index.startingWith("name", x -> x % 2 == 1, 3));
+        Assert.assertTrue(index.startingWith("name", x -> true, 0).isEmpty());
+    }
+
+    @Test
+    public void testThatRenamingAndRemovingUpdateTheIndex() {
+        PrefixIndex<Integer> index = new PrefixIndex<>();
+        index.put(1, "Steve");
+        index.put(2, "Steve");
+        Assert.assertEquals(ImmutableSet.of(1, 2), index.get("STEVE"));
+
+        index.put(1, "Alex");
+        Assert.assertEquals(ImmutableSet.of(2), index.get("steve"));
+        Assert.assertEquals(ImmutableSet.of(1), index.get("alex"));
+
+        index.remove(2);
+        Assert.assertTrue(index.get("steve").isEmpty());
+        Assert.assertFalse(index.getName(2).isPresent());
+        Assert.assertEquals(1, index.size());
+    }
+}
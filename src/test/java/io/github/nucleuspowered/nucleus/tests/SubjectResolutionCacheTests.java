@@ -0,0 +1,127 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.ImmutableSet;
+import io.github.nucleuspowered.nucleus.internal.permissions.SubjectResolutionCache;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.spongepowered.api.entity.living.player.Player;
+import org.spongepowered.api.service.context.Context;
+import org.spongepowered.api.world.World;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+public class SubjectResolutionCacheTests {
+
+    private final SubjectResolutionCache cache = SubjectResolutionCache.getInstance();
+
+    @Before
+    public void enable() {
+        this.cache.configure(true, 30);
+    }
+
+    @After
+    public void disable() {
+        this.cache.configure(false, 30);
+    }
+
+    @Test
+    public void testThatRepeatedChecksAreServedFromTheCache() {
+        Set<Context> contexts = ImmutableSet.of(new Context(Context.WORLD_KEY, "world"));
+        Player player = createPlayer(createWorld(), contexts);
+        Mockito.when(player.hasPermission(contexts, "test.yes")).thenReturn(true);
+        Mockito.when(player.getOption(contexts, "test")).thenReturn(Optional.of("value"));
+
+        SubjectResolutionCache.Statistics before = this.cache.getStatistics();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(this.cache.hasPermission(player, "test.yes"));
+            Assert.assertFalse(this.cache.hasPermission(player, "test.no"));
+            Assert.assertEquals(Optional.of("value"), this.cache.getOption(player, "test"));
+        }
+
+        SubjectResolutionCache.Statistics after = this.cache.getStatistics();
+        Assert.assertEquals(3, after.getMisses() - before.getMisses());
+        Assert.assertEquals(6, after.getHits() - before.getHits());
+
+        Mockito.verify(player, Mockito.times(1)).hasPermission(contexts, "test.yes");
+        Mockito.verify(player, Mockito.times(1)).hasPermission(contexts, "test.no");
+        Mockito.verify(player, Mockito.times(1)).getOption(contexts, "test");
+        Mockito.verify(player, Mockito.times(1)).getActiveContexts();
+    }
+
+    @Test
+    public void testThatInvalidatingAPlayerChecksAgain() {
+        Set<Context> contexts = ImmutableSet.of(new Context(Context.WORLD_KEY, "world"));
+        Player player = createPlayer(createWorld(), contexts);
+        Mockito.when(player.hasPermission(contexts, "test.perm")).thenReturn(true);
+
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+
+        // Taken away in the permission plugin, and the player relogs.
+        Mockito.when(player.hasPermission(contexts, "test.perm")).thenReturn(false);
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+        this.cache.invalidate(player.getUniqueId());
+        Assert.assertFalse(this.cache.hasPermission(player, "test.perm"));
+
+        Mockito.when(player.hasPermission(contexts, "test.perm")).thenReturn(true);
+        this.cache.invalidateAll();
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+        Mockito.verify(player, Mockito.times(3)).hasPermission(contexts, "test.perm");
+    }
+
+    @Test
+    public void testThatChangingWorldUsesTheNewContexts() {
+        World first = createWorld();
+        World second = createWorld();
+        Set<Context> firstContexts = ImmutableSet.of(new Context(Context.WORLD_KEY, "first"));
+        Set<Context> secondContexts = ImmutableSet.of(new Context(Context.WORLD_KEY, "second"));
+        Player player = createPlayer(first, firstContexts);
+        Mockito.when(player.hasPermission(firstContexts, "test.perm")).thenReturn(true);
+        Mockito.when(player.hasPermission(secondContexts, "test.perm")).thenReturn(false);
+
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+
+        Mockito.when(player.getWorld()).thenReturn(second);
+        Mockito.when(player.getActiveContexts()).thenReturn(secondContexts);
+        Assert.assertFalse(this.cache.hasPermission(player, "test.perm"));
+        Assert.assertFalse(this.cache.hasPermission(player, "test.perm"));
+
+        Mockito.verify(player, Mockito.times(2)).getActiveContexts();
+        Mockito.verify(player, Mockito.times(1)).hasPermission(secondContexts, "test.perm");
+    }
+
+    @Test
+    public void testThatChecksGoStraightThroughWhenDisabled() {
+        this.cache.configure(false, 30);
+        Player player = createPlayer(createWorld(), ImmutableSet.of());
+        Mockito.when(player.hasPermission("test.perm")).thenReturn(true);
+
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+        Assert.assertTrue(this.cache.hasPermission(player, "test.perm"));
+        Mockito.verify(player, Mockito.times(2)).hasPermission("test.perm");
+    }
+
+    private static World createWorld() {
+        World world = Mockito.mock(World.class);
+        Mockito.when(world.getUniqueId()).thenReturn(UUID.randomUUID());
+        return world;
+    }
+
+    private static Player createPlayer(World world, Set<Context> contexts) {
+        Player player = Mockito.mock(Player.class);
+        Mockito.when(player.getUniqueId()).thenReturn(UUID.randomUUID());
+        Mockito.when(player.getWorld()).thenReturn(world);
+        Mockito.when(player.getActiveContexts()).thenReturn(contexts);
+        Mockito.when(player.getOption(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(player.getOption(Mockito.anySetOf(Context.class), Mockito.anyString())).thenReturn(Optional.empty());
+        return player;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.util.TimingWheel;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TimingWheelTests {
+
+    @Test
+    public void testValuesAreNotReturnedBeforeTheirDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule(1500, "a");
+        wheel.schedule(5000, "b");
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(1999, fired::add);
+        Assert.assertTrue(fired.isEmpty());
+
+        wheel.advance(2000, fired::add);
+        Assert.assertEquals(Lists.newArrayList("a"), fired);
+
+        wheel.advance(5000, fired::add);
+        Assert.assertEquals(Lists.newArrayList("a", "b"), fired);
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testPassedDeadlinesAreReturnedOnTheNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 10000);
+        wheel.schedule(5000, "a");
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(10000, fired::add);
+        Assert.assertEquals(Lists.newArrayList("a"), fired);
+    }
+
+    @Test
+    public void testDistantDeadlinesAreCascaded() {
+        TimingWheel<Long> wheel = new TimingWheel<>(1, 0);
+        long[] deadlines = { 63, 64, 65, 4095, 4096, 4097, 262143, 262144, 300000, 17000000, 20000000 };
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, deadline);
+        }
+
+        List<Long> fired = Lists.newArrayList();
+        long now = 0;
+        for (long deadline : deadlines) {
+            // Step to just before, then to the deadline.
+            now = deadline - 1;
+            wheel.advance(now, fired::add);
+            Assert.assertFalse("Fired early: " + deadline, fired.contains(deadline));
+            now = deadline;
+            wheel.advance(now, fired::add);
+            Assert.assertTrue("Did not fire: " + deadline, fired.contains(deadline));
+        }
+
+        Assert.assertEquals(deadlines.length, fired.size());
+        Assert.assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void testValuesCanBeRescheduledWhileAdvancing() {
+        TimingWheel<String> wheel = new TimingWheel<>(1000, 0);
+        wheel.schedule(1000, "a");
+
+        List<String> fired = Lists.newArrayList();
+        wheel.advance(1000, x -> {
+            fired.add(x);
+            wheel.schedule(3000, x);
+        });
+
+        wheel.advance(3000, fired::add);
+        Assert.assertEquals(Lists.newArrayList("a", "a"), fired);
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * This file is part of Nucleus, licensed under the MIT License (MIT). See the LICENSE.txt file
+ * at the root of this project for more details.
+ */
+package io.github.nucleuspowered.nucleus.tests;
+
+import io.github.nucleuspowered.nucleus.Nucleus;
+import io.github.nucleuspowered.nucleus.internal.interfaces.CancellableTask;
+import io.github.nucleuspowered.nucleus.internal.services.MovementService;
+import io.github.nucleuspowered.nucleus.internal.services.WarmupManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.spongepowered.api.scheduler.Task;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class WarmupManagerTests extends TestBase {
+
+    private final MovementService movementService = Mockito.mock(MovementService.class);
+
+    @Before
+    public void registerMovementService() {
+        Nucleus.getNucleus().getInternalServiceManager().registerService(MovementService.class, this.movementService, true);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testThatASubmittedWarmupRemovesItselfWhenItRuns() {
+        WarmupManager manager = new WarmupManager();
+        UUID player = UUID.randomUUID();
+        AtomicInteger ran = new AtomicInteger();
+
+        Task task = Mockito.mock(Task.class);
+        Task.Builder builder = Mockito.mock(Task.Builder.class);
+        ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.when(builder.execute(captor.capture())).thenReturn(builder);
+        Mockito.when(builder.submit(Mockito.any())).thenReturn(task);
+
+        manager.submitWarmup(player, builder, t -> ran.incrementAndGet());
+        Assert.assertEquals(1, manager.getStatistics().getActive());
+        Mockito.verify(this.movementService).setInterest(player, MovementService.WARMUP, true);
+
+        captor.getValue().accept(task);
+        Assert.assertEquals(1, ran.get());
+
+        WarmupManager.Statistics statistics = manager.getStatistics();
+        Assert.assertEquals(0, statistics.getActive());
+        Assert.assertEquals(1, statistics.getStarted());
+        Assert.assertEquals(1, statistics.getCompleted());
+        Assert.assertEquals(0, statistics.getCancelled());
+        Mockito.verify(this.movementService).setInterest(player, MovementService.WARMUP, false);
+
+        // Already gone, so there is nothing to cancel.
+        Assert.assertFalse(manager.removeWarmup(player));
+        Mockito.verify(task, Mockito.never()).cancel();
+    }
+
+    @Test
+    public void testThatCancellingAWarmupTellsTheTaskSoItCanRefund() {
+        WarmupManager manager = new WarmupManager();
+        UUID player = UUID.randomUUID();
+        AtomicInteger refunds = new AtomicInteger();
+        CancellableTask consumer = new CancellableTask() {
+            @Override public void onCancel() {
+                refunds.incrementAndGet();
+            }
+
+            @Override public void accept(Task task) {
+                Assert.fail("The warmup should not have run.");
+            }
+        };
+
+        Task task = Mockito.mock(Task.class);
+        Mockito.when(task.getConsumer()).thenReturn(consumer);
+        Mockito.when(task.cancel()).thenReturn(true);
+
+        manager.addWarmup(player, task);
+        Assert.assertTrue(manager.removeWarmup(player));
+        Assert.assertEquals(1, refunds.get());
+
+        WarmupManager.Statistics statistics = manager.getStatistics();
+        Assert.assertEquals(0, statistics.getActive());
+        Assert.assertEquals(1, statistics.getCancelled());
+        Assert.assertEquals(0, statistics.getCompleted());
+        Mockito.verify(this.movementService).setInterest(player, MovementService.WARMUP, false);
+    }
+
+    @Test
+    public void testThatReplacingAWarmupRefundsTheOldOneAndKeepsTheFlag() {
+        WarmupManager manager = new WarmupManager();
+        UUID player = UUID.randomUUID();
+        CancellableTask first = Mockito.mock(CancellableTask.class);
+        Task firstTask = Mockito.mock(Task.class);
+        Mockito.when(firstTask.getConsumer()).thenReturn(first);
+        Mockito.when(firstTask.cancel()).thenReturn(true);
+
+        manager.addWarmup(player, firstTask);
+        manager.addWarmup(player, Mockito.mock(Task.class));
+
+        Mockito.verify(first).onCancel();
+        Assert.assertEquals(1, manager.getStatistics().getActive());
+        Mockito.verify(this.movementService, Mockito.never()).setInterest(player, MovementService.WARMUP, false);
+    }
+
+    @Test
+    public void testThatOnlyWarmupsMatchingThePredicateAreCancelled() {
+        WarmupManager manager = new WarmupManager();
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        Task firstTask = Mockito.mock(Task.class);
+        Task secondTask = Mockito.mock(Task.class);
+        Mockito.when(firstTask.cancel()).thenReturn(true);
+        Mockito.when(secondTask.cancel()).thenReturn(true);
+
+        manager.addWarmup(first, firstTask);
+        manager.addWarmup(second, secondTask);
+
+        List<UUID> removed = manager.removeWarmups(first::equals);
+        Assert.assertEquals(1, removed.size());
+        Assert.assertEquals(first, removed.get(0));
+        Mockito.verify(firstTask).cancel();
+        Mockito.verify(secondTask, Mockito.never()).cancel();
+        Assert.assertEquals(1, manager.getStatistics().getActive());
+    }
+}
@@ -6,7 +6,10 @@ package io.github.nucleuspowered.nucleus.tests.arguments;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Lists;
+import io.github.nucleuspowered.nucleus.Nucleus;
 import io.github.nucleuspowered.nucleus.argumentparsers.NicknameArgument;
+import io.github.nucleuspowered.nucleus.internal.services.NameIndexService;
+import io.github.nucleuspowered.nucleus.internal.services.PlayerStatusService;
 import io.github.nucleuspowered.nucleus.tests.TestBase;
 import org.junit.Assert;
 import org.junit.Test;
@@ -31,6 +34,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.BiFunction;
 
 @RunWith(PowerMockRunner.class)
@@ -65,15 +69,40 @@ public class NicknameArgumentTests extends TestBase {
         Set<?> obj = getParser().parseValue(mockSource(), "blah", ex);
     }
 
+    @Test
+    public void testWhenKnownNamesAreLoadedPartialMatchesComeFromTheIndex() throws ArgumentParseException {
+        Set<?> list = getParser(true).parseValue(mockSource(), "tes", ex);
+        Assert.assertEquals(2, list.size());
+
+        UserStorageService uss = Sponge.getServiceManager().provideUnchecked(UserStorageService.class);
+        Mockito.verify(uss, Mockito.never()).match(Mockito.anyString());
+    }
+
+    @Test
+    public void testWhenKnownNamesAreLoadedOnlyNamesStartingWithThePrefixAreReturned() throws ArgumentParseException {
+        Set<?> list = getParser(true).parseValue(mockSource(), "TESTT", ex);
+        Assert.assertEquals(1, list.size());
+        Assert.assertEquals("testtest", ((User) list.iterator().next()).getName());
+    }
+
+    @Test(expected = ArgumentParseException.class)
+    public void testWhenKnownNamesAreLoadedAndNoneMatchAnExceptionIsThrown() throws Exception {
+        getParser(true).parseValue(mockSource(), "blah", ex);
+    }
+
     private NicknameArgument getParser() {
+        return getParser(false);
+    }
+
+    private NicknameArgument getParser(boolean loadKnownNames) {
         // Setup the mock UserStorageService
-        setupSpongeMock();
+        setupSpongeMock(loadKnownNames);
 
         // We're testing the UserParser
         return new NicknameArgument(Text.of("name"), NicknameArgument.Target.USER);
     }
 
-    private void setupSpongeMock() {
+    private void setupSpongeMock(boolean loadKnownNames) {
         PowerMockito.mockStatic(Sponge.class);
         ServiceManager manager = Mockito.mock(ServiceManager.class);
         UserStorageService service = getMockUserStorageService();
@@ -83,6 +112,12 @@ public class NicknameArgumentTests extends TestBase {
         Mockito.when(Sponge.getServer()).thenReturn(server);
         Mockito.when(manager.provideUnchecked(UserStorageService.class)).thenReturn(service);
         Mockito.when(Sponge.getServiceManager()).thenReturn(manager);
+        NameIndexService nameIndexService = new NameIndexService(new PlayerStatusService());
+        if (loadKnownNames) {
+            nameIndexService.loadKnownNames();
+        }
+
+        Nucleus.getNucleus().getInternalServiceManager().registerService(NameIndexService.class, nameIndexService, true);
     }
 
     private UserStorageService getMockUserStorageService() {
@@ -90,6 +125,8 @@ public class NicknameArgumentTests extends TestBase {
         GameProfile gp2 = Mockito.mock(GameProfile.class);
         Mockito.when(gp1.getName()).thenReturn(Optional.of("test"));
         Mockito.when(gp2.getName()).thenReturn(Optional.of("testtest"));
+        Mockito.when(gp1.getUniqueId()).thenReturn(UUID.randomUUID());
+        Mockito.when(gp2.getUniqueId()).thenReturn(UUID.randomUUID());
 
         UserStorageService mockUss = Mockito.mock(UserStorageService.class);
         Mockito.when(mockUss.getAll()).thenReturn(Lists.newArrayList(gp1, gp2));
@@ -97,9 +134,11 @@ public class NicknameArgumentTests extends TestBase {
         User u1 = Mockito.mock(User.class);
         Mockito.when(u1.getName()).thenAnswer(g -> gp1.getName().get());
         Mockito.when(u1.getPlayer()).thenAnswer(g -> Optional.empty());
+        Mockito.when(u1.getUniqueId()).thenAnswer(g -> gp1.getUniqueId());
         User u2 = Mockito.mock(User.class);
         Mockito.when(u2.getName()).thenAnswer(g -> gp2.getName().get());
         Mockito.when(u2.getPlayer()).thenAnswer(g -> Optional.empty());
+        Mockito.when(u2.getUniqueId()).thenAnswer(g -> gp2.getUniqueId());
 
         Mockito.when(mockUss.get(Mockito.any(GameProfile.class))).thenAnswer(invocation -> {
             GameProfile arg = invocation.getArgumentAt(0, GameProfile.class);
@@ -112,6 +151,17 @@ public class NicknameArgumentTests extends TestBase {
             return Optional.empty();
         });
 
+        Mockito.when(mockUss.get(Mockito.any(UUID.class))).thenAnswer(invocation -> {
+            UUID arg = invocation.getArgumentAt(0, UUID.class);
+            if (gp1.getUniqueId().equals(arg)) {
+                return Optional.of(u1);
+            } else if (gp2.getUniqueId().equals(arg)) {
+                return Optional.of(u2);
+            }
+
+            return Optional.empty();
+        });
+
         Mockito.when(mockUss.match(Mockito.anyString())).thenAnswer(
                 (Answer<Collection<GameProfile>>) invocation -> {
                     String arg = invocation.getArgumentAt(0, String.class);